@@ -0,0 +1,163 @@
+package myBenchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import myAdapter.HIterator;
+import myAdapter.HList;
+import myAdapter.HListIterator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the operations of {@link myAdapter.HList} on lists of <code>size</code> integers
+ * <p>
+ * The list holds the integers from 0 to size-1 in order. The structural operations are paired with a cheap inverse
+ * operation (an append or a removal of the last element) so that the size of the list does not drift between
+ * invocations; the cost of the pair is dominated by the operation named by the benchmark.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ListAdapterBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({Lists.VECTOR, Lists.INT, Lists.GAP, Lists.CHUNKED, Lists.OFFHEAP, Lists.INDEXED})
+    public String backing;
+
+    /**
+     * Depth of the chain of sublists used by {@link #nestedSubListMutation()}
+     */
+    public static final int DEPTH = 16;
+
+    private HList list;
+    private HList nested;
+    private Integer middle;
+    private Integer last;
+    private Integer extra;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        list = Lists.filled(backing, size);
+        middle = (Integer) list.get(size / 2);
+        last = (Integer) list.get(size - 1);
+        extra = Integer.valueOf(-1);
+
+        nested = list;
+        for (int i = 0; i < DEPTH && nested.size() >= 2; i++) {
+            nested = nested.subList(1, nested.size() - 1);
+        }
+    }
+
+    @Benchmark
+    public Object get() {
+        index = (index + 7) % size;
+        return list.get(index);
+    }
+
+    @Benchmark
+    public Object addAtEnd() {
+        list.add(extra);
+        return list.remove(list.size() - 1);
+    }
+
+    @Benchmark
+    public Object addAtIndex() {
+        list.add(size / 2, extra);
+        return list.remove(list.size() - 1);
+    }
+
+    @Benchmark
+    public boolean removeIndex() {
+        Object obj = list.remove(size / 2);
+        return list.add(obj);
+    }
+
+    @Benchmark
+    public boolean removeObject() {
+        Object obj = list.get(size / 2);
+        list.remove(obj);
+        return list.add(obj);
+    }
+
+    @Benchmark
+    public int indexOf() {
+        return list.indexOf(middle);
+    }
+
+    /**
+     * Alternates insertions in the middle with searches of an element after them, which move the positions that
+     * an {@link myAdapter.IndexedVector} keeps for the searched element
+     */
+    @Benchmark
+    public int insertAndSearch() {
+        list.add(size / 2, extra);
+        int i = list.indexOf(last);
+        list.remove(size / 2);
+        return i;
+    }
+
+    @Benchmark
+    public void iteration(Blackhole bh) {
+        HIterator it = list.iterator();
+        while (it.hasNext()) bh.consume(it.next());
+    }
+
+    @Benchmark
+    public void listIteratorTraversal(Blackhole bh) {
+        HListIterator it = list.listIterator();
+        while (it.hasNext()) bh.consume(it.next());
+        while (it.hasPrevious()) bh.consume(it.previous());
+    }
+
+    @Benchmark
+    public HList subListCreation() {
+        return list.subList(size / 4, size - size / 4);
+    }
+
+    @Benchmark
+    public Object nestedSubListMutation() {
+        nested.add(0, extra);
+        return nested.remove(0);
+    }
+
+    @Benchmark
+    public Object cursorEditing() {
+        HListIterator it = list.listIterator(size / 2);
+        it.add(extra);
+        it.previous();
+        it.remove();
+        return it.next();
+    }
+
+    @Benchmark
+    public Object[] toArray() {
+        return list.toArray();
+    }
+
+    @Benchmark
+    public long streamSum() {
+        return list.stream().mapToLong(obj -> ((Integer) obj).longValue()).sum();
+    }
+
+    @Benchmark
+    public long parallelStreamSum() {
+        return list.parallelStream().mapToLong(obj -> ((Integer) obj).longValue()).sum();
+    }
+}
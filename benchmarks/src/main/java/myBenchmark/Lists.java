@@ -0,0 +1,71 @@
+package myBenchmark;
+
+import myAdapter.ChunkedVector;
+import myAdapter.ElementCodec;
+import myAdapter.GapVector;
+import myAdapter.HList;
+import myAdapter.IndexedVector;
+import myAdapter.IntListAdapter;
+import myAdapter.ListAdapter;
+import myAdapter.OffHeapListAdapter;
+
+/**
+ * Factory of the lists measured by the benchmarks
+ * <p>
+ * Every benchmark takes a <code>backing</code> parameter naming the implementation under test, this class turns that
+ * name into an empty list so that new implementations only have to be added here and to the @Param lists.
+ */
+public final class Lists {
+
+    /**
+     * The backing implementations known to the benchmarks
+     */
+    public static final String VECTOR = "vector";
+    public static final String INT = "int";
+    public static final String GAP = "gap";
+    public static final String CHUNKED = "chunked";
+    public static final String OFFHEAP = "offheap";
+    public static final String INDEXED = "indexed";
+
+    private Lists() {
+    }
+
+    /**
+     * Creates an empty list of the given backing implementation
+     *
+     * @param backing name of the implementation
+     * @return a new empty list
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public static HList create(String backing) {
+        switch (backing) {
+            case VECTOR:
+                return new ListAdapter();
+            case INT:
+                return new IntListAdapter();
+            case GAP:
+                return ListAdapter.backedBy(new GapVector());
+            case CHUNKED:
+                return ListAdapter.backedBy(new ChunkedVector());
+            case OFFHEAP:
+                return new OffHeapListAdapter(ElementCodec.INT);
+            case INDEXED:
+                return ListAdapter.backedBy(new IndexedVector());
+            default:
+                throw new IllegalArgumentException("Unknown backing: " + backing);
+        }
+    }
+
+    /**
+     * Creates a list of the given backing implementation holding the integers from 0 to size-1
+     *
+     * @param backing name of the implementation
+     * @param size    number of elements
+     * @return a new list where the element at index i is equal to i
+     */
+    public static HList filled(String backing, int size) {
+        HList list = create(backing);
+        for (int i = 0; i < size; i++) list.add(Integer.valueOf(i));
+        return list;
+    }
+}
@@ -0,0 +1,73 @@
+package myBenchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import myAdapter.ElementCodec;
+import myAdapter.HList;
+import myAdapter.ListAdapter;
+import myAdapter.MappedListAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Startup cost of a list of <code>size</code> integers: opening a {@link myAdapter.MappedListAdapter} saved in a file
+ * against rebuilding a {@link myAdapter.ListAdapter} element by element
+ * <p>
+ * Both benchmarks read one element in the middle of the list, so that the mapped list loads at least one page.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MappedListBenchmark {
+
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("MappedListBenchmark", ".list");
+        Files.delete(file);
+        MappedListAdapter list = new MappedListAdapter(file, ElementCodec.INT, size);
+        for (int i = 0; i < size; i++) list.add(Integer.valueOf(i));
+        list.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Object reopen() throws IOException {
+        MappedListAdapter list = new MappedListAdapter(file, ElementCodec.INT);
+        Object middle = list.get(size / 2);
+        list.close();
+        return middle;
+    }
+
+    @Benchmark
+    public Object rebuild() {
+        HList list = new ListAdapter();
+        for (int i = 0; i < size; i++) list.add(Integer.valueOf(i));
+        return list.get(size / 2);
+    }
+}
@@ -0,0 +1,81 @@
+package myBenchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import myAdapter.ListAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The read-only bulk operations of {@link myAdapter.ListAdapter} on lists of <code>size</code> integers, run
+ * sequentially and split in fork/join tasks of at most <code>threshold</code> elements
+ * <p>
+ * A <code>threshold</code> of 2147483647 disables the parallel operations. The searched element is not in the list,
+ * so the searches scan all of it, and the compared list has the same elements in a different vector. The list caches
+ * its hash code, so {@link #hashCodeOfList()} replaces an element first to make the list compute it again.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ParallelBulkBenchmark {
+
+    @Param({"100000", "10000000"})
+    public int size;
+
+    @Param({"2147483647", "16384"})
+    public int threshold;
+
+    @Param({Lists.VECTOR, Lists.CHUNKED})
+    public String backing;
+
+    private ListAdapter list;
+    private ListAdapter copy;
+    private Integer missing;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        list = (ListAdapter) Lists.filled(backing, size);
+        copy = (ListAdapter) Lists.filled(backing, size);
+        list.setParallelThreshold(threshold);
+        missing = Integer.valueOf(-1);
+    }
+
+    @Benchmark
+    public int hashCodeOfList() {
+        list.set(0, list.get(0));
+        return list.hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeCached() {
+        return list.hashCode();
+    }
+
+    @Benchmark
+    public int indexOf() {
+        return list.indexOf(missing);
+    }
+
+    @Benchmark
+    public int lastIndexOf() {
+        return list.lastIndexOf(missing);
+    }
+
+    @Benchmark
+    public boolean equalsCopy() {
+        return list.equals(copy);
+    }
+}
@@ -0,0 +1,94 @@
+package myBenchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import myAdapter.IntListAdapter;
+import myAdapter.LongListAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The searches of {@link myAdapter.IntListAdapter} and {@link myAdapter.LongListAdapter} on lists of <code>size</code>
+ * values, with the kernels written with the Vector API and with the scalar loops
+ * <p>
+ * The kernels are chosen once per JVM, when they are first used: the setup sets the system property
+ * <code>myAdapter.vectorKernels</code> before that happens, and every combination of the parameters runs in its own
+ * fork. The searched value is not in the lists, so the searches scan all of them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "--add-modules=jdk.incubator.vector"})
+public class PrimitiveSearchBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    @Param({"vector", "scalar"})
+    public String kernels;
+
+    private IntListAdapter ints;
+    private IntListAdapter intCopy;
+    private LongListAdapter longs;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        System.setProperty("myAdapter.vectorKernels", String.valueOf("vector".equals(kernels)));
+        int[] intValues = new int[size];
+        long[] longValues = new long[size];
+        for (int i = 0; i < size; i++) {
+            intValues[i] = i;
+            longValues[i] = i;
+        }
+        ints = new IntListAdapter(intValues);
+        intCopy = new IntListAdapter(intValues);
+        longs = new LongListAdapter(longValues);
+    }
+
+    @Benchmark
+    public int indexOfInt() {
+        return ints.indexOfInt(-1);
+    }
+
+    @Benchmark
+    public int lastIndexOfInt() {
+        return ints.lastIndexOfInt(-1);
+    }
+
+    @Benchmark
+    public int countInt() {
+        return ints.countInt(size / 2);
+    }
+
+    @Benchmark
+    public int maxInt() {
+        return ints.maxInt();
+    }
+
+    @Benchmark
+    public boolean equalsInt() {
+        return ints.equals(intCopy);
+    }
+
+    @Benchmark
+    public int indexOfLong() {
+        return longs.indexOfLong(-1L);
+    }
+
+    @Benchmark
+    public long minLong() {
+        return longs.minLong();
+    }
+}
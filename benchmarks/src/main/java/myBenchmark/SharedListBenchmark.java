@@ -0,0 +1,137 @@
+package myBenchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import myAdapter.CopyOnWriteListAdapter;
+import myAdapter.HIterator;
+import myAdapter.HList;
+import myAdapter.StripedListAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A list of <code>size</code> integers shared by eight threads
+ * <p>
+ * In the group "readMostly" seven readers get an element and search another one while a writer replaces an element;
+ * in the group "getSet" every thread gets and replaces elements at its own indexes. With <code>sharing</code>
+ * equal to "locked" the list is a {@link myAdapter.ListAdapter} and every operation holds the monitor of the list,
+ * as an external lock would; with "cow" it is a {@link myAdapter.CopyOnWriteListAdapter}, whose reads take no lock;
+ * with "striped" it is a {@link myAdapter.StripedListAdapter}, which locks only the stripe of the element.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SharedListBenchmark {
+
+    /**
+     * The ways of sharing the list known to the benchmark
+     */
+    public static final String LOCKED = "locked";
+    public static final String COW = "cow";
+    public static final String STRIPED = "striped";
+
+    @Param({"100", "10000"})
+    public int size;
+
+    @Param({LOCKED, COW, STRIPED})
+    public String sharing;
+
+    private HList list;
+    private boolean locked;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        HList filled = Lists.filled(Lists.VECTOR, size);
+        locked = LOCKED.equals(sharing);
+        if (locked) list = filled;
+        else if (COW.equals(sharing)) list = new CopyOnWriteListAdapter(filled);
+        else list = new StripedListAdapter(filled);
+    }
+
+    /**
+     * The position of every thread in the list
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int index = (int) Thread.currentThread().getId();
+
+        int next(int size) {
+            index = (index + 7) % size;
+            return index;
+        }
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(7)
+    public boolean read(Cursor cursor) {
+        int i = cursor.next(size);
+        if (locked) {
+            synchronized (list) {
+                return list.get(i) != null && list.contains(Integer.valueOf(size - 1 - i));
+            }
+        }
+        return list.get(i) != null && list.contains(Integer.valueOf(size - 1 - i));
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(1)
+    public Object write(Cursor cursor) {
+        int i = cursor.next(size);
+        if (locked) {
+            synchronized (list) {
+                return list.set(i, Integer.valueOf(i));
+            }
+        }
+        return list.set(i, Integer.valueOf(i));
+    }
+
+    @Benchmark
+    @Group("getSet")
+    @GroupThreads(8)
+    public Object getSet(Cursor cursor) {
+        int i = cursor.next(size);
+        if (locked) {
+            synchronized (list) {
+                return list.set(i, list.get(i));
+            }
+        }
+        return list.set(i, list.get(i));
+    }
+
+    /**
+     * Sums the elements with an iterator, which for the copy-on-write list walks a snapshot
+     */
+    @Benchmark
+    @Group("iterate")
+    @GroupThreads(8)
+    public long iterate() {
+        long sum = 0;
+        if (locked) {
+            synchronized (list) {
+                HIterator it = list.iterator();
+                while (it.hasNext()) sum += ((Integer) it.next()).intValue();
+            }
+            return sum;
+        }
+        HIterator it = list.iterator();
+        while (it.hasNext()) sum += ((Integer) it.next()).intValue();
+        return sum;
+    }
+}
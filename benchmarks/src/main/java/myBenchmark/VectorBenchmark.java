@@ -0,0 +1,87 @@
+package myBenchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import myAdapter.Vector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the storage primitives of {@link myAdapter.Vector} on vectors of <code>size</code> integers
+ * <p>
+ * As in {@link ListAdapterBenchmark} the structural operations are paired with a cheap inverse to keep the size
+ * of the vector constant.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class VectorBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    private Vector vector;
+    private Integer middle;
+    private Integer extra;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        vector = new Vector();
+        for (int i = 0; i < size; i++) vector.addElement(Integer.valueOf(i));
+        middle = (Integer) vector.elementAt(size / 2);
+        extra = Integer.valueOf(-1);
+    }
+
+    @Benchmark
+    public Object elementAt() {
+        index = (index + 7) % size;
+        return vector.elementAt(index);
+    }
+
+    @Benchmark
+    public int addElement() {
+        vector.addElement(extra);
+        vector.removeElementAt(vector.size() - 1);
+        return vector.size();
+    }
+
+    @Benchmark
+    public int insertElementAt() {
+        vector.insertElementAt(extra, size / 2);
+        vector.removeElementAt(vector.size() - 1);
+        return vector.size();
+    }
+
+    @Benchmark
+    public int removeElementAt() {
+        Object obj = vector.elementAt(size / 2);
+        vector.removeElementAt(size / 2);
+        vector.addElement(obj);
+        return vector.size();
+    }
+
+    @Benchmark
+    public int indexOf() {
+        return vector.indexOf(middle);
+    }
+
+    @Benchmark
+    public void elements(Blackhole bh) {
+        for (int i = 0; i < vector.size(); i++) bh.consume(vector.elementAt(i));
+    }
+}
@@ -0,0 +1,139 @@
+package myAdapter;
+
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The {@link myAdapter.SearchKernels} written with the Vector API<br>
+ *
+ * <p>
+ * Every loop compares or reduces as many components at once as fit in the preferred vector shape of the CPU,
+ * then handles the last components of the range with the scalar loop. Ranges shorter than two vectors are
+ * left entirely to the scalar loops. This class is loaded only when the module jdk.incubator.vector is present.
+ */
+final class VectorKernels extends SearchKernels {
+    private static final VectorSpecies<Integer> INTS = jdk.incubator.vector.IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = jdk.incubator.vector.LongVector.SPECIES_PREFERRED;
+
+    @Override
+    boolean isVectorized(){
+        return true;
+    }
+
+    @Override
+    int indexOf(int[] a, int from, int to, int value){
+        if(to - from < 2 * INTS.length()) return super.indexOf(a, from, to, value);
+        int i = from;
+        int bound = from + INTS.loopBound(to - from);
+        for(; i<bound; i+=INTS.length()){
+            VectorMask<Integer> found = jdk.incubator.vector.IntVector.fromArray(INTS, a, i).eq(value);
+            if(found.anyTrue()) return i + found.firstTrue();
+        }
+        return super.indexOf(a, i, to, value);
+    }
+
+    @Override
+    int lastIndexOf(int[] a, int from, int to, int value){
+        if(to - from < 2 * INTS.length()) return super.lastIndexOf(a, from, to, value);
+        int i = to;
+        int bound = to - INTS.loopBound(to - from);
+        while(i > bound){
+            i -= INTS.length();
+            VectorMask<Integer> found = jdk.incubator.vector.IntVector.fromArray(INTS, a, i).eq(value);
+            if(found.anyTrue()) return i + found.lastTrue();
+        }
+        return super.lastIndexOf(a, from, bound, value);
+    }
+
+    @Override
+    int count(int[] a, int from, int to, int value){
+        if(to - from < 2 * INTS.length()) return super.count(a, from, to, value);
+        int count = 0;
+        int i = from;
+        int bound = from + INTS.loopBound(to - from);
+        for(; i<bound; i+=INTS.length())
+            count += jdk.incubator.vector.IntVector.fromArray(INTS, a, i).eq(value).trueCount();
+        return count + super.count(a, i, to, value);
+    }
+
+    @Override
+    int min(int[] a, int from, int to){
+        if(to - from < 2 * INTS.length()) return super.min(a, from, to);
+        jdk.incubator.vector.IntVector min = jdk.incubator.vector.IntVector.broadcast(INTS, Integer.MAX_VALUE);
+        int i = from;
+        int bound = from + INTS.loopBound(to - from);
+        for(; i<bound; i+=INTS.length())
+            min = min.min(jdk.incubator.vector.IntVector.fromArray(INTS, a, i));
+        return Math.min(min.reduceLanes(VectorOperators.MIN), super.min(a, i, to));
+    }
+
+    @Override
+    int max(int[] a, int from, int to){
+        if(to - from < 2 * INTS.length()) return super.max(a, from, to);
+        jdk.incubator.vector.IntVector max = jdk.incubator.vector.IntVector.broadcast(INTS, Integer.MIN_VALUE);
+        int i = from;
+        int bound = from + INTS.loopBound(to - from);
+        for(; i<bound; i+=INTS.length())
+            max = max.max(jdk.incubator.vector.IntVector.fromArray(INTS, a, i));
+        return Math.max(max.reduceLanes(VectorOperators.MAX), super.max(a, i, to));
+    }
+
+    @Override
+    int indexOf(long[] a, int from, int to, long value){
+        if(to - from < 2 * LONGS.length()) return super.indexOf(a, from, to, value);
+        int i = from;
+        int bound = from + LONGS.loopBound(to - from);
+        for(; i<bound; i+=LONGS.length()){
+            VectorMask<Long> found = jdk.incubator.vector.LongVector.fromArray(LONGS, a, i).eq(value);
+            if(found.anyTrue()) return i + found.firstTrue();
+        }
+        return super.indexOf(a, i, to, value);
+    }
+
+    @Override
+    int lastIndexOf(long[] a, int from, int to, long value){
+        if(to - from < 2 * LONGS.length()) return super.lastIndexOf(a, from, to, value);
+        int i = to;
+        int bound = to - LONGS.loopBound(to - from);
+        while(i > bound){
+            i -= LONGS.length();
+            VectorMask<Long> found = jdk.incubator.vector.LongVector.fromArray(LONGS, a, i).eq(value);
+            if(found.anyTrue()) return i + found.lastTrue();
+        }
+        return super.lastIndexOf(a, from, bound, value);
+    }
+
+    @Override
+    int count(long[] a, int from, int to, long value){
+        if(to - from < 2 * LONGS.length()) return super.count(a, from, to, value);
+        int count = 0;
+        int i = from;
+        int bound = from + LONGS.loopBound(to - from);
+        for(; i<bound; i+=LONGS.length())
+            count += jdk.incubator.vector.LongVector.fromArray(LONGS, a, i).eq(value).trueCount();
+        return count + super.count(a, i, to, value);
+    }
+
+    @Override
+    long min(long[] a, int from, int to){
+        if(to - from < 2 * LONGS.length()) return super.min(a, from, to);
+        jdk.incubator.vector.LongVector min = jdk.incubator.vector.LongVector.broadcast(LONGS, Long.MAX_VALUE);
+        int i = from;
+        int bound = from + LONGS.loopBound(to - from);
+        for(; i<bound; i+=LONGS.length())
+            min = min.min(jdk.incubator.vector.LongVector.fromArray(LONGS, a, i));
+        return Math.min(min.reduceLanes(VectorOperators.MIN), super.min(a, i, to));
+    }
+
+    @Override
+    long max(long[] a, int from, int to){
+        if(to - from < 2 * LONGS.length()) return super.max(a, from, to);
+        jdk.incubator.vector.LongVector max = jdk.incubator.vector.LongVector.broadcast(LONGS, Long.MIN_VALUE);
+        int i = from;
+        int bound = from + LONGS.loopBound(to - from);
+        for(; i<bound; i+=LONGS.length())
+            max = max.max(jdk.incubator.vector.LongVector.fromArray(LONGS, a, i));
+        return Math.max(max.reduceLanes(VectorOperators.MAX), super.max(a, i, to));
+    }
+}
@@ -0,0 +1,584 @@
+package myAdapter;
+
+/**
+ * A {@link myAdapter.Vector} that stores its components in a tree of chunks<br>
+ *
+ * <p>
+ * The components are kept in order in small arrays, the chunks, which are the leaves of a balanced tree: every node
+ * of the tree knows how many components are stored below it, so the chunk holding a given index is found walking
+ * from the root in O(log n) time. Inserting or removing a component only shifts the components of its chunk; a chunk
+ * that becomes full is split in two and a chunk that becomes less than half full is merged with a neighbour when they
+ * fit together, or takes part of its components otherwise, so the tree stays balanced whatever the sequence of changes.
+ * Removing a range drops the chunks that are entirely inside it without visiting their components, then rebalances in
+ * the same way the nodes left at the two ends of the range.
+ * <p>
+ * The vector remembers the last chunk it read, so reading the components in order, as iterators do, walks the tree
+ * only once per chunk. The chunk is remembered with a single reference, so several threads can read the vector at the
+ * same time, as a parallel stream does, as long as none of them changes it.
+ * <p>
+ * A ChunkedVector can back a {@link myAdapter.ListAdapter}, see {@link ListAdapter#backedBy(Vector)}.
+ */
+public class ChunkedVector extends Vector {
+
+    /**
+     * The number of components of a chunk and of children of a node used by {@link #ChunkedVector()}
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 64;
+
+    /**
+     * A node of the tree, size is the number of components stored below it.
+     */
+    private static abstract class Node {
+        int size;
+    }
+
+    /**
+     * A chunk, its components are items[0..size).
+     */
+    private static final class Leaf extends Node {
+        Object[] items;
+
+        Leaf(int chunkSize) {
+            items = new Object[chunkSize + 1];
+        }
+    }
+
+    /**
+     * A chunk and the index of its first component.
+     */
+    private static final class Finger {
+        final Leaf leaf;
+        final int start;
+
+        Finger(Leaf leaf, int start) {
+            this.leaf = leaf;
+            this.start = start;
+        }
+    }
+
+    /**
+     * An inner node, its children are children[0..count).
+     */
+    private static final class Inner extends Node {
+        Node[] children;
+        int count;
+
+        Inner(int chunkSize) {
+            children = new Node[chunkSize + 1];
+        }
+    }
+
+    /**
+     * The maximum number of components of a chunk and of children of an inner node.
+     */
+    private final int chunkSize;
+
+    private Node root;
+
+    /**
+     * The last chunk read, null when it must be looked up again.
+     */
+    private Finger finger;
+
+    public ChunkedVector() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param chunkSize the maximum number of components of a chunk and of children of a node of the tree
+     * @throws IllegalArgumentException if chunkSize is less than 4
+     */
+    public ChunkedVector(int chunkSize) {
+        super(0);
+        if(chunkSize < 4) throw new IllegalArgumentException("Illegal chunk size: " + chunkSize);
+        this.chunkSize = chunkSize;
+        root = new Leaf(chunkSize);
+    }
+
+    private void checkIndex(int index){
+        if(index >= elementCount) throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+        if(index < 0) throw new ArrayIndexOutOfBoundsException(index);
+    }
+
+    /**
+     * Finds the chunk holding the component at the given index and stores it in finger.
+     *
+     * @param index a valid index
+     * @return the chunk holding the component and the index of its first component
+     */
+    private Finger leafOf(int index){
+        Finger f = finger;
+        if(f != null && index >= f.start && index < f.start + f.leaf.size) return f;
+        Node node = root;
+        int start = 0;
+        while(node instanceof Inner){
+            Inner inner = (Inner) node;
+            int i = 0;
+            while(index - start >= inner.children[i].size){
+                start += inner.children[i].size;
+                i++;
+            }
+            node = inner.children[i];
+        }
+        f = new Finger((Leaf) node, start);
+        finger = f;
+        return f;
+    }
+
+    /**
+     * Inserts a component in the subtree of node.
+     *
+     * @param base  the index in the vector of the first component of node
+     * @param index the index of the component in the subtree
+     * @return the new right sibling of node if node has been split, null otherwise
+     */
+    private Node insert(Node node, int base, int index, Object obj){
+        node.size++;
+        if(node instanceof Leaf){
+            Leaf leaf = (Leaf) node;
+            ListEvents.Shift shift = shifting(base + index, leaf.size - 1 - index);
+            System.arraycopy(leaf.items, index, leaf.items, index + 1, leaf.size - 1 - index);
+            if(shift != null) shift.commit();
+            leaf.items[index] = obj;
+            return (leaf.size > chunkSize) ? split(leaf) : null;
+        }
+        Inner inner = (Inner) node;
+        int i = 0;
+        while(i < inner.count - 1 && index > inner.children[i].size){
+            index -= inner.children[i].size;
+            base += inner.children[i].size;
+            i++;
+        }
+        Node sibling = insert(inner.children[i], base, index, obj);
+        if(sibling == null) return null;
+        System.arraycopy(inner.children, i + 1, inner.children, i + 2, inner.count - i - 1);
+        inner.children[i + 1] = sibling;
+        inner.count++;
+        return (inner.count > chunkSize) ? split(inner) : null;
+    }
+
+    /**
+     * Moves the second half of a full chunk to a new one. The components keep their index in the vector, so the
+     * copy is not recorded as a shift.
+     */
+    private Leaf split(Leaf leaf){
+        Leaf right = new Leaf(chunkSize);
+        int half = leaf.size / 2;
+        right.size = leaf.size - half;
+        System.arraycopy(leaf.items, half, right.items, 0, right.size);
+        for(int i=half; i<leaf.size; i++) leaf.items[i] = null;
+        leaf.size = half;
+        return right;
+    }
+
+    private Inner split(Inner inner){
+        Inner right = new Inner(chunkSize);
+        int half = inner.count / 2;
+        right.count = inner.count - half;
+        System.arraycopy(inner.children, half, right.children, 0, right.count);
+        for(int i=half; i<inner.count; i++){
+            right.size += inner.children[i].size;
+            inner.children[i] = null;
+        }
+        inner.count = half;
+        inner.size -= right.size;
+        return right;
+    }
+
+    /**
+     * Adds a level to the tree when the root has been split.
+     */
+    private void growRoot(Node sibling){
+        if(sibling == null) return;
+        Inner newRoot = new Inner(chunkSize);
+        newRoot.children[0] = root;
+        newRoot.children[1] = sibling;
+        newRoot.count = 2;
+        newRoot.size = root.size + sibling.size;
+        root = newRoot;
+    }
+
+    /**
+     * Removes the levels of the tree that have only one child.
+     */
+    private void shrinkRoot(){
+        while(root instanceof Inner && ((Inner) root).count == 1) root = ((Inner) root).children[0];
+        if(root instanceof Inner && ((Inner) root).count == 0) root = new Leaf(chunkSize);
+    }
+
+    /**
+     * Removes a component from the subtree of node.
+     *
+     * @param base  the index in the vector of the first component of node
+     * @param index the index of the component in the subtree
+     * @return the removed component
+     */
+    private Object remove(Node node, int base, int index){
+        node.size--;
+        if(node instanceof Leaf){
+            Leaf leaf = (Leaf) node;
+            Object old = leaf.items[index];
+            ListEvents.Shift shift = shifting(base + index + 1, leaf.size - index);
+            System.arraycopy(leaf.items, index + 1, leaf.items, index, leaf.size - index);
+            if(shift != null) shift.commit();
+            leaf.items[leaf.size] = null;
+            return old;
+        }
+        Inner inner = (Inner) node;
+        int i = 0;
+        while(index >= inner.children[i].size){
+            index -= inner.children[i].size;
+            base += inner.children[i].size;
+            i++;
+        }
+        Object old = remove(inner.children[i], base, index);
+        Node child = inner.children[i];
+        if(child.size == 0) removeChild(inner, i);
+        else if(isUnderfull(child) && inner.count > 1) rebalance(inner, i);
+        return old;
+    }
+
+    /**
+     * Removes the components between fromIndex, inclusive, and toIndex, exclusive, of the subtree of node.
+     * The children entirely inside the range are dropped without visiting them.
+     *
+     * @param base the index in the vector of the first component of node
+     */
+    private void removeRange(Node node, int base, int fromIndex, int toIndex){
+        int oldSize = node.size;
+        node.size -= toIndex - fromIndex;
+        if(node instanceof Leaf){
+            Leaf leaf = (Leaf) node;
+            ListEvents.Shift shift = shifting(base + toIndex, (fromIndex < toIndex) ? oldSize - toIndex : 0);
+            System.arraycopy(leaf.items, toIndex, leaf.items, fromIndex, oldSize - toIndex);
+            if(shift != null) shift.commit();
+            for(int i=node.size; i<oldSize; i++) leaf.items[i] = null;
+            return;
+        }
+        Inner inner = (Inner) node;
+        int start = 0, kept = 0;
+        for(int i=0; i<inner.count; i++){
+            Node child = inner.children[i];
+            int childSize = child.size;
+            int from = Math.max(fromIndex - start, 0), to = Math.min(toIndex - start, childSize);
+            int childBase = base + start;
+            start += childSize;
+            inner.children[i] = null;
+            if(from < to){
+                if(to - from == childSize) continue;
+                removeRange(child, childBase, from, to);
+            }
+            inner.children[kept++] = child;
+        }
+        inner.count = kept;
+        for(int i=0; i<inner.count - 1; ){
+            if(fits(inner.children[i], inner.children[i + 1])) merge(inner, i);
+            else i++;
+        }
+        for(int i=0; i<inner.count && inner.count > 1; ){
+            if(isUnderfull(inner.children[i])) i = rebalance(inner, i);
+            else i++;
+        }
+    }
+
+    /**
+     * Brings the underfull child i of inner back to at least half full: merges it with a neighbour when they fit in
+     * a single node, otherwise moves to it part of the content of a neighbour. inner must have at least two children.
+     *
+     * @return the index of the first child that may still be underfull
+     */
+    private int rebalance(Inner inner, int i){
+        if(i > 0 && fits(inner.children[i - 1], inner.children[i])){
+            merge(inner, i - 1);
+            return i - 1;
+        }
+        if(i < inner.count - 1 && fits(inner.children[i], inner.children[i + 1])){
+            merge(inner, i);
+            return i;
+        }
+        redistribute(inner, (i > 0) ? i - 1 : i);
+        return i + 1;
+    }
+
+    /**
+     * Splits evenly between the children i and i+1 of inner the content they hold together, which doesn't fit in
+     * a single node, so that both of them are at least half full.
+     */
+    private void redistribute(Inner inner, int i){
+        Node left = inner.children[i], right = inner.children[i + 1];
+        if(left instanceof Leaf){
+            Leaf l = (Leaf) left, r = (Leaf) right;
+            int half = (l.size + r.size) / 2;
+            if(l.size > half){
+                int n = l.size - half;
+                System.arraycopy(r.items, 0, r.items, n, r.size);
+                System.arraycopy(l.items, half, r.items, 0, n);
+                for(int j=half; j<l.size; j++) l.items[j] = null;
+            } else {
+                int n = half - l.size;
+                System.arraycopy(r.items, 0, l.items, l.size, n);
+                System.arraycopy(r.items, n, r.items, 0, r.size - n);
+                for(int j=r.size - n; j<r.size; j++) r.items[j] = null;
+            }
+            r.size += l.size - half;
+            l.size = half;
+            return;
+        }
+        Inner l = (Inner) left, r = (Inner) right;
+        int half = (l.count + r.count) / 2;
+        if(l.count > half){
+            int n = l.count - half;
+            System.arraycopy(r.children, 0, r.children, n, r.count);
+            System.arraycopy(l.children, half, r.children, 0, n);
+            for(int j=half; j<l.count; j++) l.children[j] = null;
+        } else {
+            int n = half - l.count;
+            System.arraycopy(r.children, 0, l.children, l.count, n);
+            System.arraycopy(r.children, n, r.children, 0, r.count - n);
+            for(int j=r.count - n; j<r.count; j++) r.children[j] = null;
+        }
+        r.count += l.count - half;
+        l.count = half;
+        int total = l.size + r.size;
+        l.size = 0;
+        for(int j=0; j<l.count; j++) l.size += l.children[j].size;
+        r.size = total - l.size;
+    }
+
+    private boolean isUnderfull(Node node){
+        if(node instanceof Leaf) return node.size < chunkSize / 2;
+        return ((Inner) node).count < chunkSize / 2;
+    }
+
+    /**
+     * @return true if the two siblings can be merged in a single node
+     */
+    private boolean fits(Node left, Node right){
+        if(left instanceof Leaf) return left.size + right.size <= chunkSize;
+        return ((Inner) left).count + ((Inner) right).count <= chunkSize;
+    }
+
+    /**
+     * Moves the content of the child i+1 of inner at the end of the child i and removes the child i+1.
+     */
+    private void merge(Inner inner, int i){
+        Node left = inner.children[i], right = inner.children[i + 1];
+        if(left instanceof Leaf){
+            System.arraycopy(((Leaf) right).items, 0, ((Leaf) left).items, left.size, right.size);
+        } else {
+            Inner l = (Inner) left, r = (Inner) right;
+            System.arraycopy(r.children, 0, l.children, l.count, r.count);
+            l.count += r.count;
+        }
+        left.size += right.size;
+        removeChild(inner, i + 1);
+    }
+
+    private void removeChild(Inner inner, int i){
+        System.arraycopy(inner.children, i + 1, inner.children, i, inner.count - i - 1);
+        inner.children[--inner.count] = null;
+    }
+
+    /**
+     * Builds a tree with full chunks holding the given components.
+     *
+     * @param components the components of the new tree
+     * @param count      the number of components
+     * @return the root of the new tree
+     */
+    private Node build(Object[] components, int count){
+        int leaves = Math.max((count + chunkSize - 1) / chunkSize, 1);
+        Node[] level = new Node[leaves];
+        for(int i=0; i<leaves; i++){
+            Leaf leaf = new Leaf(chunkSize);
+            leaf.size = Math.min(chunkSize, count - i * chunkSize);
+            System.arraycopy(components, i * chunkSize, leaf.items, 0, leaf.size);
+            level[i] = leaf;
+        }
+        while(level.length > 1){
+            Node[] upper = new Node[(level.length + chunkSize - 1) / chunkSize];
+            for(int i=0; i<upper.length; i++){
+                Inner inner = new Inner(chunkSize);
+                inner.count = Math.min(chunkSize, level.length - i * chunkSize);
+                System.arraycopy(level, i * chunkSize, inner.children, 0, inner.count);
+                for(int j=0; j<inner.count; j++) inner.size += inner.children[j].size;
+                upper[i] = inner;
+            }
+            level = upper;
+        }
+        return level[0];
+    }
+
+    private int countLeaves(Node node){
+        if(node instanceof Leaf) return 1;
+        Inner inner = (Inner) node;
+        int leaves = 0;
+        for(int i=0; i<inner.count; i++) leaves += countLeaves(inner.children[i]);
+        return leaves;
+    }
+
+    @Override
+    public void addElement(Object obj){
+        insertElementAt(obj, elementCount);
+    }
+
+    /**
+     * Returns the number of components that the chunks of this vector can hold without being split
+     *
+     * @return the number of chunks multiplied by the chunk size
+     */
+    @Override
+    public int capacity(){
+        return countLeaves(root) * chunkSize;
+    }
+
+    @Override
+    public void copyInto(Object[] anArray){
+        for(int i=0; i<elementCount; ){
+            Finger f = leafOf(i);
+            System.arraycopy(f.leaf.items, 0, anArray, f.start, f.leaf.size);
+            i = f.start + f.leaf.size;
+        }
+    }
+
+    /**
+     * Copies the range with one copy for every chunk it spans
+     */
+    @Override
+    public void copyInto(int fromIndex, int toIndex, Object[] anArray, int offset){
+        checkCopyRange(fromIndex, toIndex, anArray, offset);
+        for(int i=fromIndex; i<toIndex; ){
+            Finger f = leafOf(i);
+            int n = Math.min(f.start + f.leaf.size, toIndex) - i;
+            System.arraycopy(f.leaf.items, i - f.start, anArray, offset + i - fromIndex, n);
+            i += n;
+        }
+    }
+
+    @Override
+    public Object elementAt(int index){
+        checkIndex(index);
+        Finger f = leafOf(index);
+        return f.leaf.items[index - f.start];
+    }
+
+    /**
+     * Does nothing: the chunks are allocated when they are needed
+     */
+    @Override
+    public void ensureCapacity(int minCapacity){
+    }
+
+    @Override
+    public int indexOf(Object elem, int fromIndex, int toIndex){
+        if(toIndex > elementCount) toIndex = elementCount;
+        for(int i=fromIndex; i<toIndex; ){
+            Finger f = leafOf(i);
+            int end = Math.min(f.leaf.size, toIndex - f.start);
+            for(int j=i-f.start; j<end; j++){
+                Object obj = f.leaf.items[j];
+                if(elem == null ? obj == null : elem.equals(obj)) return f.start + j;
+            }
+            i = f.start + f.leaf.size;
+        }
+        return -1;
+    }
+
+    @Override
+    public void insertElementAt(Object obj, int index){
+        if(index > elementCount || index < 0) throw new ArrayIndexOutOfBoundsException(index + " > " + elementCount);
+        finger = null;
+        growRoot(insert(root, 0, index, obj));
+        elementCount++;
+    }
+
+    /**
+     * Inserts the components one at a time in O(k log n) time, or rebuilds the whole tree in O(n+k) time
+     * when they are more than the components already in the vector.
+     */
+    @Override
+    public void insertElementsAt(Object[] elements, int index){
+        if(index > elementCount || index < 0) throw new ArrayIndexOutOfBoundsException(index + " > " + elementCount);
+        int count = elements.length;
+        if(count == 0) return;
+        if(count > elementCount){
+            Object[] components = new Object[elementCount + count];
+            copyInto(components);
+            System.arraycopy(components, index, components, index + count, elementCount - index);
+            System.arraycopy(elements, 0, components, index, count);
+            root = build(components, components.length);
+        } else {
+            for(int i=0; i<count; i++) growRoot(insert(root, 0, index + i, elements[i]));
+        }
+        finger = null;
+        elementCount += count;
+    }
+
+    @Override
+    public int lastIndexOf(Object elem, int fromIndex, int toIndex){
+        if(toIndex > elementCount) toIndex = elementCount;
+        for(int i=toIndex-1; i>=fromIndex; ){
+            Finger f = leafOf(i);
+            int end = Math.max(0, fromIndex - f.start);
+            for(int j=i-f.start; j>=end; j--){
+                Object obj = f.leaf.items[j];
+                if(elem == null ? obj == null : elem.equals(obj)) return f.start + j;
+            }
+            i = f.start - 1;
+        }
+        return -1;
+    }
+
+    @Override
+    public void removeElementAt(int index){
+        checkIndex(index);
+        finger = null;
+        remove(root, 0, index);
+        shrinkRoot();
+        elementCount--;
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex){
+        if(fromIndex < 0 || toIndex > elementCount || toIndex < fromIndex)
+            throw new ArrayIndexOutOfBoundsException(fromIndex + ", " + toIndex);
+        if(fromIndex == toIndex) return;
+        finger = null;
+        removeRange(root, 0, fromIndex, toIndex);
+        shrinkRoot();
+        elementCount -= toIndex - fromIndex;
+    }
+
+    @Override
+    public void setElementAt(Object obj, int index){
+        checkIndex(index);
+        Finger f = leafOf(index);
+        f.leaf.items[index - f.start] = obj;
+    }
+
+    @Override
+    public void setSize(int newSize){
+        if(newSize < 0) throw new ArrayIndexOutOfBoundsException(newSize);
+        if(newSize < elementCount) removeRange(newSize, elementCount);
+        else if(newSize > elementCount) insertElementsAt(new Object[newSize - elementCount], elementCount);
+    }
+
+    /**
+     * @return true: the chunks that become less than half full are merged and the empty ones are dropped
+     */
+    @Override
+    boolean freesStorage(){
+        return true;
+    }
+
+    /**
+     * Rebuilds the tree so that all the chunks but the last one are full
+     */
+    @Override
+    public void trimToSize(){
+        Object[] components = new Object[elementCount];
+        copyInto(components);
+        finger = null;
+        root = build(components, elementCount);
+    }
+}
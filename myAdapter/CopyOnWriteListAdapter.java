@@ -0,0 +1,490 @@
+package myAdapter;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * A thread-safe {@link myAdapter.HList} for lists that are read much more often than they are changed<br>
+ * <p>
+ * <p>
+ * The elements are kept in an array that is never changed after it has been published: every change copies the
+ * array under a lock and publishes the copy with a single volatile write. The reads (get, contains, indexOf,
+ * toArray, the iterators...) take no lock, they read the last published array and never wait for a writer, so any
+ * number of threads can read the list at the same time. A change costs O(n) time, whatever the position of the
+ * element.
+ * <p>
+ * The iterators walk the array published when they were created: they never throw ConcurrentModificationException
+ * and never see the changes made after their creation. They don't support remove(), set() and add().
+ * <p>
+ * The sublists are views of the list, as in ListAdapter, also at any depth. A change made through a sublist is seen
+ * by the list and by the sublists that enclose it; after any other change of the list the sublist can't be used
+ * anymore and its methods throw ConcurrentModificationException.
+ *
+ * @see myAdapter.ListAdapter
+ */
+public class CopyOnWriteListAdapter implements HList, HCollection {
+
+    /**
+     * A published array and the part of it that belongs to a list
+     */
+    private static final class Window {
+        final Object[] array;
+        final int from, to;
+
+        Window(Object[] array, int from, int to) {
+            this.array = array;
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    private static final Object[] EMPTY = new Object[0];
+
+    private final CopyOnWriteListAdapter root, parent;
+    private final Object lock;
+
+    /**
+     * The array of the list: for the list it is always the last published one, for a sublist it is the array
+     * published by the last change that the sublist has seen
+     */
+    private volatile Window window;
+
+    /**
+     * Creates a new empty CopyOnWriteListAdapter
+     */
+    public CopyOnWriteListAdapter() {
+        root = this;
+        parent = null;
+        lock = new Object();
+        window = new Window(EMPTY, 0, 0);
+    }
+
+    /**
+     * Creates a new CopyOnWriteListAdapter containing the elements of the given collection, in the order
+     * they are returned by its iterator
+     *
+     * @param coll the collection from which the new list copies the elements
+     * @throws NullPointerException if coll is null
+     */
+    public CopyOnWriteListAdapter(HCollection coll) {
+        if(coll == null) throw new NullPointerException();
+        root = this;
+        parent = null;
+        lock = new Object();
+        Object[] elements = coll.toArray();
+        window = new Window(elements, 0, elements.length);
+    }
+
+    /**
+     * Constructor used only to create a sublist
+     *
+     * @param parent    the list that encloses the sublist
+     * @param w         the window of parent, already checked
+     * @param fromIndex first index of the array that belongs to the sublist
+     * @param toIndex   first index of the array after the sublist
+     */
+    private CopyOnWriteListAdapter(CopyOnWriteListAdapter parent, Window w, int fromIndex, int toIndex) {
+        this.root = parent.root;
+        this.parent = parent;
+        this.lock = parent.lock;
+        window = new Window(w.array, fromIndex, toIndex);
+    }
+
+    /**
+     * Returns the window of this list to read it. A sublist whose array is not the last published one is
+     * checked again under the lock, since a change made through it may be still publishing its windows.
+     *
+     * @return the window of this list
+     * @throws ConcurrentModificationException if this is a sublist and the list has been changed without using it
+     */
+    private Window current(){
+        Window w = window;
+        if(root == this || w.array == root.window.array) return w;
+        synchronized(lock){
+            return locked();
+        }
+    }
+
+    /**
+     * Returns the window of this list to change it, it must be called with the lock held
+     *
+     * @return the window of this list
+     * @throws ConcurrentModificationException if this is a sublist and the list has been changed without using it
+     */
+    private Window locked(){
+        Window w = window;
+        if(w.array != root.window.array) throw new ConcurrentModificationException();
+        return w;
+    }
+
+    /**
+     * Publishes a new array, it must be called with the lock held. The windows of this list and of the
+     * sublists that enclose it are moved by the number of elements inserted or removed.
+     *
+     * @param array the new array of the list
+     * @param delta the number of elements inserted, negative if they have been removed
+     */
+    private void publish(Object[] array, int delta){
+        for(CopyOnWriteListAdapter v=this; v!=root; v=v.parent){
+            Window w = v.window;
+            v.window = new Window(array, w.from, w.to + delta);
+        }
+        root.window = new Window(array, 0, array.length);
+    }
+
+    /**
+     * Replaces the elements of the array between start and end with the given ones and publishes the result,
+     * it must be called with the lock held
+     *
+     * @param w        the window of this list
+     * @param start    first index of the array to replace
+     * @param end      first index of the array after the elements to replace
+     * @param elements the elements to put in their place
+     */
+    private void splice(Window w, int start, int end, Object[] elements){
+        Object[] old = w.array;
+        Object[] array = new Object[old.length - (end - start) + elements.length];
+        System.arraycopy(old, 0, array, 0, start);
+        System.arraycopy(elements, 0, array, start, elements.length);
+        System.arraycopy(old, end, array, start + elements.length, old.length - end);
+        publish(array, elements.length - (end - start));
+    }
+
+    private static boolean eq(Object a, Object b){
+        return (a == null) ? b == null : a.equals(b);
+    }
+
+    private static int indexOf(Object obj, Object[] array, int from, int to){
+        for(int i=from; i<to; i++)
+            if(eq(obj, array[i])) return i;
+        return -1;
+    }
+
+    @Override
+    public boolean add(Object obj){
+        synchronized(lock){
+            Window w = locked();
+            splice(w, w.to, w.to, new Object[]{obj});
+        }
+        return true;
+    }
+
+    @Override
+    public void add(int index, Object obj){
+        synchronized(lock){
+            Window w = locked();
+            if(index < 0 || index > w.to - w.from) throw new IndexOutOfBoundsException();
+            splice(w, w.from + index, w.from + index, new Object[]{obj});
+        }
+    }
+
+    @Override
+    public boolean addAll(HCollection coll){
+        if(coll == null) throw new NullPointerException();
+        Object[] elements = coll.toArray();
+        if(elements.length == 0) return false;
+        synchronized(lock){
+            Window w = locked();
+            splice(w, w.to, w.to, elements);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addAll(int index, HCollection coll){
+        if(coll == null) throw new NullPointerException();
+        Object[] elements = coll.toArray();
+        synchronized(lock){
+            Window w = locked();
+            if(index < 0 || index > w.to - w.from) throw new IndexOutOfBoundsException();
+            if(elements.length == 0) return false;
+            splice(w, w.from + index, w.from + index, elements);
+        }
+        return true;
+    }
+
+    @Override
+    public void clear(){
+        synchronized(lock){
+            Window w = locked();
+            if(w.to > w.from) splice(w, w.from, w.to, EMPTY);
+        }
+    }
+
+    @Override
+    public boolean contains(Object obj){
+        Window w = current();
+        return indexOf(obj, w.array, w.from, w.to) != -1;
+    }
+
+    @Override
+    public boolean containsAll(HCollection coll){
+        if(coll == null) throw new NullPointerException();
+        Window w = current();
+        HIterator it = coll.iterator();
+        while(it.hasNext()){
+            if(indexOf(it.next(), w.array, w.from, w.to) == -1) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Compares this list with any HList: they are equal if they contain equal elements in the same order
+     */
+    @Override
+    public boolean equals(Object obj){
+        if(obj == this) return true;
+        if(!(obj instanceof HList)) return false;
+        HList other = (HList) obj;
+        Window w = current();
+        if(other.size() != w.to - w.from) return false;
+        HIterator it = other.iterator();
+        for(int i=w.from; i<w.to; i++){
+            if(!it.hasNext() || !eq(w.array[i], it.next())) return false;
+        }
+        return !it.hasNext();
+    }
+
+    @Override
+    public Object get(int index){
+        Window w = current();
+        if(index < 0 || index >= w.to - w.from) throw new IndexOutOfBoundsException();
+        return w.array[w.from + index];
+    }
+
+    @Override
+    public int hashCode(){
+        Window w = current();
+        int hashCode = 1;
+        for(int i=w.from; i<w.to; i++){
+            hashCode = 31 * hashCode + (w.array[i] == null ? 0 : w.array[i].hashCode());
+        }
+        return hashCode;
+    }
+
+    @Override
+    public int indexOf(Object obj){
+        Window w = current();
+        int i = indexOf(obj, w.array, w.from, w.to);
+        return (i == -1) ? -1 : i - w.from;
+    }
+
+    @Override
+    public boolean isEmpty(){
+        return size() == 0;
+    }
+
+    @Override
+    public HIterator iterator(){
+        return new Iterator(current(), 0);
+    }
+
+    @Override
+    public int lastIndexOf(Object obj){
+        Window w = current();
+        for(int i=w.to-1; i>=w.from; i--)
+            if(eq(obj, w.array[i])) return i - w.from;
+        return -1;
+    }
+
+    @Override
+    public HListIterator listIterator(){
+        return new Iterator(current(), 0);
+    }
+
+    @Override
+    public HListIterator listIterator(int index){
+        Window w = current();
+        if(index < 0 || index > w.to - w.from) throw new IndexOutOfBoundsException();
+        return new Iterator(w, index);
+    }
+
+    @Override
+    public Object remove(int index){
+        synchronized(lock){
+            Window w = locked();
+            if(index < 0 || index >= w.to - w.from) throw new IndexOutOfBoundsException();
+            Object tmp = w.array[w.from + index];
+            splice(w, w.from + index, w.from + index + 1, EMPTY);
+            return tmp;
+        }
+    }
+
+    @Override
+    public boolean remove(Object obj){
+        synchronized(lock){
+            Window w = locked();
+            int i = indexOf(obj, w.array, w.from, w.to);
+            if(i == -1) return false;
+            splice(w, i, i + 1, EMPTY);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean removeAll(HCollection coll){
+        if(coll == null) throw new NullPointerException();
+        return filter(coll, false);
+    }
+
+    @Override
+    public boolean retainAll(HCollection coll){
+        if(coll == null) throw new NullPointerException();
+        return filter(coll, true);
+    }
+
+    /**
+     * Method used by removeAll() and retainAll(): the elements kept are copied once in a new array,
+     * which is published only if some element has been removed
+     *
+     * @param coll   collection whose elements are checked with contains()
+     * @param retain true to keep the elements contained in coll, false to keep the others
+     * @return true if this list changed as a result of the call
+     */
+    private boolean filter(HCollection coll, boolean retain){
+        synchronized(lock){
+            Window w = locked();
+            Object[] kept = new Object[w.to - w.from];
+            int n = 0;
+            for(int i=w.from; i<w.to; i++){
+                if(coll.contains(w.array[i]) == retain) kept[n++] = w.array[i];
+            }
+            if(n == kept.length) return false;
+            Object[] elements = new Object[n];
+            System.arraycopy(kept, 0, elements, 0, n);
+            splice(w, w.from, w.to, elements);
+            return true;
+        }
+    }
+
+    @Override
+    public Object set(int index, Object obj){
+        synchronized(lock){
+            Window w = locked();
+            if(index < 0 || index >= w.to - w.from) throw new IndexOutOfBoundsException();
+            Object[] array = (Object[]) w.array.clone();
+            Object tmp = array[w.from + index];
+            array[w.from + index] = obj;
+            publish(array, 0);
+            return tmp;
+        }
+    }
+
+    @Override
+    public int size(){
+        Window w = current();
+        return w.to - w.from;
+    }
+
+    /**
+     * Returns a view of the portion of this list between fromIndex, inclusive, and toIndex, exclusive.
+     * The changes made through the sublist are seen by this list, after a change made in another way
+     * the sublist throws ConcurrentModificationException.
+     *
+     * @throws IndexOutOfBoundsException for an illegal endpoint index value
+     */
+    @Override
+    public HList subList(int fromIndex, int toIndex){
+        Window w = current();
+        if(fromIndex < 0 || toIndex > w.to - w.from || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+        return new CopyOnWriteListAdapter(this, w, w.from + fromIndex, w.from + toIndex);
+    }
+
+    @Override
+    public Object[] toArray(){
+        Window w = current();
+        Object[] tmp = new Object[w.to - w.from];
+        System.arraycopy(w.array, w.from, tmp, 0, tmp.length);
+        return tmp;
+    }
+
+    @Override
+    public Object[] toArray(Object arrayTarget[]){
+        if(arrayTarget == null) throw new NullPointerException();
+        Window w = current();
+        int size = w.to - w.from;
+        if(arrayTarget.length < size)
+            arrayTarget = (Object[]) java.lang.reflect.Array.newInstance(arrayTarget.getClass().getComponentType(), size);
+        System.arraycopy(w.array, w.from, arrayTarget, 0, size);
+        for(int i=size; i<arrayTarget.length; i++) arrayTarget[i] = null;
+        return arrayTarget;
+    }
+
+    /**
+     * Returns a Spliterator over the array published when it is called, which is never changed
+     */
+    @Override
+    public java.util.Spliterator spliterator(){
+        Window w = current();
+        return java.util.Spliterators.spliterator(w.array, w.from, w.to, java.util.Spliterator.ORDERED | java.util.Spliterator.IMMUTABLE);
+    }
+
+    /**
+     * Iterator over the array published when it was created
+     */
+    private static final class Iterator implements HListIterator {
+        private final Window snapshot;
+        private int cursor;
+
+        Iterator(Window snapshot, int index) {
+            this.snapshot = snapshot;
+            cursor = snapshot.from + index;
+        }
+
+        @Override
+        public boolean hasNext(){
+            return cursor < snapshot.to;
+        }
+
+        @Override
+        public Object next(){
+            if(!hasNext()) throw new NoSuchElementException();
+            return snapshot.array[cursor++];
+        }
+
+        @Override
+        public boolean hasPrevious(){
+            return cursor > snapshot.from;
+        }
+
+        @Override
+        public Object previous(){
+            if(!hasPrevious()) throw new NoSuchElementException();
+            return snapshot.array[--cursor];
+        }
+
+        @Override
+        public int nextIndex(){
+            return cursor - snapshot.from;
+        }
+
+        @Override
+        public int previousIndex(){
+            return cursor - snapshot.from - 1;
+        }
+
+        /**
+         * @throws UnsupportedOperationException always, the array of the iterator can't be changed
+         */
+        @Override
+        public void remove(){
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * @throws UnsupportedOperationException always, the array of the iterator can't be changed
+         */
+        @Override
+        public void set(Object obj){
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * @throws UnsupportedOperationException always, the array of the iterator can't be changed
+         */
+        @Override
+        public void add(Object obj){
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package myAdapter;
+
+/**
+ * A {@link myAdapter.ListAdapter} of double values, stored in an {@link myAdapter.DoubleVector}<br>
+ * <p>
+ * <p>
+ * The elements are kept in an array of double, so they take 8 bytes each and are read without following any reference.
+ * All the methods of {@link myAdapter.HList} work as in ListAdapter and see the elements as Double objects, boxing
+ * them only when they cross that interface: null and any other object that is not a Double can't be inserted,
+ * trying to do it throws NullPointerException or ClassCastException. The methods ending with Double work directly
+ * on the primitive values, also on the sublists, which are DoubleListAdapter too.
+ *
+ * @see myAdapter.DoubleVector
+ */
+public class DoubleListAdapter extends ListAdapter {
+    private DoubleVector doubles;
+
+    /**
+     * Creates a new empty DoubleListAdapter
+     */
+    public DoubleListAdapter() {
+        this(new DoubleVector());
+    }
+
+    /**
+     * Creates a new DoubleListAdapter containing the elements of the given collection, in the order
+     * they are returned by its iterator
+     *
+     * @param coll the collection of Double objects from which the new list copies the elements
+     * @throws NullPointerException if coll is null or contains null
+     * @throws ClassCastException   if coll contains an object that is not a Double
+     */
+    public DoubleListAdapter(HCollection coll) {
+        this(new DoubleVector(coll.size()));
+        addAll(coll);
+    }
+
+    /**
+     * Creates a new DoubleListAdapter containing the given values
+     *
+     * @param values the values copied in the new list
+     */
+    public DoubleListAdapter(double[] values) {
+        this(new DoubleVector(values.length));
+        for(int i=0; i<values.length; i++) doubles.addDouble(values[i]);
+        resized(0, values.length);
+    }
+
+    private DoubleListAdapter(DoubleVector backing) {
+        super(backing);
+        doubles = backing;
+    }
+
+    /**
+     * Constructor used only to create a sublist, see {@link ListAdapter#subList(int, int)}
+     */
+    private DoubleListAdapter(DoubleListAdapter fatherList, int fromIndex, int toIndex) {
+        super(fatherList, fromIndex, toIndex);
+        doubles = fatherList.doubles;
+    }
+
+    @Override
+    ListAdapter newSubList(int fromIndex, int toIndex){
+        return new DoubleListAdapter(this, fromIndex, toIndex);
+    }
+
+    /**
+     * Returns the value at the specified position in this list
+     *
+     * @param index index of the value to return
+     * @return the value at the specified position in this list
+     * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt;= size())
+     */
+    public double getDouble(int index){
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException();
+        countGet();
+        return doubles.doubleAt(offset()+index);
+    }
+
+    /**
+     * Replaces the value at the specified position in this list
+     *
+     * @param index index of the value to replace
+     * @param value value to be stored at the specified position
+     * @return the value previously at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt;= size())
+     */
+    public double setDouble(int index, double value){
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException();
+        double old = doubles.doubleAt(offset()+index);
+        doubles.setDoubleAt(value, offset()+index);
+        changed();
+        return old;
+    }
+
+    /**
+     * Appends the specified value to the end of this list
+     *
+     * @param value value to be appended to this list
+     * @return true
+     */
+    public boolean addDouble(double value){
+        int end = offset()+size();
+        if(end == doubles.size()) doubles.addDouble(value);
+        else doubles.insertDoubleAt(value, end);
+        resized(end, 1);
+        return true;
+    }
+
+    /**
+     * Inserts the specified value at the specified position in this list, shifting the following
+     * elements to the right
+     *
+     * @param index index at which the value is to be inserted
+     * @param value value to be inserted
+     * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt; size())
+     */
+    public void addDouble(int index, double value){
+        if(index < 0 || index > size()) throw new IndexOutOfBoundsException();
+        countInsert(offset()+index);
+        doubles.insertDoubleAt(value, offset()+index);
+        resized(offset()+index, 1);
+    }
+
+    /**
+     * Removes the value at the specified position in this list, shifting the following elements to the left
+     *
+     * @param index the index of the value to be removed
+     * @return the value previously at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt;= size())
+     */
+    public double removeDoubleAt(int index){
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException();
+        countRemove();
+        double old = doubles.doubleAt(offset()+index);
+        doubles.removeElementAt(offset()+index);
+        resized(offset()+index, -1);
+        return old;
+    }
+
+    /**
+     * Returns the index in this list of the first occurrence of the specified value
+     *
+     * @param value value to search for
+     * @return the index of the first occurrence, -1 if this list does not contain the value
+     */
+    public int indexOfDouble(double value){
+        int i = doubles.indexOfDouble(value, offset(), offset()+size());
+        return (i == -1) ? -1 : i-offset();
+    }
+
+    /**
+     * Returns the index in this list of the last occurrence of the specified value
+     *
+     * @param value value to search for
+     * @return the index of the last occurrence, -1 if this list does not contain the value
+     */
+    public int lastIndexOfDouble(double value){
+        int i = doubles.lastIndexOfDouble(value, offset(), offset()+size());
+        return (i == -1) ? -1 : i-offset();
+    }
+
+    /**
+     * Returns true if this list contains the specified value
+     *
+     * @param value value whose presence in this list is to be tested
+     * @return true if this list contains the specified value
+     */
+    public boolean containsDouble(double value){
+        return indexOfDouble(value) != -1;
+    }
+
+    /**
+     * Returns an array containing all the values of this list in proper sequence
+     *
+     * @return a new array of double with the values of this list
+     */
+    public double[] toDoubleArray(){
+        return doubles.toDoubleArray(offset(), offset()+size());
+    }
+}
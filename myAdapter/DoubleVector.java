@@ -0,0 +1,241 @@
+package myAdapter;
+
+/**
+ * A {@link myAdapter.Vector} that stores its components in an array of double<br>
+ *
+ * <p>
+ * The methods inherited from Vector work with Double objects: the components are boxed only when they are read through
+ * them and unboxed when they are written, the methods ending with Double work directly on the primitive values.
+ * null can't be stored, trying to do it throws NullPointerException, any other object that is not a Double throws
+ * ClassCastException. The values are compared as {@link java.lang.Double#equals(Object)} does, so NaN is equal to
+ * itself and 0.0 is different from -0.0.
+ *
+ * @see myAdapter.DoubleListAdapter
+ */
+public class DoubleVector extends Vector {
+
+    /**
+     * The array buffer into which the components of the vector are stored.
+     */
+    protected double[] doubleData;
+
+    public DoubleVector() {
+        this(10);
+    }
+
+    public DoubleVector(int initialCapacity) {
+        this(initialCapacity, 0);
+    }
+
+    public DoubleVector(int initialCapacity, int capacityIncrement) {
+        super(0, capacityIncrement);
+        if(initialCapacity < 0) throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        doubleData = new double[initialCapacity];
+    }
+
+    /**
+     * Grows the buffer so that it can hold at least minCapacity components, following the growth policy or capacityIncrement
+     *
+     * @param minCapacity the desired minimum capacity
+     */
+    private void grow(int minCapacity){
+        int newCapacity = newCapacity(doubleData.length, minCapacity);
+        ListEvents.Growth growth = growing(elementCount, newCapacity, arrayBytes(newCapacity, 8));
+        double[] newData = new double[newCapacity];
+        System.arraycopy(doubleData, 0, newData, 0, elementCount);
+        doubleData = newData;
+        if(growth != null) growth.commit();
+    }
+
+    /**
+     * @param obj the object to store
+     * @return the value of the Double
+     * @throws NullPointerException if obj is null
+     * @throws ClassCastException   if obj is not a Double
+     */
+    private static double unbox(Object obj){
+        return ((Double) obj).doubleValue();
+    }
+
+    public double doubleAt(int index){
+        if(index >= elementCount) throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+        return doubleData[index];
+    }
+
+    public void setDoubleAt(double value, int index){
+        if(index >= elementCount) throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+        doubleData[index] = value;
+    }
+
+    public void addDouble(double value){
+        if(elementCount == doubleData.length) grow(elementCount + 1);
+        doubleData[elementCount++] = value;
+    }
+
+    public void insertDoubleAt(double value, int index){
+        if(index > elementCount || index < 0) throw new ArrayIndexOutOfBoundsException(index + " > " + elementCount);
+        if(elementCount == doubleData.length) grow(elementCount + 1);
+        ListEvents.Shift shift = shifting(index, elementCount - index);
+        System.arraycopy(doubleData, index, doubleData, index + 1, elementCount - index);
+        if(shift != null) shift.commit();
+        doubleData[index] = value;
+        elementCount++;
+    }
+
+    /**
+     * Searches for the first occurrence of the given value between fromIndex, inclusive, and toIndex, exclusive
+     *
+     * @param value     the value to search
+     * @param fromIndex the index to start searching from
+     * @param toIndex   the index where the search stops
+     * @return the index of the first occurrence, -1 if the value is not found
+     */
+    public int indexOfDouble(double value, int fromIndex, int toIndex){
+        if(toIndex > elementCount) toIndex = elementCount;
+        long bits = Double.doubleToLongBits(value);
+        for(int i=fromIndex; i<toIndex; i++)
+            if(Double.doubleToLongBits(doubleData[i]) == bits) return i;
+        return -1;
+    }
+
+    /**
+     * Searches backwards for the last occurrence of the given value between fromIndex, inclusive, and toIndex, exclusive
+     *
+     * @param value     the value to search
+     * @param fromIndex the index where the search stops
+     * @param toIndex   the index after the first one checked
+     * @return the index of the last occurrence, -1 if the value is not found
+     */
+    public int lastIndexOfDouble(double value, int fromIndex, int toIndex){
+        if(toIndex > elementCount) toIndex = elementCount;
+        long bits = Double.doubleToLongBits(value);
+        for(int i=toIndex-1; i>=fromIndex; i--)
+            if(Double.doubleToLongBits(doubleData[i]) == bits) return i;
+        return -1;
+    }
+
+    /**
+     * Copies the components between fromIndex, inclusive, and toIndex, exclusive, into a new array
+     *
+     * @param fromIndex index of the first component
+     * @param toIndex   index after the last component
+     * @return a new array with the components of the range
+     */
+    public double[] toDoubleArray(int fromIndex, int toIndex){
+        if(fromIndex < 0 || toIndex > elementCount || toIndex < fromIndex)
+            throw new ArrayIndexOutOfBoundsException(fromIndex + ", " + toIndex);
+        double[] values = new double[toIndex - fromIndex];
+        System.arraycopy(doubleData, fromIndex, values, 0, values.length);
+        return values;
+    }
+
+    @Override
+    public void addElement(Object obj){
+        addDouble(unbox(obj));
+    }
+
+    @Override
+    public int capacity(){
+        return doubleData.length;
+    }
+
+    @Override
+    public void copyInto(Object[] anArray){
+        for(int i=0; i<elementCount; i++) anArray[i] = Double.valueOf(doubleData[i]);
+    }
+
+    @Override
+    public void copyInto(int fromIndex, int toIndex, Object[] anArray, int offset){
+        checkCopyRange(fromIndex, toIndex, anArray, offset);
+        for(int i=fromIndex; i<toIndex; i++) anArray[offset++] = Double.valueOf(doubleData[i]);
+    }
+
+    @Override
+    public Object elementAt(int index){
+        return Double.valueOf(doubleAt(index));
+    }
+
+    @Override
+    public void ensureCapacity(int minCapacity){
+        if(minCapacity > doubleData.length) grow(minCapacity);
+    }
+
+    @Override
+    public int indexOf(Object elem, int fromIndex, int toIndex){
+        if(!(elem instanceof Double)) return -1;
+        return indexOfDouble(unbox(elem), fromIndex, toIndex);
+    }
+
+    @Override
+    public void insertElementAt(Object obj, int index){
+        insertDoubleAt(unbox(obj), index);
+    }
+
+    @Override
+    public void insertElementsAt(Object[] elements, int index){
+        if(index > elementCount || index < 0) throw new ArrayIndexOutOfBoundsException(index + " > " + elementCount);
+        int count = elements.length;
+        double[] values = new double[count];
+        for(int i=0; i<count; i++) values[i] = unbox(elements[i]);
+        if(count == 0) return;
+        if(elementCount + count > doubleData.length) grow(elementCount + count);
+        ListEvents.Shift shift = shifting(index, elementCount - index);
+        System.arraycopy(doubleData, index, doubleData, index + count, elementCount - index);
+        if(shift != null) shift.commit();
+        System.arraycopy(values, 0, doubleData, index, count);
+        elementCount += count;
+    }
+
+    @Override
+    public int lastIndexOf(Object elem, int fromIndex, int toIndex){
+        if(!(elem instanceof Double)) return -1;
+        return lastIndexOfDouble(unbox(elem), fromIndex, toIndex);
+    }
+
+    @Override
+    public void removeElementAt(int index){
+        if(index >= elementCount) throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+        if(index < 0) throw new ArrayIndexOutOfBoundsException(index);
+        ListEvents.Shift shift = shifting(index + 1, elementCount - index - 1);
+        System.arraycopy(doubleData, index + 1, doubleData, index, elementCount - index - 1);
+        if(shift != null) shift.commit();
+        elementCount--;
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex){
+        if(fromIndex < 0 || toIndex > elementCount || toIndex < fromIndex)
+            throw new ArrayIndexOutOfBoundsException(fromIndex + ", " + toIndex);
+        ListEvents.Shift shift = shifting(toIndex, (fromIndex < toIndex) ? elementCount - toIndex : 0);
+        System.arraycopy(doubleData, toIndex, doubleData, fromIndex, elementCount - toIndex);
+        if(shift != null) shift.commit();
+        elementCount -= toIndex - fromIndex;
+    }
+
+    @Override
+    public void setElementAt(Object obj, int index){
+        setDoubleAt(unbox(obj), index);
+    }
+
+    /**
+     * Sets the size of this vector, the components added at the end are 0.0
+     *
+     * @param newSize the new size of this vector
+     */
+    @Override
+    public void setSize(int newSize){
+        if(newSize < 0) throw new ArrayIndexOutOfBoundsException(newSize);
+        if(newSize > doubleData.length) grow(newSize);
+        for(int i=elementCount; i<newSize; i++) doubleData[i] = 0;
+        elementCount = newSize;
+    }
+
+    @Override
+    public void trimToSize(){
+        if(elementCount < doubleData.length){
+            double[] newData = new double[elementCount];
+            System.arraycopy(doubleData, 0, newData, 0, elementCount);
+            doubleData = newData;
+        }
+    }
+}
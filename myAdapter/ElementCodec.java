@@ -0,0 +1,100 @@
+package myAdapter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts the elements of an {@link myAdapter.OffHeapListAdapter} to and from a fixed number of bytes<br>
+ *
+ * <p>
+ * Every element is stored in {@link #width()} bytes of a direct buffer, at the offset given to the methods. An
+ * implementation must encode equal elements in the same bytes and different elements in different bytes: the
+ * searches of {@link myAdapter.OffHeapVector} compare the encodings instead of decoding every element.
+ * encode() must throw an exception, without writing anything, when it receives an element that it can't store,
+ * usually NullPointerException for null and ClassCastException for an object of the wrong class.
+ * <p>
+ * {@link #INT}, {@link #LONG} and {@link #DOUBLE} store Integer, Long and Double objects.
+ *
+ * @see myAdapter.OffHeapVector
+ */
+public interface ElementCodec {
+
+    /**
+     * Stores Integer objects in 4 bytes
+     */
+    ElementCodec INT = new ElementCodec() {
+        @Override
+        public int width() { return 4; }
+
+        @Override
+        public void encode(Object obj, ByteBuffer buffer, int offset) {
+            buffer.putInt(offset, ((Integer) obj).intValue());
+        }
+
+        @Override
+        public Object decode(ByteBuffer buffer, int offset) {
+            return Integer.valueOf(buffer.getInt(offset));
+        }
+    };
+
+    /**
+     * Stores Long objects in 8 bytes
+     */
+    ElementCodec LONG = new ElementCodec() {
+        @Override
+        public int width() { return 8; }
+
+        @Override
+        public void encode(Object obj, ByteBuffer buffer, int offset) {
+            buffer.putLong(offset, ((Long) obj).longValue());
+        }
+
+        @Override
+        public Object decode(ByteBuffer buffer, int offset) {
+            return Long.valueOf(buffer.getLong(offset));
+        }
+    };
+
+    /**
+     * Stores Double objects in 8 bytes. All the NaN values are stored as the same NaN, as Double.equals() does
+     * not tell them apart.
+     */
+    ElementCodec DOUBLE = new ElementCodec() {
+        @Override
+        public int width() { return 8; }
+
+        @Override
+        public void encode(Object obj, ByteBuffer buffer, int offset) {
+            buffer.putLong(offset, Double.doubleToLongBits(((Double) obj).doubleValue()));
+        }
+
+        @Override
+        public Object decode(ByteBuffer buffer, int offset) {
+            return Double.valueOf(Double.longBitsToDouble(buffer.getLong(offset)));
+        }
+    };
+
+    /**
+     * @return the number of bytes taken by every element, at least 1
+     */
+    int width();
+
+    /**
+     * Writes the given element in the bytes from offset to offset+width()-1 of the buffer
+     *
+     * @param obj    the element to store
+     * @param buffer the buffer where the element is written
+     * @param offset index of the first byte of the element
+     * @throws NullPointerException if obj is null and this codec can't store null
+     * @throws ClassCastException   if obj is not of the class stored by this codec
+     */
+    void encode(Object obj, ByteBuffer buffer, int offset);
+
+    /**
+     * Reads the element stored in the bytes from offset to offset+width()-1 of the buffer
+     *
+     * @param buffer the buffer where the element is stored
+     * @param offset index of the first byte of the element
+     * @return a new object equal to the one that was encoded
+     */
+    Object decode(ByteBuffer buffer, int offset);
+}
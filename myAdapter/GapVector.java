@@ -0,0 +1,233 @@
+package myAdapter;
+
+/**
+ * A {@link myAdapter.Vector} that keeps its free space as a gap at the position of the last change<br>
+ *
+ * <p>
+ * The components are stored in an array of objects which contains a gap of unused slots: the components before the gap
+ * are at their own index, the ones after it are shifted by the length of the gap. Inserting or removing a component
+ * moves the gap to that position first, copying only the components between the old and the new position of the gap,
+ * and then takes or gives back a slot of the gap. Changes made close to each other, as the ones made by a list iterator
+ * that walks the list while it adds or removes elements, cost O(1) amortized instead of shifting the whole tail of the
+ * vector; reading a component costs one more comparison than in Vector.
+ * <p>
+ * A GapVector can back a {@link myAdapter.ListAdapter}, see {@link ListAdapter#backedBy(Vector)}.
+ */
+public class GapVector extends Vector {
+
+    /**
+     * The array buffer into which the components of the vector are stored, the slots of the gap are null.
+     */
+    protected Object[] buffer;
+
+    /**
+     * The first slot of the gap and the first slot after the gap.
+     */
+    protected int gapStart, gapEnd;
+
+    public GapVector() {
+        this(10);
+    }
+
+    public GapVector(int initialCapacity) {
+        this(initialCapacity, 0);
+    }
+
+    public GapVector(int initialCapacity, int capacityIncrement) {
+        super(0, capacityIncrement);
+        if(initialCapacity < 0) throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        buffer = new Object[initialCapacity];
+        gapStart = 0;
+        gapEnd = initialCapacity;
+    }
+
+    /**
+     * Grows the buffer so that it can hold at least minCapacity components, following the growth policy or capacityIncrement.
+     * The gap stays where it is and takes all the new slots.
+     *
+     * @param minCapacity the desired minimum capacity
+     */
+    private void grow(int minCapacity){
+        int oldCapacity = buffer.length;
+        int newCapacity = newCapacity(oldCapacity, minCapacity);
+        ListEvents.Growth growth = growing(elementCount, newCapacity, arrayBytes(newCapacity, 4));
+        Object[] newBuffer = new Object[newCapacity];
+        int tail = oldCapacity - gapEnd;
+        System.arraycopy(buffer, 0, newBuffer, 0, gapStart);
+        System.arraycopy(buffer, gapEnd, newBuffer, newCapacity - tail, tail);
+        buffer = newBuffer;
+        gapEnd = newCapacity - tail;
+        if(growth != null) growth.commit();
+    }
+
+    /**
+     * Moves the gap so that it starts at the given index, copying only the components between
+     * the old and the new position. The slots that become part of the gap are cleared.
+     *
+     * @param index the index of the component that will follow the gap
+     */
+    private void moveGap(int index){
+        if(index < gapStart){
+            int n = gapStart - index;
+            ListEvents.Shift shift = shifting(index, n);
+            System.arraycopy(buffer, index, buffer, gapEnd - n, n);
+            if(shift != null) shift.commit();
+            clear(index, Math.min(gapStart, gapEnd - n));
+            gapStart = index;
+            gapEnd -= n;
+        } else if(index > gapStart){
+            int n = index - gapStart;
+            ListEvents.Shift shift = shifting(gapEnd, n);
+            System.arraycopy(buffer, gapEnd, buffer, gapStart, n);
+            if(shift != null) shift.commit();
+            clear(Math.max(gapEnd, gapStart + n), gapEnd + n);
+            gapStart += n;
+            gapEnd += n;
+        }
+    }
+
+    private void clear(int fromSlot, int toSlot){
+        for(int i=fromSlot; i<toSlot; i++) buffer[i] = null;
+    }
+
+    /**
+     * @param index the index of a component
+     * @return the slot of the buffer where the component is stored
+     */
+    private int slot(int index){
+        return (index < gapStart) ? index : index + (gapEnd - gapStart);
+    }
+
+    private void checkIndex(int index){
+        if(index >= elementCount) throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+        if(index < 0) throw new ArrayIndexOutOfBoundsException(index);
+    }
+
+    @Override
+    public void addElement(Object obj){
+        insertElementAt(obj, elementCount);
+    }
+
+    @Override
+    public int capacity(){
+        return buffer.length;
+    }
+
+    @Override
+    public void copyInto(Object[] anArray){
+        System.arraycopy(buffer, 0, anArray, 0, gapStart);
+        System.arraycopy(buffer, gapEnd, anArray, gapStart, elementCount - gapStart);
+    }
+
+    /**
+     * Copies the range with at most two copies, one for the components before the gap and one for the ones after it
+     */
+    @Override
+    public void copyInto(int fromIndex, int toIndex, Object[] anArray, int offset){
+        checkCopyRange(fromIndex, toIndex, anArray, offset);
+        int before = Math.max(Math.min(toIndex, gapStart) - fromIndex, 0);
+        System.arraycopy(buffer, fromIndex, anArray, offset, before);
+        int after = fromIndex + before;
+        System.arraycopy(buffer, after + gapEnd - gapStart, anArray, offset + before, toIndex - after);
+    }
+
+    @Override
+    public Object elementAt(int index){
+        checkIndex(index);
+        return buffer[slot(index)];
+    }
+
+    @Override
+    public void ensureCapacity(int minCapacity){
+        if(minCapacity > buffer.length) grow(minCapacity);
+    }
+
+    @Override
+    public int indexOf(Object elem, int fromIndex, int toIndex){
+        if(toIndex > elementCount) toIndex = elementCount;
+        for(int i=fromIndex; i<toIndex; i++){
+            Object obj = buffer[slot(i)];
+            if(elem == null ? obj == null : elem.equals(obj)) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public void insertElementAt(Object obj, int index){
+        if(index > elementCount || index < 0) throw new ArrayIndexOutOfBoundsException(index + " > " + elementCount);
+        if(gapStart == gapEnd) grow(elementCount + 1);
+        moveGap(index);
+        buffer[gapStart++] = obj;
+        elementCount++;
+    }
+
+    @Override
+    public void insertElementsAt(Object[] elements, int index){
+        if(index > elementCount || index < 0) throw new ArrayIndexOutOfBoundsException(index + " > " + elementCount);
+        int count = elements.length;
+        if(count == 0) return;
+        if(gapEnd - gapStart < count) grow(elementCount + count);
+        moveGap(index);
+        System.arraycopy(elements, 0, buffer, gapStart, count);
+        gapStart += count;
+        elementCount += count;
+    }
+
+    @Override
+    public int lastIndexOf(Object elem, int fromIndex, int toIndex){
+        if(toIndex > elementCount) toIndex = elementCount;
+        for(int i=toIndex-1; i>=fromIndex; i--){
+            Object obj = buffer[slot(i)];
+            if(elem == null ? obj == null : elem.equals(obj)) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public void removeElementAt(int index){
+        checkIndex(index);
+        moveGap(index);
+        buffer[gapEnd++] = null;
+        elementCount--;
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex){
+        if(fromIndex < 0 || toIndex > elementCount || toIndex < fromIndex)
+            throw new ArrayIndexOutOfBoundsException(fromIndex + ", " + toIndex);
+        moveGap(fromIndex);
+        int count = toIndex - fromIndex;
+        clear(gapEnd, gapEnd + count);
+        gapEnd += count;
+        elementCount -= count;
+    }
+
+    @Override
+    public void setElementAt(Object obj, int index){
+        checkIndex(index);
+        buffer[slot(index)] = obj;
+    }
+
+    @Override
+    public void setSize(int newSize){
+        if(newSize < 0) throw new ArrayIndexOutOfBoundsException(newSize);
+        if(newSize < elementCount){
+            removeRange(newSize, elementCount);
+        } else if(newSize > elementCount){
+            if(newSize > buffer.length) grow(newSize);
+            moveGap(elementCount);
+            gapStart += newSize - elementCount;
+            elementCount = newSize;
+        }
+    }
+
+    @Override
+    public void trimToSize(){
+        if(elementCount < buffer.length){
+            Object[] newBuffer = new Object[elementCount];
+            copyInto(newBuffer);
+            buffer = newBuffer;
+            gapStart = gapEnd = elementCount;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package myAdapter;
+
+/**
+ * Decides how much the storage of a {@link myAdapter.Vector} grows when it is full<br>
+ *
+ * <p>
+ * A vector without a policy follows its capacityIncrement: it adds capacityIncrement components to its capacity, or
+ * doubles it if capacityIncrement is 0. A policy set with {@link Vector#setGrowthPolicy(GrowthPolicy)}, or with
+ * {@link ListAdapter#setGrowthPolicy(GrowthPolicy)} for the vector of a list, replaces that rule. Whatever the policy
+ * returns, the vector never grows to less than the capacity it needs.
+ * <p>
+ * {@link #multiplicative(double)} keeps the cost of appending constant on average but can waste up to a fraction of
+ * the storage, {@link #additive(int)} wastes at most a fixed number of components but copies the whole vector every
+ * few insertions, {@link #capped(GrowthPolicy, int)} is the usual compromise: it multiplies the capacity of the small
+ * vectors and adds at most a fixed number of components to the big ones.
+ *
+ * @see myAdapter.Vector#setGrowthPolicy(GrowthPolicy)
+ */
+public interface GrowthPolicy {
+
+    /**
+     * Doubles the capacity, as a vector without policy and without capacityIncrement does
+     */
+    GrowthPolicy DOUBLING = multiplicative(2);
+
+    /**
+     * Returns the capacity of the new storage of a full vector
+     *
+     * @param oldCapacity the current capacity of the vector
+     * @param minCapacity the capacity that the vector needs, greater than oldCapacity
+     * @return the new capacity, a value less than minCapacity is replaced by minCapacity
+     */
+    int newCapacity(int oldCapacity, int minCapacity);
+
+    /**
+     * Returns a policy that multiplies the capacity by factor
+     *
+     * @param factor the growth factor, 1.5 for the growth of java.util.ArrayList
+     * @return the multiplicative policy
+     * @throws IllegalArgumentException if factor is not greater than 1
+     */
+    static GrowthPolicy multiplicative(final double factor){
+        if(!(factor > 1)) throw new IllegalArgumentException("Illegal factor: " + factor);
+        return new GrowthPolicy() {
+            @Override
+            public int newCapacity(int oldCapacity, int minCapacity) {
+                return (int) Math.min(Integer.MAX_VALUE, oldCapacity * factor);
+            }
+
+            @Override
+            public String toString() { return "multiplicative(" + factor + ")"; }
+        };
+    }
+
+    /**
+     * Returns a policy that adds increment components to the capacity
+     *
+     * @param increment the number of components added at every growth
+     * @return the additive policy
+     * @throws IllegalArgumentException if increment is less than 1
+     */
+    static GrowthPolicy additive(final int increment){
+        if(increment < 1) throw new IllegalArgumentException("Illegal increment: " + increment);
+        return new GrowthPolicy() {
+            @Override
+            public int newCapacity(int oldCapacity, int minCapacity) {
+                return (int) Math.min(Integer.MAX_VALUE, (long) oldCapacity + increment);
+            }
+
+            @Override
+            public String toString() { return "additive(" + increment + ")"; }
+        };
+    }
+
+    /**
+     * Returns a policy that grows as base but never adds more than maxIncrement components at once
+     *
+     * @param base         the policy followed while it adds at most maxIncrement components
+     * @param maxIncrement the maximum number of components added at every growth
+     * @return the capped policy
+     * @throws NullPointerException     if base is null
+     * @throws IllegalArgumentException if maxIncrement is less than 1
+     */
+    static GrowthPolicy capped(final GrowthPolicy base, final int maxIncrement){
+        if(base == null) throw new NullPointerException();
+        if(maxIncrement < 1) throw new IllegalArgumentException("Illegal increment: " + maxIncrement);
+        return new GrowthPolicy() {
+            @Override
+            public int newCapacity(int oldCapacity, int minCapacity) {
+                long cap = (long) oldCapacity + maxIncrement;
+                return (int) Math.min(Math.min(cap, Integer.MAX_VALUE), base.newCapacity(oldCapacity, minCapacity));
+            }
+
+            @Override
+            public String toString() { return "capped(" + base + ", " + maxIncrement + ")"; }
+        };
+    }
+}
@@ -300,4 +300,38 @@ public interface HCollection {
      * @see Object#equals(Object)
      */
     int hashCode();
-}
\ No newline at end of file
+
+    // Streams
+
+    /**
+     * Returns a Spliterator over the elements in this collection, to traverse
+     * them with java.util.stream. The default implementation walks the
+     * iterator of this collection and reports its size: it can only be split
+     * by copying batches of elements, so the collections that can access their
+     * elements by position should override it.
+     *
+     * @return a Spliterator over the elements in this collection
+     */
+    default java.util.Spliterator spliterator() {
+        return java.util.Spliterators.spliterator(new IteratorAdapter(iterator()), size(), 0);
+    }
+
+    /**
+     * Returns a sequential Stream with this collection as its source.
+     *
+     * @return a sequential Stream over the elements in this collection
+     */
+    default java.util.stream.Stream stream() {
+        return java.util.stream.StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a possibly parallel Stream with this collection as its source.
+     * The collection must not be changed while the stream is running.
+     *
+     * @return a possibly parallel Stream over the elements in this collection
+     */
+    default java.util.stream.Stream parallelStream() {
+        return java.util.stream.StreamSupport.stream(spliterator(), true);
+    }
+}
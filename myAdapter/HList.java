@@ -111,8 +111,8 @@ public interface HList extends HCollection {
      * sequence. Obeys the general contract of the Collection.toArray(Object[]) method.
      * 
      * @param arrayTarget the array into which the elements of this list are to be
-     *                    stored, if it is big enough; otherwise, a new array of type Object
-     *                    is allocated for this purpose.
+     *                    stored, if it is big enough; otherwise, a new array of the same
+     *                    runtime type is allocated for this purpose.
      * @return an array containing the elements of this list.
      *
      * @throws NullPointerException if the specified array is null.
@@ -415,4 +415,15 @@ public interface HList extends HCollection {
      *                                   fromIndex &gt; toIndex).
      */
     HList subList(int fromIndex, int toIndex);
+
+    /**
+     * Returns a Spliterator over the elements in this list, in proper sequence.
+     * The default implementation walks the iterator of this list as
+     * {@link HCollection#spliterator()} does, and reports the encounter order.
+     *
+     * @return a Spliterator over the elements in this list
+     */
+    default java.util.Spliterator spliterator() {
+        return java.util.Spliterators.spliterator(new IteratorAdapter(iterator()), size(), java.util.Spliterator.ORDERED);
+    }
 }
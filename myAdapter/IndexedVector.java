@@ -0,0 +1,368 @@
+package myAdapter;
+
+import java.util.HashMap;
+import java.util.Iterator;
+
+/**
+ * A {@link myAdapter.Vector} that keeps a hash index from each component to its positions<br>
+ *
+ * <p>
+ * The components are stored as in Vector; besides them a HashMap maps every distinct component to the sorted array of
+ * the indexes where it appears, so indexOf, lastIndexOf and contains find it in O(1) expected time plus a binary search
+ * among its occurrences, instead of scanning the vector. The components must have a hashCode() consistent with equals(),
+ * null is allowed.
+ * <p>
+ * Appending, removing the last component and replacing a component update the index at once. Inserting or removing
+ * components elsewhere shifts the indexes of all the following ones: the index records the shift in a short log and
+ * applies it to the positions of a component only when they are read or changed, so an insertion costs O(1) besides
+ * the copy of the vector and a search applies only the shifts logged since the previous read of the same component.
+ * When the log fills up it is applied to the whole index at once and emptied. Removing a range and shrinking the
+ * vector instead lower the limit below which the positions are exact; the first search that needs the rest
+ * re-indexes the components from the limit on. Since a search can change the index, an IndexedVector must not be
+ * read by more threads at the same time.
+ * <p>
+ * An IndexedVector can back a {@link myAdapter.ListAdapter}, see {@link ListAdapter#backedBy(Vector)}.
+ */
+public class IndexedVector extends Vector {
+
+    /**
+     * The sorted indexes of the occurrences of a component
+     */
+    private static final class Positions {
+        int[] data = new int[2];
+        int size;
+
+        /**
+         * The number of shifts of the log already applied to data
+         */
+        int applied;
+
+        /**
+         * @return the first k such that data[k] &gt;= index, size if there is none
+         */
+        int firstAtLeast(int index){
+            int low = 0, high = size;
+            while(low < high){
+                int mid = (low + high) >>> 1;
+                if(data[mid] < index) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+
+        void add(int index){
+            int k = (size == 0 || data[size - 1] < index) ? size : firstAtLeast(index);
+            if(size == data.length){
+                int[] newData = new int[size * 2];
+                System.arraycopy(data, 0, newData, 0, size);
+                data = newData;
+            }
+            System.arraycopy(data, k, data, k + 1, size - k);
+            data[k] = index;
+            size++;
+        }
+
+        /**
+         * Adds delta to the positions greater than or equal to from
+         */
+        void shift(int from, int delta){
+            for(int k=firstAtLeast(from); k<size; k++) data[k] += delta;
+        }
+
+        void remove(int index){
+            int k = firstAtLeast(index);
+            if(k < size && data[k] == index){
+                System.arraycopy(data, k + 1, data, k, size - k - 1);
+                size--;
+            }
+        }
+    }
+
+    private final HashMap index = new HashMap();
+
+    /**
+     * The positions lower than validTo are exact and every component before validTo is in the index
+     */
+    private int validTo;
+
+    /**
+     * True if the index may contain positions greater than or equal to validTo that are no longer right
+     */
+    private boolean stale;
+
+    /**
+     * The maximum number of shifts logged before they are applied to the whole index
+     */
+    private static final int MAX_SHIFTS = 256;
+
+    /**
+     * The log of the shifts not yet applied to every component: the positions greater than or equal to
+     * shiftFrom[i] must be moved by shiftDelta[i], in order. Allocated by the first shift.
+     */
+    private int[] shiftFrom, shiftDelta;
+    private int shifts;
+
+    public IndexedVector() {
+        this(10);
+    }
+
+    public IndexedVector(int initialCapacity) {
+        this(initialCapacity, 0);
+    }
+
+    public IndexedVector(int initialCapacity, int capacityIncrement) {
+        super(initialCapacity, capacityIncrement);
+    }
+
+    /**
+     * @return the positions of obj with all the logged shifts applied, null if obj is not in the index
+     */
+    private Positions get(Object obj){
+        Positions p = (Positions) index.get(obj);
+        if(p != null) catchUp(p);
+        return p;
+    }
+
+    private void catchUp(Positions p){
+        for(; p.applied < shifts; p.applied++) p.shift(shiftFrom[p.applied], shiftDelta[p.applied]);
+    }
+
+    private Positions positions(Object obj){
+        Positions p = get(obj);
+        if(p == null){
+            p = new Positions();
+            p.applied = shifts;
+            index.put(obj, p);
+        }
+        return p;
+    }
+
+    /**
+     * Logs that the positions from from on move by delta, applying the log to the whole index when it is full
+     */
+    private void shift(int from, int delta){
+        if(shiftFrom == null){
+            shiftFrom = new int[MAX_SHIFTS];
+            shiftDelta = new int[MAX_SHIFTS];
+        }
+        if(shifts == MAX_SHIFTS) applyShifts();
+        shiftFrom[shifts] = from;
+        shiftDelta[shifts] = delta;
+        shifts++;
+    }
+
+    /**
+     * Applies the logged shifts to every component and empties the log. The whole log is first composed into a
+     * single function that moves the positions by a constant offset in each of at most shifts+1 ranges, so the
+     * components not read since the log was emptied move every position once, with a binary search among the ranges.
+     */
+    private void applyShifts(){
+        if(shifts == 0) return;
+        // the positions from start[j] to start[j+1], excluded, move by offset[j]
+        int[] start = new int[shifts + 1], offset = new int[shifts + 1];
+        int ranges = 1;
+        start[0] = Integer.MIN_VALUE;
+        for(int s=0; s<shifts; s++){
+            // the function is non-decreasing: the first range that reaches shiftFrom[s] holds the first position moved
+            int j = 0;
+            long first = 0;
+            for(; j<ranges; j++){
+                first = Math.max(start[j], (long) shiftFrom[s] - offset[j]);
+                if(j == ranges - 1 || first < start[j + 1]) break;
+            }
+            if(first > start[j]){
+                System.arraycopy(start, j + 1, start, j + 2, ranges - j - 1);
+                System.arraycopy(offset, j + 1, offset, j + 2, ranges - j - 1);
+                start[j + 1] = (int) first;
+                offset[j + 1] = offset[j];
+                ranges++;
+                j++;
+            }
+            for(; j<ranges; j++) offset[j] += shiftDelta[s];
+        }
+
+        Iterator it = index.values().iterator();
+        while(it.hasNext()){
+            Positions p = (Positions) it.next();
+            if(p.applied > 0) catchUp(p);
+            else {
+                for(int k=0; k<p.size; k++){
+                    int low = 0, high = ranges - 1;
+                    while(low < high){
+                        int mid = (low + high + 1) >>> 1;
+                        if(start[mid] <= p.data[k]) low = mid;
+                        else high = mid - 1;
+                    }
+                    p.data[k] += offset[low];
+                }
+            }
+            p.applied = 0;
+        }
+        shifts = 0;
+    }
+
+    private void unindex(Object obj, int i){
+        Positions p = get(obj);
+        if(p == null) return;
+        p.remove(i);
+        if(p.size == 0) index.remove(obj);
+    }
+
+    /**
+     * Marks as not exact the positions from i on
+     */
+    private void invalidate(int i){
+        if(i < validTo) validTo = i;
+        stale = true;
+    }
+
+    /**
+     * Drops the positions that are not exact and indexes the components from validTo to the end
+     */
+    private void reindex(){
+        reindex(elementCount);
+    }
+
+    /**
+     * Drops the positions that are not exact and indexes the components from validTo to limit, excluded
+     */
+    private void reindex(int limit){
+        if(stale){
+            applyShifts();
+            Iterator it = index.values().iterator();
+            while(it.hasNext()){
+                Positions p = (Positions) it.next();
+                p.size = p.firstAtLeast(validTo);
+                if(p.size == 0) it.remove();
+            }
+            stale = false;
+        }
+        for(int i=validTo; i<limit; i++) positions(elementData[i]).add(i);
+        if(limit > validTo) validTo = limit;
+    }
+
+    /**
+     * Appends to the index the component just added at the end, if the index is exact up to it
+     */
+    private void indexLast(){
+        if(validTo == elementCount - 1 && !stale){
+            positions(elementData[validTo]).add(validTo);
+            validTo++;
+        }
+    }
+
+    @Override
+    public void addElement(Object obj){
+        super.addElement(obj);
+        indexLast();
+    }
+
+    /**
+     * Indexes only the components up to toIndex that are not indexed yet, so the search of a sublist
+     * doesn't index the rest of the vector
+     */
+    @Override
+    public int indexOf(Object elem, int fromIndex, int toIndex){
+        if(fromIndex < 0) return super.indexOf(elem, fromIndex, toIndex);
+        if(toIndex > elementCount) toIndex = elementCount;
+        int i = exactIndexOf(elem, fromIndex);
+        if(i == -1 && validTo < toIndex){
+            reindex(toIndex);
+            i = exactIndexOf(elem, fromIndex);
+        }
+        return (i < toIndex) ? i : -1;
+    }
+
+    /**
+     * @return the first position of elem at or after index among the exact ones, -1 if there is none
+     */
+    private int exactIndexOf(Object elem, int index){
+        Positions p = get(elem);
+        if(p == null) return -1;
+        int k = p.firstAtLeast(index);
+        return (k < p.size && p.data[k] < validTo) ? p.data[k] : -1;
+    }
+
+    @Override
+    public void insertElementAt(Object obj, int index){
+        super.insertElementAt(obj, index);
+        if(index == elementCount - 1) indexLast();
+        else if(index < validTo){
+            shift(index, 1);
+            positions(obj).add(index);
+            validTo++;
+        }
+    }
+
+    @Override
+    public void insertElementsAt(Object[] elements, int index){
+        super.insertElementsAt(elements, index);
+        if(elements.length == 0) return;
+        if(index == elementCount - elements.length && validTo == index && !stale){
+            for(int i=index; i<elementCount; i++) positions(elementData[i]).add(i);
+            validTo = elementCount;
+        } else if(index < validTo){
+            shift(index, elements.length);
+            for(int i=index; i<index + elements.length; i++) positions(elementData[i]).add(i);
+            validTo += elements.length;
+        }
+    }
+
+    @Override
+    public int lastIndexOf(Object elem, int fromIndex, int toIndex){
+        if(toIndex > elementCount) toIndex = elementCount;
+        if(toIndex > validTo) reindex(toIndex);
+        Positions p = get(elem);
+        if(p == null) return -1;
+        int k = p.firstAtLeast(toIndex) - 1;
+        return (k >= 0 && p.data[k] >= fromIndex) ? p.data[k] : -1;
+    }
+
+    @Override
+    public void removeElementAt(int index){
+        Object old = elementAt(index);
+        super.removeElementAt(index);
+        if(index >= validTo) return;
+        unindex(old, index);
+        if(index < elementCount) shift(index + 1, -1);
+        validTo--;
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex){
+        super.removeRange(fromIndex, toIndex);
+        if(elementCount == 0) clearIndex();
+        else if(fromIndex < toIndex) invalidate(fromIndex);
+    }
+
+    @Override
+    public void setElementAt(Object obj, int index){
+        Object old = elementAt(index);
+        super.setElementAt(obj, index);
+        if(index < validTo){
+            unindex(old, index);
+            positions(obj).add(index);
+        }
+    }
+
+    @Override
+    public void setSize(int newSize){
+        int oldSize = elementCount;
+        super.setSize(newSize);
+        if(newSize == 0) clearIndex();
+        else if(newSize < oldSize) invalidate(newSize);
+        else if(newSize > oldSize && validTo == oldSize && !stale) reindex();
+    }
+
+    private void clearIndex(){
+        index.clear();
+        validTo = 0;
+        stale = false;
+        shifts = 0;
+    }
+
+    @Override
+    boolean isIndexed(){
+        return true;
+    }
+}
@@ -0,0 +1,227 @@
+package myAdapter;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link myAdapter.ListAdapter} of int values, stored in an {@link myAdapter.IntVector}<br>
+ * <p>
+ * <p>
+ * The elements are kept in an array of int, so they take 4 bytes each and are read without following any reference.
+ * All the methods of {@link myAdapter.HList} work as in ListAdapter and see the elements as Integer objects, boxing
+ * them only when they cross that interface: null and any other object that is not an Integer can't be inserted,
+ * trying to do it throws NullPointerException or ClassCastException. The methods ending with Int work directly
+ * on the primitive values, also on the sublists, which are IntListAdapter too.
+ *
+ * @see myAdapter.IntVector
+ */
+public class IntListAdapter extends ListAdapter {
+    private IntVector ints;
+
+    /**
+     * Creates a new empty IntListAdapter
+     */
+    public IntListAdapter() {
+        this(new IntVector());
+    }
+
+    /**
+     * Creates a new IntListAdapter containing the elements of the given collection, in the order
+     * they are returned by its iterator
+     *
+     * @param coll the collection of Integer objects from which the new list copies the elements
+     * @throws NullPointerException if coll is null or contains null
+     * @throws ClassCastException   if coll contains an object that is not an Integer
+     */
+    public IntListAdapter(HCollection coll) {
+        this(new IntVector(coll.size()));
+        addAll(coll);
+    }
+
+    /**
+     * Creates a new IntListAdapter containing the given values
+     *
+     * @param values the values copied in the new list
+     */
+    public IntListAdapter(int[] values) {
+        this(new IntVector(values.length));
+        for(int i=0; i<values.length; i++) ints.addInt(values[i]);
+        resized(0, values.length);
+    }
+
+    private IntListAdapter(IntVector backing) {
+        super(backing);
+        ints = backing;
+    }
+
+    /**
+     * Constructor used only to create a sublist, see {@link ListAdapter#subList(int, int)}
+     */
+    private IntListAdapter(IntListAdapter fatherList, int fromIndex, int toIndex) {
+        super(fatherList, fromIndex, toIndex);
+        ints = fatherList.ints;
+    }
+
+    @Override
+    ListAdapter newSubList(int fromIndex, int toIndex){
+        return new IntListAdapter(this, fromIndex, toIndex);
+    }
+
+    /**
+     * Returns the value at the specified position in this list
+     *
+     * @param index index of the value to return
+     * @return the value at the specified position in this list
+     * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt;= size())
+     */
+    public int getInt(int index){
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException();
+        countGet();
+        return ints.intAt(offset()+index);
+    }
+
+    /**
+     * Replaces the value at the specified position in this list
+     *
+     * @param index index of the value to replace
+     * @param value value to be stored at the specified position
+     * @return the value previously at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt;= size())
+     */
+    public int setInt(int index, int value){
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException();
+        int old = ints.intAt(offset()+index);
+        ints.setIntAt(value, offset()+index);
+        changed();
+        return old;
+    }
+
+    /**
+     * Appends the specified value to the end of this list
+     *
+     * @param value value to be appended to this list
+     * @return true
+     */
+    public boolean addInt(int value){
+        int end = offset()+size();
+        if(end == ints.size()) ints.addInt(value);
+        else ints.insertIntAt(value, end);
+        resized(end, 1);
+        return true;
+    }
+
+    /**
+     * Inserts the specified value at the specified position in this list, shifting the following
+     * elements to the right
+     *
+     * @param index index at which the value is to be inserted
+     * @param value value to be inserted
+     * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt; size())
+     */
+    public void addInt(int index, int value){
+        if(index < 0 || index > size()) throw new IndexOutOfBoundsException();
+        countInsert(offset()+index);
+        ints.insertIntAt(value, offset()+index);
+        resized(offset()+index, 1);
+    }
+
+    /**
+     * Removes the value at the specified position in this list, shifting the following elements to the left
+     *
+     * @param index the index of the value to be removed
+     * @return the value previously at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt;= size())
+     */
+    public int removeIntAt(int index){
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException();
+        countRemove();
+        int old = ints.intAt(offset()+index);
+        ints.removeElementAt(offset()+index);
+        resized(offset()+index, -1);
+        return old;
+    }
+
+    /**
+     * Returns the index in this list of the first occurrence of the specified value
+     *
+     * @param value value to search for
+     * @return the index of the first occurrence, -1 if this list does not contain the value
+     */
+    public int indexOfInt(int value){
+        int i = ints.indexOfInt(value, offset(), offset()+size());
+        return (i == -1) ? -1 : i-offset();
+    }
+
+    /**
+     * Returns the index in this list of the last occurrence of the specified value
+     *
+     * @param value value to search for
+     * @return the index of the last occurrence, -1 if this list does not contain the value
+     */
+    public int lastIndexOfInt(int value){
+        int i = ints.lastIndexOfInt(value, offset(), offset()+size());
+        return (i == -1) ? -1 : i-offset();
+    }
+
+    /**
+     * Returns true if this list contains the specified value
+     *
+     * @param value value whose presence in this list is to be tested
+     * @return true if this list contains the specified value
+     */
+    public boolean containsInt(int value){
+        return indexOfInt(value) != -1;
+    }
+
+    /**
+     * Returns the number of occurrences of the specified value in this list
+     *
+     * @param value value to count
+     * @return the number of elements equal to value
+     */
+    public int countInt(int value){
+        return ints.countInt(value, offset(), offset()+size());
+    }
+
+    /**
+     * Returns the smallest value of this list
+     *
+     * @return the smallest value
+     * @throws NoSuchElementException if this list is empty
+     */
+    public int minInt(){
+        if(isEmpty()) throw new NoSuchElementException();
+        return ints.minInt(offset(), offset()+size());
+    }
+
+    /**
+     * Returns the largest value of this list
+     *
+     * @return the largest value
+     * @throws NoSuchElementException if this list is empty
+     */
+    public int maxInt(){
+        if(isEmpty()) throw new NoSuchElementException();
+        return ints.maxInt(offset(), offset()+size());
+    }
+
+    /**
+     * Compares the values of the two lists directly when obj is a IntListAdapter too, see {@link ListAdapter#equals(Object)}
+     */
+    @Override
+    public boolean equals(Object obj){
+        if(!(obj instanceof IntListAdapter)) return super.equals(obj);
+        IntListAdapter other = (IntListAdapter) obj;
+        int n = size();
+        if(other.size() != n) return false;
+        return ints.rangeEquals(offset(), other.ints, other.offset(), n);
+    }
+
+    /**
+     * Returns an array containing all the values of this list in proper sequence
+     *
+     * @return a new array of int with the values of this list
+     */
+    public int[] toIntArray(){
+        return ints.toIntArray(offset(), offset()+size());
+    }
+}
@@ -0,0 +1,291 @@
+package myAdapter;
+
+/**
+ * A {@link myAdapter.Vector} that stores its components in an array of int<br>
+ *
+ * <p>
+ * The methods inherited from Vector work with Integer objects: the components are boxed only when they are read through
+ * them and unboxed when they are written, the methods ending with Int work directly on the primitive values.
+ * null can't be stored, trying to do it throws NullPointerException, any other object that is not an Integer throws
+ * ClassCastException.
+ *
+ * @see myAdapter.IntListAdapter
+ */
+public class IntVector extends Vector {
+
+    /**
+     * The array buffer into which the components of the vector are stored.
+     */
+    protected int[] intData;
+
+    public IntVector() {
+        this(10);
+    }
+
+    public IntVector(int initialCapacity) {
+        this(initialCapacity, 0);
+    }
+
+    public IntVector(int initialCapacity, int capacityIncrement) {
+        super(0, capacityIncrement);
+        if(initialCapacity < 0) throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        intData = new int[initialCapacity];
+    }
+
+    /**
+     * Grows the buffer so that it can hold at least minCapacity components, following the growth policy or capacityIncrement
+     *
+     * @param minCapacity the desired minimum capacity
+     */
+    private void grow(int minCapacity){
+        int newCapacity = newCapacity(intData.length, minCapacity);
+        ListEvents.Growth growth = growing(elementCount, newCapacity, arrayBytes(newCapacity, 4));
+        int[] newData = new int[newCapacity];
+        System.arraycopy(intData, 0, newData, 0, elementCount);
+        intData = newData;
+        if(growth != null) growth.commit();
+    }
+
+    /**
+     * @param obj the object to store
+     * @return the value of the Integer
+     * @throws NullPointerException if obj is null
+     * @throws ClassCastException   if obj is not an Integer
+     */
+    private static int unbox(Object obj){
+        return ((Integer) obj).intValue();
+    }
+
+    public int intAt(int index){
+        if(index >= elementCount) throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+        return intData[index];
+    }
+
+    public void setIntAt(int value, int index){
+        if(index >= elementCount) throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+        intData[index] = value;
+    }
+
+    public void addInt(int value){
+        if(elementCount == intData.length) grow(elementCount + 1);
+        intData[elementCount++] = value;
+    }
+
+    public void insertIntAt(int value, int index){
+        if(index > elementCount || index < 0) throw new ArrayIndexOutOfBoundsException(index + " > " + elementCount);
+        if(elementCount == intData.length) grow(elementCount + 1);
+        ListEvents.Shift shift = shifting(index, elementCount - index);
+        System.arraycopy(intData, index, intData, index + 1, elementCount - index);
+        if(shift != null) shift.commit();
+        intData[index] = value;
+        elementCount++;
+    }
+
+    /**
+     * Searches for the first occurrence of the given value between fromIndex, inclusive, and toIndex, exclusive
+     *
+     * @param value     the value to search
+     * @param fromIndex the index to start searching from
+     * @param toIndex   the index where the search stops
+     * @return the index of the first occurrence, -1 if the value is not found
+     */
+    public int indexOfInt(int value, int fromIndex, int toIndex){
+        if(toIndex > elementCount) toIndex = elementCount;
+        return SearchKernels.INSTANCE.indexOf(intData, fromIndex, toIndex, value);
+    }
+
+    /**
+     * Searches backwards for the last occurrence of the given value between fromIndex, inclusive, and toIndex, exclusive
+     *
+     * @param value     the value to search
+     * @param fromIndex the index where the search stops
+     * @param toIndex   the index after the first one checked
+     * @return the index of the last occurrence, -1 if the value is not found
+     */
+    public int lastIndexOfInt(int value, int fromIndex, int toIndex){
+        if(toIndex > elementCount) toIndex = elementCount;
+        return SearchKernels.INSTANCE.lastIndexOf(intData, fromIndex, toIndex, value);
+    }
+
+    /**
+     * Counts the occurrences of the given value between fromIndex, inclusive, and toIndex, exclusive
+     *
+     * @param value     the value to count
+     * @param fromIndex index of the first component
+     * @param toIndex   index after the last component
+     * @return the number of components equal to value
+     */
+    public int countInt(int value, int fromIndex, int toIndex){
+        checkRange(fromIndex, toIndex);
+        return SearchKernels.INSTANCE.count(intData, fromIndex, toIndex, value);
+    }
+
+    /**
+     * Returns the smallest component between fromIndex, inclusive, and toIndex, exclusive
+     *
+     * @param fromIndex index of the first component
+     * @param toIndex   index after the last component
+     * @return the smallest value of the range, Integer.MAX_VALUE if the range is empty
+     */
+    public int minInt(int fromIndex, int toIndex){
+        checkRange(fromIndex, toIndex);
+        return SearchKernels.INSTANCE.min(intData, fromIndex, toIndex);
+    }
+
+    /**
+     * Returns the largest component between fromIndex, inclusive, and toIndex, exclusive
+     *
+     * @param fromIndex index of the first component
+     * @param toIndex   index after the last component
+     * @return the largest value of the range, Integer.MIN_VALUE if the range is empty
+     */
+    public int maxInt(int fromIndex, int toIndex){
+        checkRange(fromIndex, toIndex);
+        return SearchKernels.INSTANCE.max(intData, fromIndex, toIndex);
+    }
+
+    /**
+     * Compares count components of this vector, starting at fromIndex, with count components of other,
+     * starting at otherIndex
+     *
+     * @param fromIndex  index of the first component of this vector
+     * @param other      the other vector
+     * @param otherIndex index of the first component of other
+     * @param count      number of components compared
+     * @return true if the two ranges contain the same values in the same order
+     */
+    public boolean rangeEquals(int fromIndex, IntVector other, int otherIndex, int count){
+        checkRange(fromIndex, fromIndex + count);
+        other.checkRange(otherIndex, otherIndex + count);
+        return SearchKernels.equals(intData, fromIndex, other.intData, otherIndex, count);
+    }
+
+    private void checkRange(int fromIndex, int toIndex){
+        if(fromIndex < 0 || toIndex > elementCount || toIndex < fromIndex)
+            throw new ArrayIndexOutOfBoundsException(fromIndex + ", " + toIndex);
+    }
+
+    /**
+     * Copies the components between fromIndex, inclusive, and toIndex, exclusive, into a new array
+     *
+     * @param fromIndex index of the first component
+     * @param toIndex   index after the last component
+     * @return a new array with the components of the range
+     */
+    public int[] toIntArray(int fromIndex, int toIndex){
+        checkRange(fromIndex, toIndex);
+        int[] values = new int[toIndex - fromIndex];
+        System.arraycopy(intData, fromIndex, values, 0, values.length);
+        return values;
+    }
+
+    @Override
+    public void addElement(Object obj){
+        addInt(unbox(obj));
+    }
+
+    @Override
+    public int capacity(){
+        return intData.length;
+    }
+
+    @Override
+    public void copyInto(Object[] anArray){
+        for(int i=0; i<elementCount; i++) anArray[i] = Integer.valueOf(intData[i]);
+    }
+
+    @Override
+    public void copyInto(int fromIndex, int toIndex, Object[] anArray, int offset){
+        checkCopyRange(fromIndex, toIndex, anArray, offset);
+        for(int i=fromIndex; i<toIndex; i++) anArray[offset++] = Integer.valueOf(intData[i]);
+    }
+
+    @Override
+    public Object elementAt(int index){
+        return Integer.valueOf(intAt(index));
+    }
+
+    @Override
+    public void ensureCapacity(int minCapacity){
+        if(minCapacity > intData.length) grow(minCapacity);
+    }
+
+    @Override
+    public int indexOf(Object elem, int fromIndex, int toIndex){
+        if(!(elem instanceof Integer)) return -1;
+        return indexOfInt(unbox(elem), fromIndex, toIndex);
+    }
+
+    @Override
+    public void insertElementAt(Object obj, int index){
+        insertIntAt(unbox(obj), index);
+    }
+
+    @Override
+    public void insertElementsAt(Object[] elements, int index){
+        if(index > elementCount || index < 0) throw new ArrayIndexOutOfBoundsException(index + " > " + elementCount);
+        int count = elements.length;
+        int[] values = new int[count];
+        for(int i=0; i<count; i++) values[i] = unbox(elements[i]);
+        if(count == 0) return;
+        if(elementCount + count > intData.length) grow(elementCount + count);
+        ListEvents.Shift shift = shifting(index, elementCount - index);
+        System.arraycopy(intData, index, intData, index + count, elementCount - index);
+        if(shift != null) shift.commit();
+        System.arraycopy(values, 0, intData, index, count);
+        elementCount += count;
+    }
+
+    @Override
+    public int lastIndexOf(Object elem, int fromIndex, int toIndex){
+        if(!(elem instanceof Integer)) return -1;
+        return lastIndexOfInt(unbox(elem), fromIndex, toIndex);
+    }
+
+    @Override
+    public void removeElementAt(int index){
+        if(index >= elementCount) throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+        if(index < 0) throw new ArrayIndexOutOfBoundsException(index);
+        ListEvents.Shift shift = shifting(index + 1, elementCount - index - 1);
+        System.arraycopy(intData, index + 1, intData, index, elementCount - index - 1);
+        if(shift != null) shift.commit();
+        elementCount--;
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex){
+        if(fromIndex < 0 || toIndex > elementCount || toIndex < fromIndex)
+            throw new ArrayIndexOutOfBoundsException(fromIndex + ", " + toIndex);
+        ListEvents.Shift shift = shifting(toIndex, (fromIndex < toIndex) ? elementCount - toIndex : 0);
+        System.arraycopy(intData, toIndex, intData, fromIndex, elementCount - toIndex);
+        if(shift != null) shift.commit();
+        elementCount -= toIndex - fromIndex;
+    }
+
+    @Override
+    public void setElementAt(Object obj, int index){
+        setIntAt(unbox(obj), index);
+    }
+
+    /**
+     * Sets the size of this vector, the components added at the end are 0
+     *
+     * @param newSize the new size of this vector
+     */
+    @Override
+    public void setSize(int newSize){
+        if(newSize < 0) throw new ArrayIndexOutOfBoundsException(newSize);
+        if(newSize > intData.length) grow(newSize);
+        for(int i=elementCount; i<newSize; i++) intData[i] = 0;
+        elementCount = newSize;
+    }
+
+    @Override
+    public void trimToSize(){
+        if(elementCount < intData.length){
+            int[] newData = new int[elementCount];
+            System.arraycopy(intData, 0, newData, 0, elementCount);
+            intData = newData;
+        }
+    }
+}
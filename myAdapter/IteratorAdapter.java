@@ -0,0 +1,28 @@
+package myAdapter;
+
+/**
+ * A java.util.Iterator that returns the elements of an {@link myAdapter.HIterator}, used by the default
+ * spliterators of {@link myAdapter.HCollection} and {@link myAdapter.HList}
+ */
+final class IteratorAdapter implements java.util.Iterator {
+    private final HIterator it;
+
+    IteratorAdapter(HIterator it) {
+        this.it = it;
+    }
+
+    @Override
+    public boolean hasNext(){
+        return it.hasNext();
+    }
+
+    @Override
+    public Object next(){
+        return it.next();
+    }
+
+    @Override
+    public void remove(){
+        it.remove();
+    }
+}
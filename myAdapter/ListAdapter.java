@@ -7,6 +7,11 @@ import java.util.NoSuchElementException;
  * <p>
  * <p>
  * This class is only a representation of the main list bounded by two index
+ * <p>
+ * A list and all the sublists created from it, at any depth, share a {@link Structure}: every change of the
+ * size made through one of them is appended to the log of the structure in O(1) time, whatever the depth of the
+ * sublist, and the other lists move their bounds only when they are used again, replaying the changes made
+ * since their last access. A list that never created a sublist has no structure and no log.
  * @author Andrea Bruttomesso
  * @see myAdapter.HList Interface: HList
  */
@@ -14,9 +19,92 @@ import java.util.NoSuchElementException;
 
 
 public class ListAdapter implements HList, HCollection {
+    /**
+     * Lookup strategy for the bulk operations: a hash lookup is used when the collection
+     * that would be scanned for every element holds more than {@link #getHashThreshold()} elements
+     * and is a list of this package that checks the membership with equals(). Any other collection
+     * is scanned with its own contains(), as the HCollection contract requires.
+     */
+    public static final int LOOKUP_AUTO = 0;
+    /**
+     * Lookup strategy for the bulk operations: a temporary hash lookup is always built
+     * over the smaller of the two collections
+     */
+    public static final int LOOKUP_HASH = 1;
+    /**
+     * Lookup strategy for the bulk operations: the membership of every element is always
+     * checked with contains(), scanning the collection
+     */
+    public static final int LOOKUP_SCAN = 2;
+
+    /**
+     * Number of changes kept in the log of a {@link Structure} before all the lists that share it are
+     * brought up to date and the log is emptied
+     */
+    static final int LOG_LIMIT = 1024;
+
+    /**
+     * The state shared by a list and all its sublists. The log holds, for every change of the size not yet
+     * seen by all the lists, the index of the backing vector where it happened, the number of elements
+     * inserted (negative if removed) and the bounds of the list that made it. The lists are registered
+     * with weak references, so that the sublists no longer used can be collected.
+     */
+    static final class Structure {
+        long version, logStart;
+        int[] log = new int[64];
+        int logSize;
+        java.util.ArrayList views = new java.util.ArrayList();
+        int purgeAt = 16;
+
+        void register(ListAdapter view){
+            if(views.size() >= purgeAt){
+                for(int i=views.size()-1; i>=0; i--){
+                    if(((java.lang.ref.WeakReference) views.get(i)).get() == null) views.remove(i);
+                }
+                purgeAt = Math.max(16, views.size() * 2);
+            }
+            views.add(new java.lang.ref.WeakReference(view));
+        }
+
+        void record(int index, int count, int from, int to){
+            if(logSize * 4 == log.length){
+                int[] newLog = new int[log.length * 2];
+                System.arraycopy(log, 0, newLog, 0, log.length);
+                log = newLog;
+            }
+            int i = logSize * 4;
+            log[i] = index;
+            log[i+1] = count;
+            log[i+2] = from;
+            log[i+3] = to;
+            logSize++;
+            version++;
+        }
+
+        /**
+         * Brings all the lists that are still in use up to date and empties the log
+         */
+        void compact(){
+            for(int i=views.size()-1; i>=0; i--){
+                ListAdapter view = (ListAdapter) ((java.lang.ref.WeakReference) views.get(i)).get();
+                if(view == null) views.remove(i);
+                else view.sync();
+            }
+            purgeAt = Math.max(16, views.size() * 2);
+            logStart = version;
+            logSize = 0;
+        }
+    }
+
     private int from, to; 
     private Vector list;
-    private ListAdapter father;
+    private Structure structure;
+    private long version;
+    private int hashThreshold = 32;
+    private int parallelThreshold = Integer.MAX_VALUE;
+    private java.util.concurrent.ForkJoinPool pool;
+    private int hash, hashModCount;
+    private boolean hashValid;
     boolean isFather, isSon;
 
    /**
@@ -29,9 +117,24 @@ public class ListAdapter implements HList, HCollection {
         isSon = false;
         from = 0;
         to = 0;
-        father = null;
         list = new Vector();
     }
+
+    /**
+     * Creates a new empty ListAdapter whose vector can hold capacity elements before it
+     * needs to grow, to be used when the final size of the list is known in advance
+     *
+     * @param capacity the initial capacity of the backing vector
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public ListAdapter(int capacity){
+        isFather = false;
+        isSon = false;
+        from = 0;
+        to = 0;
+        list = new Vector(capacity);
+    }
+
     /**
      * Creates a new object ListAdapter and inserts the elements contained in the parameter
      * collection into this new object. By default this new object isn't nor a father or a son
@@ -43,7 +146,6 @@ public class ListAdapter implements HList, HCollection {
         if(coll == null) throw new NullPointerException();
         isFather = false;
         isSon = false;
-        father = null;
         list = new Vector();
         HIterator it = coll.iterator();
         while(it.hasNext()){
@@ -54,35 +156,297 @@ public class ListAdapter implements HList, HCollection {
     }
 
     /**
-     * Private constructor used only to create a sublist. This object inherits
+     * Creates a new object ListAdapter that keeps its elements in the given vector, which selects
+     * how the list is stored: a {@link myAdapter.Vector} shifts the tail of the list at every
+     * insertion or removal, a {@link myAdapter.GapVector} makes the changes close to the last one
+     * cheap, as the ones made through a list iterator, a {@link myAdapter.ChunkedVector} reads, inserts and
+     * removes at any position in O(log n) time. The elements already contained in the vector
+     * become the elements of the list, which from now on owns the vector: it must not be changed
+     * directly anymore.
+     * <p>
+     * This is a factory method and not a constructor so that new ListAdapter(null) keeps meaning
+     * the constructor {@link #ListAdapter(HCollection)}.
+     *
+     * @param backing the vector that will back the new list
+     * @return a new list backed by the given vector
+     * @throws NullPointerException if backing is null
+     */
+    public static ListAdapter backedBy(Vector backing){
+        return new ListAdapter(backing);
+    }
+
+    /**
+     * Creates a new object ListAdapter that keeps its elements in the given vector, see
+     * {@link #backedBy(Vector)}. Used by the lists that need a specialized storage.
+     *
+     * @param backing the vector that will back this list
+     */
+    ListAdapter(Vector backing){
+        if(backing == null) throw new NullPointerException();
+        isFather = false;
+        isSon = false;
+        list = backing;
+        from = 0;
+        to = backing.size();
+    }
+
+    /**
+     * Constructor used only to create a sublist. This object inherits
      * the Vector list of the fatherList but can only access the elements contained
      * between fromIndex and toIndex. This constructor shouldn't be used for any other
      * purpose than creating a sublist.
      * 
      * See {@link #sublist()} for more
      * 
-     * @param fatherList    list that backs this sublist, a reference to this object will always be held
-     *                      from the son list
+     * @param fatherList    list that backs this sublist, the two lists share the same {@link Structure}
      * @param fromIndex     first index at which the sublist has access in the father list
      * @param toIndex       first available index after the elements contained in the sublist
      */
-    private ListAdapter(ListAdapter fatherList, int fromIndex, int toIndex){
+    ListAdapter(ListAdapter fatherList, int fromIndex, int toIndex){
         isSon = true;
         isFather = false;
         from = fromIndex;
         to = toIndex;
         list = fatherList.list;
-        father = fatherList;
+        if(fatherList.structure == null){
+            fatherList.structure = new Structure();
+            fatherList.structure.register(fatherList);
+        }
+        structure = fatherList.structure;
+        version = structure.version;
+        structure.register(this);
+        hashThreshold = fatherList.hashThreshold;
+        parallelThreshold = fatherList.parallelThreshold;
+        pool = fatherList.pool;
+    }
+
+    /**
+     * Returns the index of the backing vector at which this list starts, used by the specialized
+     * lists to access their storage directly
+     *
+     * @return the first index of the backing vector that belongs to this list
+     */
+    int offset(){
+        sync();
+        return from;
+    }
+
+    /**
+     * Returns the vector that stores the elements of this list and of all its sublists, used by the
+     * classes that read or write the elements in bulk
+     *
+     * @return the backing vector, the elements of this list are at the indexes from offset() to offset() + size() - 1
+     */
+    Vector backing(){
+        return list;
+    }
+
+    /**
+     * Updates the bounds of this list after some elements have been inserted or removed in the
+     * backing vector, inside the range of this list, and records the change for the other lists
+     * sharing the same vector. The fathers of this list will include the change when they are
+     * used again, so this takes O(1) time whatever the depth of this sublist.
+     *
+     * @param index index of the backing vector where the change happened
+     * @param count number of elements inserted, negative if they have been removed
+     */
+    void resized(int index, int count){
+        if(count == 0) return;
+        list.modCount++;
+        if(count < 0 && list.minOccupancy > 0) list.trimIfSparse();
+        if(structure == null){
+            to += count;
+            return;
+        }
+        sync();
+        structure.record(index, count, from, to);
+        apply(index, count, from, to);
+        version = structure.version;
+        if(structure.logSize > LOG_LIMIT) structure.compact();
+    }
+
+    /**
+     * Records that some elements of the backing vector have been replaced inside the range of this list, so
+     * that the hash codes cached by the lists sharing the vector are computed again
+     */
+    void changed(){
+        list.modCount++;
+    }
+
+    /**
+     * Returns the metrics into which this list records its operations
+     *
+     * @return the metrics attached to the backing vector, null if the operations are not counted
+     */
+    public ListMetrics getMetrics(){
+        return list.metrics;
+    }
+
+    /**
+     * Starts or stops counting the operations of this list. The metrics are attached to the backing vector, so
+     * they count also the operations of all the sublists and the fathers of this list.
+     *
+     * @param metrics the metrics into which the operations are recorded, null to stop counting them
+     */
+    public void setMetrics(ListMetrics metrics){
+        list.metrics = metrics;
+    }
+
+    /**
+     * Returns the policy that decides how much the backing vector grows when it is full
+     *
+     * @return the growth policy of the backing vector, null if it follows its capacityIncrement
+     */
+    public GrowthPolicy getGrowthPolicy(){
+        return list.getGrowthPolicy();
+    }
+
+    /**
+     * Sets the policy that decides how much the backing vector grows when it is full, by default its
+     * capacity is doubled. The policy is set on the backing vector, so it applies also to all the sublists
+     * and the fathers of this list.
+     *
+     * @param policy the growth policy, null to go back to the growth of the vector
+     * @see myAdapter.GrowthPolicy
+     */
+    public void setGrowthPolicy(GrowthPolicy policy){
+        list.setGrowthPolicy(policy);
+    }
+
+    /**
+     * Returns the occupancy under which the backing vector is trimmed after a removal
+     *
+     * @return the fraction of the capacity that the elements must fill, 0 if the vector is never trimmed
+     */
+    public float getMinOccupancy(){
+        return list.minOccupancy;
+    }
+
+    /**
+     * Makes the removals trim the backing vector to the size of the list when the elements fill less than
+     * the given fraction of its capacity, so that a list that has been emptied by clear(), or has shrunk after
+     * a peak, releases the memory it no longer needs. The vectors that can hold at most 16 elements, and the
+     * {@link myAdapter.ChunkedVector}s, which release their chunks by themselves, are never trimmed. A fraction
+     * of at most 0.5 keeps the vectors that double from being trimmed and grown again at every change. The
+     * setting belongs to the backing vector, so it applies also to all the sublists and the fathers of this list.
+     *
+     * @param occupancy the minimum fraction of the capacity filled by the elements, 0 to never trim the vector
+     * @throws IllegalArgumentException if occupancy is not between 0 and 1
+     */
+    public void setMinOccupancy(float occupancy){
+        if(!(occupancy >= 0 && occupancy <= 1)) throw new IllegalArgumentException("Illegal occupancy: " + occupancy);
+        list.minOccupancy = occupancy;
+    }
+
+    /**
+     * Trims the capacity of the backing vector to the number of elements it holds, which are the elements
+     * of the outermost father of this list
+     */
+    public void trimToSize(){
+        list.trimToSize();
+    }
+
+    /**
+     * Records a read by index in the metrics, if any
+     */
+    final void countGet(){
+        if(list.metrics != null) list.metrics.get();
+    }
+
+    /**
+     * Records in the metrics, if any, an insertion at the given index of the backing vector when it is not
+     * at the end of this list
+     */
+    final void countInsert(int index){
+        if(list.metrics != null && index < to) list.metrics.insert();
+    }
+
+    /**
+     * Records a removal of a single element in the metrics, if any
+     */
+    final void countRemove(){
+        if(list.metrics != null) list.metrics.remove();
+    }
+
+    /**
+     * Ends a linear search of the range of this list that stopped at found, going backwards if backwards is true,
+     * or that reached the other end of the range if found is -1: commits its event with the indexes examined and
+     * records them in the metrics, if any
+     */
+    private void scanned(ListEvents.Scan scan, int found, boolean backwards){
+        int start = (backwards && found != -1) ? found : from;
+        int end = (!backwards && found != -1) ? found + 1 : to;
+        ListEvents.scanned(scan, start, end);
+        ListMetrics metrics = list.metrics;
+        if(metrics != null && !list.isIndexed()) metrics.scan(end - start);
+    }
+
+    /**
+     * Starts the JFR event of an operation that reads the range of this list, a search commits it with
+     * {@link #scanned(ListEvents.Scan, int, boolean)}
+     *
+     * @param operation the name of the operation
+     * @param search    true if the operation is a search, which is not recorded when the vector has a hash index
+     * @return the started event, to be committed at the end of the operation, null if it is not recorded
+     */
+    private ListEvents.Scan scanEvent(String operation, boolean search){
+        if(search && list.isIndexed()) return null;
+        return ListEvents.scan(list, operation, from, to);
+    }
+
+    /**
+     * @return true if the cached hash code is still the one of the elements of this list
+     */
+    private boolean hashCached(){
+        return hashValid && hashModCount == list.modCount;
     }
 
     /**
-     * Recursive method used for sublists. This increases the father size of a sublist
-     * and the invokes it self on the father list in order to manage recursive sublists
+     * @return the hash code of a list made of the elements hashed into hashCode followed by obj
      */
-    private void addToFather(){
-        if(isSon){
-            father.to++;
-            father.addToFather();
+    private static int hashStep(int hashCode, Object obj){
+        return 31 * hashCode + (obj == null ? 0 : obj.hashCode());
+    }
+
+    /**
+     * Replays the changes made through the other lists sharing the backing vector since
+     * the last time this list was used
+     */
+    private void sync(){
+        if(structure == null || version == structure.version) return;
+        int[] log = structure.log;
+        int end = structure.logSize * 4;
+        for(int i=(int) (version - structure.logStart) * 4; i<end; i+=4){
+            apply(log[i], log[i+1], log[i+2], log[i+3]);
+        }
+        version = structure.version;
+    }
+
+    /**
+     * Moves the bounds of this list after a change made through a list whose bounds were
+     * changedFrom and changedTo. A list that contains those bounds, as every father does,
+     * grows or shrinks; any other list is moved or resized only by the part of the change
+     * that falls before it or inside it.
+     *
+     * @param index         index of the backing vector where the change happened
+     * @param count         number of elements inserted, negative if they have been removed
+     * @param changedFrom   first index of the list that made the change
+     * @param changedTo     first index after the list that made the change
+     */
+    private void apply(int index, int count, int changedFrom, int changedTo){
+        if(count > 0){
+            if(from <= changedFrom && changedTo <= to) to += count;
+            else if(index <= from){
+                from += count;
+                to += count;
+            }
+            else if(index < to) to += count;
+        } else {
+            int end = index - count;
+            if(from > end) from += count;
+            else if(from > index) from = index;
+            if(to > end) to += count;
+            else if(to > index) to = index;
         }
     }
 
@@ -90,25 +454,29 @@ public class ListAdapter implements HList, HCollection {
     @Override
     public void add(int index, Object obj){
         if(index < 0 || index > size()) throw new IndexOutOfBoundsException();
+        countInsert(from+index);
         list.insertElementAt(obj, from+index);
-        to++;
-        addToFather();
+        resized(from+index, 1);
     }
 
     @Override
     public boolean add(Object obj){
-        list.insertElementAt(obj, to);
-        to++;
-        addToFather();
+        sync();
+        boolean cached = hashCached();
+        if(to == list.size()) list.addElement(obj);
+        else list.insertElementAt(obj, to);
+        resized(to, 1);
+        if(cached){
+            hash = hashStep(hash, obj);
+            hashModCount = list.modCount;
+        }
         return true;
     }
 
     @Override
     public boolean addAll(HCollection coll){
         if(coll == null) throw new NullPointerException();
-        HIterator it = coll.iterator();
-        while(it.hasNext()) add(it.next());
-        return true;
+        return addAll(size(), coll);
     }
     
 
@@ -116,78 +484,167 @@ public class ListAdapter implements HList, HCollection {
     public boolean addAll(int index, HCollection coll){
         if(coll == null) throw new NullPointerException();
         if(index < 0 || index > size()) throw new IndexOutOfBoundsException();
-        HIterator it = coll.iterator();
-        for(int i=0; i<coll.size(); i++) add(index+i, it.next());
+        Object[] elements = coll.toArray();
+        if(elements.length == 0) return false;
+        boolean cached = index == size() && hashCached();
+        countInsert(from+index);
+        list.insertElementsAt(elements, from+index);
+        resized(from+index, elements.length);
+        if(cached){
+            for(int i=0; i<elements.length; i++) hash = hashStep(hash, elements[i]);
+            hashModCount = list.modCount;
+        }
         return true;
     }
 
     @Override
     public void clear(){
-        for(int i=from; i<to; i++){
-            list.removeElementAt(from);
-        } 
-        if(isSon){
-            father.to = father.to - (to-from);
-        }
-        
-        to = from;
+        sync();
+        list.removeRange(from, to);
+        resized(from, from-to);
     }
 
     @Override
     public boolean contains(Object obj){
-        int i = list.indexOf(obj, from);
-        return (i<to && i!=-1);
+        sync();
+        if(parallelSearch()) return indexOf(obj) != -1;
+        ListEvents.Scan scan = scanEvent("contains", true);
+        int i = list.indexOf(obj, from, to);
+        scanned(scan, i, false);
+        return (i != -1);
     }
 
     @Override
     public boolean containsAll(HCollection coll) {
+        return containsAll(coll, LOOKUP_AUTO);
+    }
+
+    /**
+     * Returns true if this list contains all of the elements of the specified collection, choosing how
+     * the membership of the elements is checked. With a hash lookup the whole operation takes O(n+m) time,
+     * the elements must have a hashCode() consistent with equals().
+     *
+     * @param coll      collection to be checked for containment in this list
+     * @param lookup    one of {@link #LOOKUP_AUTO}, {@link #LOOKUP_HASH}, {@link #LOOKUP_SCAN}
+     * @return true if this list contains all of the elements of the specified collection
+     * @throws NullPointerException     if the specified collection is null
+     * @throws IllegalArgumentException if lookup is not a valid strategy
+     */
+    public boolean containsAll(HCollection coll, int lookup) {
         if(coll == null) throw new NullPointerException();
+        sync();
+        ListEvents.Scan scan = scanEvent("containsAll", false);
+        try{
+            return containsAll(coll, useHash(lookup, this));
+        } finally {
+            if(scan != null) scan.commit();
+        }
+    }
 
-        HIterator it = coll.iterator();
-        while(it.hasNext()){
-            if(!contains(it.next())) return false;
+    /**
+     * Body of {@link #containsAll(HCollection, int)}, with the strategy already chosen
+     *
+     * @param hashed true to build a hash lookup, false to scan this list for every element
+     */
+    private boolean containsAll(HCollection coll, boolean hashed) {
+        if(!hashed){
+            if(parallelSearch()) return RangeTasks.containsAll(coll.toArray(), list, from, to, pool(), parallelThreshold);
+            HIterator it = coll.iterator();
+            while(it.hasNext()){
+                if(!contains(it.next())) return false;
+            }
+            return true;
         }
-        return true;
+
+        if(size() <= coll.size()){
+            java.util.HashSet elements = rangeToSet();
+            HIterator it = coll.iterator();
+            while(it.hasNext()){
+                if(!elements.contains(it.next())) return false;
+            }
+            return true;
+        }
+
+        java.util.HashSet missing = toSet(coll);
+        sync();
+        for(int i=from; i<to && !missing.isEmpty(); i++) missing.remove(list.elementAt(i));
+        return missing.isEmpty();
     }
 
+    /**
+     * Compares this list with any HList: they are equal if they contain equal elements in the same order.
+     * Another ListAdapter is compared reading the two backing vectors directly, stopping at the first difference;
+     * two lists whose cached hash codes differ are not compared at all.
+     */
     @Override
     public boolean equals(Object obj){
-        if(!(obj instanceof ListAdapter)) return false;
-        ListAdapter tmp = (ListAdapter) obj;
-        if(tmp.size() != size()) return false;
+        if(obj == this) return true;
+        if(!(obj instanceof HList)) return false;
+        int n = size();
+        if(!(obj instanceof ListAdapter)){
+            HList other = (HList) obj;
+            if(other.size() != n) return false;
+            HIterator it = other.iterator();
+            for(int i=from; i<to; i++){
+                if(!it.hasNext()) return false;
+                Object a = list.elementAt(i), b = it.next();
+                if(a == null ? b != null : !a.equals(b)) return false;
+            }
+            return !it.hasNext();
+        }
 
-        Object[] a1, a2;
-        a1 = tmp.toArray();
-        a2 = toArray();
-        for(int i=0; i<size(); i++) 
-            if(a1[tmp.from + i] != a2[from + i]) return false;
+        ListAdapter tmp = (ListAdapter) obj;
+        if(tmp.size() != n) return false;
+        if(tmp.list == list && tmp.from == from) return true;
+        if(hashCached() && tmp.hashCached() && hash != tmp.hash) return false;
+        if(parallel(n)) return RangeTasks.equals(list, from, tmp.list, tmp.from, n, pool(), parallelThreshold);
 
+        for(int i=0; i<n; i++){
+            Object a = list.elementAt(from + i), b = tmp.list.elementAt(tmp.from + i);
+            if(a == null ? b != null : !a.equals(b)) return false;
+        }
         return true;
     }
 
     @Override
     public Object get(int index){
         if(index < 0 || index >= size()) throw new IndexOutOfBoundsException();
+        countGet();
         return list.elementAt(from+index);
     }    
 
+    /**
+     * Returns the hash code of this list. It is cached until the list, one of its sublists or fathers, or one of
+     * their iterators changes the elements; appending elements to this list updates it without reading the list
+     * again. An element whose hash code changes while it is in the list must be replaced with set() to be seen.
+     */
     @Override
     public int hashCode(){
+        sync();
+        if(hashCached()) return hash;
         int hashCode = 1;
-        
-        for(int i=from; i<to; i++){
-            hashCode = 31 * hashCode + (list.elementAt(i) == null ? 0 : (list.elementAt(i)).hashCode());
+        if(parallel(to-from)) hashCode = RangeTasks.hashCode(list, from, to, pool(), parallelThreshold);
+        else {
+            for(int i=from; i<to; i++) hashCode = hashStep(hashCode, list.elementAt(i));
         }
-
+        hash = hashCode;
+        hashModCount = list.modCount;
+        hashValid = true;
         return hashCode;
     }
 
     @Override
     public int indexOf(Object obj){
-        for(int i = 0; i<size(); i++)
-            if(list.elementAt(from+i) == obj) return i;
-
-        return -1;
+        sync();
+        ListEvents.Scan scan = scanEvent("indexOf", true);
+        if(parallelSearch()){
+            int i = RangeTasks.indexOf(obj, list, from, to, pool(), parallelThreshold, false);
+            scanned(scan, i, false);
+            return (i == -1) ? -1 : i-from;
+        }
+        int i = list.indexOf(obj, from, to);
+        scanned(scan, i, false);
+        return (i == -1) ? -1 : i-from;
     }
 
     @Override
@@ -202,9 +659,16 @@ public class ListAdapter implements HList, HCollection {
 
     @Override
     public int lastIndexOf(Object obj){
-        int i = list.lastIndexOf(obj);
-        if(i != -1) return i-from;
-        return -1;
+        sync();
+        ListEvents.Scan scan = scanEvent("lastIndexOf", true);
+        if(parallelSearch()){
+            int i = RangeTasks.indexOf(obj, list, from, to, pool(), parallelThreshold, true);
+            scanned(scan, i, true);
+            return (i == -1) ? -1 : i-from;
+        }
+        int i = list.lastIndexOf(obj, from, to);
+        scanned(scan, i, true);
+        return (i == -1) ? -1 : i-from;
     }
 
     @Override
@@ -215,69 +679,289 @@ public class ListAdapter implements HList, HCollection {
     @Override
     public HListIterator listIterator(int index){
         if(index < 0 || index > size()) throw new IndexOutOfBoundsException();
-        return new ListIterator(from+index);
-    }
-
-    /**
-     * Recursive method used for sublists. This decreases the father size of a sublist
-     * and the invokes it self on the father list in order to manage recursive sublists
-     */
-    private void removeToFather(){
-        if(isSon){
-            father.to--;
-            father.removeToFather();
-        }
+        return new ListIterator(index);
     }
 
     @Override
     public Object remove(int index){
         if(index<0 || index>=size()) throw new IndexOutOfBoundsException();
+        countRemove();
         Object tmp = list.elementAt(from+index);
         list.removeElementAt(from+index);
-        to--;
-        removeToFather();
+        resized(from+index, -1);
         return tmp;
     }
 
     @Override
     public boolean remove(Object obj){ 
-        int i = list.indexOf(obj, from);
+        sync();
+        ListEvents.Scan scan = scanEvent("remove", true);
+        int i = list.indexOf(obj, from, to);
+        scanned(scan, i, false);
         if(i == -1) return false;
+        countRemove();
         list.removeElementAt(i);
-        to--;
-        removeToFather();
+        resized(i, -1);
         return true;
     }
 
     @Override
     public boolean removeAll(HCollection coll) {
+        return removeAll(coll, LOOKUP_AUTO);
+    }
+
+    /**
+     * Removes from this list all the elements that are contained in the specified collection, choosing how
+     * the membership of the elements is checked. With a hash lookup the whole operation takes O(n+m) time,
+     * the elements must have a hashCode() consistent with equals().
+     *
+     * @param coll      collection that defines which elements will be removed from this list
+     * @param lookup    one of {@link #LOOKUP_AUTO}, {@link #LOOKUP_HASH}, {@link #LOOKUP_SCAN}
+     * @return true if this list changed as a result of the call
+     * @throws NullPointerException     if the specified collection is null
+     * @throws IllegalArgumentException if lookup is not a valid strategy
+     */
+    public boolean removeAll(HCollection coll, int lookup) {
         if(coll == null) throw new NullPointerException();
+        sync();
+        ListEvents.Scan scan = scanEvent("removeAll", false);
+        try{
+            if(useHash(lookup, coll)) return compact(null, commonElements(coll), false);
+            return compact(coll, null, false);
+        } finally {
+            if(scan != null) scan.commit();
+        }
+    }
 
-        boolean modified = false;
-        HIterator it = coll.iterator();
+    @Override
+    public boolean retainAll(HCollection coll) {
+        return retainAll(coll, LOOKUP_AUTO);
+    }
 
-        while(it.hasNext()){
+    /**
+     * Retains only the elements in this list that are contained in the specified collection, choosing how
+     * the membership of the elements is checked. With a hash lookup the whole operation takes O(n+m) time,
+     * the elements must have a hashCode() consistent with equals().
+     *
+     * @param coll      collection that defines which elements this list will retain
+     * @param lookup    one of {@link #LOOKUP_AUTO}, {@link #LOOKUP_HASH}, {@link #LOOKUP_SCAN}
+     * @return true if this list changed as a result of the call
+     * @throws NullPointerException     if the specified collection is null
+     * @throws IllegalArgumentException if lookup is not a valid strategy
+     */
+    public boolean retainAll(HCollection coll, int lookup) {
+        if(coll == null) throw new NullPointerException();
+        sync();
+        ListEvents.Scan scan = scanEvent("retainAll", false);
+        try{
+            if(useHash(lookup, coll)) return compact(null, commonElements(coll), true);
+            return compact(coll, null, true);
+        } finally {
+            if(scan != null) scan.commit();
+        }
+    }
+
+    /**
+     * Returns the number of elements that a collection must exceed for {@link #LOOKUP_AUTO} to check the
+     * membership of the elements with a temporary hash lookup instead of scanning the collection
+     *
+     * @return the threshold used by the bulk operations of this list
+     */
+    public int getHashThreshold(){
+        return hashThreshold;
+    }
+
+    /**
+     * Sets the number of elements that a collection must exceed for {@link #LOOKUP_AUTO} to check the
+     * membership of the elements with a temporary hash lookup. Sublists created afterwards inherit it.
+     *
+     * @param threshold the new threshold, 0 to always use a hash lookup
+     * @throws IllegalArgumentException if threshold is negative
+     */
+    public void setHashThreshold(int threshold){
+        if(threshold < 0) throw new IllegalArgumentException();
+        hashThreshold = threshold;
+    }
+
+    /**
+     * Returns the number of elements that this list must exceed for the read-only bulk operations
+     * to be split in tasks run in parallel
+     *
+     * @return the threshold of the parallel operations, Integer.MAX_VALUE if they are disabled
+     */
+    public int getParallelThreshold(){
+        return parallelThreshold;
+    }
+
+    /**
+     * Sets the number of elements that this list must exceed for hashCode(), equals(), indexOf(), lastIndexOf(),
+     * contains() and the scanning containsAll() to split it in tasks run in parallel by the fork/join pool of the
+     * list. Every task then scans at most threshold elements. The list must not be changed while one of these
+     * operations is running. Sublists created afterwards inherit it.
+     *
+     * @param threshold the new threshold, Integer.MAX_VALUE to run the operations sequentially
+     * @throws IllegalArgumentException if threshold is less than 1
+     */
+    public void setParallelThreshold(int threshold){
+        if(threshold < 1) throw new IllegalArgumentException();
+        parallelThreshold = threshold;
+    }
+
+    /**
+     * Returns the pool that runs the parallel bulk operations of this list
+     *
+     * @return the pool set by {@link #setForkJoinPool}, the common pool if none was set
+     */
+    public java.util.concurrent.ForkJoinPool getForkJoinPool(){
+        return pool();
+    }
+
+    /**
+     * Sets the pool that runs the parallel bulk operations of this list. Sublists created afterwards inherit it.
+     *
+     * @param pool the pool, null to use the common pool
+     */
+    public void setForkJoinPool(java.util.concurrent.ForkJoinPool pool){
+        this.pool = pool;
+    }
+
+    private java.util.concurrent.ForkJoinPool pool(){
+        return (pool == null) ? java.util.concurrent.ForkJoinPool.commonPool() : pool;
+    }
+
+    /**
+     * @return true if a bulk operation over n elements must run in parallel
+     */
+    private boolean parallel(int n){
+        return n > parallelThreshold;
+    }
+
+    /**
+     * @return true if a search in this list must run in parallel, never when the vector is indexed
+     */
+    private boolean parallelSearch(){
+        return parallel(to-from) && !list.isIndexed();
+    }
+
+    /**
+     * Tells whether a hash lookup over the elements of this list gives the same answers as its contains(), that is
+     * whether its membership is decided by equals(). A list of this package that searches otherwise overrides it,
+     * as {@link myAdapter.SortedListAdapter} does; a subclass defined elsewhere can't, and may override contains(),
+     * so it is never replaced by a hash lookup.
+     *
+     * @return true if the membership of this list is decided by equals()
+     */
+    boolean hashableMembership(){
+        return getClass().getPackage() == ListAdapter.class.getPackage();
+    }
+
+    /**
+     * @return true if coll is a list of this package whose membership is decided by equals()
+     */
+    private static boolean hashableMembership(HCollection coll){
+        if(coll instanceof ListAdapter) return ((ListAdapter) coll).hashableMembership();
+        return coll.getClass() == CopyOnWriteListAdapter.class || coll.getClass() == StripedListAdapter.class;
+    }
+
+    /**
+     * Decides whether a bulk operation should use a hash lookup
+     *
+     * @param lookup    strategy requested for the operation
+     * @param searched  the collection that would be scanned for every element, this list for containsAll and
+     *                  the other collection for removeAll and retainAll
+     * @return true if a hash lookup must be built
+     */
+    private boolean useHash(int lookup, HCollection searched){
+        switch(lookup){
+            case LOOKUP_AUTO: return searched.size() > hashThreshold && hashableMembership(searched);
+            case LOOKUP_HASH: return true;
+            case LOOKUP_SCAN: return false;
+            default: throw new IllegalArgumentException("Unknown lookup strategy: " + lookup);
+        }
+    }
+
+    /**
+     * Builds the set used by removeAll() and retainAll() to check which elements of this list are contained in
+     * coll, hashing only the smaller of the two: all the elements of coll when it is not bigger than this list,
+     * otherwise only the elements of this list that are also in coll. Either way the set is a superset of the
+     * intersection that contains no element of this list missing from coll, so it answers like coll for the
+     * elements of this list
+     *
+     * @param coll the other collection
+     * @return the lookup set, never bigger than the smaller collection
+     */
+    private java.util.HashSet commonElements(HCollection coll){
+        if(coll.size() <= size()) return toSet(coll);
+
+        java.util.HashSet elements = rangeToSet();
+        java.util.HashSet common = new java.util.HashSet();
+        HIterator it = coll.iterator();
+        while(it.hasNext() && !elements.isEmpty()){
             Object obj = it.next();
-            while(remove(obj)) modified = true;
-        }     
+            if(elements.remove(obj)) common.add(obj);
+        }
+        return common;
+    }
 
-        return modified;
+    /**
+     * @return a new set with the elements contained between from and to
+     */
+    private java.util.HashSet rangeToSet(){
+        sync();
+        java.util.HashSet set = new java.util.HashSet(Math.max(16, (int) (size() / .75f) + 1));
+        for(int i=from; i<to; i++) set.add(list.elementAt(i));
+        return set;
     }
 
-    @Override
-    public boolean retainAll(HCollection coll) {
-        if(coll == null) throw new NullPointerException();
+    /**
+     * @param coll the collection to copy
+     * @return a new set with the elements of coll
+     */
+    private static java.util.HashSet toSet(HCollection coll){
+        java.util.HashSet set = new java.util.HashSet(Math.max(16, (int) (coll.size() / .75f) + 1));
+        HIterator it = coll.iterator();
+        while(it.hasNext()) set.add(it.next());
+        return set;
+    }
 
-        boolean modified = false;
-        for(int i=from; i<to; i++){
-            if(!coll.contains(list.elementAt(i))){
-                remove(list.elementAt(i));
-                modified = true;
-                i--;
-            }
+    /**
+     * Method used by removeAll() and retainAll(). The range of this list is walked once with a read
+     * and a write cursor: every element whose presence in coll is equal to retain is moved down to the
+     * write cursor, the others are skipped. The tail left free is removed at once and this list is
+     * shrunk only at the end.
+     *
+     * @param coll      collection whose elements are checked with contains(), used when lookup is null
+     * @param lookup    set whose elements are checked with contains(), or null
+     * @param retain    true to keep the elements contained in coll, false to keep the others
+     * @return true if this list changed as a result of the call
+     */
+    private boolean compact(HCollection coll, java.util.Set lookup, boolean retain){
+        if(lookup == null && coll instanceof ListAdapter && ((ListAdapter) coll).list == list){
+            coll = new ListAdapter(coll);
         }
 
-        return modified;
+        sync();
+        int r = from, w = from, removed = 0;
+        try{
+            for(; r<to; r++){
+                Object obj = list.elementAt(r);
+                boolean found = (lookup == null) ? coll.contains(obj) : lookup.contains(obj);
+                if(found == retain){
+                    if(r != w) list.setElementAt(obj, w);
+                    w++;
+                }
+            }
+        } finally {
+            for(; r<to; r++, w++){
+                if(r != w) list.setElementAt(list.elementAt(r), w);
+            }
+            removed = to - w;
+            if(removed != 0){
+                list.removeRange(w, to);
+                resized(w, -removed);
+            }
+        }
+        return removed != 0;
     }
 
     @Override
@@ -285,11 +969,13 @@ public class ListAdapter implements HList, HCollection {
         if(index<0 || index>=size()) throw new IndexOutOfBoundsException();
         Object tmp = list.elementAt(from+index);
         list.setElementAt(obj, from+index);
+        changed();
         return tmp;
     }
 
     @Override
     public int size(){ 
+        sync();
         if(to-from > Integer.MAX_VALUE) return Integer.MAX_VALUE;
         return to-from;
     }
@@ -298,31 +984,144 @@ public class ListAdapter implements HList, HCollection {
     public HList subList(int fromIndex, int toIndex){
         if(fromIndex < 0 || toIndex > size()) throw new IndexOutOfBoundsException();
         isFather = true;
-        ListAdapter sublist = new ListAdapter(this, from+fromIndex, from+toIndex);
+        ListAdapter sublist = newSubList(from+fromIndex, from+toIndex);
         return sublist;
     }
 
+    /**
+     * Creates a sublist of this list, the specialized lists override it so that their sublists
+     * are of their own type
+     *
+     * @param fromIndex first index of the backing vector that belongs to the sublist
+     * @param toIndex   first index of the backing vector after the sublist
+     * @return the new sublist
+     */
+    ListAdapter newSubList(int fromIndex, int toIndex){
+        return new ListAdapter(this, fromIndex, toIndex);
+    }
+
     @Override
     public Object[] toArray(){
         Object[] tmp = new Object[size()];
-        for(int i=0; i<size(); i++) tmp[i] = list.elementAt(from+i);
+        list.copyInto(from, to, tmp, 0);
         return tmp;
     }
 
     @Override
-    public Object[] toArray(Object arrayTarget[]){ //CLDC  NON PUÒ FARE COSE A RUNTIME 1.1
+    public Object[] toArray(Object arrayTarget[]){
         if(arrayTarget == null) throw new NullPointerException();
     
-        if(arrayTarget.length < size())   return toArray();
+        if(arrayTarget.length < size())
+            arrayTarget = (Object[]) java.lang.reflect.Array.newInstance(arrayTarget.getClass().getComponentType(), size());
         
-        for(int i=0; i<size(); i++) arrayTarget[i] = list.elementAt(from+i);
+        list.copyInto(from, to, arrayTarget, 0);
         for(int i=size(); i<arrayTarget.length; i++) arrayTarget[i] = null;
 
         return arrayTarget;
     }
 
+    /**
+     * Copies the elements of this list between fromIndex, inclusive, and toIndex, exclusive, into the given
+     * array starting at offset, so that a caller can read the list in slices reusing the same buffer. The
+     * backing vector copies the whole range at once when its storage allows it.
+     *
+     * @param fromIndex index of the first element to copy
+     * @param toIndex   index after the last element to copy
+     * @param dst       the array into which the elements are copied
+     * @param offset    index of dst where the first element is stored
+     * @throws NullPointerException      if dst is null
+     * @throws IndexOutOfBoundsException if the range is out of this list or doesn't fit in dst from offset
+     * @throws ArrayStoreException       if an element can't be stored in dst
+     */
+    public void getElements(int fromIndex, int toIndex, Object[] dst, int offset){
+        if(dst == null) throw new NullPointerException();
+        if(fromIndex < 0 || toIndex > size() || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+        if(offset < 0 || offset > dst.length - (toIndex - fromIndex)) throw new IndexOutOfBoundsException();
+        list.copyInto(from+fromIndex, from+toIndex, dst, offset);
+    }
+
 
 
+    /**
+     * Returns a Spliterator over the elements of this list that splits by halving the range of indexes, so
+     * that a parallel stream reads the backing vector directly from every thread without copying it. The range
+     * is read when the spliterator is first used; the list must not be changed while it is traversed.
+     *
+     * @return a SIZED, SUBSIZED and ORDERED Spliterator over the elements of this list
+     */
+    @Override
+    public java.util.Spliterator spliterator(){
+        return new RangeSpliterator(this);
+    }
+
+    /**
+     * Spliterator over a range of indexes of the backing vector
+     */
+    static final class RangeSpliterator implements java.util.Spliterator {
+        private ListAdapter owner;
+        private final Vector vector;
+        private int index, fence;
+
+        /**
+         * Creates a spliterator over a list, its range is read at the first use
+         */
+        RangeSpliterator(ListAdapter owner) {
+            this.owner = owner;
+            this.vector = owner.list;
+        }
+
+        private RangeSpliterator(Vector vector, int origin, int fence) {
+            this.vector = vector;
+            this.index = origin;
+            this.fence = fence;
+        }
+
+        private int fence(){
+            if(owner != null){
+                index = owner.offset();
+                fence = index + owner.size();
+                owner = null;
+            }
+            return fence;
+        }
+
+        @Override
+        public boolean tryAdvance(java.util.function.Consumer action){
+            if(action == null) throw new NullPointerException();
+            if(index >= fence()) return false;
+            action.accept(vector.elementAt(index++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(java.util.function.Consumer action){
+            if(action == null) throw new NullPointerException();
+            int end = fence();
+            int i = index;
+            index = end;
+            for(; i<end; i++) action.accept(vector.elementAt(i));
+        }
+
+        @Override
+        public java.util.Spliterator trySplit(){
+            int end = fence(), mid = (index + end) >>> 1;
+            if(mid <= index) return null;
+            RangeSpliterator prefix = new RangeSpliterator(vector, index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize(){
+            return fence() - index;
+        }
+
+        @Override
+        public int characteristics(){
+            return ORDERED | SIZED | SUBSIZED;
+        }
+    }
+
     class Iterator implements HIterator{
         int curr_index;
         boolean call_next, call_remove;
@@ -332,6 +1131,7 @@ public class ListAdapter implements HList, HCollection {
          * boolean parameters
          */
         public Iterator(){
+            sync();
             curr_index = from;
             call_next = false;
             call_remove = false;
@@ -339,6 +1139,7 @@ public class ListAdapter implements HList, HCollection {
 
         @Override
         public boolean hasNext() {
+            sync();
             return (curr_index < to);
         }
 
@@ -355,8 +1156,9 @@ public class ListAdapter implements HList, HCollection {
         public void remove() {
             if(!call_next || call_remove) throw new IllegalStateException();
             curr_index--;
+            countRemove();
             list.removeElementAt(curr_index);
-            to--;
+            resized(curr_index, -1);
             call_remove = true;                    
         }
     }
@@ -370,7 +1172,8 @@ public class ListAdapter implements HList, HCollection {
          * boolean parameters
          */
         public ListIterator(){
-            curr_index = 0;
+            sync();
+            curr_index = from;
             call_next = false;
             call_remove = false;
             call_prev = false;
@@ -406,12 +1209,13 @@ public class ListAdapter implements HList, HCollection {
 
         @Override
         public boolean hasPrevious() {
+            sync();
             return (curr_index > from);
         }
 
         @Override
         public Object previous() {
-            if(curr_index == 0) throw new NoSuchElementException();
+            if(!hasPrevious()) throw new NoSuchElementException();
             curr_index--;
             call_next = false;
             call_prev = true;
@@ -422,12 +1226,14 @@ public class ListAdapter implements HList, HCollection {
 
         @Override
         public int nextIndex() {
-            return curr_index+1;
+            sync();
+            return curr_index-from+1;
         }
 
         @Override
         public int previousIndex() {
-           return curr_index-1;
+           sync();
+           return curr_index-from-1;
         }
 
         @Override
@@ -435,10 +1241,11 @@ public class ListAdapter implements HList, HCollection {
             if(!call_next && !call_prev) throw new IllegalStateException();
             if(call_add || call_remove) throw new IllegalStateException();
             if(call_next) curr_index--;
+            countRemove();
             list.removeElementAt(curr_index);
             call_remove = true;
             call_add = false;
-            to--;              
+            resized(curr_index, -1);
         }
         
         @Override
@@ -448,13 +1255,16 @@ public class ListAdapter implements HList, HCollection {
             int i = curr_index;
             if(call_next) i--;
             list.setElementAt(obj, i);
+            changed();
         }
 
         @Override
         public void add(Object obj) {
+            sync();
+            countInsert(curr_index);
             list.insertElementAt(obj,curr_index);
+            resized(curr_index, 1);
             curr_index++;
-            to++;
             call_add = true;
             call_remove = false;
         }
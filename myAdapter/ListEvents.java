@@ -0,0 +1,202 @@
+package myAdapter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The Java Flight Recorder events of the expensive operations of the lists and of their vectors<br>
+ *
+ * <p>
+ * Three events, in the category "myAdapter", are emitted with their duration and stack trace:
+ * <ul>
+ * <li><b>myAdapter.VectorShift</b>, when a vector moves its components to open or close a hole</li>
+ * <li><b>myAdapter.VectorGrowth</b>, when a vector reallocates its storage copying its components</li>
+ * <li><b>myAdapter.ListScan</b>, when a {@link myAdapter.ListAdapter} runs a linear search or a bulk operation:
+ * indexOf, lastIndexOf, contains, remove(Object), containsAll, removeAll and retainAll</li>
+ * </ul>
+ * Every event carries the id of the backing vector, which identifies a list and all its sublists, the size of the
+ * vector or of the list and the range of indexes of the operation.
+ * <p>
+ * Only the operations that move, copy or search at least {@link #getThreshold()} elements create an event, so the
+ * others pay a single comparison whether a recording is running or not. The threshold is read from the system
+ * property <code>myAdapter.jfr.threshold</code>, 4096 elements if it is not set. The events that pass it are
+ * still filtered by the duration threshold set in the JFR configuration, like any other event.
+ */
+public final class ListEvents {
+
+    private static final AtomicLong ids = new AtomicLong();
+
+    private static volatile int threshold = Math.max(1, Integer.getInteger("myAdapter.jfr.threshold", 4096).intValue());
+
+    private ListEvents() {
+    }
+
+    /**
+     * Returns the number of elements that an operation must move, copy or search to emit an event
+     *
+     * @return the cost threshold of the events
+     */
+    public static int getThreshold(){
+        return threshold;
+    }
+
+    /**
+     * Sets the number of elements that an operation must move, copy or search to emit an event
+     *
+     * @param elements the new threshold, 1 to emit an event for every operation that does some work
+     * @throws IllegalArgumentException if elements is less than 1
+     */
+    public static void setThreshold(int elements){
+        if(elements < 1) throw new IllegalArgumentException();
+        threshold = elements;
+    }
+
+    /**
+     * @return a new id for a vector, never 0
+     */
+    static long nextId(){
+        return ids.incrementAndGet();
+    }
+
+    @Name("myAdapter.VectorShift")
+    @Label("Vector Shift")
+    @Category("myAdapter")
+    @Description("Components moved inside the storage of a vector to open or close a hole")
+    @StackTrace(true)
+    static final class Shift extends Event {
+        @Label("Vector Id")
+        long vectorId;
+
+        @Label("Vector Size")
+        int size;
+
+        @Label("Range Start")
+        @Description("Index of the first component moved")
+        int rangeStart;
+
+        @Label("Range End")
+        @Description("Index after the last component moved")
+        int rangeEnd;
+    }
+
+    @Name("myAdapter.VectorGrowth")
+    @Label("Vector Growth")
+    @Category("myAdapter")
+    @Description("Reallocation of the storage of a vector")
+    @StackTrace(true)
+    static final class Growth extends Event {
+        @Label("Vector Id")
+        long vectorId;
+
+        @Label("Vector Size")
+        int size;
+
+        @Label("Copied Components")
+        int copied;
+
+        @Label("New Capacity")
+        int newCapacity;
+
+        @Label("Allocated")
+        @DataAmount
+        long allocated;
+    }
+
+    @Name("myAdapter.ListScan")
+    @Label("List Scan")
+    @Category("myAdapter")
+    @Description("Linear search or bulk operation over the elements of a list")
+    @StackTrace(true)
+    static final class Scan extends Event {
+        @Label("Vector Id")
+        long vectorId;
+
+        @Label("Operation")
+        String operation;
+
+        @Label("List Size")
+        int size;
+
+        @Label("Range Start")
+        @Description("First index of the backing vector examined by the operation")
+        int rangeStart;
+
+        @Label("Range End")
+        @Description("Index of the backing vector after the last one examined by the operation")
+        int rangeEnd;
+    }
+
+    /**
+     * Starts the event of a shift of count components of vector from index on
+     *
+     * @return the started event, to be committed when the shift is done, null if it must not be recorded
+     */
+    static Shift shift(Vector vector, int index, int count){
+        if(count < threshold) return null;
+        Shift event = new Shift();
+        if(!event.isEnabled()) return null;
+        event.vectorId = vector.id();
+        event.size = vector.size();
+        event.rangeStart = index;
+        event.rangeEnd = index + count;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Starts the event of a reallocation of the storage of vector that copies the given number of components
+     *
+     * @return the started event, to be committed when the new storage is ready, null if it must not be recorded
+     */
+    static Growth growth(Vector vector, int copied, int newCapacity, long bytes){
+        if(copied < threshold) return null;
+        Growth event = new Growth();
+        if(!event.isEnabled()) return null;
+        event.vectorId = vector.id();
+        event.size = vector.size();
+        event.copied = copied;
+        event.newCapacity = newCapacity;
+        event.allocated = bytes;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Starts the event of an operation that searches the elements of a list, stored in vector between the
+     * indexes from, inclusive, and to, exclusive
+     *
+     * @return the started event, to be committed when the operation ends, null if it must not be recorded
+     */
+    static Scan scan(Vector vector, String operation, int from, int to){
+        if(to - from < threshold) return null;
+        Scan event = new Scan();
+        if(!event.isEnabled()) return null;
+        event.vectorId = vector.id();
+        event.operation = operation;
+        event.size = to - from;
+        event.rangeStart = from;
+        event.rangeEnd = to;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commits the event of a search that stopped before the end of its list, with the range of indexes it examined,
+     * from start, inclusive, to end, exclusive, if they are at least the threshold
+     *
+     * @param event the event returned by {@link #scan(Vector, String, int, int)}, null if it is not recorded
+     */
+    static void scanned(Scan event, int start, int end){
+        if(event == null || end - start < threshold) return;
+        event.rangeStart = start;
+        event.rangeEnd = end;
+        event.commit();
+    }
+}
@@ -0,0 +1,199 @@
+package myAdapter;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counters of the expensive operations of the lists that record into them<br>
+ *
+ * <p>
+ * The metrics are off by default. {@link ListAdapter#setMetrics(ListMetrics)} attaches them to the backing vector of
+ * a list, so that the list, all its sublists and fathers and the vector itself record into them; without metrics
+ * every operation pays only a null check. The same metrics can be attached to many lists, also used by different
+ * threads: the counters are {@link java.util.concurrent.atomic.LongAdder}s, so they aggregate the lists without
+ * making them contend on a single variable.
+ * <p>
+ * {@link #named(String)} returns the metrics registered under a name in the platform MBeanServer, as
+ * <code>myAdapter:type=ListMetrics,name="&lt;name&gt;"</code>, where they can be read with any JMX client. The
+ * metrics created with the constructor are not exported.
+ *
+ * @see myAdapter.ListMetricsMBean
+ */
+public class ListMetrics implements ListMetricsMBean {
+
+    private static final ConcurrentHashMap registry = new ConcurrentHashMap();
+
+    private final String name;
+    private final LongAdder gets = new LongAdder();
+    private final LongAdder inserts = new LongAdder();
+    private final LongAdder removes = new LongAdder();
+    private final LongAdder shifted = new LongAdder();
+    private final LongAdder growths = new LongAdder();
+    private final LongAdder allocated = new LongAdder();
+    private final LongAdder scans = new LongAdder();
+    private final LongAdder scanned = new LongAdder();
+
+    /**
+     * Creates new metrics that are not registered in JMX
+     */
+    public ListMetrics() {
+        this(null);
+    }
+
+    private ListMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the metrics registered under the given name, creating them and registering them in the platform
+     * MBeanServer the first time the name is used
+     *
+     * @param name the name of the metrics, shared by all the lists that must be counted together
+     * @return the metrics registered under name
+     * @throws NullPointerException  if name is null
+     * @throws IllegalStateException if the metrics can't be registered in the MBeanServer
+     */
+    public static ListMetrics named(String name){
+        if(name == null) throw new NullPointerException();
+        ListMetrics metrics = (ListMetrics) registry.get(name);
+        if(metrics != null) return metrics;
+        synchronized(registry){
+            metrics = (ListMetrics) registry.get(name);
+            if(metrics != null) return metrics;
+            metrics = new ListMetrics(name);
+            try{
+                ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, objectName(name));
+            } catch(JMException e){
+                throw new IllegalStateException("Can't register the metrics " + name, e);
+            }
+            registry.put(name, metrics);
+            return metrics;
+        }
+    }
+
+    /**
+     * Removes the metrics registered under the given name from the MBeanServer. The lists that record into them
+     * keep doing it, while {@link #named(String)} will create new metrics for the name.
+     *
+     * @param name the name of the metrics
+     * @return true if metrics were registered under name
+     */
+    public static boolean unregister(String name){
+        synchronized(registry){
+            if(registry.remove(name) == null) return false;
+            try{
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                ObjectName objectName = objectName(name);
+                if(server.isRegistered(objectName)) server.unregisterMBean(objectName);
+            } catch(JMException e){
+                throw new IllegalStateException("Can't unregister the metrics " + name, e);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * @param name the name of the metrics
+     * @return the JMX name of the metrics registered under name
+     * @throws JMException if name gives an invalid ObjectName
+     */
+    public static ObjectName objectName(String name) throws JMException {
+        return new ObjectName("myAdapter:type=ListMetrics,name=" + ObjectName.quote(name));
+    }
+
+    void get(){
+        gets.increment();
+    }
+
+    void insert(){
+        inserts.increment();
+    }
+
+    void remove(){
+        removes.increment();
+    }
+
+    void shift(int count){
+        if(count > 0) shifted.add(count);
+    }
+
+    void grow(long bytes){
+        growths.increment();
+        allocated.add(bytes);
+    }
+
+    void scan(int length){
+        scans.increment();
+        scanned.add(length);
+    }
+
+    @Override
+    public String getName(){
+        return name;
+    }
+
+    @Override
+    public long getGets(){
+        return gets.sum();
+    }
+
+    @Override
+    public long getPositionalInserts(){
+        return inserts.sum();
+    }
+
+    @Override
+    public long getPositionalRemoves(){
+        return removes.sum();
+    }
+
+    @Override
+    public long getShiftedElements(){
+        return shifted.sum();
+    }
+
+    @Override
+    public long getGrowths(){
+        return growths.sum();
+    }
+
+    @Override
+    public long getAllocatedBytes(){
+        return allocated.sum();
+    }
+
+    @Override
+    public long getLinearScans(){
+        return scans.sum();
+    }
+
+    @Override
+    public long getScannedElements(){
+        return scanned.sum();
+    }
+
+    @Override
+    public void reset(){
+        gets.reset();
+        inserts.reset();
+        removes.reset();
+        shifted.reset();
+        growths.reset();
+        allocated.reset();
+        scans.reset();
+        scanned.reset();
+    }
+
+    @Override
+    public String toString(){
+        return "ListMetrics[" + name + ": gets=" + getGets() + ", inserts=" + getPositionalInserts()
+                + ", removes=" + getPositionalRemoves() + ", shifted=" + getShiftedElements()
+                + ", growths=" + getGrowths() + ", allocatedBytes=" + getAllocatedBytes()
+                + ", scans=" + getLinearScans() + ", scanned=" + getScannedElements() + "]";
+    }
+}
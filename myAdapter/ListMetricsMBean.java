@@ -0,0 +1,66 @@
+package myAdapter;
+
+/**
+ * The management interface of {@link myAdapter.ListMetrics}, exported through JMX by {@link ListMetrics#named(String)}<br>
+ *
+ * <p>
+ * Every attribute is the total since the metrics have been created or last reset, summed over all the lists that
+ * record into them.
+ *
+ * @see myAdapter.ListMetrics
+ */
+public interface ListMetricsMBean {
+
+    /**
+     * @return the name under which the metrics are registered, null if they are not registered
+     */
+    String getName();
+
+    /**
+     * @return the number of elements read by index with get() and the primitive getters
+     */
+    long getGets();
+
+    /**
+     * @return the number of insertions not at the end of a list by add(int, Object), addAll(int, HCollection),
+     *         the primitive insertions at an index and ListIterator.add()
+     */
+    long getPositionalInserts();
+
+    /**
+     * @return the number of removals of single elements: remove(int), remove(Object), the primitive removals
+     *         and Iterator.remove()
+     */
+    long getPositionalRemoves();
+
+    /**
+     * @return the number of elements moved inside the storage of the backing vectors to open or close a hole
+     */
+    long getShiftedElements();
+
+    /**
+     * @return the number of times the storage of a backing vector has been reallocated to grow
+     */
+    long getGrowths();
+
+    /**
+     * @return the bytes allocated by the growths, estimated for the arrays on the heap with 4 bytes per reference
+     */
+    long getAllocatedBytes();
+
+    /**
+     * @return the number of linear searches: indexOf(), lastIndexOf(), contains() and remove(Object) on a vector
+     *         without hash index
+     */
+    long getLinearScans();
+
+    /**
+     * @return the number of elements examined by the linear searches
+     */
+    long getScannedElements();
+
+    /**
+     * Sets all the counters to 0
+     */
+    void reset();
+}
@@ -0,0 +1,377 @@
+package myAdapter;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes lists to a compact binary snapshot and reads them back<br>
+ *
+ * <p>
+ * A snapshot starts with a header made of the bytes "HLSN", the version of the format and the names of the
+ * {@link myAdapter.SnapshotCodec} registered when it was written, then it holds the number of elements and the
+ * elements in order. Every element is a type tag followed by its value: null takes only the tag, Integer and Long
+ * objects are written as variable-length integers, so that small values take one or two bytes, String objects
+ * as their length and their UTF-8 bytes, byte arrays as their length and their bytes. The elements of any other
+ * class are written by the first registered codec whose type accepts them, as the tag of the codec, the length
+ * and the bytes returned by the codec. All the lengths and the tags are variable-length integers too.
+ * <p>
+ * The snapshots are streamed through a small buffer: a ListAdapter is written reading its backing vector directly,
+ * and it is read into a new vector created with the exact capacity, up to 65536 elements, so neither of them
+ * builds another collection.
+ * The streams and the channels are never closed by this class.
+ *
+ * @see myAdapter.SnapshotCodec
+ */
+public class ListSnapshot {
+
+    /**
+     * The version of the format written by this class
+     */
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {'H', 'L', 'S', 'N'};
+
+    private static final int TAG_NULL = 0, TAG_INTEGER = 1, TAG_LONG = 2, TAG_STRING = 3, TAG_BYTES = 4;
+
+    /**
+     * The tag of the first registered codec, the following ones take the next tags
+     */
+    private static final int TAG_CODEC = 16;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The largest number of elements or bytes allocated before they are read: a longer list or array is grown
+     * while it is read, so a corrupted length reaches the end of the data instead of exhausting the memory
+     */
+    private static final int MAX_PRESIZE = 1 << 16;
+
+    private java.util.ArrayList codecs = new java.util.ArrayList();
+
+    /**
+     * Creates a ListSnapshot that knows only Integer, Long, String and byte[] elements
+     */
+    public ListSnapshot() {
+    }
+
+    /**
+     * Adds a codec for the elements of another class. The codecs are tried in the order they are registered.
+     *
+     * @param codec the codec to add
+     * @throws NullPointerException     if codec is null
+     * @throws IllegalArgumentException if a codec with the same name is already registered
+     */
+    public void register(SnapshotCodec codec){
+        if(codec(codec.name()) != null) throw new IllegalArgumentException("Codec already registered: " + codec.name());
+        codecs.add(codec);
+    }
+
+    private SnapshotCodec codec(String name){
+        for(int i=0; i<codecs.size(); i++){
+            SnapshotCodec codec = (SnapshotCodec) codecs.get(i);
+            if(codec.name().equals(name)) return codec;
+        }
+        return null;
+    }
+
+    /**
+     * Writes the elements of a list to a stream
+     *
+     * @param list the list to write, it can be a sublist
+     * @param out  the stream where the snapshot is written, it is flushed but not closed
+     * @throws IOException              if the stream can't be written
+     * @throws NullPointerException     if list or out is null
+     * @throws IllegalArgumentException if the list contains an element that can't be written, the snapshot
+     *                                  is left incomplete
+     */
+    public void write(HList list, OutputStream out) throws IOException {
+        if(out == null) throw new NullPointerException();
+        Output output = new Output(out, null);
+        write(list, output);
+        out.flush();
+    }
+
+    /**
+     * Writes the elements of a list to a channel, for example a FileChannel
+     *
+     * @param list    the list to write, it can be a sublist
+     * @param channel the channel where the snapshot is written, it is not closed
+     * @throws IOException              if the channel can't be written
+     * @throws NullPointerException     if list or channel is null
+     * @throws IllegalArgumentException if the list contains an element that can't be written, the snapshot
+     *                                  is left incomplete
+     */
+    public void write(HList list, WritableByteChannel channel) throws IOException {
+        if(channel == null) throw new NullPointerException();
+        write(list, new Output(null, channel));
+    }
+
+    private void write(HList list, Output out) throws IOException {
+        int size = list.size();
+        out.writeBytes(MAGIC, 0, MAGIC.length);
+        out.writeVarLong(VERSION);
+        out.writeVarLong(codecs.size());
+        for(int i=0; i<codecs.size(); i++) out.writeString(((SnapshotCodec) codecs.get(i)).name());
+        out.writeVarLong(size);
+        if(list instanceof ListAdapter){
+            ListAdapter adapter = (ListAdapter) list;
+            Vector backing = adapter.backing();
+            int from = adapter.offset();
+            for(int i=from; i<from+size; i++) writeElement(backing.elementAt(i), out);
+        } else {
+            HIterator it = list.iterator();
+            while(it.hasNext()) writeElement(it.next(), out);
+        }
+        out.flush();
+    }
+
+    private void writeElement(Object obj, Output out) throws IOException {
+        if(obj == null){
+            out.writeVarLong(TAG_NULL);
+        } else if(obj instanceof Integer){
+            out.writeVarLong(TAG_INTEGER);
+            out.writeVarLong(zigZag(((Integer) obj).intValue()));
+        } else if(obj instanceof Long){
+            out.writeVarLong(TAG_LONG);
+            out.writeVarLong(zigZag(((Long) obj).longValue()));
+        } else if(obj instanceof String){
+            out.writeVarLong(TAG_STRING);
+            out.writeString((String) obj);
+        } else if(obj instanceof byte[]){
+            byte[] bytes = (byte[]) obj;
+            out.writeVarLong(TAG_BYTES);
+            out.writeVarLong(bytes.length);
+            out.writeBytes(bytes, 0, bytes.length);
+        } else {
+            for(int i=0; i<codecs.size(); i++){
+                SnapshotCodec codec = (SnapshotCodec) codecs.get(i);
+                if(codec.type().isInstance(obj)){
+                    byte[] bytes = codec.encode(obj);
+                    out.writeVarLong(TAG_CODEC + i);
+                    out.writeVarLong(bytes.length);
+                    out.writeBytes(bytes, 0, bytes.length);
+                    return;
+                }
+            }
+            throw new IllegalArgumentException("No codec for " + obj.getClass().getName());
+        }
+    }
+
+    /**
+     * Reads a list from a stream. The stream is read up to the end of the snapshot, or a little beyond it
+     * when the snapshot is followed by other data.
+     *
+     * @param in the stream where the snapshot is read, it is not closed
+     * @return a new ListAdapter with the elements of the snapshot
+     * @throws IOException          if the stream can't be read or doesn't contain a valid snapshot, EOFException if it ends
+     *                              before the end of the snapshot
+     * @throws NullPointerException if in is null
+     */
+    public ListAdapter read(InputStream in) throws IOException {
+        if(in == null) throw new NullPointerException();
+        return read(new Input(in, null));
+    }
+
+    /**
+     * Reads a list from a channel, for example a FileChannel
+     *
+     * @param channel the channel where the snapshot is read, it is not closed
+     * @return a new ListAdapter with the elements of the snapshot
+     * @throws IOException          if the channel can't be read or doesn't contain a valid snapshot, EOFException if it ends
+     *                              before the end of the snapshot
+     * @throws NullPointerException if channel is null
+     */
+    public ListAdapter read(ReadableByteChannel channel) throws IOException {
+        if(channel == null) throw new NullPointerException();
+        return read(new Input(null, channel));
+    }
+
+    private ListAdapter read(Input in) throws IOException {
+        byte[] magic = in.readBytes(MAGIC.length);
+        for(int i=0; i<MAGIC.length; i++)
+            if(magic[i] != MAGIC[i]) throw new StreamCorruptedException("Not a ListSnapshot");
+        long version = in.readVarLong();
+        if(version != VERSION) throw new StreamCorruptedException("Unsupported ListSnapshot version: " + version);
+
+        int count = in.readLength();
+        java.util.ArrayList nameList = new java.util.ArrayList(Math.min(count, MAX_PRESIZE));
+        for(int i=0; i<count; i++) nameList.add(in.readString());
+        String[] names = (String[]) nameList.toArray(new String[count]);
+        SnapshotCodec[] used = new SnapshotCodec[count];
+        for(int i=0; i<count; i++) used[i] = codec(names[i]);
+
+        int size = in.readLength();
+        Vector vector = new Vector(Math.min(size, MAX_PRESIZE));
+        for(int i=0; i<size; i++){
+            long tag = in.readVarLong();
+            Object obj;
+            if(tag == TAG_NULL) obj = null;
+            else if(tag == TAG_INTEGER) obj = Integer.valueOf((int) unZigZag(in.readVarLong()));
+            else if(tag == TAG_LONG) obj = Long.valueOf(unZigZag(in.readVarLong()));
+            else if(tag == TAG_STRING) obj = in.readString();
+            else if(tag == TAG_BYTES) obj = in.readBytes(in.readLength());
+            else if(tag >= TAG_CODEC && tag < TAG_CODEC + used.length){
+                int index = (int) (tag - TAG_CODEC);
+                if(used[index] == null) throw new StreamCorruptedException("Codec not registered: " + names[index]);
+                byte[] bytes = in.readBytes(in.readLength());
+                try{
+                    obj = used[index].decode(bytes);
+                } catch(IllegalArgumentException e){
+                    throw new StreamCorruptedException("Invalid element for the codec " + names[index] + ": " + e.getMessage());
+                }
+            }
+            else throw new StreamCorruptedException("Unknown type tag: " + tag);
+            vector.addElement(obj);
+        }
+        return new ListAdapter(vector);
+    }
+
+    private static long zigZag(long value){
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value){
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Buffer that writes to a stream or to a channel
+     */
+    private static final class Output {
+        private final OutputStream stream;
+        private final WritableByteChannel channel;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+
+        Output(OutputStream stream, WritableByteChannel channel) {
+            this.stream = stream;
+            this.channel = channel;
+        }
+
+        void flush() throws IOException {
+            if(stream != null){
+                stream.write(buffer, 0, position);
+            } else {
+                ByteBuffer wrapped = ByteBuffer.wrap(buffer, 0, position);
+                while(wrapped.hasRemaining()) channel.write(wrapped);
+            }
+            position = 0;
+        }
+
+        /**
+         * Writes an unsigned value 7 bits at a time, the highest bit of every byte tells if another byte follows
+         */
+        void writeVarLong(long value) throws IOException {
+            if(position + 10 > buffer.length) flush();
+            while((value & ~0x7FL) != 0){
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes, int offset, int length) throws IOException {
+            while(length > 0){
+                if(position == buffer.length) flush();
+                int n = Math.min(length, buffer.length - position);
+                System.arraycopy(bytes, offset, buffer, position, n);
+                position += n;
+                offset += n;
+                length -= n;
+            }
+        }
+
+        void writeString(String s) throws IOException {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            writeBytes(bytes, 0, bytes.length);
+        }
+    }
+
+    /**
+     * Buffer that reads from a stream or from a channel
+     */
+    private static final class Input {
+        private final InputStream stream;
+        private final ReadableByteChannel channel;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position, limit;
+
+        Input(InputStream stream, ReadableByteChannel channel) {
+            this.stream = stream;
+            this.channel = channel;
+        }
+
+        /**
+         * Reads more bytes in the buffer, at least one: a read that returns no bytes, as a channel may do, is
+         * repeated, so after fill() position is always less than limit
+         *
+         * @throws EOFException if the end of the data has been reached
+         */
+        private void fill() throws IOException {
+            int n;
+            do{
+                if(stream != null) n = stream.read(buffer, 0, buffer.length);
+                else n = channel.read(ByteBuffer.wrap(buffer));
+                if(n < 0) throw new EOFException("Truncated ListSnapshot");
+            } while(n == 0);
+            position = 0;
+            limit = n;
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for(int shift=0; shift<64; shift+=7){
+                if(position == limit) fill();
+                byte b = buffer[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if(b >= 0) return value;
+            }
+            throw new StreamCorruptedException("Variable-length integer too long");
+        }
+
+        /**
+         * @return a length or a number of elements, which must fit in an int
+         */
+        int readLength() throws IOException {
+            long length = readVarLong();
+            if(length < 0 || length > Integer.MAX_VALUE - 8) throw new StreamCorruptedException("Invalid length: " + length);
+            return (int) length;
+        }
+
+        /**
+         * Reads length bytes, in an array that starts with at most MAX_PRESIZE bytes and doubles when it is full,
+         * so that a corrupted length throws EOFException before allocating much more than the data read
+         */
+        byte[] readBytes(int length) throws IOException {
+            byte[] bytes = new byte[Math.min(length, MAX_PRESIZE)];
+            int offset = 0;
+            while(offset < length){
+                if(offset == bytes.length) bytes = java.util.Arrays.copyOf(bytes, (int) Math.min(length, 2L * bytes.length));
+                if(position == limit) fill();
+                int n = Math.min(bytes.length - offset, limit - position);
+                System.arraycopy(buffer, position, bytes, offset, n);
+                position += n;
+                offset += n;
+            }
+            return bytes;
+        }
+
+        String readString() throws IOException {
+            int length = readLength();
+            if(limit - position >= length){
+                String s = new String(buffer, position, length, StandardCharsets.UTF_8);
+                position += length;
+                return s;
+            }
+            return new String(readBytes(length), StandardCharsets.UTF_8);
+        }
+    }
+}
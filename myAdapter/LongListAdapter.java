@@ -0,0 +1,227 @@
+package myAdapter;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link myAdapter.ListAdapter} of long values, stored in an {@link myAdapter.LongVector}<br>
+ * <p>
+ * <p>
+ * The elements are kept in an array of long, so they take 8 bytes each and are read without following any reference.
+ * All the methods of {@link myAdapter.HList} work as in ListAdapter and see the elements as Long objects, boxing
+ * them only when they cross that interface: null and any other object that is not a Long can't be inserted,
+ * trying to do it throws NullPointerException or ClassCastException. The methods ending with Long work directly
+ * on the primitive values, also on the sublists, which are LongListAdapter too.
+ *
+ * @see myAdapter.LongVector
+ */
+public class LongListAdapter extends ListAdapter {
+    private LongVector longs;
+
+    /**
+     * Creates a new empty LongListAdapter
+     */
+    public LongListAdapter() {
+        this(new LongVector());
+    }
+
+    /**
+     * Creates a new LongListAdapter containing the elements of the given collection, in the order
+     * they are returned by its iterator
+     *
+     * @param coll the collection of Long objects from which the new list copies the elements
+     * @throws NullPointerException if coll is null or contains null
+     * @throws ClassCastException   if coll contains an object that is not a Long
+     */
+    public LongListAdapter(HCollection coll) {
+        this(new LongVector(coll.size()));
+        addAll(coll);
+    }
+
+    /**
+     * Creates a new LongListAdapter containing the given values
+     *
+     * @param values the values copied in the new list
+     */
+    public LongListAdapter(long[] values) {
+        this(new LongVector(values.length));
+        for(int i=0; i<values.length; i++) longs.addLong(values[i]);
+        resized(0, values.length);
+    }
+
+    private LongListAdapter(LongVector backing) {
+        super(backing);
+        longs = backing;
+    }
+
+    /**
+     * Constructor used only to create a sublist, see {@link ListAdapter#subList(int, int)}
+     */
+    private LongListAdapter(LongListAdapter fatherList, int fromIndex, int toIndex) {
+        super(fatherList, fromIndex, toIndex);
+        longs = fatherList.longs;
+    }
+
+    @Override
+    ListAdapter newSubList(int fromIndex, int toIndex){
+        return new LongListAdapter(this, fromIndex, toIndex);
+    }
+
+    /**
+     * Returns the value at the specified position in this list
+     *
+     * @param index index of the value to return
+     * @return the value at the specified position in this list
+     * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt;= size())
+     */
+    public long getLong(int index){
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException();
+        countGet();
+        return longs.longAt(offset()+index);
+    }
+
+    /**
+     * Replaces the value at the specified position in this list
+     *
+     * @param index index of the value to replace
+     * @param value value to be stored at the specified position
+     * @return the value previously at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt;= size())
+     */
+    public long setLong(int index, long value){
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException();
+        long old = longs.longAt(offset()+index);
+        longs.setLongAt(value, offset()+index);
+        changed();
+        return old;
+    }
+
+    /**
+     * Appends the specified value to the end of this list
+     *
+     * @param value value to be appended to this list
+     * @return true
+     */
+    public boolean addLong(long value){
+        int end = offset()+size();
+        if(end == longs.size()) longs.addLong(value);
+        else longs.insertLongAt(value, end);
+        resized(end, 1);
+        return true;
+    }
+
+    /**
+     * Inserts the specified value at the specified position in this list, shifting the following
+     * elements to the right
+     *
+     * @param index index at which the value is to be inserted
+     * @param value value to be inserted
+     * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt; size())
+     */
+    public void addLong(int index, long value){
+        if(index < 0 || index > size()) throw new IndexOutOfBoundsException();
+        countInsert(offset()+index);
+        longs.insertLongAt(value, offset()+index);
+        resized(offset()+index, 1);
+    }
+
+    /**
+     * Removes the value at the specified position in this list, shifting the following elements to the left
+     *
+     * @param index the index of the value to be removed
+     * @return the value previously at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt;= size())
+     */
+    public long removeLongAt(int index){
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException();
+        countRemove();
+        long old = longs.longAt(offset()+index);
+        longs.removeElementAt(offset()+index);
+        resized(offset()+index, -1);
+        return old;
+    }
+
+    /**
+     * Returns the index in this list of the first occurrence of the specified value
+     *
+     * @param value value to search for
+     * @return the index of the first occurrence, -1 if this list does not contain the value
+     */
+    public int indexOfLong(long value){
+        int i = longs.indexOfLong(value, offset(), offset()+size());
+        return (i == -1) ? -1 : i-offset();
+    }
+
+    /**
+     * Returns the index in this list of the last occurrence of the specified value
+     *
+     * @param value value to search for
+     * @return the index of the last occurrence, -1 if this list does not contain the value
+     */
+    public int lastIndexOfLong(long value){
+        int i = longs.lastIndexOfLong(value, offset(), offset()+size());
+        return (i == -1) ? -1 : i-offset();
+    }
+
+    /**
+     * Returns true if this list contains the specified value
+     *
+     * @param value value whose presence in this list is to be tested
+     * @return true if this list contains the specified value
+     */
+    public boolean containsLong(long value){
+        return indexOfLong(value) != -1;
+    }
+
+    /**
+     * Returns the number of occurrences of the specified value in this list
+     *
+     * @param value value to count
+     * @return the number of elements equal to value
+     */
+    public int countLong(long value){
+        return longs.countLong(value, offset(), offset()+size());
+    }
+
+    /**
+     * Returns the smallest value of this list
+     *
+     * @return the smallest value
+     * @throws NoSuchElementException if this list is empty
+     */
+    public long minLong(){
+        if(isEmpty()) throw new NoSuchElementException();
+        return longs.minLong(offset(), offset()+size());
+    }
+
+    /**
+     * Returns the largest value of this list
+     *
+     * @return the largest value
+     * @throws NoSuchElementException if this list is empty
+     */
+    public long maxLong(){
+        if(isEmpty()) throw new NoSuchElementException();
+        return longs.maxLong(offset(), offset()+size());
+    }
+
+    /**
+     * Compares the values of the two lists directly when obj is a LongListAdapter too, see {@link ListAdapter#equals(Object)}
+     */
+    @Override
+    public boolean equals(Object obj){
+        if(!(obj instanceof LongListAdapter)) return super.equals(obj);
+        LongListAdapter other = (LongListAdapter) obj;
+        int n = size();
+        if(other.size() != n) return false;
+        return longs.rangeEquals(offset(), other.longs, other.offset(), n);
+    }
+
+    /**
+     * Returns an array containing all the values of this list in proper sequence
+     *
+     * @return a new array of long with the values of this list
+     */
+    public long[] toLongArray(){
+        return longs.toLongArray(offset(), offset()+size());
+    }
+}
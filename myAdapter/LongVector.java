@@ -0,0 +1,291 @@
+package myAdapter;
+
+/**
+ * A {@link myAdapter.Vector} that stores its components in an array of long<br>
+ *
+ * <p>
+ * The methods inherited from Vector work with Long objects: the components are boxed only when they are read through
+ * them and unboxed when they are written, the methods ending with Long work directly on the primitive values.
+ * null can't be stored, trying to do it throws NullPointerException, any other object that is not a Long throws
+ * ClassCastException.
+ *
+ * @see myAdapter.LongListAdapter
+ */
+public class LongVector extends Vector {
+
+    /**
+     * The array buffer into which the components of the vector are stored.
+     */
+    protected long[] longData;
+
+    public LongVector() {
+        this(10);
+    }
+
+    public LongVector(int initialCapacity) {
+        this(initialCapacity, 0);
+    }
+
+    public LongVector(int initialCapacity, int capacityIncrement) {
+        super(0, capacityIncrement);
+        if(initialCapacity < 0) throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        longData = new long[initialCapacity];
+    }
+
+    /**
+     * Grows the buffer so that it can hold at least minCapacity components, following the growth policy or capacityIncrement
+     *
+     * @param minCapacity the desired minimum capacity
+     */
+    private void grow(int minCapacity){
+        int newCapacity = newCapacity(longData.length, minCapacity);
+        ListEvents.Growth growth = growing(elementCount, newCapacity, arrayBytes(newCapacity, 8));
+        long[] newData = new long[newCapacity];
+        System.arraycopy(longData, 0, newData, 0, elementCount);
+        longData = newData;
+        if(growth != null) growth.commit();
+    }
+
+    /**
+     * @param obj the object to store
+     * @return the value of the Long
+     * @throws NullPointerException if obj is null
+     * @throws ClassCastException   if obj is not a Long
+     */
+    private static long unbox(Object obj){
+        return ((Long) obj).longValue();
+    }
+
+    public long longAt(int index){
+        if(index >= elementCount) throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+        return longData[index];
+    }
+
+    public void setLongAt(long value, int index){
+        if(index >= elementCount) throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+        longData[index] = value;
+    }
+
+    public void addLong(long value){
+        if(elementCount == longData.length) grow(elementCount + 1);
+        longData[elementCount++] = value;
+    }
+
+    public void insertLongAt(long value, int index){
+        if(index > elementCount || index < 0) throw new ArrayIndexOutOfBoundsException(index + " > " + elementCount);
+        if(elementCount == longData.length) grow(elementCount + 1);
+        ListEvents.Shift shift = shifting(index, elementCount - index);
+        System.arraycopy(longData, index, longData, index + 1, elementCount - index);
+        if(shift != null) shift.commit();
+        longData[index] = value;
+        elementCount++;
+    }
+
+    /**
+     * Searches for the first occurrence of the given value between fromIndex, inclusive, and toIndex, exclusive
+     *
+     * @param value     the value to search
+     * @param fromIndex the index to start searching from
+     * @param toIndex   the index where the search stops
+     * @return the index of the first occurrence, -1 if the value is not found
+     */
+    public int indexOfLong(long value, int fromIndex, int toIndex){
+        if(toIndex > elementCount) toIndex = elementCount;
+        return SearchKernels.INSTANCE.indexOf(longData, fromIndex, toIndex, value);
+    }
+
+    /**
+     * Searches backwards for the last occurrence of the given value between fromIndex, inclusive, and toIndex, exclusive
+     *
+     * @param value     the value to search
+     * @param fromIndex the index where the search stops
+     * @param toIndex   the index after the first one checked
+     * @return the index of the last occurrence, -1 if the value is not found
+     */
+    public int lastIndexOfLong(long value, int fromIndex, int toIndex){
+        if(toIndex > elementCount) toIndex = elementCount;
+        return SearchKernels.INSTANCE.lastIndexOf(longData, fromIndex, toIndex, value);
+    }
+
+    /**
+     * Counts the occurrences of the given value between fromIndex, inclusive, and toIndex, exclusive
+     *
+     * @param value     the value to count
+     * @param fromIndex index of the first component
+     * @param toIndex   index after the last component
+     * @return the number of components equal to value
+     */
+    public int countLong(long value, int fromIndex, int toIndex){
+        checkRange(fromIndex, toIndex);
+        return SearchKernels.INSTANCE.count(longData, fromIndex, toIndex, value);
+    }
+
+    /**
+     * Returns the smallest component between fromIndex, inclusive, and toIndex, exclusive
+     *
+     * @param fromIndex index of the first component
+     * @param toIndex   index after the last component
+     * @return the smallest value of the range, Long.MAX_VALUE if the range is empty
+     */
+    public long minLong(int fromIndex, int toIndex){
+        checkRange(fromIndex, toIndex);
+        return SearchKernels.INSTANCE.min(longData, fromIndex, toIndex);
+    }
+
+    /**
+     * Returns the largest component between fromIndex, inclusive, and toIndex, exclusive
+     *
+     * @param fromIndex index of the first component
+     * @param toIndex   index after the last component
+     * @return the largest value of the range, Long.MIN_VALUE if the range is empty
+     */
+    public long maxLong(int fromIndex, int toIndex){
+        checkRange(fromIndex, toIndex);
+        return SearchKernels.INSTANCE.max(longData, fromIndex, toIndex);
+    }
+
+    /**
+     * Compares count components of this vector, starting at fromIndex, with count components of other,
+     * starting at otherIndex
+     *
+     * @param fromIndex  index of the first component of this vector
+     * @param other      the other vector
+     * @param otherIndex index of the first component of other
+     * @param count      number of components compared
+     * @return true if the two ranges contain the same values in the same order
+     */
+    public boolean rangeEquals(int fromIndex, LongVector other, int otherIndex, int count){
+        checkRange(fromIndex, fromIndex + count);
+        other.checkRange(otherIndex, otherIndex + count);
+        return SearchKernels.equals(longData, fromIndex, other.longData, otherIndex, count);
+    }
+
+    private void checkRange(int fromIndex, int toIndex){
+        if(fromIndex < 0 || toIndex > elementCount || toIndex < fromIndex)
+            throw new ArrayIndexOutOfBoundsException(fromIndex + ", " + toIndex);
+    }
+
+    /**
+     * Copies the components between fromIndex, inclusive, and toIndex, exclusive, into a new array
+     *
+     * @param fromIndex index of the first component
+     * @param toIndex   index after the last component
+     * @return a new array with the components of the range
+     */
+    public long[] toLongArray(int fromIndex, int toIndex){
+        checkRange(fromIndex, toIndex);
+        long[] values = new long[toIndex - fromIndex];
+        System.arraycopy(longData, fromIndex, values, 0, values.length);
+        return values;
+    }
+
+    @Override
+    public void addElement(Object obj){
+        addLong(unbox(obj));
+    }
+
+    @Override
+    public int capacity(){
+        return longData.length;
+    }
+
+    @Override
+    public void copyInto(Object[] anArray){
+        for(int i=0; i<elementCount; i++) anArray[i] = Long.valueOf(longData[i]);
+    }
+
+    @Override
+    public void copyInto(int fromIndex, int toIndex, Object[] anArray, int offset){
+        checkCopyRange(fromIndex, toIndex, anArray, offset);
+        for(int i=fromIndex; i<toIndex; i++) anArray[offset++] = Long.valueOf(longData[i]);
+    }
+
+    @Override
+    public Object elementAt(int index){
+        return Long.valueOf(longAt(index));
+    }
+
+    @Override
+    public void ensureCapacity(int minCapacity){
+        if(minCapacity > longData.length) grow(minCapacity);
+    }
+
+    @Override
+    public int indexOf(Object elem, int fromIndex, int toIndex){
+        if(!(elem instanceof Long)) return -1;
+        return indexOfLong(unbox(elem), fromIndex, toIndex);
+    }
+
+    @Override
+    public void insertElementAt(Object obj, int index){
+        insertLongAt(unbox(obj), index);
+    }
+
+    @Override
+    public void insertElementsAt(Object[] elements, int index){
+        if(index > elementCount || index < 0) throw new ArrayIndexOutOfBoundsException(index + " > " + elementCount);
+        int count = elements.length;
+        long[] values = new long[count];
+        for(int i=0; i<count; i++) values[i] = unbox(elements[i]);
+        if(count == 0) return;
+        if(elementCount + count > longData.length) grow(elementCount + count);
+        ListEvents.Shift shift = shifting(index, elementCount - index);
+        System.arraycopy(longData, index, longData, index + count, elementCount - index);
+        if(shift != null) shift.commit();
+        System.arraycopy(values, 0, longData, index, count);
+        elementCount += count;
+    }
+
+    @Override
+    public int lastIndexOf(Object elem, int fromIndex, int toIndex){
+        if(!(elem instanceof Long)) return -1;
+        return lastIndexOfLong(unbox(elem), fromIndex, toIndex);
+    }
+
+    @Override
+    public void removeElementAt(int index){
+        if(index >= elementCount) throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+        if(index < 0) throw new ArrayIndexOutOfBoundsException(index);
+        ListEvents.Shift shift = shifting(index + 1, elementCount - index - 1);
+        System.arraycopy(longData, index + 1, longData, index, elementCount - index - 1);
+        if(shift != null) shift.commit();
+        elementCount--;
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex){
+        if(fromIndex < 0 || toIndex > elementCount || toIndex < fromIndex)
+            throw new ArrayIndexOutOfBoundsException(fromIndex + ", " + toIndex);
+        ListEvents.Shift shift = shifting(toIndex, (fromIndex < toIndex) ? elementCount - toIndex : 0);
+        System.arraycopy(longData, toIndex, longData, fromIndex, elementCount - toIndex);
+        if(shift != null) shift.commit();
+        elementCount -= toIndex - fromIndex;
+    }
+
+    @Override
+    public void setElementAt(Object obj, int index){
+        setLongAt(unbox(obj), index);
+    }
+
+    /**
+     * Sets the size of this vector, the components added at the end are 0
+     *
+     * @param newSize the new size of this vector
+     */
+    @Override
+    public void setSize(int newSize){
+        if(newSize < 0) throw new ArrayIndexOutOfBoundsException(newSize);
+        if(newSize > longData.length) grow(newSize);
+        for(int i=elementCount; i<newSize; i++) longData[i] = 0;
+        elementCount = newSize;
+    }
+
+    @Override
+    public void trimToSize(){
+        if(elementCount < longData.length){
+            long[] newData = new long[elementCount];
+            System.arraycopy(longData, 0, newData, 0, elementCount);
+            longData = newData;
+        }
+    }
+}
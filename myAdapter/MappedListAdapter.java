@@ -0,0 +1,64 @@
+package myAdapter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * A {@link myAdapter.ListAdapter} whose elements are stored in a memory-mapped file, see {@link myAdapter.MappedVector}<br>
+ * <p>
+ * <p>
+ * The list is saved in the file while it is changed, there is nothing to serialize: opening the file again gives
+ * back the same list in the time needed to map it, whatever its size, and the elements are loaded by the operating
+ * system only when they are used. All the methods of {@link myAdapter.HList} work as in
+ * {@link myAdapter.OffHeapListAdapter}, the elements are fixed-width records converted to bytes by an
+ * {@link myAdapter.ElementCodec} that must be the same every time the file is opened.
+ * <p>
+ * {@link #close()} forces the changes to the storage device and closes the file, the list becomes empty but
+ * the file keeps its elements.
+ *
+ * @see myAdapter.MappedVector
+ */
+public class MappedListAdapter extends OffHeapListAdapter {
+    private MappedVector mapped;
+
+    /**
+     * Opens the list stored in the given file, creating an empty list if the file does not exist
+     *
+     * @param file  the file of the list
+     * @param codec the codec of the elements
+     * @throws IOException          if the file can't be opened or it stores elements of a different width
+     * @throws NullPointerException if file or codec is null
+     */
+    public MappedListAdapter(Path file, ElementCodec codec) throws IOException {
+        this(MappedVector.open(file, codec, 10));
+    }
+
+    /**
+     * Opens the list stored in the given file, creating an empty list with room for the given number of
+     * elements if the file does not exist
+     *
+     * @param file            the file of the list
+     * @param codec           the codec of the elements
+     * @param initialCapacity number of elements of a new file
+     * @throws IOException              if the file can't be opened or it stores elements of a different width
+     * @throws NullPointerException     if file or codec is null
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public MappedListAdapter(Path file, ElementCodec codec, int initialCapacity) throws IOException {
+        this(MappedVector.open(file, codec, initialCapacity));
+    }
+
+    private MappedListAdapter(MappedVector backing) {
+        super(backing);
+        mapped = backing;
+    }
+
+    /**
+     * Forces the changes made to this list to the storage device
+     *
+     * @throws IllegalStateException if the list has been closed
+     */
+    public void flush(){
+        mapped.flush();
+    }
+}
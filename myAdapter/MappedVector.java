@@ -0,0 +1,192 @@
+package myAdapter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An {@link myAdapter.OffHeapVector} whose components are stored in a memory-mapped file<br>
+ *
+ * <p>
+ * The file starts with a header of {@link #HEADER_SIZE} bytes holding the width of the components, the size and the
+ * capacity of the vector, followed by the components, encoded by an {@link myAdapter.ElementCodec} in little-endian
+ * order. The size in the header is updated at every change, so the file always describes the vector: reopening it
+ * only maps the file, the components are read from the disk by the operating system when they are first used.
+ * When the vector overflows the file is extended and mapped again.
+ * <p>
+ * The changes reach the file when the operating system writes back the mapped pages, {@link #flush()} forces them
+ * to the storage device. A file must not be opened by more than one vector at a time.
+ *
+ * @see myAdapter.MappedListAdapter
+ */
+public class MappedVector extends OffHeapVector {
+
+    /**
+     * Number of bytes of the header, the components start at this offset of the file
+     */
+    public static final int HEADER_SIZE = 64;
+
+    /**
+     * The first four bytes of the file, "HLST"
+     */
+    static final int MAGIC = 0x484C5354;
+    static final int FORMAT_VERSION = 1;
+
+    private static final int WIDTH_OFFSET = 8, SIZE_OFFSET = 12, CAPACITY_OFFSET = 16;
+
+    private final FileChannel channel;
+    private MappedByteBuffer header;
+
+    private MappedVector(ElementCodec codec, FileChannel channel, MappedByteBuffer header, ByteBuffer buffer, int count, int capacityIncrement) {
+        super(codec, buffer, count, capacityIncrement);
+        this.channel = channel;
+        this.header = header;
+    }
+
+    /**
+     * Opens the vector stored in the given file, creating an empty one with the given capacity if the file
+     * does not exist or is empty
+     *
+     * @param file            the file of the vector
+     * @param codec           the codec of the components, it must have the width recorded in the file
+     * @param initialCapacity the capacity of a new vector
+     * @return the vector stored in the file
+     * @throws IOException              if the file can't be opened or mapped, or it is not a file of a vector
+     *                                  with the width of the codec
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public static MappedVector open(Path file, ElementCodec codec, int initialCapacity) throws IOException {
+        if(initialCapacity < 0) throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        int width = codec.width();
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try{
+            boolean created = (channel.size() == 0);
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            int count, capacity;
+            if(created){
+                count = 0;
+                capacity = initialCapacity;
+                header.putInt(0, MAGIC);
+                header.putInt(4, FORMAT_VERSION);
+                header.putInt(WIDTH_OFFSET, width);
+                header.putInt(SIZE_OFFSET, 0);
+                header.putInt(CAPACITY_OFFSET, capacity);
+            } else {
+                if(header.getInt(0) != MAGIC || header.getInt(4) != FORMAT_VERSION)
+                    throw new IOException("Not a MappedVector file: " + file);
+                if(header.getInt(WIDTH_OFFSET) != width)
+                    throw new IOException("The file stores components of " + header.getInt(WIDTH_OFFSET) + " bytes, the codec " + width);
+                count = header.getInt(SIZE_OFFSET);
+                capacity = header.getInt(CAPACITY_OFFSET);
+                if(count < 0 || count > capacity || channel.size() < HEADER_SIZE + (long) capacity * width)
+                    throw new IOException("Corrupted MappedVector file: " + file);
+            }
+            ByteBuffer buffer = map(channel, capacity, width);
+            return new MappedVector(codec, channel, header, buffer, count, 0);
+        } catch(IOException e){
+            channel.close();
+            throw e;
+        } catch(RuntimeException e){
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, int capacity, int width) throws IOException {
+        if((long) capacity * width > Integer.MAX_VALUE - HEADER_SIZE)
+            throw new OutOfMemoryError("Capacity too big for a mapped buffer: " + capacity);
+        return channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE, (long) capacity * width).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Writes the size of the vector in the header of the file
+     */
+    private void sizeChanged(){
+        header.putInt(SIZE_OFFSET, elementCount);
+    }
+
+    /**
+     * Maps the file again with the new capacity: the components are already in the file, so they are not copied.
+     * A smaller capacity also truncates the file.
+     */
+    @Override
+    protected ByteBuffer resize(ByteBuffer old, int newCapacity){
+        int width = codec().width();
+        try{
+            ByteBuffer buffer = map(channel, newCapacity, width);
+            free(old);
+            if(channel.size() > HEADER_SIZE + (long) newCapacity * width) channel.truncate(HEADER_SIZE + (long) newCapacity * width);
+            header.putInt(CAPACITY_OFFSET, newCapacity);
+            return buffer;
+        } catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Forces the changes of the components and of the header to the storage device
+     *
+     * @throws IllegalStateException if the vector has been closed
+     */
+    public void flush(){
+        ByteBuffer buffer = open();
+        if(buffer instanceof MappedByteBuffer) ((MappedByteBuffer) buffer).force();
+        header.force();
+    }
+
+    /**
+     * Forces the changes to the storage device, unmaps the file and closes it. The file keeps the vector,
+     * which can be opened again. Calling it more than once has no effect.
+     *
+     * @throws UncheckedIOException if the file can't be closed
+     */
+    @Override
+    public void close(){
+        if(isClosed()) return;
+        flush();
+        super.close();
+        free(header);
+        header = null;
+        try{
+            channel.close();
+        } catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void insertElementAt(Object obj, int index){
+        super.insertElementAt(obj, index);
+        sizeChanged();
+    }
+
+    @Override
+    public void insertElementsAt(Object[] elements, int index){
+        super.insertElementsAt(elements, index);
+        sizeChanged();
+    }
+
+    @Override
+    public void removeElementAt(int index){
+        super.removeElementAt(index);
+        sizeChanged();
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex){
+        super.removeRange(fromIndex, toIndex);
+        sizeChanged();
+    }
+
+    @Override
+    public void setSize(int newSize){
+        super.setSize(newSize);
+        sizeChanged();
+    }
+}
@@ -0,0 +1,94 @@
+package myAdapter;
+
+/**
+ * A {@link myAdapter.ListAdapter} whose elements are stored out of the Java heap, in an {@link myAdapter.OffHeapVector}<br>
+ * <p>
+ * <p>
+ * The elements are fixed-width records, as ids, timestamps or coordinates, converted to bytes by an
+ * {@link myAdapter.ElementCodec}: the list holds no reference to them, so millions of elements add nothing to the
+ * work of the garbage collector. All the methods of {@link myAdapter.HList} work as in ListAdapter, also on the
+ * sublists and through the iterators, but the objects read are new objects equal to the ones inserted, never the
+ * same ones. Only the objects that the codec can encode can be inserted.
+ * <p>
+ * The memory is released by {@link #close()}, which empties the list: after it the list stays empty and any attempt
+ * to add an element, also through a sublist or an iterator, throws IllegalStateException.
+ *
+ * @see myAdapter.OffHeapVector
+ * @see myAdapter.ElementCodec
+ */
+public class OffHeapListAdapter extends ListAdapter implements AutoCloseable {
+    private OffHeapVector records;
+
+    /**
+     * Creates a new empty OffHeapListAdapter
+     *
+     * @param codec the codec of the elements
+     * @throws NullPointerException if codec is null
+     */
+    public OffHeapListAdapter(ElementCodec codec) {
+        this(new OffHeapVector(codec));
+    }
+
+    /**
+     * Creates a new empty OffHeapListAdapter with room for the given number of elements
+     *
+     * @param codec           the codec of the elements
+     * @param initialCapacity number of elements that can be added before the buffer is reallocated
+     * @throws NullPointerException     if codec is null
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public OffHeapListAdapter(ElementCodec codec, int initialCapacity) {
+        this(new OffHeapVector(codec, initialCapacity));
+    }
+
+    /**
+     * Creates a new OffHeapListAdapter containing the elements of the given collection, in the order
+     * they are returned by its iterator
+     *
+     * @param codec the codec of the elements
+     * @param coll  the collection from which the new list copies the elements
+     * @throws NullPointerException if codec or coll is null, or coll contains null and the codec can't store it
+     * @throws ClassCastException   if coll contains an object that the codec can't store
+     */
+    public OffHeapListAdapter(ElementCodec codec, HCollection coll) {
+        this(new OffHeapVector(codec, coll.size()));
+        addAll(coll);
+    }
+
+    /**
+     * Creates a new OffHeapListAdapter containing the components of the given vector, used by the lists
+     * that provide their own memory
+     *
+     * @param backing the vector that will back this list
+     */
+    OffHeapListAdapter(OffHeapVector backing) {
+        super(backing);
+        records = backing;
+    }
+
+    /**
+     * @return the codec of the elements of this list
+     */
+    public ElementCodec getCodec(){
+        return records.codec();
+    }
+
+    /**
+     * Removes all the elements of this list and releases at once the memory that holds them.
+     * Calling it more than once has no effect.
+     */
+    @Override
+    public void close(){
+        if(records.isClosed()) return;
+        int count = size();
+        records.close();
+        resized(offset(), -count);
+    }
+
+    /**
+     * @return true if {@link #close()} has been called
+     */
+    public boolean isClosed(){
+        return records.isClosed();
+    }
+}
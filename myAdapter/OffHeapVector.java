@@ -0,0 +1,386 @@
+package myAdapter;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A {@link myAdapter.Vector} that stores its components out of the Java heap, in a direct ByteBuffer<br>
+ *
+ * <p>
+ * Every component takes the fixed number of bytes given by an {@link myAdapter.ElementCodec}: the components are
+ * encoded when they are written and decoded into new objects when they are read, so the vector holds no reference
+ * and its content is never scanned nor copied by the garbage collector. The searches encode the object to find
+ * once and compare bytes, without decoding the components.
+ * <p>
+ * The memory of the buffer is released when the buffer is collected or, deterministically, by {@link #close()}:
+ * after it every method that reads or changes the components throws IllegalStateException.
+ * <p>
+ * The deterministic release calls <code>sun.misc.Unsafe.invokeCleaner</code> by reflection, so it needs the module
+ * jdk.unsupported, which the JDK has by default. When that method can't be reached, {@link #releasesOnClose()} returns
+ * false and close() only drops the buffer, whose memory is released by the garbage collector.
+ *
+ * @see myAdapter.OffHeapListAdapter
+ */
+public class OffHeapVector extends Vector {
+
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try{
+            Class unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", new Class[]{ByteBuffer.class});
+        } catch(Exception e){
+            // jdk.unsupported is missing or closed: the buffers are released when they are collected
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    /**
+     * The buffer into which the components of the vector are stored, null after close().
+     */
+    protected ByteBuffer data;
+
+    /**
+     * Buffer of one component where an object is encoded before it is copied into data or compared with the components.
+     */
+    private final ByteBuffer scratch;
+
+    private final ElementCodec codec;
+    private final int width;
+
+    public OffHeapVector(ElementCodec codec) {
+        this(codec, 10);
+    }
+
+    public OffHeapVector(ElementCodec codec, int initialCapacity) {
+        this(codec, initialCapacity, 0);
+    }
+
+    /**
+     * @param codec             the codec of the components
+     * @param initialCapacity   the initial capacity of the vector
+     * @param capacityIncrement the amount by which the capacity is increased when the vector overflows, 0 to double it
+     * @throws NullPointerException     if codec is null
+     * @throws IllegalArgumentException if initialCapacity is negative or codec has a width less than 1
+     */
+    public OffHeapVector(ElementCodec codec, int initialCapacity, int capacityIncrement) {
+        super(0, capacityIncrement);
+        if(initialCapacity < 0) throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        width = codec.width();
+        if(width < 1) throw new IllegalArgumentException("Illegal width: " + width);
+        this.codec = codec;
+        data = allocate(initialCapacity);
+        scratch = ByteBuffer.allocate(width).order(data.order());
+    }
+
+    /**
+     * Creates a vector whose components are already stored in the given buffer, used by the vectors
+     * that provide their own memory. The components are read with the byte order of the buffer.
+     *
+     * @param codec             the codec of the components
+     * @param buffer            the buffer holding the components, its capacity must be a multiple of the width of the codec
+     * @param count             the number of components already in the buffer
+     * @param capacityIncrement the amount by which the capacity is increased when the vector overflows, 0 to double it
+     */
+    protected OffHeapVector(ElementCodec codec, ByteBuffer buffer, int count, int capacityIncrement) {
+        super(0, capacityIncrement);
+        width = codec.width();
+        if(width < 1) throw new IllegalArgumentException("Illegal width: " + width);
+        if(count < 0 || (long) count * width > buffer.capacity()) throw new IllegalArgumentException("Illegal size: " + count);
+        this.codec = codec;
+        data = buffer;
+        elementCount = count;
+        scratch = ByteBuffer.allocate(width).order(buffer.order());
+    }
+
+    /**
+     * @return the codec used by this vector
+     */
+    public ElementCodec codec(){
+        return codec;
+    }
+
+    /**
+     * Releases the memory of this vector at once, or leaves it to the garbage collector if {@link #releasesOnClose()}
+     * is false. Calling it more than once has no effect.
+     *
+     * @throws IllegalArgumentException if the buffer given to the constructor is a slice or a duplicate, which can't
+     *                                  be released on its own; the vector is closed anyway
+     */
+    public void close(){
+        if(data == null) return;
+        ByteBuffer old = data;
+        data = null;
+        elementCount = 0;
+        free(old);
+    }
+
+    /**
+     * Tells whether {@link #close()} and the reallocations release the memory of the buffers at once, which needs
+     * <code>sun.misc.Unsafe.invokeCleaner</code> from the module jdk.unsupported
+     *
+     * @return true if the memory is released at once, false if it is released when the buffers are collected
+     */
+    public static boolean releasesOnClose(){
+        return INVOKE_CLEANER != null;
+    }
+
+    /**
+     * @return true if {@link #close()} has been called
+     */
+    public boolean isClosed(){
+        return data == null;
+    }
+
+    /**
+     * @return true once the vector has been closed: it has no storage left to trim
+     */
+    @Override
+    boolean freesStorage(){
+        return data == null;
+    }
+
+    private ByteBuffer allocate(int capacity){
+        if((long) capacity * width > Integer.MAX_VALUE)
+            throw new OutOfMemoryError("Capacity too big for a direct buffer: " + capacity);
+        return ByteBuffer.allocateDirect(capacity * width).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Releases the memory of a direct or mapped buffer without waiting for the garbage collector, when
+     * {@link #releasesOnClose()} is true
+     *
+     * @param buffer a buffer allocated or mapped by this class, not a slice or a duplicate of it
+     * @throws IllegalArgumentException if buffer is a slice or a duplicate, or is not direct
+     */
+    static void free(ByteBuffer buffer){
+        if(INVOKE_CLEANER == null) return;
+        try{
+            INVOKE_CLEANER.invoke(UNSAFE, new Object[]{buffer});
+        } catch(IllegalAccessException e){
+            throw new IllegalStateException("Unsafe.invokeCleaner is not accessible", e);
+        } catch(InvocationTargetException e){
+            Throwable cause = e.getCause();
+            if(cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if(cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * @return the buffer of the components
+     * @throws IllegalStateException if the vector has been closed
+     */
+    protected ByteBuffer open(){
+        if(data == null) throw new IllegalStateException("OffHeapVector closed");
+        return data;
+    }
+
+    private void grow(int minCapacity){
+        int oldCapacity = open().capacity() / width;
+        long newCapacity = newCapacity(oldCapacity, minCapacity);
+        if(newCapacity * width > Integer.MAX_VALUE) newCapacity = Math.max(Integer.MAX_VALUE / width, minCapacity);
+        ListEvents.Growth growth = growing(elementCount, (int) newCapacity, newCapacity * width);
+        data = resize(data, (int) newCapacity);
+        if(growth != null) growth.commit();
+    }
+
+    /**
+     * Moves the components to a buffer with the given capacity and releases the old one. The vectors that
+     * provide their own memory override it.
+     *
+     * @param old         the current buffer
+     * @param newCapacity the number of components of the new buffer, never less than the size of the vector
+     * @return the new buffer
+     */
+    protected ByteBuffer resize(ByteBuffer old, int newCapacity){
+        ByteBuffer newData = allocate(newCapacity);
+        newData.put(0, old, 0, elementCount * width);
+        free(old);
+        return newData;
+    }
+
+    private void checkIndex(int index){
+        open();
+        if(index >= elementCount) throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+        if(index < 0) throw new ArrayIndexOutOfBoundsException(index);
+    }
+
+    /**
+     * Moves the components from index to the end by shift positions, which can be negative
+     */
+    private void shift(int index, int shift){
+        int length = (elementCount - index) * width;
+        ListEvents.Shift event = shifting(index, elementCount - index);
+        if(length > 0) data.put((index + shift) * width, data, index * width, length);
+        if(event != null) event.commit();
+    }
+
+    /**
+     * Encodes obj in scratch, so that a codec that refuses it throws before the vector is changed
+     */
+    private ByteBuffer encode(Object obj){
+        codec.encode(obj, scratch, 0);
+        return scratch;
+    }
+
+    /**
+     * Encodes obj in scratch to search it
+     *
+     * @return false if the codec can't store obj, so it is not in the vector
+     */
+    private boolean encodeKey(Object obj){
+        try{
+            codec.encode(obj, scratch, 0);
+            return true;
+        } catch(ClassCastException e){
+            return false;
+        } catch(NullPointerException e){
+            return false;
+        }
+    }
+
+    /**
+     * @return true if the component at the given index is encoded as the content of scratch
+     */
+    private boolean matches(int index){
+        int offset = index * width;
+        if(width == 8) return data.getLong(offset) == scratch.getLong(0);
+        if(width == 4) return data.getInt(offset) == scratch.getInt(0);
+        for(int i=0; i<width; i++)
+            if(data.get(offset + i) != scratch.get(i)) return false;
+        return true;
+    }
+
+    @Override
+    public void addElement(Object obj){
+        insertElementAt(obj, elementCount);
+    }
+
+    @Override
+    public int capacity(){
+        return open().capacity() / width;
+    }
+
+    @Override
+    public void copyInto(Object[] anArray){
+        open();
+        for(int i=0; i<elementCount; i++) anArray[i] = codec.decode(data, i * width);
+    }
+
+    @Override
+    public void copyInto(int fromIndex, int toIndex, Object[] anArray, int offset){
+        checkCopyRange(fromIndex, toIndex, anArray, offset);
+        open();
+        for(int i=fromIndex; i<toIndex; i++) anArray[offset++] = codec.decode(data, i * width);
+    }
+
+    @Override
+    public Object elementAt(int index){
+        checkIndex(index);
+        return codec.decode(data, index * width);
+    }
+
+    @Override
+    public void ensureCapacity(int minCapacity){
+        if(minCapacity > capacity()) grow(minCapacity);
+    }
+
+    @Override
+    public int indexOf(Object elem, int fromIndex, int toIndex){
+        open();
+        if(!encodeKey(elem)) return -1;
+        if(toIndex > elementCount) toIndex = elementCount;
+        for(int i=fromIndex; i<toIndex; i++)
+            if(matches(i)) return i;
+        return -1;
+    }
+
+    @Override
+    public void insertElementAt(Object obj, int index){
+        open();
+        if(index > elementCount || index < 0) throw new ArrayIndexOutOfBoundsException(index + " > " + elementCount);
+        ByteBuffer encoded = encode(obj);
+        if(elementCount == capacity()) grow(elementCount + 1);
+        shift(index, 1);
+        data.put(index * width, encoded, 0, width);
+        elementCount++;
+    }
+
+    @Override
+    public void insertElementsAt(Object[] elements, int index){
+        open();
+        if(index > elementCount || index < 0) throw new ArrayIndexOutOfBoundsException(index + " > " + elementCount);
+        int count = elements.length;
+        if(count == 0) return;
+        ByteBuffer encoded = ByteBuffer.allocate(count * width).order(data.order());
+        for(int i=0; i<count; i++) codec.encode(elements[i], encoded, i * width);
+        if(elementCount + count > capacity()) grow(elementCount + count);
+        shift(index, count);
+        data.put(index * width, encoded, 0, count * width);
+        elementCount += count;
+    }
+
+    @Override
+    public int lastIndexOf(Object elem, int fromIndex, int toIndex){
+        open();
+        if(!encodeKey(elem)) return -1;
+        if(toIndex > elementCount) toIndex = elementCount;
+        for(int i=toIndex-1; i>=fromIndex; i--)
+            if(matches(i)) return i;
+        return -1;
+    }
+
+    @Override
+    public void removeElementAt(int index){
+        checkIndex(index);
+        shift(index + 1, -1);
+        elementCount--;
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex){
+        open();
+        if(fromIndex < 0 || toIndex > elementCount || toIndex < fromIndex)
+            throw new ArrayIndexOutOfBoundsException(fromIndex + ", " + toIndex);
+        shift(toIndex, fromIndex - toIndex);
+        elementCount -= toIndex - fromIndex;
+    }
+
+    @Override
+    public void setElementAt(Object obj, int index){
+        checkIndex(index);
+        data.put(index * width, encode(obj), 0, width);
+    }
+
+    /**
+     * Sets the size of this vector, the bytes of the components added at the end are 0
+     *
+     * @param newSize the new size of this vector
+     */
+    @Override
+    public void setSize(int newSize){
+        open();
+        if(newSize < 0) throw new ArrayIndexOutOfBoundsException(newSize);
+        if(newSize > capacity()) grow(newSize);
+        for(int i=elementCount * width; i<newSize * width; i++) data.put(i, (byte) 0);
+        elementCount = newSize;
+    }
+
+    @Override
+    public void trimToSize(){
+        if(elementCount < capacity()) data = resize(data, elementCount);
+    }
+}
@@ -0,0 +1,244 @@
+package myAdapter;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The read-only bulk operations of {@link myAdapter.ListAdapter} run in parallel on a range of a vector<br>
+ *
+ * <p>
+ * Every operation is a fork/join task that splits its range in halves until the parts have no more components than
+ * a threshold, then scans the parts sequentially. The searches share the best result found so far, so the parts that
+ * can't improve it are skipped, and the comparisons stop at the first difference. The vector is only read, so all the
+ * tasks can read it at the same time; it must not be changed until the operation returns.
+ *
+ * @see ListAdapter#setParallelThreshold(int)
+ */
+final class RangeTasks {
+
+    private RangeTasks() {
+    }
+
+    private static boolean eq(Object a, Object b){
+        return (a == null) ? b == null : a.equals(b);
+    }
+
+    /**
+     * @return 31 raised to n, with the overflow of int arithmetic as in the hash codes of the lists
+     */
+    static int pow31(int n){
+        int result = 1, base = 31;
+        while(n > 0){
+            if((n & 1) != 0) result *= base;
+            base *= base;
+            n >>>= 1;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the hash code of the list made of the components between from and to. The hash code of a list
+     * is 31^n + h, where h is the polynomial sum of the hash codes of its elements: the h of two consecutive
+     * ranges are combined as h(left) * 31^length(right) + h(right), so the ranges are hashed independently.
+     */
+    static int hashCode(Vector vector, int from, int to, ForkJoinPool pool, int threshold){
+        Integer h = (Integer) pool.invoke(new Hash(vector, from, to, threshold));
+        return pow31(to - from) + h.intValue();
+    }
+
+    private static final class Hash extends RecursiveTask {
+        private final Vector vector;
+        private final int from, to, threshold;
+
+        Hash(Vector vector, int from, int to, int threshold) {
+            this.vector = vector;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Object compute(){
+            if(to - from <= threshold){
+                int h = 0;
+                for(int i=from; i<to; i++){
+                    Object obj = vector.elementAt(i);
+                    h = 31 * h + (obj == null ? 0 : obj.hashCode());
+                }
+                return Integer.valueOf(h);
+            }
+            int mid = (from + to) >>> 1;
+            Hash left = new Hash(vector, from, mid, threshold);
+            left.fork();
+            int right = ((Integer) new Hash(vector, mid, to, threshold).compute()).intValue();
+            int h = ((Integer) left.join()).intValue();
+            return Integer.valueOf(h * pow31(to - mid) + right);
+        }
+    }
+
+    /**
+     * @param last false to find the first component equal to obj, true to find the last one
+     * @return the index of the component equal to obj between from and to, -1 if there is none
+     */
+    static int indexOf(Object obj, Vector vector, int from, int to, ForkJoinPool pool, int threshold, boolean last){
+        AtomicInteger found = new AtomicInteger(last ? -1 : Integer.MAX_VALUE);
+        pool.invoke(new Search(obj, vector, from, to, threshold, last, found));
+        int i = found.get();
+        return (i == Integer.MAX_VALUE) ? -1 : i;
+    }
+
+    private static final class Search extends RecursiveAction {
+        private final Object obj;
+        private final Vector vector;
+        private final int from, to, threshold;
+        private final boolean last;
+        private final AtomicInteger found;
+
+        Search(Object obj, Vector vector, int from, int to, int threshold, boolean last, AtomicInteger found) {
+            this.obj = obj;
+            this.vector = vector;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.last = last;
+            this.found = found;
+        }
+
+        /**
+         * @return false if a component better than any of this range has already been found
+         */
+        private boolean useful(){
+            return last ? to - 1 > found.get() : from < found.get();
+        }
+
+        @Override
+        protected void compute(){
+            if(!useful()) return;
+            if(to - from <= threshold){
+                if(last){
+                    for(int i=to-1; i>=from; i--){
+                        if(eq(obj, vector.elementAt(i))){
+                            found.accumulateAndGet(i, Math::max);
+                            return;
+                        }
+                    }
+                } else {
+                    for(int i=from; i<to; i++){
+                        if(eq(obj, vector.elementAt(i))){
+                            found.accumulateAndGet(i, Math::min);
+                            return;
+                        }
+                    }
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            Search left = new Search(obj, vector, from, mid, threshold, last, found);
+            Search right = new Search(obj, vector, mid, to, threshold, last, found);
+            if(last) invokeAll(right, left);
+            else invokeAll(left, right);
+        }
+    }
+
+    /**
+     * @return true if the n components of a starting at aFrom are equal to the n components of b starting at bFrom
+     */
+    static boolean equals(Vector a, int aFrom, Vector b, int bFrom, int n, ForkJoinPool pool, int threshold){
+        AtomicBoolean different = new AtomicBoolean();
+        pool.invoke(new Compare(a, aFrom, b, bFrom, n, threshold, different));
+        return !different.get();
+    }
+
+    private static final class Compare extends RecursiveAction {
+        private final Vector a, b;
+        private final int aFrom, bFrom, n, threshold;
+        private final AtomicBoolean different;
+
+        Compare(Vector a, int aFrom, Vector b, int bFrom, int n, int threshold, AtomicBoolean different) {
+            this.a = a;
+            this.aFrom = aFrom;
+            this.b = b;
+            this.bFrom = bFrom;
+            this.n = n;
+            this.threshold = threshold;
+            this.different = different;
+        }
+
+        @Override
+        protected void compute(){
+            if(different.get()) return;
+            if(n <= threshold){
+                for(int i=0; i<n; i++){
+                    if(!eq(a.elementAt(aFrom + i), b.elementAt(bFrom + i))){
+                        different.set(true);
+                        return;
+                    }
+                }
+                return;
+            }
+            int half = n >>> 1;
+            invokeAll(new Compare(a, aFrom, b, bFrom, half, threshold, different),
+                    new Compare(a, aFrom + half, b, bFrom + half, n - half, threshold, different));
+        }
+    }
+
+    /**
+     * @return true if every element of elements is equal to a component between from and to
+     */
+    static boolean containsAll(Object[] elements, Vector vector, int from, int to, ForkJoinPool pool, int threshold){
+        AtomicBoolean missing = new AtomicBoolean();
+        pool.invoke(new Contains(elements, 0, elements.length, vector, from, to, threshold, missing));
+        return !missing.get();
+    }
+
+    /**
+     * Checks the elements between lo and hi, the range of the vector is split only when there is a single element
+     */
+    private static final class Contains extends RecursiveAction {
+        private final Object[] elements;
+        private final int lo, hi;
+        private final Vector vector;
+        private final int from, to, threshold;
+        private final AtomicBoolean missing;
+
+        Contains(Object[] elements, int lo, int hi, Vector vector, int from, int to, int threshold, AtomicBoolean missing) {
+            this.elements = elements;
+            this.lo = lo;
+            this.hi = hi;
+            this.vector = vector;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.missing = missing;
+        }
+
+        @Override
+        protected void compute(){
+            if(missing.get()) return;
+            if(hi - lo > 1 && (long) (hi - lo) * (to - from) > threshold){
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new Contains(elements, lo, mid, vector, from, to, threshold, missing),
+                        new Contains(elements, mid, hi, vector, from, to, threshold, missing));
+                return;
+            }
+            if(hi - lo == 1 && to - from > threshold){
+                AtomicInteger found = new AtomicInteger(Integer.MAX_VALUE);
+                new Search(elements[lo], vector, from, to, threshold, false, found).invoke();
+                if(found.get() == Integer.MAX_VALUE) missing.set(true);
+                return;
+            }
+            for(int e=lo; e<hi && !missing.get(); e++){
+                if(!scan(elements[e])) missing.set(true);
+            }
+        }
+
+        private boolean scan(Object obj){
+            for(int i=from; i<to; i++)
+                if(eq(obj, vector.elementAt(i))) return true;
+            return false;
+        }
+    }
+}
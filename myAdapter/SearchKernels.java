@@ -0,0 +1,135 @@
+package myAdapter;
+
+/**
+ * The loops that search and reduce the arrays of {@link myAdapter.IntVector} and {@link myAdapter.LongVector}<br>
+ *
+ * <p>
+ * {@link #INSTANCE} is the SIMD implementation in myAdapter.VectorKernels when the module jdk.incubator.vector
+ * is in the boot layer, that is when the JVM is started with <code>--add-modules jdk.incubator.vector</code>, the
+ * system property <code>myAdapter.vectorKernels</code> is not "false" and the class is on the class path; otherwise
+ * it is this class, whose methods are plain scalar loops. All the methods work on the range between from, inclusive,
+ * and to, exclusive, which must be inside the array.
+ * <p>
+ * VectorKernels is compiled on its own, from the folder incubator, because it needs the incubating module, and it is
+ * loaded by name so that the rest of the package compiles and runs without it.
+ */
+class SearchKernels {
+
+    /**
+     * The kernels used by the primitive vectors
+     */
+    static final SearchKernels INSTANCE = load();
+
+    SearchKernels() {
+    }
+
+    private static SearchKernels load(){
+        if("false".equals(System.getProperty("myAdapter.vectorKernels"))) return new SearchKernels();
+        if(!ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) return new SearchKernels();
+        try{
+            return (SearchKernels) Class.forName("myAdapter.VectorKernels").getDeclaredConstructor().newInstance();
+        } catch(ReflectiveOperationException e){
+            return new SearchKernels();
+        } catch(LinkageError e){
+            return new SearchKernels();
+        }
+    }
+
+    /**
+     * @return true if the methods use the Vector API
+     */
+    boolean isVectorized(){
+        return false;
+    }
+
+    /**
+     * @return the index of the first component equal to value, -1 if there is none
+     */
+    int indexOf(int[] a, int from, int to, int value){
+        for(int i=from; i<to; i++)
+            if(a[i] == value) return i;
+        return -1;
+    }
+
+    /**
+     * @return the index of the last component equal to value, -1 if there is none
+     */
+    int lastIndexOf(int[] a, int from, int to, int value){
+        for(int i=to-1; i>=from; i--)
+            if(a[i] == value) return i;
+        return -1;
+    }
+
+    /**
+     * @return the number of components equal to value
+     */
+    int count(int[] a, int from, int to, int value){
+        int count = 0;
+        for(int i=from; i<to; i++)
+            if(a[i] == value) count++;
+        return count;
+    }
+
+    /**
+     * @return the smallest component, Integer.MAX_VALUE if the range is empty
+     */
+    int min(int[] a, int from, int to){
+        int min = Integer.MAX_VALUE;
+        for(int i=from; i<to; i++) min = Math.min(min, a[i]);
+        return min;
+    }
+
+    /**
+     * @return the largest component, Integer.MIN_VALUE if the range is empty
+     */
+    int max(int[] a, int from, int to){
+        int max = Integer.MIN_VALUE;
+        for(int i=from; i<to; i++) max = Math.max(max, a[i]);
+        return max;
+    }
+
+    int indexOf(long[] a, int from, int to, long value){
+        for(int i=from; i<to; i++)
+            if(a[i] == value) return i;
+        return -1;
+    }
+
+    int lastIndexOf(long[] a, int from, int to, long value){
+        for(int i=to-1; i>=from; i--)
+            if(a[i] == value) return i;
+        return -1;
+    }
+
+    int count(long[] a, int from, int to, long value){
+        int count = 0;
+        for(int i=from; i<to; i++)
+            if(a[i] == value) count++;
+        return count;
+    }
+
+    long min(long[] a, int from, int to){
+        long min = Long.MAX_VALUE;
+        for(int i=from; i<to; i++) min = Math.min(min, a[i]);
+        return min;
+    }
+
+    long max(long[] a, int from, int to){
+        long max = Long.MIN_VALUE;
+        for(int i=from; i<to; i++) max = Math.max(max, a[i]);
+        return max;
+    }
+
+    /**
+     * Compares n components of a starting at aFrom with n components of b starting at bFrom. Both implementations
+     * use Arrays.equals, which the JIT already compiles to SIMD instructions.
+     *
+     * @return true if the two ranges contain the same values in the same order
+     */
+    static boolean equals(int[] a, int aFrom, int[] b, int bFrom, int n){
+        return java.util.Arrays.equals(a, aFrom, aFrom + n, b, bFrom, bFrom + n);
+    }
+
+    static boolean equals(long[] a, int aFrom, long[] b, int bFrom, int n){
+        return java.util.Arrays.equals(a, aFrom, aFrom + n, b, bFrom, bFrom + n);
+    }
+}
@@ -0,0 +1,37 @@
+package myAdapter;
+
+/**
+ * Converts to and from bytes the elements of a class that {@link myAdapter.ListSnapshot} does not know<br>
+ *
+ * <p>
+ * A codec is registered with {@link ListSnapshot#register(SnapshotCodec)} both where the snapshots are written and
+ * where they are read. A snapshot records the names of the codecs it was written with, so they are matched by name
+ * and not by the order in which they were registered.
+ *
+ * @see myAdapter.ListSnapshot
+ */
+public interface SnapshotCodec {
+
+    /**
+     * @return the name that identifies this codec in the snapshots, it must not change between versions of the program
+     */
+    String name();
+
+    /**
+     * @return the class of the elements written by this codec, its subclasses are accepted too
+     */
+    Class type();
+
+    /**
+     * @param obj an element of the class returned by type()
+     * @return the bytes of the element
+     */
+    byte[] encode(Object obj);
+
+    /**
+     * @param bytes the bytes returned by encode()
+     * @return a new element equal to the one that was encoded
+     * @throws IllegalArgumentException if the bytes are not a valid encoding
+     */
+    Object decode(byte[] bytes);
+}
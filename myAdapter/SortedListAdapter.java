@@ -0,0 +1,380 @@
+package myAdapter;
+
+import java.util.Comparator;
+
+/**
+ * A {@link myAdapter.ListAdapter} whose elements are always sorted by a comparator<br>
+ * <p>
+ * <p>
+ * add(Object) inserts the element at the position found with a binary search, after the elements that compare equal to
+ * it, and addAll(HCollection) merges the sorted collection into the list. indexOf, lastIndexOf, contains and
+ * remove(Object) find the run of the elements that compare equal to the one searched with a binary search, then return
+ * the first or the last of the run that is equals() to it, so they take O(log n) time when the comparator is
+ * consistent with equals. Searching an object that can't be compared with the elements throws ClassCastException.
+ * <p>
+ * The methods that insert or replace an element at a given index, also through a list iterator, are allowed only when
+ * the element keeps the list sorted, otherwise they throw IllegalArgumentException. The sublists, also the ones
+ * returned by {@link #range(Object, Object)}, are SortedListAdapter too: they insert only the elements that keep the
+ * whole list sorted. Without a comparator the elements are sorted by their natural ordering and null can't be inserted.
+ *
+ * @see java.util.Comparator
+ */
+public class SortedListAdapter extends ListAdapter {
+    private final Comparator comparator;
+
+    /**
+     * Creates a new empty SortedListAdapter whose elements are sorted by their natural ordering,
+     * they must implement Comparable
+     */
+    public SortedListAdapter() {
+        this((Comparator) null);
+    }
+
+    /**
+     * Creates a new empty SortedListAdapter whose elements are sorted by the given comparator
+     *
+     * @param comparator the comparator of the elements, null to use their natural ordering
+     */
+    public SortedListAdapter(Comparator comparator) {
+        super();
+        this.comparator = comparator;
+    }
+
+    /**
+     * Creates a new SortedListAdapter containing the elements of the given collection, sorted by the given comparator
+     *
+     * @param coll       the collection from which the new list copies the elements
+     * @param comparator the comparator of the elements, null to use their natural ordering
+     * @throws NullPointerException if coll is null
+     * @throws ClassCastException   if the elements of coll can't be compared with each other
+     */
+    public SortedListAdapter(HCollection coll, Comparator comparator) {
+        this(comparator);
+        addAll(coll);
+    }
+
+    /**
+     * Constructor used only to create a sublist, see {@link ListAdapter#subList(int, int)}
+     */
+    private SortedListAdapter(SortedListAdapter fatherList, int fromIndex, int toIndex) {
+        super(fatherList, fromIndex, toIndex);
+        comparator = fatherList.comparator;
+    }
+
+    @Override
+    ListAdapter newSubList(int fromIndex, int toIndex){
+        return new SortedListAdapter(this, fromIndex, toIndex);
+    }
+
+    /**
+     * Returns the comparator used to sort the elements of this list
+     *
+     * @return the comparator, null if the elements are sorted by their natural ordering
+     */
+    public Comparator comparator(){
+        return comparator;
+    }
+
+    private int compare(Object a, Object b){
+        if(comparator == null) return ((Comparable) a).compareTo(b);
+        return comparator.compare(a, b);
+    }
+
+    /**
+     * @return the first index of the backing vector, between offset() and offset() + size(), whose element is not
+     *         less than key, or if after is true greater than key
+     */
+    private int search(Object key, boolean after){
+        if(comparator == null && key == null) throw new NullPointerException();
+        Vector vector = backing();
+        int low = offset(), high = low + size();
+        while(low < high){
+            int mid = (low + high) >>> 1;
+            int c = compare(vector.elementAt(mid), key);
+            if(c < 0 || (after && c == 0)) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * @return true if the elements of the backing vector at the indexes before and after, when they exist, are not
+     *         greater and not less than obj
+     */
+    private boolean fits(Object obj, int before, int after){
+        if(comparator == null && obj == null) throw new NullPointerException();
+        Vector vector = backing();
+        return (before < 0 || compare(vector.elementAt(before), obj) <= 0)
+                && (after >= vector.size() || compare(obj, vector.elementAt(after)) <= 0);
+    }
+
+    /**
+     * Inserts the specified element at the position that keeps this list sorted, after the elements that compare
+     * equal to it
+     *
+     * @param obj element to be inserted
+     * @return true
+     * @throws NullPointerException     if obj is null and the list has no comparator
+     * @throws ClassCastException       if obj can't be compared with the elements of the list
+     * @throws IllegalArgumentException if this is a sublist and obj doesn't fit between the elements around it
+     */
+    @Override
+    public boolean add(Object obj){
+        int i = search(obj, true);
+        if(!fits(obj, i-1, i)) throw new IllegalArgumentException("Element out of the range of the sublist");
+        super.add(i-offset(), obj);
+        return true;
+    }
+
+    /**
+     * Inserts the specified element at the specified position, only if it keeps this list sorted
+     *
+     * @throws IllegalArgumentException if the list would not be sorted anymore
+     */
+    @Override
+    public void add(int index, Object obj){
+        if(index < 0 || index > size()) throw new IndexOutOfBoundsException();
+        int i = offset()+index;
+        if(!fits(obj, i-1, i)) throw new IllegalArgumentException("Element out of order at index " + index);
+        super.add(index, obj);
+    }
+
+    /**
+     * Merges the elements of the specified collection into this list, which stays sorted. The elements of this list
+     * that are greater than the smallest of the collection are moved only once.
+     *
+     * @param coll collection containing elements to be added to this list
+     * @return true if this list changed as a result of the call
+     * @throws NullPointerException     if coll is null, or it contains null and the list has no comparator
+     * @throws ClassCastException       if the elements can't be compared with each other
+     * @throws IllegalArgumentException if this is a sublist and the elements don't fit between the elements around it
+     */
+    @Override
+    public boolean addAll(HCollection coll){
+        if(coll == null) throw new NullPointerException();
+        Object[] added = coll.toArray();
+        if(added.length == 0) return false;
+        java.util.Arrays.sort(added, comparator);
+        int start = search(added[0], true), end = offset()+size();
+        if(!fits(added[0], start-1, start) || !fits(added[added.length-1], -1, end))
+            throw new IllegalArgumentException("Elements out of the range of the sublist");
+
+        Vector vector = backing();
+        Object[] merged = new Object[end - start + added.length];
+        int i = start, j = 0;
+        for(int k=0; k<merged.length; k++){
+            if(j == added.length || (i < end && compare(vector.elementAt(i), added[j]) <= 0)) merged[k] = vector.elementAt(i++);
+            else merged[k] = added[j++];
+        }
+        for(int k=0; k<end-start; k++) vector.setElementAt(merged[k], start+k);
+        Object[] rest = new Object[added.length];
+        System.arraycopy(merged, end - start, rest, 0, rest.length);
+        vector.insertElementsAt(rest, end);
+        resized(end, rest.length);
+        return true;
+    }
+
+    /**
+     * Inserts the elements of the specified collection at the specified position, only if they are sorted and keep
+     * this list sorted
+     *
+     * @throws IllegalArgumentException if the list would not be sorted anymore
+     */
+    @Override
+    public boolean addAll(int index, HCollection coll){
+        if(coll == null) throw new NullPointerException();
+        if(index < 0 || index > size()) throw new IndexOutOfBoundsException();
+        Object[] added = coll.toArray();
+        if(added.length == 0) return false;
+        int i = offset()+index;
+        for(int k=0; k<added.length; k++){
+            if(!fits(added[k], k == 0 ? i-1 : -1, k == added.length-1 ? i : Integer.MAX_VALUE)
+                    || (k > 0 && compare(added[k-1], added[k]) > 0))
+                throw new IllegalArgumentException("Element out of order: " + added[k]);
+        }
+        return super.addAll(index, coll);
+    }
+
+    /**
+     * Replaces the element at the specified position, only if the new element keeps this list sorted
+     *
+     * @throws IllegalArgumentException if the list would not be sorted anymore
+     */
+    @Override
+    public Object set(int index, Object obj){
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException();
+        int i = offset()+index;
+        if(!fits(obj, i-1, i+1)) throw new IllegalArgumentException("Element out of order at index " + index);
+        return super.set(index, obj);
+    }
+
+    @Override
+    public boolean contains(Object obj){
+        return indexOf(obj) != -1;
+    }
+
+    /**
+     * @return false, the membership is decided by the comparator, which may not agree with equals()
+     */
+    @Override
+    boolean hashableMembership(){
+        return false;
+    }
+
+    /**
+     * Returns the index of the first element equal to obj, found with a binary search
+     *
+     * @throws ClassCastException if obj can't be compared with the elements of this list
+     */
+    @Override
+    public int indexOf(Object obj){
+        if(obj == null && comparator == null) return -1;
+        Vector vector = backing();
+        int end = offset()+size();
+        for(int i=search(obj, false); i<end && compare(vector.elementAt(i), obj) == 0; i++){
+            Object elem = vector.elementAt(i);
+            if(obj == null ? elem == null : obj.equals(elem)) return i-offset();
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the last element equal to obj, found with a binary search
+     *
+     * @throws ClassCastException if obj can't be compared with the elements of this list
+     */
+    @Override
+    public int lastIndexOf(Object obj){
+        if(obj == null && comparator == null) return -1;
+        Vector vector = backing();
+        int start = offset();
+        for(int i=search(obj, true)-1; i>=start && compare(vector.elementAt(i), obj) == 0; i--){
+            Object elem = vector.elementAt(i);
+            if(obj == null ? elem == null : obj.equals(elem)) return i-start;
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean remove(Object obj){
+        int i = indexOf(obj);
+        if(i == -1) return false;
+        remove(i);
+        return true;
+    }
+
+    /**
+     * Returns a view of the elements of this list from fromKey, inclusive, to toKey, exclusive. The view is a
+     * sublist of this list, found with two binary searches.
+     *
+     * @param fromKey low endpoint of the elements of the view
+     * @param toKey   high endpoint, excluded, of the elements of the view
+     * @return a sublist with the elements not less than fromKey and less than toKey
+     * @throws IllegalArgumentException if fromKey is greater than toKey
+     * @throws ClassCastException       if the keys can't be compared with the elements of this list
+     */
+    public SortedListAdapter range(Object fromKey, Object toKey){
+        if(compare(fromKey, toKey) > 0) throw new IllegalArgumentException("fromKey > toKey");
+        int start = offset();
+        return (SortedListAdapter) subList(search(fromKey, false)-start, search(toKey, false)-start);
+    }
+
+    /**
+     * Returns a view of the elements of this list from fromKey, inclusive, to toKey, exclusive only if toInclusive is false
+     *
+     * @param fromKey     low endpoint of the elements of the view
+     * @param toKey       high endpoint of the elements of the view
+     * @param toInclusive true to include the elements that compare equal to toKey
+     * @return a sublist with the elements between the two keys
+     * @throws IllegalArgumentException if fromKey is greater than toKey
+     * @throws ClassCastException       if the keys can't be compared with the elements of this list
+     */
+    public SortedListAdapter range(Object fromKey, Object toKey, boolean toInclusive){
+        if(compare(fromKey, toKey) > 0) throw new IllegalArgumentException("fromKey > toKey");
+        int start = offset();
+        return (SortedListAdapter) subList(search(fromKey, false)-start, search(toKey, toInclusive)-start);
+    }
+
+    @Override
+    public HListIterator listIterator(){
+        return new SortedListIterator(super.listIterator(), 0);
+    }
+
+    @Override
+    public HListIterator listIterator(int index){
+        return new SortedListIterator(super.listIterator(index), index);
+    }
+
+    /**
+     * A list iterator that allows add and set only when the list stays sorted
+     */
+    private class SortedListIterator implements HListIterator {
+        private final HListIterator it;
+        private int cursor;
+        private int lastReturned = -1;
+
+        SortedListIterator(HListIterator it, int index) {
+            this.it = it;
+            cursor = index;
+        }
+
+        @Override
+        public boolean hasNext(){
+            return it.hasNext();
+        }
+
+        @Override
+        public Object next(){
+            Object obj = it.next();
+            lastReturned = cursor++;
+            return obj;
+        }
+
+        @Override
+        public boolean hasPrevious(){
+            return it.hasPrevious();
+        }
+
+        @Override
+        public Object previous(){
+            Object obj = it.previous();
+            lastReturned = --cursor;
+            return obj;
+        }
+
+        @Override
+        public int nextIndex(){
+            return it.nextIndex();
+        }
+
+        @Override
+        public int previousIndex(){
+            return it.previousIndex();
+        }
+
+        @Override
+        public void remove(){
+            it.remove();
+            if(lastReturned < cursor) cursor--;
+            lastReturned = -1;
+        }
+
+        @Override
+        public void set(Object obj){
+            if(lastReturned != -1){
+                int i = offset()+lastReturned;
+                if(!fits(obj, i-1, i+1)) throw new IllegalArgumentException("Element out of order");
+            }
+            it.set(obj);
+        }
+
+        @Override
+        public void add(Object obj){
+            int i = offset()+cursor;
+            if(!fits(obj, i-1, i)) throw new IllegalArgumentException("Element out of order");
+            it.add(obj);
+            cursor++;
+            lastReturned = -1;
+        }
+    }
+}
@@ -0,0 +1,629 @@
+package myAdapter;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A thread-safe {@link myAdapter.HList} whose elements can be read and replaced by many threads at the same time<br>
+ * <p>
+ * <p>
+ * The indexes of the list are divided in stripes, every stripe has its own StampedLock: the element at index i
+ * belongs to the stripe i % stripes, so neighbouring elements belong to different stripes. get() reads the element
+ * with an optimistic read of its stripe, which writes nothing shared and takes no lock unless a writer changed the
+ * stripe in the meantime, and set() locks only the stripe of the element: threads that read and replace different
+ * elements don't wait for each other.
+ * <p>
+ * The operations that change the size of the list lock all the stripes, in order, and so do the operations that read
+ * the whole list, as contains() or toArray(), so they see the list as it was at a single point in time. The size of
+ * the list can change only while all the stripes are locked, so the lock of any stripe is enough to know it.
+ * <p>
+ * The iterators read and change the list one element at a time through the methods of the list: they don't throw
+ * ConcurrentModificationException and show the changes made by other threads ahead of them, but next() can throw
+ * NoSuchElementException after hasNext() returned true if another thread has removed the last elements.
+ * <p>
+ * The sublists are views of the list, also at any depth, that lock the same stripes. A change of the size made through
+ * a sublist is seen by the list and by the sublists that enclose it; after any other change of the size the sublist
+ * can't be used anymore and its methods throw ConcurrentModificationException.
+ *
+ * @see myAdapter.CopyOnWriteListAdapter
+ */
+public class StripedListAdapter implements HList, HCollection {
+
+    /**
+     * The state shared by a list and its sublists
+     */
+    private static final class Storage {
+        Object[] elementData;
+        int modCount;
+        final StampedLock[] locks;
+        final int mask;
+
+        Storage(int capacity, int stripes) {
+            elementData = new Object[Math.max(capacity, 10)];
+            locks = new StampedLock[stripes];
+            for(int i=0; i<stripes; i++) locks[i] = new StampedLock();
+            mask = stripes - 1;
+        }
+
+        StampedLock stripe(int index){
+            return locks[index & mask];
+        }
+    }
+
+    private final Storage store;
+    private final StripedListAdapter parent;
+    private final int offset;
+
+    /**
+     * The size of this list and the number of changes of the size of the storage seen by it, changed only with all
+     * the stripes locked
+     */
+    private int size, expectedModCount;
+
+    /**
+     * Creates a new empty StripedListAdapter with a number of stripes suited to the processors of the machine
+     */
+    public StripedListAdapter() {
+        this(defaultStripes());
+    }
+
+    /**
+     * Creates a new empty StripedListAdapter
+     *
+     * @param stripes number of stripes, rounded up to a power of two
+     * @throws IllegalArgumentException if stripes is less than 1 or greater than 65536
+     */
+    public StripedListAdapter(int stripes) {
+        if(stripes < 1 || stripes > 65536) throw new IllegalArgumentException("Illegal number of stripes: " + stripes);
+        store = new Storage(10, powerOfTwo(stripes));
+        parent = null;
+        offset = 0;
+    }
+
+    /**
+     * Creates a new StripedListAdapter containing the elements of the given collection, in the order
+     * they are returned by its iterator
+     *
+     * @param coll the collection from which the new list copies the elements
+     * @throws NullPointerException if coll is null
+     */
+    public StripedListAdapter(HCollection coll) {
+        if(coll == null) throw new NullPointerException();
+        Object[] elements = coll.toArray();
+        store = new Storage(elements.length, defaultStripes());
+        System.arraycopy(elements, 0, store.elementData, 0, elements.length);
+        parent = null;
+        offset = 0;
+        size = elements.length;
+    }
+
+    /**
+     * Constructor used only to create a sublist, with the stripes of the storage locked
+     */
+    private StripedListAdapter(StripedListAdapter parent, int fromIndex, int toIndex) {
+        this.store = parent.store;
+        this.parent = parent;
+        offset = parent.offset + fromIndex;
+        size = toIndex - fromIndex;
+        expectedModCount = store.modCount;
+    }
+
+    /**
+     * @return four stripes for every processor, at least 16
+     */
+    private static int defaultStripes(){
+        return Math.max(16, powerOfTwo(Math.min(Runtime.getRuntime().availableProcessors() * 4, 65536)));
+    }
+
+    /**
+     * @return the smallest power of two not less than n, which must be positive
+     */
+    private static int powerOfTwo(int n){
+        return (n == 1) ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    /**
+     * @return the number of stripes of this list
+     */
+    public int getStripes(){
+        return store.locks.length;
+    }
+
+    /**
+     * Checks that this list has seen all the changes of the size of the storage, a stripe must be locked
+     *
+     * @throws ConcurrentModificationException if this is a sublist and the list has been changed without using it
+     */
+    private void checkModCount(){
+        if(expectedModCount != store.modCount) throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Locks all the stripes, in order
+     *
+     * @param write true to lock them for writing, false for reading
+     * @return the stamps of the locks
+     */
+    private long[] lockAll(boolean write){
+        StampedLock[] locks = store.locks;
+        long[] stamps = new long[locks.length];
+        for(int i=0; i<locks.length; i++) stamps[i] = write ? locks[i].writeLock() : locks[i].readLock();
+        return stamps;
+    }
+
+    private void unlockAll(long[] stamps){
+        StampedLock[] locks = store.locks;
+        for(int i=locks.length-1; i>=0; i--) locks[i].unlock(stamps[i]);
+    }
+
+    /**
+     * Replaces the elements of the storage between start and end with the given ones, all the stripes must be locked
+     * for writing. The sizes of this list and of the sublists that enclose it are updated.
+     *
+     * @param start    first index of the storage to replace
+     * @param end      first index of the storage after the elements to replace
+     * @param elements the elements to put in their place
+     * @param count    number of elements to take from elements
+     */
+    private void splice(int start, int end, Object[] elements, int count){
+        Object[] data = store.elementData;
+        int length = root().size;
+        int delta = count - (end - start);
+        if(length + delta > data.length){
+            Object[] newData = new Object[Math.max(data.length * 2, length + delta)];
+            System.arraycopy(data, 0, newData, 0, start);
+            System.arraycopy(data, end, newData, start + count, length - end);
+            data = newData;
+            store.elementData = data;
+        } else if(delta != 0){
+            System.arraycopy(data, end, data, start + count, length - end);
+            for(int i=length+delta; i<length; i++) data[i] = null;
+        }
+        if(count > 0) System.arraycopy(elements, 0, data, start, count);
+        if(delta != 0){
+            store.modCount++;
+            for(StripedListAdapter v=this; v!=null; v=v.parent){
+                v.size += delta;
+                v.expectedModCount = store.modCount;
+            }
+        }
+    }
+
+    private StripedListAdapter root(){
+        StripedListAdapter v = this;
+        while(v.parent != null) v = v.parent;
+        return v;
+    }
+
+    private static boolean eq(Object a, Object b){
+        return (a == null) ? b == null : a.equals(b);
+    }
+
+    /**
+     * @return the index of the storage of the first element of this list equal to obj, -1 if there is none;
+     *         the stripes must be locked
+     */
+    private int find(Object obj){
+        Object[] data = store.elementData;
+        for(int i=offset; i<offset+size; i++)
+            if(eq(obj, data[i])) return i;
+        return -1;
+    }
+
+    /**
+     * Copies a collection that could be this list or one of its views, so that it can be read while
+     * the stripes are locked
+     */
+    private HCollection detach(HCollection coll){
+        if(coll instanceof StripedListAdapter && ((StripedListAdapter) coll).store == store) return new ListAdapter(coll);
+        return coll;
+    }
+
+    @Override
+    public boolean add(Object obj){
+        long[] stamps = lockAll(true);
+        try{
+            checkModCount();
+            splice(offset + size, offset + size, new Object[]{obj}, 1);
+            return true;
+        } finally {
+            unlockAll(stamps);
+        }
+    }
+
+    @Override
+    public void add(int index, Object obj){
+        long[] stamps = lockAll(true);
+        try{
+            checkModCount();
+            if(index < 0 || index > size) throw new IndexOutOfBoundsException();
+            splice(offset + index, offset + index, new Object[]{obj}, 1);
+        } finally {
+            unlockAll(stamps);
+        }
+    }
+
+    @Override
+    public boolean addAll(HCollection coll){
+        if(coll == null) throw new NullPointerException();
+        Object[] elements = coll.toArray();
+        long[] stamps = lockAll(true);
+        try{
+            checkModCount();
+            splice(offset + size, offset + size, elements, elements.length);
+            return elements.length != 0;
+        } finally {
+            unlockAll(stamps);
+        }
+    }
+
+    @Override
+    public boolean addAll(int index, HCollection coll){
+        if(coll == null) throw new NullPointerException();
+        Object[] elements = coll.toArray();
+        long[] stamps = lockAll(true);
+        try{
+            checkModCount();
+            if(index < 0 || index > size) throw new IndexOutOfBoundsException();
+            splice(offset + index, offset + index, elements, elements.length);
+            return elements.length != 0;
+        } finally {
+            unlockAll(stamps);
+        }
+    }
+
+    @Override
+    public void clear(){
+        long[] stamps = lockAll(true);
+        try{
+            checkModCount();
+            splice(offset, offset + size, null, 0);
+        } finally {
+            unlockAll(stamps);
+        }
+    }
+
+    @Override
+    public boolean contains(Object obj){
+        return indexOf(obj) != -1;
+    }
+
+    @Override
+    public boolean containsAll(HCollection coll){
+        if(coll == null) throw new NullPointerException();
+        Object[] elements = coll.toArray();
+        long[] stamps = lockAll(false);
+        try{
+            checkModCount();
+            for(int i=0; i<elements.length; i++)
+                if(find(elements[i]) == -1) return false;
+            return true;
+        } finally {
+            unlockAll(stamps);
+        }
+    }
+
+    /**
+     * Compares this list with any HList: they are equal if they contain equal elements in the same order
+     */
+    @Override
+    public boolean equals(Object obj){
+        if(obj == this) return true;
+        if(!(obj instanceof HList)) return false;
+        Object[] mine = toArray();
+        HList other = (HList) obj;
+        if(other.size() != mine.length) return false;
+        HIterator it = other.iterator();
+        for(int i=0; i<mine.length; i++){
+            if(!it.hasNext() || !eq(mine[i], it.next())) return false;
+        }
+        return !it.hasNext();
+    }
+
+    /**
+     * Returns the element at the given index with an optimistic read of its stripe, which is locked only if
+     * the stripe has been changed during the read
+     */
+    @Override
+    public Object get(int index){
+        StampedLock lock = store.stripe(offset + index);
+        long stamp = lock.tryOptimisticRead();
+        if(stamp != 0){
+            Object[] data = store.elementData;
+            int n = size, modCount = store.modCount, i = offset + index;
+            Object obj = (index >= 0 && index < n && i < data.length) ? data[i] : null;
+            if(lock.validate(stamp)){
+                if(modCount != expectedModCount) throw new ConcurrentModificationException();
+                if(index < 0 || index >= n) throw new IndexOutOfBoundsException();
+                return obj;
+            }
+        }
+        stamp = lock.readLock();
+        try{
+            checkModCount();
+            if(index < 0 || index >= size) throw new IndexOutOfBoundsException();
+            return store.elementData[offset + index];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int hashCode(){
+        long[] stamps = lockAll(false);
+        try{
+            checkModCount();
+            Object[] data = store.elementData;
+            int hashCode = 1;
+            for(int i=offset; i<offset+size; i++){
+                hashCode = 31 * hashCode + (data[i] == null ? 0 : data[i].hashCode());
+            }
+            return hashCode;
+        } finally {
+            unlockAll(stamps);
+        }
+    }
+
+    @Override
+    public int indexOf(Object obj){
+        long[] stamps = lockAll(false);
+        try{
+            checkModCount();
+            int i = find(obj);
+            return (i == -1) ? -1 : i - offset;
+        } finally {
+            unlockAll(stamps);
+        }
+    }
+
+    @Override
+    public boolean isEmpty(){
+        return size() == 0;
+    }
+
+    @Override
+    public HIterator iterator(){
+        return new Iterator(0);
+    }
+
+    @Override
+    public int lastIndexOf(Object obj){
+        long[] stamps = lockAll(false);
+        try{
+            checkModCount();
+            Object[] data = store.elementData;
+            for(int i=offset+size-1; i>=offset; i--)
+                if(eq(obj, data[i])) return i - offset;
+            return -1;
+        } finally {
+            unlockAll(stamps);
+        }
+    }
+
+    @Override
+    public HListIterator listIterator(){
+        return new Iterator(0);
+    }
+
+    @Override
+    public HListIterator listIterator(int index){
+        if(index < 0 || index > size()) throw new IndexOutOfBoundsException();
+        return new Iterator(index);
+    }
+
+    @Override
+    public Object remove(int index){
+        long[] stamps = lockAll(true);
+        try{
+            checkModCount();
+            if(index < 0 || index >= size) throw new IndexOutOfBoundsException();
+            Object tmp = store.elementData[offset + index];
+            splice(offset + index, offset + index + 1, null, 0);
+            return tmp;
+        } finally {
+            unlockAll(stamps);
+        }
+    }
+
+    @Override
+    public boolean remove(Object obj){
+        long[] stamps = lockAll(true);
+        try{
+            checkModCount();
+            int i = find(obj);
+            if(i == -1) return false;
+            splice(i, i + 1, null, 0);
+            return true;
+        } finally {
+            unlockAll(stamps);
+        }
+    }
+
+    @Override
+    public boolean removeAll(HCollection coll){
+        if(coll == null) throw new NullPointerException();
+        return filter(detach(coll), false);
+    }
+
+    @Override
+    public boolean retainAll(HCollection coll){
+        if(coll == null) throw new NullPointerException();
+        return filter(detach(coll), true);
+    }
+
+    /**
+     * Method used by removeAll() and retainAll(): the elements kept are moved down in place and the
+     * tail left free is removed at once
+     *
+     * @param coll   collection whose elements are checked with contains()
+     * @param retain true to keep the elements contained in coll, false to keep the others
+     * @return true if this list changed as a result of the call
+     */
+    private boolean filter(HCollection coll, boolean retain){
+        long[] stamps = lockAll(true);
+        try{
+            checkModCount();
+            Object[] data = store.elementData;
+            int w = offset;
+            for(int r=offset; r<offset+size; r++){
+                if(coll.contains(data[r]) == retain) data[w++] = data[r];
+            }
+            if(w == offset + size) return false;
+            splice(w, offset + size, null, 0);
+            return true;
+        } finally {
+            unlockAll(stamps);
+        }
+    }
+
+    /**
+     * Replaces the element at the given index locking only its stripe
+     */
+    @Override
+    public Object set(int index, Object obj){
+        StampedLock lock = store.stripe(offset + index);
+        long stamp = lock.writeLock();
+        try{
+            checkModCount();
+            if(index < 0 || index >= size) throw new IndexOutOfBoundsException();
+            Object tmp = store.elementData[offset + index];
+            store.elementData[offset + index] = obj;
+            return tmp;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int size(){
+        StampedLock lock = store.stripe(offset);
+        long stamp = lock.tryOptimisticRead();
+        int n = size, modCount = store.modCount;
+        if(!lock.validate(stamp)){
+            stamp = lock.readLock();
+            try{
+                n = size;
+                modCount = store.modCount;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if(modCount != expectedModCount) throw new ConcurrentModificationException();
+        return n;
+    }
+
+    /**
+     * Returns a view of the portion of this list between fromIndex, inclusive, and toIndex, exclusive.
+     * The changes made through the sublist are seen by this list, after a change of the size made in another
+     * way the sublist throws ConcurrentModificationException.
+     *
+     * @throws IndexOutOfBoundsException for an illegal endpoint index value
+     */
+    @Override
+    public HList subList(int fromIndex, int toIndex){
+        StampedLock lock = store.stripe(offset);
+        long stamp = lock.readLock();
+        try{
+            checkModCount();
+            if(fromIndex < 0 || toIndex > size || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+            return new StripedListAdapter(this, fromIndex, toIndex);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public Object[] toArray(){
+        return toArray(new Object[0]);
+    }
+
+    @Override
+    public Object[] toArray(Object arrayTarget[]){
+        if(arrayTarget == null) throw new NullPointerException();
+        long[] stamps = lockAll(false);
+        try{
+            checkModCount();
+            Object[] tmp = (arrayTarget.length < size)
+                    ? (Object[]) java.lang.reflect.Array.newInstance(arrayTarget.getClass().getComponentType(), size) : arrayTarget;
+            System.arraycopy(store.elementData, offset, tmp, 0, size);
+            for(int i=size; i<tmp.length; i++) tmp[i] = null;
+            return tmp;
+        } finally {
+            unlockAll(stamps);
+        }
+    }
+
+    /**
+     * Iterator that reads and changes the list one element at a time
+     */
+    private final class Iterator implements HListIterator {
+        private int cursor, last = -1;
+
+        Iterator(int index) {
+            cursor = index;
+        }
+
+        @Override
+        public boolean hasNext(){
+            return cursor < size();
+        }
+
+        @Override
+        public Object next(){
+            try{
+                Object obj = get(cursor);
+                last = cursor++;
+                return obj;
+            } catch(IndexOutOfBoundsException e){
+                throw new NoSuchElementException();
+            }
+        }
+
+        @Override
+        public boolean hasPrevious(){
+            return cursor > 0;
+        }
+
+        @Override
+        public Object previous(){
+            try{
+                Object obj = get(cursor - 1);
+                last = --cursor;
+                return obj;
+            } catch(IndexOutOfBoundsException e){
+                throw new NoSuchElementException();
+            }
+        }
+
+        @Override
+        public int nextIndex(){
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex(){
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove(){
+            if(last == -1) throw new IllegalStateException();
+            StripedListAdapter.this.remove(last);
+            if(last < cursor) cursor--;
+            last = -1;
+        }
+
+        @Override
+        public void set(Object obj){
+            if(last == -1) throw new IllegalStateException();
+            StripedListAdapter.this.set(last, obj);
+        }
+
+        @Override
+        public void add(Object obj){
+            StripedListAdapter.this.add(cursor++, obj);
+            last = -1;
+        }
+    }
+}
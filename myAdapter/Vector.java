@@ -2,123 +2,447 @@ package myAdapter;
 
 
 import java.util.Enumeration;
-import java.util.Objects;
+import java.util.NoSuchElementException;
 
 /**
  * Class Vector of Java Micro Edition, CLDC1.1<br>
  *
  * <p>
- * The object {@link myAdapter.Vector} is used to save e manage data, the porpouse of this class is only to filter the methods of vector in order to use only methods from CLDC1.1
+ * The object {@link myAdapter.Vector} is used to save e manage data, the porpouse of this class is to offer only the methods of vector
+ * available in CLDC1.1. The elements are kept in a plain array of objects, none of the methods is synchronized: a Vector is meant to be
+ * used by one thread at a time, like the lists built on top of it.
  *
  * @see @link java.util.Vector
  * @author Alessandro Marcassa
  */
 public class Vector {
 
-    java.util.Vector vector;
+    /**
+     * The array buffer into which the components of the vector are stored. Any array element following the last
+     * component of the vector is null.
+     */
+    protected Object[] elementData;
+
+    /**
+     * The number of valid components in this Vector object.
+     */
+    protected int elementCount;
+
+    /**
+     * The amount by which the capacity of the vector is increased when its size becomes greater than its capacity.
+     * If it is less than or equal to zero the capacity is doubled each time it needs to grow.
+     */
+    protected int capacityIncrement;
+
+    /**
+     * The number of changes made to the components through the lists that share this vector, used by
+     * {@link ListAdapter} to know whether a cached hash code is still valid.
+     */
+    int modCount;
+
+    /**
+     * The metrics into which the lists sharing this vector record their operations, null if they are not counted.
+     */
+    ListMetrics metrics;
+
+    /**
+     * The id of this vector in the JFR events, 0 until the first event is emitted.
+     */
+    private long id;
+
+    /**
+     * The capacity up to which {@link #trimIfSparse()} never trims a vector
+     */
+    static final int TRIM_MIN_CAPACITY = 16;
+
+    /**
+     * The policy that decides the new capacity when the vector grows, null to follow capacityIncrement.
+     */
+    private GrowthPolicy growthPolicy;
+
+    /**
+     * The fraction of the capacity under which the lists sharing this vector trim it after a removal, 0 to never
+     * trim it, see {@link ListAdapter#setMinOccupancy(float)}.
+     */
+    float minOccupancy;
 
     public Vector() {
-        vector = new java.util.Vector();
+        this(10);
     }
 
     public Vector(int initialCapacity) {
-        vector = new java.util.Vector(initialCapacity);
+        this(initialCapacity, 0);
     }
 
     public Vector(int initialCapacity, int capacityIncrement) {
-        vector = new java.util.Vector(initialCapacity, capacityIncrement);
+        if(initialCapacity < 0) throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        elementData = new Object[initialCapacity];
+        this.capacityIncrement = capacityIncrement;
+    }
+
+    /**
+     * Grows the buffer so that it can hold at least minCapacity components, following the growth policy or capacityIncrement
+     *
+     * @param minCapacity the desired minimum capacity
+     */
+    private void grow(int minCapacity){
+        int newCapacity = newCapacity(elementData.length, minCapacity);
+        ListEvents.Growth growth = growing(elementCount, newCapacity, arrayBytes(newCapacity, 4));
+        Object[] newData = new Object[newCapacity];
+        System.arraycopy(elementData, 0, newData, 0, elementCount);
+        elementData = newData;
+        if(growth != null) growth.commit();
+    }
+
+    /**
+     * Computes the capacity of the new storage of this vector when it is full, following the growth policy if it
+     * is set, else capacityIncrement
+     *
+     * @param oldCapacity the current capacity
+     * @param minCapacity the capacity that the vector needs
+     * @return the new capacity, never less than minCapacity
+     */
+    final int newCapacity(int oldCapacity, int minCapacity){
+        long newCapacity;
+        if(growthPolicy != null) newCapacity = growthPolicy.newCapacity(oldCapacity, minCapacity);
+        else newCapacity = (capacityIncrement > 0) ? (long) oldCapacity + capacityIncrement : oldCapacity * 2L;
+        return (int) Math.max(Math.min(newCapacity, Integer.MAX_VALUE), minCapacity);
+    }
+
+    /**
+     * Returns the policy that decides how much this vector grows when it is full
+     *
+     * @return the growth policy, null if the vector follows its capacityIncrement
+     */
+    public GrowthPolicy getGrowthPolicy(){
+        return growthPolicy;
+    }
+
+    /**
+     * Sets the policy that decides how much this vector grows when it is full. A {@link myAdapter.ChunkedVector}
+     * ignores it, as it allocates its chunks one at a time.
+     *
+     * @param policy the growth policy, null to follow capacityIncrement again
+     */
+    public void setGrowthPolicy(GrowthPolicy policy){
+        growthPolicy = policy;
+    }
+
+    /**
+     * Trims the storage of this vector to its size if the size has fallen under minOccupancy times the capacity.
+     * The vectors whose capacity is at most {@link #TRIM_MIN_CAPACITY} are never trimmed, so that small lists
+     * that are emptied and filled again don't reallocate their storage every time.
+     *
+     * @return true if the vector has been trimmed
+     */
+    final boolean trimIfSparse(){
+        if(minOccupancy <= 0 || freesStorage()) return false;
+        int capacity = capacity();
+        if(capacity <= TRIM_MIN_CAPACITY || elementCount >= minOccupancy * capacity) return false;
+        trimToSize();
+        return true;
+    }
+
+    /**
+     * @return true if the vector releases its storage by itself as it shrinks, so that the lists never need to
+     *         trim it, see {@link myAdapter.ChunkedVector}
+     */
+    boolean freesStorage(){
+        return false;
+    }
+
+    /**
+     * Records in the metrics of this vector, if any, that count components starting at index are going to be moved
+     * to open or close a hole
+     *
+     * @return the JFR event of the shift, to be committed after it, null if the shift is not recorded
+     */
+    final ListEvents.Shift shifting(int index, int count){
+        if(metrics != null) metrics.shift(count);
+        return ListEvents.shift(this, index, count);
+    }
+
+    /**
+     * Records in the metrics of this vector, if any, that its storage is going to grow to newCapacity components,
+     * allocating the given bytes and copying copied components
+     *
+     * @return the JFR event of the growth, to be committed after it, null if the growth is not recorded
+     */
+    final ListEvents.Growth growing(int copied, int newCapacity, long bytes){
+        if(metrics != null) metrics.grow(bytes);
+        return ListEvents.growth(this, copied, newCapacity, bytes);
+    }
+
+    /**
+     * @return the id of this vector in the JFR events, assigned the first time it is needed
+     */
+    final long id(){
+        if(id == 0) id = ListEvents.nextId();
+        return id;
+    }
+
+    /**
+     * @return the estimated size of an array on the heap, with a 16 bytes header and padded to 8 bytes
+     */
+    static long arrayBytes(int length, int elementSize){
+        return (16 + (long) length * elementSize + 7) & ~7L;
     }
 
     public void addElement(Object obj){
-        vector.addElement(obj);
+        if(elementCount == elementData.length) grow(elementCount + 1);
+        elementData[elementCount++] = obj;
     }
 
     public int capacity(){
-        return vector.capacity();
+        return elementData.length;
     }
 
     public boolean contains(Object elem){
-        return vector.contains(elem);
+        return indexOf(elem, 0) >= 0;
     }
 
     public void copyInto(Object[] anArray){
-        vector.copyInto(anArray);
+        System.arraycopy(elementData, 0, anArray, 0, elementCount);
+    }
+
+    /**
+     * Copies the components between fromIndex, inclusive, and toIndex, exclusive, into the given array starting at
+     * offset, with a single copy of the range when the storage allows it. This method is not part of CLDC1.1, it is
+     * the range version of {@link #copyInto(Object[])}: the vectors that don't keep their components in elementData
+     * override it.
+     *
+     * @param fromIndex index of the first component to copy
+     * @param toIndex   index after the last component to copy
+     * @param anArray   the array into which the components get copied
+     * @param offset    index of anArray where the first component is stored
+     * @throws ArrayIndexOutOfBoundsException if the range is out of this vector or doesn't fit in anArray from offset
+     * @throws ArrayStoreException            if a component can't be stored in anArray
+     */
+    public void copyInto(int fromIndex, int toIndex, Object[] anArray, int offset){
+        checkCopyRange(fromIndex, toIndex, anArray, offset);
+        System.arraycopy(elementData, fromIndex, anArray, offset, toIndex - fromIndex);
+    }
+
+    /**
+     * Checks the arguments of {@link #copyInto(int, int, Object[], int)}
+     */
+    void checkCopyRange(int fromIndex, int toIndex, Object[] anArray, int offset){
+        if(fromIndex < 0 || toIndex > size() || toIndex < fromIndex)
+            throw new ArrayIndexOutOfBoundsException(fromIndex + ", " + toIndex);
+        if(offset < 0 || offset > anArray.length - (toIndex - fromIndex))
+            throw new ArrayIndexOutOfBoundsException(offset);
     }
 
     public Object elementAt(int index){
-        return vector.elementAt(index);
+        if(index >= elementCount) throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+        return elementData[index];
     }
 
     public Enumeration elements(){
-        return vector.elements();
+        return new Enumeration() {
+            int count = 0;
+
+            public boolean hasMoreElements() {
+                return count < size();
+            }
+
+            public Object nextElement() {
+                if(count < size()) return elementAt(count++);
+                throw new NoSuchElementException("Vector Enumeration");
+            }
+        };
     }
 
     public void ensureCapacity(int minCapacity){
-        vector.ensureCapacity(minCapacity);
+        if(minCapacity > elementData.length) grow(minCapacity);
     }
 
     public Object firstElement(){
-        return vector.firstElement();
+        if(size() == 0) throw new NoSuchElementException();
+        return elementAt(0);
     }
 
     public int indexOf(Object elem){
-        return vector.indexOf(elem);
+        return indexOf(elem, 0);
     }
 
     public int indexOf(Object elem, int index){
-        return vector.indexOf(elem, index);
+        return indexOf(elem, index, elementCount);
+    }
+
+    /**
+     * Searches for the first occurrence of elem between fromIndex, inclusive, and toIndex, exclusive.
+     * This method is not part of CLDC1.1, it lets a list search only its own range of the vector
+     *
+     * @param elem      the object to search
+     * @param fromIndex the index to start searching from
+     * @param toIndex   the index where the search stops, the size of the vector if it is greater
+     * @return the index of the first occurrence, -1 if elem is not found
+     */
+    public int indexOf(Object elem, int fromIndex, int toIndex){
+        if(toIndex > elementCount) toIndex = elementCount;
+        if(elem == null){
+            for(int i=fromIndex; i<toIndex; i++)
+                if(elementData[i] == null) return i;
+        } else {
+            for(int i=fromIndex; i<toIndex; i++)
+                if(elem.equals(elementData[i])) return i;
+        }
+        return -1;
     }
 
     public void insertElementAt(Object obj, int index){
-        vector.insertElementAt(obj, index);
+        if(index > elementCount) throw new ArrayIndexOutOfBoundsException(index + " > " + elementCount);
+        if(elementCount == elementData.length) grow(elementCount + 1);
+        ListEvents.Shift shift = shifting(index, elementCount - index);
+        System.arraycopy(elementData, index, elementData, index + 1, elementCount - index);
+        if(shift != null) shift.commit();
+        elementData[index] = obj;
+        elementCount++;
+    }
+
+    /**
+     * Inserts all the components of the given array into this vector at the specified index. The components at or after
+     * index are shifted only once, by the length of the array, and the capacity grows at most once.
+     * This method is not part of CLDC1.1, it is the bulk version of {@link #insertElementAt(Object, int)}
+     *
+     * @param elements  the components to insert, in order
+     * @param index     where to insert the first component
+     * @throws ArrayIndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt; size())
+     */
+    public void insertElementsAt(Object[] elements, int index){
+        if(index > elementCount || index < 0) throw new ArrayIndexOutOfBoundsException(index + " > " + elementCount);
+        int count = elements.length;
+        if(count == 0) return;
+        if(elementCount + count > elementData.length) grow(elementCount + count);
+        ListEvents.Shift shift = shifting(index, elementCount - index);
+        System.arraycopy(elementData, index, elementData, index + count, elementCount - index);
+        if(shift != null) shift.commit();
+        System.arraycopy(elements, 0, elementData, index, count);
+        elementCount += count;
     }
 
     public boolean isEmpty(){
-        return vector.isEmpty();
+        return size() == 0;
     }
 
     public Object lastElement(){
-        return vector.lastElement();
+        if(size() == 0) throw new NoSuchElementException();
+        return elementAt(size() - 1);
     }
 
     public int lastIndexOf(Object elem){
-        return vector.lastIndexOf(elem);
+        return lastIndexOf(elem, size() - 1);
     }
 
     public int lastIndexOf(Object elem, int index){
-        return vector.lastIndexOf(elem, index);
+        if(index >= elementCount) throw new IndexOutOfBoundsException(index + " >= " + elementCount);
+        return lastIndexOf(elem, 0, index + 1);
+    }
+
+    /**
+     * Searches backwards for the last occurrence of elem between fromIndex, inclusive, and toIndex, exclusive.
+     * This method is not part of CLDC1.1, it lets a list search only its own range of the vector
+     *
+     * @param elem      the object to search
+     * @param fromIndex the index where the search stops
+     * @param toIndex   the index after the first one checked, the size of the vector if it is greater
+     * @return the index of the last occurrence, -1 if elem is not found
+     */
+    public int lastIndexOf(Object elem, int fromIndex, int toIndex){
+        if(toIndex > elementCount) toIndex = elementCount;
+        if(elem == null){
+            for(int i=toIndex-1; i>=fromIndex; i--)
+                if(elementData[i] == null) return i;
+        } else {
+            for(int i=toIndex-1; i>=fromIndex; i--)
+                if(elem.equals(elementData[i])) return i;
+        }
+        return -1;
     }
 
     public void removeAllElements(){
-        vector.removeAllElements();
+        setSize(0);
     }
 
     public boolean removeElement(Object obj){
-        return vector.removeElement(obj);
+        int i = indexOf(obj, 0);
+        if(i < 0) return false;
+        removeElementAt(i);
+        return true;
     }
 
     public void removeElementAt(int index){
-        vector.removeElementAt(index);
+        if(index >= elementCount) throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+        if(index < 0) throw new ArrayIndexOutOfBoundsException(index);
+        int moved = elementCount - index - 1;
+        ListEvents.Shift shift = shifting(index + 1, moved);
+        if(moved > 0) System.arraycopy(elementData, index + 1, elementData, index, moved);
+        if(shift != null) shift.commit();
+        elementData[--elementCount] = null;
+    }
+
+    /**
+     * Removes from this vector all of the components whose index is between fromIndex, inclusive, and toIndex,
+     * exclusive. The following components are shifted only once and the freed slots at the end are cleared.
+     * This method is not part of CLDC1.1, it is the bulk version of {@link #removeElementAt(int)}
+     *
+     * @param fromIndex index of the first component to be removed
+     * @param toIndex   index after the last component to be removed
+     * @throws ArrayIndexOutOfBoundsException if fromIndex or toIndex are out of range
+     *                                        (fromIndex &lt; 0 || toIndex &gt; size() || toIndex &lt; fromIndex)
+     */
+    public void removeRange(int fromIndex, int toIndex){
+        if(fromIndex < 0 || toIndex > elementCount || toIndex < fromIndex)
+            throw new ArrayIndexOutOfBoundsException(fromIndex + ", " + toIndex);
+        ListEvents.Shift shift = shifting(toIndex, (fromIndex < toIndex) ? elementCount - toIndex : 0);
+        System.arraycopy(elementData, toIndex, elementData, fromIndex, elementCount - toIndex);
+        if(shift != null) shift.commit();
+        int newCount = elementCount - (toIndex - fromIndex);
+        for(int i=newCount; i<elementCount; i++) elementData[i] = null;
+        elementCount = newCount;
     }
 
     public void setElementAt(Object obj, int index){
-        vector.setElementAt(obj, index);
+        if(index >= elementCount) throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+        elementData[index] = obj;
     }
 
     public void setSize(int newSize){
-        vector.setSize(newSize);
+        if(newSize < 0) throw new ArrayIndexOutOfBoundsException(newSize);
+        if(newSize > elementData.length) grow(newSize);
+        for(int i=newSize; i<elementCount; i++) elementData[i] = null;
+        elementCount = newSize;
     }
 
     public int size(){
-        return vector.size();
+        return elementCount;
     }
 
     public String toString(){
-        return vector.toString();
+        StringBuffer buf = new StringBuffer("[");
+        for(int i=0; i<size(); i++){
+            if(i > 0) buf.append(", ");
+            Object obj = elementAt(i);
+            buf.append(obj == this ? "(this Vector)" : String.valueOf(obj));
+        }
+        return buf.append("]").toString();
     }
 
     public void trimToSize(){
-        vector.trimToSize();
+        if(elementCount < elementData.length){
+            Object[] newData = new Object[elementCount];
+            System.arraycopy(elementData, 0, newData, 0, elementCount);
+            elementData = newData;
+        }
+    }
+
+    /**
+     * @return true if indexOf and lastIndexOf find the components without scanning the vector,
+     *         see {@link myAdapter.IndexedVector}
+     */
+    boolean isIndexed(){
+        return false;
     }
 
     @Override
@@ -126,11 +450,21 @@ public class Vector {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Vector vector1 = (Vector) o;
-        return Objects.equals(vector, vector1.vector);
+        if (size() != vector1.size()) return false;
+        for(int i=0; i<size(); i++){
+            Object e1 = elementAt(i), e2 = vector1.elementAt(i);
+            if(!(e1 == null ? e2 == null : e1.equals(e2))) return false;
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(vector);
+        int hashCode = 1;
+        for(int i=0; i<size(); i++){
+            Object obj = elementAt(i);
+            hashCode = 31 * hashCode + (obj == null ? 0 : obj.hashCode());
+        }
+        return 31 + hashCode;
     }
 }
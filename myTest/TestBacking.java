@@ -0,0 +1,360 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of the vectors that can back a {@link myAdapter.ListAdapter}
+ * <p>
+ * <p>
+ * Summary: this class tests that a ListAdapter behaves in the same way whatever vector stores its elements
+ * <br><br>
+ * Design test: every test is executed once for every kind of vector. The same sequence of operations is applied to a list
+ * backed by the vector under test and to a list backed by a {@link myAdapter.Vector}, which is tested by {@link myTest.TestList},
+ * and the content of the two lists is compared after every step
+ * <br><br>
+ * Description: the operations are chosen with a random generator created with a fixed seed, so every execution applies
+ * the same operations. They are applied to the lists, to sublists of sublists and through list iterators
+ * <br><br>
+ * Preconditions: a new empty list backed by the vector under test and a new empty reference list are instantiated before each test
+ * <br><br>
+ * Postconditions: the two lists must always contain the same elements in the same order and return the same results
+ * <br><br>
+ * Execution variables:
+ * <br>HList tested - list backed by the vector under test
+ * <br>HList expected - list backed by a Vector
+ * <br>String backing - name of the vector under test
+ *
+ * @see myAdapter.ListAdapter#backedBy(Vector)
+ */
+@RunWith(Parameterized.class)
+public class TestBacking
+{
+	HList tested = null, expected = null;
+	String backing;
+
+	@Parameters(name = "{0}")
+	public static Collection backings()
+	{
+		return Arrays.asList(new Object[][]{{"gap"}, {"chunked"}, {"offheap"}, {"mapped"}, {"indexed"}});
+	}
+
+	public TestBacking(String backing)
+	{
+		this.backing = backing;
+	}
+
+	/**
+	 * Creates an empty vector of the kind under test
+	 *
+	 * @param backing name of the vector
+	 * @return a new empty vector
+	 */
+	static Vector newVector(String backing)
+	{
+		if(backing.equals("gap")) return new GapVector(4);
+		if(backing.equals("chunked")) return new ChunkedVector(4);
+		if(backing.equals("indexed")) return new IndexedVector(4);
+		if(backing.equals("offheap")) return new OffHeapVector(ElementCodec.INT, 4);
+		if(backing.equals("mapped")){
+			try{
+				File file = File.createTempFile("TestBacking", ".list");
+				file.deleteOnExit();
+				file.delete();
+				return MappedVector.open(file.toPath(), ElementCodec.INT, 4);
+			} catch(IOException e){
+				throw new UncheckedIOException(e);
+			}
+		}
+		throw new IllegalArgumentException(backing);
+	}
+
+	@Before
+	public void setup()
+	{
+		System.out.println("Instantiate an empty List backed by " + backing + " and an empty reference List...");
+		tested = ListAdapter.backedBy(newVector(backing));
+		expected = new ListAdapter();
+	}
+
+	/**
+     * Test of random operations on the list and on its sublists
+     * <p>
+     * <br><br>Summary: 				the list backed by the vector under test returns the same results as the reference list
+     * <br><br>Design test: 			filling both lists, then applying thousands of random insertions, removals, replacements and searches
+	 * 									both on the lists and on sublists of sublists, creating new sublists from time to time
+     * <br><br>Preconditions: 			the reference list must be correctly implemented
+     * <br><br>Postconditions: 		the two lists contain the same elements after every operation
+     * <br><br>Expected results: 		every operation returns the same result on both lists and leaves them equal
+     */
+	@Test
+	public void testRandomOperations()
+	{
+		System.out.println("----- Random operations on " + backing + " -----");
+
+		Random random = new Random(42);
+		for(int i=0; i<200; i++){
+			tested.add(Integer.valueOf(i % 50));
+			expected.add(Integer.valueOf(i % 50));
+		}
+		HList t = tested, e = expected;
+
+		for(int step=0; step<5000; step++){
+			if(step % 500 == 0){
+				t = tested;
+				e = expected;
+				for(int depth=0; depth<2 && e.size() > 4; depth++){
+					int from = random.nextInt(e.size()/2), to = from + random.nextInt(e.size() - from);
+					t = t.subList(from, to);
+					e = e.subList(from, to);
+				}
+			}
+			Integer obj = Integer.valueOf(random.nextInt(60));
+			int index = e.isEmpty() ? 0 : random.nextInt(e.size());
+			switch(random.nextInt(10)){
+				case 0: assertEquals(e.add(obj), t.add(obj)); break;
+				case 1: t.add(index, obj); e.add(index, obj); break;
+				case 2: if(!e.isEmpty()) assertEquals(e.remove(index), t.remove(index)); break;
+				case 3: assertEquals(e.remove(obj), t.remove(obj)); break;
+				case 4: if(!e.isEmpty()) assertEquals(e.set(index, obj), t.set(index, obj)); break;
+				case 5: assertEquals(e.indexOf(obj), t.indexOf(obj)); assertEquals(e.lastIndexOf(obj), t.lastIndexOf(obj)); break;
+				case 6: {
+					HList coll = new ListAdapter();
+					for(int i=random.nextInt(5); i>0; i--) coll.add(Integer.valueOf(random.nextInt(60)));
+					assertEquals(e.addAll(index, coll), t.addAll(index, coll));
+					break;
+				}
+				case 7: {
+					HList coll = new ListAdapter();
+					for(int i=random.nextInt(3); i>0; i--) coll.add(Integer.valueOf(random.nextInt(60)));
+					assertEquals(e.removeAll(coll), t.removeAll(coll));
+					break;
+				}
+				case 8: if(random.nextInt(20) == 0){ e.clear(); t.clear(); } break;
+				default: assertEquals(e.contains(obj), t.contains(obj)); break;
+			}
+			assertEquals("sizes differ at step " + step, e.size(), t.size());
+			if(step % 50 == 0) assertArrayEquals("lists differ at step " + step, expected.toArray(), tested.toArray());
+		}
+		assertArrayEquals(expected.toArray(), tested.toArray());
+		assertArrayEquals(e.toArray(), t.toArray());
+		System.out.println("Final size: " + tested.size());
+	}
+
+	/**
+     * Test of the changes made through a list iterator
+     * <p>
+     * <br><br>Summary: 				a list iterator that walks forwards and backwards changing the list gives the same results on both lists
+     * <br><br>Design test: 			walking back and forth on both lists with a list iterator, adding, removing and replacing elements at
+	 * 									the cursor
+     * <br><br>Preconditions: 			the list iterator of the reference list must be correctly implemented
+     * <br><br>Postconditions: 		the two lists contain the same elements at the end
+     * <br><br>Expected results: 		the elements returned by next() and previous() are the same on both lists
+     */
+	@Test
+	public void testCursorEditing()
+	{
+		System.out.println("----- Editing with a list iterator on " + backing + " -----");
+
+		for(int i=0; i<100; i++){
+			tested.add(Integer.valueOf(i));
+			expected.add(Integer.valueOf(i));
+		}
+		Random random = new Random(7);
+		HListIterator ti = tested.listIterator(50), ei = expected.listIterator(50);
+		for(int step=0; step<3000; step++){
+			boolean forward = random.nextBoolean();
+			if(forward && ei.hasNext()) assertEquals(ei.next(), ti.next());
+			else if(!forward && ei.hasPrevious()) assertEquals(ei.previous(), ti.previous());
+			else continue;
+
+			switch(random.nextInt(4)){
+				case 0: ei.remove(); ti.remove(); break;
+				case 1: ei.add(Integer.valueOf(step)); ti.add(Integer.valueOf(step)); break;
+				case 2: ei.set(Integer.valueOf(-step)); ti.set(Integer.valueOf(-step)); break;
+				default: break;
+			}
+		}
+		assertArrayEquals(expected.toArray(), tested.toArray());
+		iterate(tested.iterator());
+	}
+
+	/**
+     * Test of the operations that change many elements at once
+     * <p>
+     * <br><br>Summary: 				bulk insertions and removals give the same results on both lists
+     * <br><br>Design test: 			inserting a collection bigger than the list, clearing wide sublists, removing and retaining collections
+     * <br><br>Preconditions: 			addAll(int, HCollection), clear(), removeAll() and retainAll() of the reference list must be correctly implemented
+     * <br><br>Postconditions: 		the two lists contain the same elements after every operation
+     * <br><br>Expected results: 		the contents and the sizes of both lists and of their sublists are the same
+     */
+	@Test
+	public void testBulkOperations()
+	{
+		System.out.println("----- Bulk operations on " + backing + " -----");
+
+		HList coll = new ListAdapter();
+		for(int i=0; i<1000; i++){
+			tested.add(Integer.valueOf(i));
+			expected.add(Integer.valueOf(i));
+			coll.add(Integer.valueOf(-i));
+		}
+		coll.addAll(coll);
+		assertTrue(tested.addAll(500, coll));
+		assertTrue(expected.addAll(500, coll));
+		assertArrayEquals(expected.toArray(), tested.toArray());
+
+		tested.subList(100, 2900).subList(7, 2000).clear();
+		expected.subList(100, 2900).subList(7, 2000).clear();
+		assertEquals(expected.size(), tested.size());
+		assertArrayEquals(expected.toArray(), tested.toArray());
+
+		HList sub = new ListAdapter();
+		for(int i=0; i<1000; i+=3) sub.add(Integer.valueOf(-i));
+		assertEquals(expected.removeAll(sub), tested.removeAll(sub));
+		assertArrayEquals(expected.toArray(), tested.toArray());
+		assertEquals(expected.subList(50, 500).retainAll(coll), tested.subList(50, 500).retainAll(coll));
+		assertArrayEquals(expected.toArray(), tested.toArray());
+		assertEquals(expected.indexOf(Integer.valueOf(999)), tested.indexOf(Integer.valueOf(999)));
+		assertEquals(expected.lastIndexOf(Integer.valueOf(-998)), tested.lastIndexOf(Integer.valueOf(-998)));
+
+		tested.clear();
+		expected.clear();
+		assertTrue(tested.isEmpty());
+		tested.add(Integer.valueOf(42));
+		assertArrayEquals(new Object[]{Integer.valueOf(42)}, tested.toArray());
+	}
+
+	/**
+     * Test of the removals of ranges
+     * <p>
+     * <br><br>Summary: 				the vector under test stays consistent, and a ChunkedVector stays at least half full, after
+	 * 									many removals of ranges mixed with insertions and removals of single elements
+     * <br><br>Design test: 			filling both lists with 20000 integers, then removing hundreds of random ranges of a sublist
+	 * 									and inserting and removing single elements at random positions
+     * <br><br>Preconditions: 			subList().clear(), add(int, Object) and remove(int) of the reference list must be correctly implemented
+     * <br><br>Postconditions: 		the two lists contain the same elements after every operation
+     * <br><br>Expected results: 		the contents of both lists are the same, the chunks of a ChunkedVector can hold at most twice
+	 * 									its components
+     */
+	@Test
+	public void testRangeRemovals()
+	{
+		System.out.println("----- Removals of ranges on " + backing + " -----");
+
+		Vector vector = newVector(backing);
+		tested = ListAdapter.backedBy(vector);
+		for(int i=0; i<20000; i++){
+			tested.add(Integer.valueOf(i));
+			expected.add(Integer.valueOf(i));
+		}
+		Random random = new Random(25);
+		while(expected.size() > 100){
+			int from = random.nextInt(expected.size()), to = Math.min(expected.size(), from + 1 + random.nextInt(300));
+			int start = random.nextInt(from + 1);
+			tested.subList(start, to).subList(from - start, to - start).clear();
+			expected.subList(start, to).subList(from - start, to - start).clear();
+			for(int i=0; i<10; i++){
+				int index = random.nextInt(expected.size() + 1);
+				tested.add(index, Integer.valueOf(-index));
+				expected.add(index, Integer.valueOf(-index));
+				index = random.nextInt(expected.size());
+				assertEquals(expected.remove(index), tested.remove(index));
+			}
+			assertEquals(expected.size(), tested.size());
+			if(vector instanceof ChunkedVector) assertTrue(vector.capacity() <= 2 * vector.size() + 4);
+		}
+		assertArrayEquals(expected.toArray(), tested.toArray());
+	}
+
+	/**
+     * Test of the bulk reads of the list
+     * <p>
+     * <br><br>Summary: 				toArray() and getElements() copy the same elements as the reference list, whatever range is read
+     * <br><br>Design test: 			filling both lists with 1000 integers and an insertion in the middle, so that the gap or the
+	 * 									chunks of the vector are not aligned with the list, then reading random ranges of the lists
+	 * 									and of a sublist into a buffer reused at random offsets
+     * <br><br>Preconditions: 			toArray() and get() of the reference list must be correctly implemented
+     * <br><br>Postconditions: 		the lists are not changed by the reads
+     * <br><br>Expected results: 		the slices copied are the same for both lists, the slots of the buffer outside the slice are untouched
+     */
+	@Test
+	public void testBulkRead()
+	{
+		System.out.println("----- Bulk reads on " + backing + " -----");
+
+		for(int i=0; i<1000; i++){
+			tested.add(Integer.valueOf(i));
+			expected.add(Integer.valueOf(i));
+		}
+		tested.add(300, Integer.valueOf(-1));
+		expected.add(300, Integer.valueOf(-1));
+		assertArrayEquals(expected.toArray(), tested.toArray());
+		Integer[] typed = (Integer[]) tested.toArray(new Integer[0]);
+		assertEquals(1001, typed.length);
+		assertEquals(Integer.valueOf(-1), typed[300]);
+
+		ListAdapter list = (ListAdapter) tested;
+		ListAdapter sub = (ListAdapter) tested.subList(100, 900);
+		HList expectedSub = expected.subList(100, 900);
+		Random random = new Random(11);
+		Object[] buffer = new Object[300];
+		for(int step=0; step<200; step++){
+			boolean onSub = step % 2 == 0;
+			HList e = onSub ? expectedSub : expected;
+			int from = random.nextInt(e.size()), to = from + random.nextInt(Math.min(e.size() - from, buffer.length) + 1);
+			int offset = random.nextInt(buffer.length - (to - from) + 1);
+			java.util.Arrays.fill(buffer, "Hulk");
+			(onSub ? sub : list).getElements(from, to, buffer, offset);
+			for(int i=0; i<buffer.length; i++){
+				if(i < offset || i >= offset + to - from) assertEquals("Hulk", buffer[i]);
+				else assertEquals(e.get(from + i - offset), buffer[i]);
+			}
+		}
+	}
+
+	public static void iterate(HIterator iter)
+	{
+		TestList.iterate(iter);
+	}
+
+	/**
+     * Test of the parallel streams of the list
+     * <p>
+     * <br><br>Summary: 				the vector under test can be read by the threads of a parallel stream at the same time
+     * <br><br>Design test: 			filling both lists with 50000 integers and summing them and their sublists with parallel streams
+     * <br><br>Preconditions: 			the spliterator of the reference list must be correctly implemented
+     * <br><br>Postconditions: 		the lists are not changed by the streams
+     * <br><br>Expected results: 		the sums and the elements collected are the same for both lists
+     */
+	@Test
+	public void testParallelStream()
+	{
+		System.out.println("----- Parallel streams on " + backing + " -----");
+
+		for(int i=0; i<50000; i++){
+			tested.add(Integer.valueOf(i * 7 % 1000));
+			expected.add(Integer.valueOf(i * 7 % 1000));
+		}
+		for(int round=0; round<5; round++){
+			HList t = tested.subList(round * 100, 50000 - round * 100), e = expected.subList(round * 100, 50000 - round * 100);
+			assertEquals(e.stream().mapToLong(obj -> ((Integer) obj).longValue()).sum(),
+					t.parallelStream().mapToLong(obj -> ((Integer) obj).longValue()).sum());
+			assertArrayEquals(e.stream().filter(obj -> ((Integer) obj).intValue() < 10).toArray(),
+					t.parallelStream().filter(obj -> ((Integer) obj).intValue() < 10).toArray());
+		}
+	}
+}
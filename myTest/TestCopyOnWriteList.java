@@ -0,0 +1,260 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of {@link myAdapter.CopyOnWriteListAdapter}
+ * <p>
+ * <p>
+ * Summary: this class tests the methods of HList on a copy-on-write list, its snapshot iterators, its sublists
+ * and the reads made while other threads change the list
+ * <br><br>
+ * Design test: the results of the methods are compared with the ones of a ListAdapter on which the same
+ * operations are made, then the list is changed while it is iterated and while other threads read it
+ * <br><br>
+ * Description: the behaviour of ListAdapter is already tested by {@link myTest.TestList}, so it is used as reference
+ * <br><br>
+ * Preconditions: a new CopyOnWriteListAdapter and a new ListAdapter containing {1, 2, 3, 4, 5} are instantiated before each test
+ * <br><br>
+ * Postconditions: the two lists contain the same elements after every change
+ * <br><br>
+ * Execution variables:
+ * <br>CopyOnWriteListAdapter list - list on which the methods are tested
+ * <br>HList expected - ListAdapter on which the same operations are made
+ *
+ * @see myAdapter.CopyOnWriteListAdapter
+ */
+public class TestCopyOnWriteList
+{
+	CopyOnWriteListAdapter list = null;
+	HList expected = null;
+	volatile boolean stop = false;
+
+	@Before
+	public void setup()
+	{
+		System.out.println("Instantiate a CopyOnWriteListAdapter and a ListAdapter with {1, 2, 3, 4, 5}...");
+		expected = new ListAdapter();
+		for(int i=1; i<=5; i++) expected.add(Integer.valueOf(i));
+		list = new CopyOnWriteListAdapter(expected);
+	}
+
+	@After
+	public void cleanup()
+	{
+		System.out.println();
+	}
+
+	/**
+     * Test of the methods of HList
+     * <p>
+     * <br><br>Summary: 				the methods give the same results as on a ListAdapter
+     * <br><br>Design test: 			inserting, replacing, searching and removing elements, also null, in both lists
+     * <br><br>Preconditions: 			the lists must contain {1, 2, 3, 4, 5}
+     * <br><br>Postconditions: 		the lists contain the same elements
+     * <br><br>Expected results: 		the same return values, IndexOutOfBoundsException for the illegal indexes
+     */
+	@Test
+	public void testMethods()
+	{
+		System.out.println("----- Test of the methods of HList -----");
+
+		Integer two = Integer.valueOf(2);
+		assertTrue(list.add(two));
+		expected.add(two);
+		list.add(0, null);
+		expected.add(0, null);
+		assertEquals(expected.set(3, "Hulk"), list.set(3, "Hulk"));
+		assertArrayEquals(expected.toArray(), list.toArray());
+		assertEquals(expected.indexOf(two), list.indexOf(two));
+		assertEquals(expected.lastIndexOf(two), list.lastIndexOf(two));
+		assertEquals(0, list.indexOf(null));
+		assertTrue(list.contains("Hulk"));
+		assertTrue(list.containsAll(expected));
+		assertEquals(expected.hashCode(), list.hashCode());
+		assertTrue(list.equals(new CopyOnWriteListAdapter(expected)));
+
+		assertEquals(expected.remove(1), list.remove(1));
+		assertEquals(expected.remove(two), list.remove(two));
+		assertFalse(list.remove("Thor"));
+		HList some = new ListAdapter();
+		some.add(null);
+		some.add(Integer.valueOf(5));
+		assertTrue(list.removeAll(some));
+		expected.removeAll(some);
+		assertFalse(list.removeAll(some));
+		assertTrue(list.addAll(1, some));
+		expected.addAll(1, some);
+		assertArrayEquals(expected.toArray(), list.toArray());
+		assertTrue(list.retainAll(some));
+		assertArrayEquals(some.toArray(), list.toArray());
+		assertArrayEquals(new Object[]{null, Integer.valueOf(5), null}, list.toArray(new Object[]{"a", "b", "c"}));
+
+		System.out.println("Adding an element at an illegal index...");
+		try{
+			list.add(3, "Loki");
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IndexOutOfBoundsException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		list.clear();
+		assertTrue(list.isEmpty());
+		assertFalse(list.addAll(new ListAdapter()));
+		assertTrue(new CopyOnWriteListAdapter().isEmpty());
+	}
+
+	/**
+     * Test of the snapshot iterators
+     * <p>
+     * <br><br>Summary: 				the iterators walk the list as it was when they were created
+     * <br><br>Design test: 			changing the list at every step of an iteration in both directions
+     * <br><br>Preconditions: 			the list must contain {1, 2, 3, 4, 5}
+     * <br><br>Postconditions: 		the changes are made only through the list
+     * <br><br>Expected results: 		the iterators return the old elements and never throw ConcurrentModificationException,
+     * 									remove(), set() and add() throw UnsupportedOperationException
+     */
+	@Test
+	public void testIterators()
+	{
+		System.out.println("----- Test of the snapshot iterators -----");
+
+		HListIterator it = list.listIterator(2);
+		assertEquals(2, it.nextIndex());
+		int i = 3;
+		while(it.hasNext()){
+			assertEquals(Integer.valueOf(i++), it.next());
+			list.add(0, "Hulk");
+			list.remove(list.size() - 1);
+		}
+		assertEquals(5, it.nextIndex());
+		list.clear();
+		while(it.hasPrevious()) assertEquals(Integer.valueOf(--i), it.previous());
+		assertEquals(-1, it.previousIndex());
+		assertTrue(list.isEmpty());
+
+		System.out.println("Calling next() at the end of an iterator...");
+		try{
+			list.iterator().next();
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(NoSuchElementException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		System.out.println("Removing an element through an iterator...");
+		try{
+			it.next();
+			it.remove();
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(UnsupportedOperationException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+	}
+
+	/**
+     * Test of {@link myAdapter.CopyOnWriteListAdapter#subList(int, int)}
+     * <p>
+     * <br><br>Summary: 				the sublists are views of the list at any depth, they are invalidated by the changes made without them
+     * <br><br>Design test: 			changing the list through nested sublists, then through a sibling of a sublist
+     * <br><br>Preconditions: 			the lists must contain {1, 2, 3, 4, 5}
+     * <br><br>Postconditions: 		the changes made through the sublists are seen by the list and by the enclosing sublists
+     * <br><br>Expected results: 		a sublist used after a change made in another way throws ConcurrentModificationException
+     */
+	@Test
+	public void testSubList()
+	{
+		System.out.println("----- Test of the sublists -----");
+
+		HList sub = list.subList(1, 4);
+		HList subsub = sub.subList(1, 2);
+		subsub.add("Hulk");
+		expected.subList(1, 4).subList(1, 2).add("Hulk");
+		subsub.remove(0);
+		expected.subList(1, 5).subList(1, 3).remove(0);
+		sub.add(0, "Thor");
+		expected.add(1, "Thor");
+		assertArrayEquals(expected.toArray(), list.toArray());
+		assertArrayEquals(new Object[]{"Thor", Integer.valueOf(2), "Hulk", Integer.valueOf(4)}, sub.toArray());
+		assertEquals(1, sub.indexOf(Integer.valueOf(2)));
+		sub.subList(0, 2).clear();
+		assertEquals(2, sub.size());
+		assertEquals(4, list.size());
+
+		HList sibling = list.subList(0, 1);
+		sibling.set(0, "Loki");
+		assertEquals("Loki", list.get(0));
+		System.out.println("Reading a sublist after a change made through another sublist...");
+		try{
+			sub.get(0);
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(ConcurrentModificationException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		list.add("Thor");
+		System.out.println("Changing a sublist after a change of the list...");
+		try{
+			sibling.add("Hulk");
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(ConcurrentModificationException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		assertEquals(5, list.size());
+	}
+
+	/**
+     * Test of the reads made while the list is changed
+     * <p>
+     * <br><br>Summary: 				the readers always see a whole state of the list and are never blocked
+     * <br><br>Design test: 			four threads iterate and search the list while the main thread appends 20000 elements,
+     * 									replaces them and removes them in order
+     * <br><br>Preconditions: 			the list must contain {1, 2, 3, 4, 5}
+     * <br><br>Postconditions: 		the list contains {1, 2, 3, 4, 5} again
+     * <br><br>Expected results: 		every state read is a sequence of consecutive integers, no thread throws an exception
+     */
+	@Test
+	public void testConcurrentReads() throws InterruptedException
+	{
+		System.out.println("----- Test of the reads made while the list is changed -----");
+
+		final Throwable[] failure = {null};
+		Thread[] readers = new Thread[4];
+		for(int t=0; t<readers.length; t++){
+			readers[t] = new Thread(new Runnable() {
+				public void run()
+				{
+					try{
+						while(!stop){
+							HIterator it = list.iterator();
+							int expectedValue = 1;
+							while(it.hasNext()) assertEquals(expectedValue++, ((Integer) it.next()).intValue());
+							int size = list.size();
+							assertTrue(size >= 5);
+							assertTrue(list.contains(Integer.valueOf(5)));
+						}
+					} catch(Throwable e){
+						failure[0] = e;
+					}
+				}
+			});
+			readers[t].start();
+		}
+		for(int i=6; i<20000; i++) list.add(Integer.valueOf(i));
+		for(int i=5; i<19999; i++) list.set(i, Integer.valueOf(i + 1));
+		while(list.size() > 5) list.remove(list.size() - 1);
+		stop = true;
+		for(int t=0; t<readers.length; t++) readers[t].join();
+		assertNull(failure[0]);
+		assertArrayEquals(expected.toArray(), list.toArray());
+	}
+}
@@ -0,0 +1,258 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of {@link myAdapter.GrowthPolicy} and of the trimming of the vectors of {@link myAdapter.ListAdapter}
+ * <p>
+ * <p>
+ * Summary: this class tests that the vectors grow as their policy says, that the lists can be presized and that a list
+ * with a minimum occupancy trims its vector when it shrinks
+ * <br><br>
+ * Design test: the lists are filled and emptied while the capacity of their vectors is compared with the one computed
+ * by hand after every step
+ * <br><br>
+ * Description: the capacity doesn't change the elements of the lists, which are checked by {@link myTest.TestList} and
+ * {@link myTest.TestBacking}, here the elements are only checked after the vectors have been reallocated
+ * <br><br>
+ * Preconditions: none, every test creates its lists
+ * <br><br>
+ * Postconditions: the lists always contain the elements inserted and not removed
+ *
+ * @see myAdapter.GrowthPolicy
+ * @see myAdapter.ListAdapter#setMinOccupancy(float)
+ */
+public class TestGrowthPolicy
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@After
+	public void cleanup()
+	{
+		System.out.println();
+	}
+
+	/**
+	 * Fills list with the Integers from 0 to n-1 and returns the capacities taken by vector while growing
+	 */
+	private static String fill(HList list, Vector vector, int n)
+	{
+		StringBuilder capacities = new StringBuilder().append(vector.capacity());
+		for(int i=0; i<n; i++){
+			int capacity = vector.capacity();
+			list.add(Integer.valueOf(i));
+			if(vector.capacity() != capacity) capacities.append(" ").append(vector.capacity());
+		}
+		return capacities.toString();
+	}
+
+	/**
+     * Test of the policies
+     * <p>
+     * <br><br>Summary: 				the multiplicative, additive and capped policies compute the expected capacities
+     * <br><br>Design test: 			asking the policies the new capacity of some vectors, then creating them with illegal arguments
+     * <br><br>Preconditions: 			none
+     * <br><br>Postconditions: 		none
+     * <br><br>Expected results: 		the capacities computed by hand, never more than Integer.MAX_VALUE, IllegalArgumentException
+	 * 									for a factor not greater than 1 and an increment less than 1, NullPointerException for a
+	 * 									capped policy without base
+     */
+	@Test
+	public void testPolicies() throws Exception
+	{
+		System.out.println("----- Test of the policies -----");
+
+		assertEquals(20, GrowthPolicy.DOUBLING.newCapacity(10, 11));
+		assertEquals(15, GrowthPolicy.multiplicative(1.5).newCapacity(10, 11));
+		assertEquals(Integer.MAX_VALUE, GrowthPolicy.multiplicative(3).newCapacity(Integer.MAX_VALUE / 2, Integer.MAX_VALUE / 2 + 1));
+		assertEquals(42, GrowthPolicy.additive(32).newCapacity(10, 11));
+		assertEquals(Integer.MAX_VALUE, GrowthPolicy.additive(32).newCapacity(Integer.MAX_VALUE - 1, Integer.MAX_VALUE));
+		GrowthPolicy capped = GrowthPolicy.capped(GrowthPolicy.DOUBLING, 100);
+		assertEquals(160, capped.newCapacity(80, 81));
+		assertEquals(260, capped.newCapacity(160, 161));
+		assertEquals("capped(multiplicative(2.0), 100)", capped.toString());
+
+		Object[] illegal = {Double.valueOf(1), Double.valueOf(Double.NaN), Integer.valueOf(0), null};
+		for(int i=0; i<illegal.length; i++){
+			System.out.println("Creating a policy with " + illegal[i] + "...");
+			try{
+				if(illegal[i] instanceof Double) GrowthPolicy.multiplicative(((Double) illegal[i]).doubleValue());
+				else if(illegal[i] instanceof Integer) GrowthPolicy.capped(GrowthPolicy.DOUBLING, ((Integer) illegal[i]).intValue());
+				else GrowthPolicy.capped(null, 10);
+				throw new Exception();
+			} catch(Exception e){
+				assertEquals(illegal[i] == null ? NullPointerException.class : IllegalArgumentException.class, e.getClass());
+				System.out.println("Correctly, failed.");
+			}
+		}
+	}
+
+	/**
+     * Test of the growth of the vectors
+     * <p>
+     * <br><br>Summary: 				the vectors of the lists grow following their policy, or their capacityIncrement without one
+     * <br><br>Design test: 			filling lists backed by vectors of every kind with a policy, recording every capacity taken
+	 * 									by the vectors, then presizing a list
+     * <br><br>Preconditions: 			none
+     * <br><br>Postconditions: 		the lists contain the elements inserted
+     * <br><br>Expected results: 		the capacities computed by hand, a policy that grows too little is ignored, the presized list
+	 * 									never grows, IllegalArgumentException for a negative capacity
+     */
+	@Test
+	public void testGrowth() throws Exception
+	{
+		System.out.println("----- Test of the growth of the vectors -----");
+
+		Vector vector = new Vector();
+		ListAdapter list = ListAdapter.backedBy(vector);
+		assertNull(list.getGrowthPolicy());
+		assertEquals("10 20 40 80", fill(list, vector, 50));
+
+		Vector[] vectors = {new Vector(), new GapVector(), new IntVector(), new LongVector(), new DoubleVector(),
+				new OffHeapVector(ElementCodec.INT, 10)};
+		for(int v=0; v<vectors.length; v++){
+			ListAdapter backed = ListAdapter.backedBy(vectors[v]);
+			backed.setGrowthPolicy(GrowthPolicy.capped(GrowthPolicy.multiplicative(1.5), 100));
+			if(vectors[v] instanceof LongVector){
+				for(int i=0; i<300; i++) backed.add(Long.valueOf(i));
+			} else if(vectors[v] instanceof DoubleVector){
+				for(int i=0; i<300; i++) backed.add(Double.valueOf(i));
+			} else assertEquals("10 15 22 33 49 73 109 163 244 344", fill(backed, vectors[v], 300));
+			assertEquals(344, vectors[v].capacity());
+			assertEquals(300, backed.size());
+			HList sub = backed.subList(0, 10);
+			assertSame(backed.getGrowthPolicy(), ((ListAdapter) sub).getGrowthPolicy());
+		}
+
+		vector = new Vector(10, 5);
+		list = ListAdapter.backedBy(vector);
+		list.setGrowthPolicy(GrowthPolicy.additive(1));
+		vector.ensureCapacity(50);
+		assertEquals(50, vector.capacity());
+		list.setGrowthPolicy(null);
+		assertEquals("50 55", fill(list, vector, 51));
+
+		System.out.println("Presizing a list for 1000 elements...");
+		list = new ListAdapter(1000);
+		ListMetrics metrics = new ListMetrics();
+		list.setMetrics(metrics);
+		for(int i=0; i<1000; i++) list.add(Integer.valueOf(i));
+		assertEquals(0, metrics.getGrowths());
+		assertEquals(Integer.valueOf(999), list.get(999));
+		assertEquals(0, new ListAdapter(0).size());
+
+		System.out.println("Presizing a list for -1 elements...");
+		try{
+			new ListAdapter(-1);
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IllegalArgumentException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+	}
+
+	/**
+     * Test of the trimming of the vectors
+     * <p>
+     * <br><br>Summary: 				a list with a minimum occupancy trims its vector when it is emptied or shrinks under the
+	 * 									occupancy, whatever list removes the elements
+     * <br><br>Design test: 			filling lists of 1000 elements, then removing elements from them, from their sublists and
+	 * 									through their iterators, checking the capacity of their vectors after every step, then
+	 * 									closing an off-heap and a mapped list
+     * <br><br>Preconditions: 			none
+     * <br><br>Postconditions: 		the lists contain the elements not removed and can grow again
+     * <br><br>Expected results: 		the vectors are trimmed only when the elements fill less than the occupancy and they hold
+	 * 									more than 16 elements, never without occupancy or once closed, IllegalArgumentException for an occupancy
+	 * 									that is not between 0 and 1
+     */
+	@Test
+	public void testTrimming() throws Exception
+	{
+		System.out.println("----- Test of the trimming of the vectors -----");
+
+		Vector vector = new Vector();
+		ListAdapter list = ListAdapter.backedBy(vector);
+		fill(list, vector, 1000);
+		list.clear();
+		assertEquals(1280, vector.capacity());
+		assertEquals(0.0f, list.getMinOccupancy(), 0);
+
+		Vector[] vectors = {new Vector(), new GapVector(), new IntVector(), new OffHeapVector(ElementCodec.INT, 10)};
+		for(int v=0; v<vectors.length; v++){
+			list = ListAdapter.backedBy(vectors[v]);
+			fill(list, vectors[v], 1000);
+			assertEquals(1280, vectors[v].capacity());
+			HList sub = list.subList(200, 1000);
+			list.setMinOccupancy(0.25f);
+			assertEquals(0.25f, ((ListAdapter) sub).getMinOccupancy(), 0);
+			sub.subList(500, 800).clear();
+			assertEquals(1280, vectors[v].capacity());
+			sub.subList(119, 500).clear();
+			assertEquals(319, vectors[v].capacity());
+			assertEquals(319, list.size());
+			assertEquals(Integer.valueOf(318), list.get(318));
+			HIterator it = list.iterator();
+			for(int i=0; i<250; i++){
+				assertEquals(Integer.valueOf(i), it.next());
+				it.remove();
+			}
+			assertEquals(79, vectors[v].capacity());
+			assertEquals(Integer.valueOf(250), it.next());
+			list.clear();
+			assertEquals(0, vectors[v].capacity());
+			fill(list, vectors[v], 20);
+			assertEquals(Integer.valueOf(19), list.get(19));
+		}
+
+		System.out.println("Emptying a small list...");
+		vector = new Vector(16);
+		list = ListAdapter.backedBy(vector);
+		list.setMinOccupancy(1);
+		fill(list, vector, 15);
+		list.remove(0);
+		assertEquals(16, vector.capacity());
+		list.trimToSize();
+		assertEquals(14, vector.capacity());
+
+		System.out.println("Emptying a list backed by a ChunkedVector...");
+		ChunkedVector chunked = new ChunkedVector(4);
+		list = ListAdapter.backedBy(chunked);
+		list.setMinOccupancy(0.5f);
+		fill(list, chunked, 1000);
+		list.subList(0, 990).clear();
+		assertTrue(chunked.capacity() < 100);
+		assertEquals(Integer.valueOf(990), list.get(0));
+
+		System.out.println("Closing an off-heap and a mapped list...");
+		OffHeapListAdapter[] closed = {new OffHeapListAdapter(ElementCodec.INT),
+				new MappedListAdapter(folder.getRoot().toPath().resolve("trimmed.list"), ElementCodec.INT)};
+		for(int c=0; c<closed.length; c++){
+			closed[c].setMinOccupancy(0.25f);
+			for(int i=0; i<1000; i++) closed[c].add(Integer.valueOf(i));
+			closed[c].subList(0, 990).clear();
+			assertEquals(10, closed[c].size());
+			closed[c].close();
+			assertTrue(closed[c].isClosed());
+			assertEquals(0, closed[c].size());
+		}
+
+		float[] illegal = {-0.1f, 1.5f, Float.NaN};
+		for(int i=0; i<illegal.length; i++){
+			System.out.println("Setting an occupancy of " + illegal[i] + "...");
+			try{
+				list.setMinOccupancy(illegal[i]);
+				throw new Exception();
+			} catch(Exception e){
+				assertEquals(IllegalArgumentException.class, e.getClass());
+				System.out.println("Correctly, failed.");
+			}
+		}
+	}
+}
@@ -956,6 +956,49 @@ public class TestList
 		iterate(l1.iterator());
 	}
 
+	/**
+     * Test the {@link myAdapter.ListAdapter#addAll(int, HCollection)} method on a sublist of a sublist
+     * <p>
+     *
+     * <br><br>Summary: 			Testing that a collection inserted at once in a deep sublist is backed by all the fathers
+     * <br><br>Design test: 		creating a sublist of a sublist of the pre-filled list and adding a whole list at index 1 of the deepest one,
+	 * 								then adding the deepest sublist to itself
+     * <br><br>Preconditions:		subList(), size() and toArray() must be working correctly
+     * <br><br>Postconditions: 		every father must grow of the number of elements inserted, which must appear in order at the right index
+     * <br><br>Expected results: 	the three lists must have the elements inserted in the same order and the right sizes, adding the sublist
+	 * 								to itself must double its content
+     */
+	@Test
+	public void testAddAllDeepSublist(){
+
+		System.out.println("----- Testing addAll on a sublist of a sublist -----");
+
+		l2.add("CapitainAmerica");
+		l2.add("Spiderman");
+		HList l3 = l2.subList(1, 4);
+		HList l4 = l3.subList(1, 3);
+		System.out.println("l4 contains: ");
+		iterate(l4.iterator());
+
+		l1.add("Loki");
+		l1.add("Thanos");
+		System.out.println("Adding {\"Loki\", \"Thanos\"} to l4 at index 1...");
+		l4.addAll(1, l1);
+		assertEquals("addAll not backed by the father", 5, l3.size());
+		assertEquals("addAll not backed by the father's father", 7, l2.size());
+		assertArrayEquals("addAll with index not working", new Object[]{"Hulk", "Loki", "Thanos", "CapitainAmerica"}, l4.toArray());
+		assertArrayEquals("addAll not backed by the father's father", new Object[]{"Ironman", "Thor", "Hulk", "Loki", "Thanos", "CapitainAmerica", "Spiderman"}, l2.toArray());
+		iterate(l2.iterator());
+
+		System.out.println("Adding l4 to itself...");
+		l4.addAll(l4);
+		assertEquals("addAll of the list itself not working", 8, l4.size());
+		assertEquals("addAll not backed by the father's father", 11, l2.size());
+		assertEquals("addAll of the list itself not working", "CapitainAmerica", l4.get(7));
+		assertEquals("Father modified outside of the sublist", "Spiderman", l2.get(10));
+		iterate(l2.iterator());
+	}
+
 	/**
      * Test the {@link myAdapter.ListAdapter#add(Object)} , {@link myAdapter.ListAdapter#add(int, Object)} methods in critical
 	 * situations
@@ -1099,6 +1142,262 @@ public class TestList
 		iterate(l2.iterator());
 	}
 
+	/**
+     * Test the {@link myAdapter.ListAdapter#clear()} method on a sublist of a sublist
+     * <p>
+     *
+     * <br><br>Summary: 			Verify that clearing a range through a deep sublist is backed by all the fathers
+     * <br><br>Design test:			filling a list, creating a sublist of a sublist in the middle of it and clearing the deepest one
+     * <br><br>Preconditions: 		subList(), size() and toArray() are implemented correctly
+     * <br><br>Postconditions: 		every father must lose exactly the elements of the cleared range, elements out of the range are kept in order
+     * <br><br>Expected results: 	the deepest sublist is empty, the fathers are smaller by the size of the range and keep their other elements
+     */
+	@Test
+	public void testClearDeepSublist(){
+		System.out.println("----- Clear Testing on a sublist of a sublist -----");
+
+		for(int i=0; i<argv.length; i++) l1.add(argv[i]);
+		HList l3 = l1.subList(1, 5);
+		HList l4 = l3.subList(1, 3);
+		System.out.println("Clearing {\"pluto\", \"paperino\"} through the deepest sublist...");
+		l4.clear();
+
+		assertEquals("Clear not working", 0, l4.size());
+		assertEquals("Clear not backed by the father", 2, l3.size());
+		assertEquals("Clear not backed by the father's father", argv.length-2, l1.size());
+		assertArrayEquals("Clear removed the wrong range", new Object[]{"qui", "qui"}, l3.toArray());
+		assertArrayEquals("Clear removed the wrong range", new Object[]{"pippo", "qui", "qui", "ciccio"}, l1.toArray());
+		iterate(l1.iterator());
+	}
+
+	/**
+     * Test of the bounds of many nested sublists and of sibling sublists
+     * <p>
+     *
+     * <br><br>Summary: 			Verify that the changes made through a sublist are seen by all its fathers, whatever the depth, and that sibling sublists keep their elements
+     * <br><br>Design test:			creating a chain of hundreds of nested sublists and changing the list through the deepest one thousands
+     * 								of times, then changing two sibling sublists of the same list
+     * <br><br>Preconditions: 		subList(), add(), remove() and size() are implemented correctly
+     * <br><br>Postconditions: 		every list of the chain has the right size, the sibling sublists still contain their own elements
+     * <br><br>Expected results: 	the sizes of the fathers grow and shrink with the deepest sublist, a change in a sublist moves the siblings after it
+     */
+	@Test
+	public void testNestedSublistBounds(){
+		System.out.println("----- Bounds of nested and sibling sublists -----");
+
+		for(int i=0; i<1000; i++) l1.add(Integer.valueOf(i));
+		HList[] chain = new HList[300];
+		chain[0] = l1;
+		for(int i=1; i<chain.length; i++) chain[i] = chain[i-1].subList(1, chain[i-1].size()-1);
+		HList deepest = chain[chain.length-1];
+		assertEquals(1000 - 2*(chain.length-1), deepest.size());
+
+		System.out.println("Adding and removing elements through the deepest sublist...");
+		for(int i=0; i<3000; i++) deepest.add(0, "Hulk");
+		for(int i=0; i<1000; i++) assertEquals("Hulk", deepest.remove(0));
+		for(int i=0; i<chain.length; i++)
+			assertEquals("Add not backed by the father " + i, 1000 - 2*i + 2000, chain[i].size());
+		assertEquals(Integer.valueOf(chain.length-1), deepest.get(2000));
+		deepest.clear();
+		assertEquals(2*(chain.length-1), l1.size());
+		assertEquals(Integer.valueOf(999), l1.get(l1.size()-1));
+
+		System.out.println("Changing two sibling sublists...");
+		HList l5 = new ListAdapter();
+		l5.add("pippo");
+		l5.add("pluto");
+		l5.add("qui");
+		l5.add("quo");
+		HList left = l5.subList(0, 2), right = l5.subList(2, 4);
+		right.add(0, "paperino");
+		left.add("ciccio");
+		assertArrayEquals(new Object[]{"pippo", "pluto", "ciccio"}, left.toArray());
+		assertArrayEquals(new Object[]{"paperino", "qui", "quo"}, right.toArray());
+		left.remove(0);
+		assertEquals("paperino", right.get(0));
+		assertArrayEquals(new Object[]{"pluto", "ciccio", "paperino", "qui", "quo"}, l5.toArray());
+		iterate(l5.iterator());
+	}
+
+	/**
+     * Test of {@link myAdapter.ListAdapter#spliterator()}, stream() and parallelStream()
+     * <p>
+     *
+     * <br><br>Summary: 			Verify that the streams of a list and of its sublists return its elements in order, also in parallel
+     * <br><br>Design test:			splitting the spliterator of a list by hand, then summing and collecting the elements of a big list
+     * 								and of one of its sublists with sequential and parallel streams
+     * <br><br>Preconditions: 		add(), subList() and size() are implemented correctly
+     * <br><br>Postconditions: 		the list is not changed by the streams
+     * <br><br>Expected results: 	the two halves of a split cover the list, the streams return the same results as a loop over the list
+     */
+	@Test
+	public void testStream(){
+		System.out.println("----- Stream Test -----");
+
+		java.util.Spliterator split = l2.spliterator();
+		l2.add("Blackwidow");
+		assertEquals(4, split.estimateSize());
+		assertTrue(split.hasCharacteristics(java.util.Spliterator.SIZED | java.util.Spliterator.SUBSIZED | java.util.Spliterator.ORDERED));
+		java.util.Spliterator prefix = split.trySplit();
+		assertEquals(2, prefix.estimateSize());
+		assertEquals(2, split.estimateSize());
+		final StringBuilder names = new StringBuilder();
+		prefix.forEachRemaining(obj -> names.append(obj).append(' '));
+		while(split.tryAdvance(obj -> names.append(obj).append(' ')));
+		assertEquals("Ironman Thor Hulk Blackwidow ", names.toString());
+		assertNull(l1.spliterator().trySplit());
+
+		System.out.println("Summing 100000 integers with parallel streams...");
+		for(int i=0; i<100000; i++) l1.add(Integer.valueOf(i));
+		HList sub = l1.subList(1000, 99000).subList(1000, 97000);
+		long expected = 0;
+		for(int i=2000; i<98000; i++) expected += i;
+		assertEquals(expected, sub.stream().mapToLong(obj -> ((Integer) obj).longValue()).sum());
+		assertEquals(expected, sub.parallelStream().mapToLong(obj -> ((Integer) obj).longValue()).sum());
+		Object[] collected = l1.parallelStream().filter(obj -> ((Integer) obj).intValue() % 1000 == 0).toArray();
+		assertEquals(100, collected.length);
+		for(int i=0; i<collected.length; i++) assertEquals(Integer.valueOf(i * 1000), collected[i]);
+		assertEquals(100000, l1.size());
+	}
+
+	/**
+     * Test of {@link myAdapter.ListAdapter#setParallelThreshold(int)} and {@link myAdapter.ListAdapter#setForkJoinPool}
+     * <p>
+     *
+     * <br><br>Summary: 			Verify that the parallel bulk operations return the same results as the sequential ones
+     * <br><br>Design test:			filling two lists with the same 10000 elements, also null, then comparing hashCode(), equals(), indexOf(),
+     * 								lastIndexOf(), contains() and containsAll() of the lists and of their sublists with a threshold of 100, run
+     * 								by the common pool and by a pool with 3 threads, with the results given without a threshold
+     * <br><br>Preconditions: 		add(), subList() and the sequential bulk operations are implemented correctly
+     * <br><br>Postconditions: 		the lists are not changed by the operations
+     * <br><br>Expected results: 	the same results with and without a threshold, IllegalArgumentException for a threshold less than 1
+     */
+	@Test
+	public void testParallelBulkOperations() throws InterruptedException
+	{
+		System.out.println("----- Parallel bulk operations Test -----");
+
+		ListAdapter sequential = new ListAdapter(), parallel = new ListAdapter();
+		for(int i=0; i<10000; i++){
+			Object obj = (i % 997 == 0) ? null : Integer.valueOf(i % 5000);
+			sequential.add(obj);
+			parallel.add(obj);
+		}
+		assertEquals(Integer.MAX_VALUE, parallel.getParallelThreshold());
+		assertSame(java.util.concurrent.ForkJoinPool.commonPool(), parallel.getForkJoinPool());
+		int hashCode = sequential.hashCode();
+		HList sequentialSub = sequential.subList(1234, 8765);
+		int subHashCode = sequentialSub.hashCode();
+		parallel.setParallelThreshold(100);
+		ListAdapter parallelSub = (ListAdapter) parallel.subList(1234, 8765);
+		assertEquals(100, parallelSub.getParallelThreshold());
+
+		java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(3);
+		for(int round=0; round<2; round++){
+			assertEquals(hashCode, parallel.hashCode());
+			assertEquals(subHashCode, parallelSub.hashCode());
+			assertTrue(parallel.equals(sequential));
+			assertTrue(parallelSub.equals(sequentialSub));
+			assertFalse(parallelSub.equals(parallel.subList(1235, 8766)));
+			Object[] searched = {Integer.valueOf(0), Integer.valueOf(4999), Integer.valueOf(1234), null, "Hulk"};
+			for(int i=0; i<searched.length; i++){
+				assertEquals(sequential.indexOf(searched[i]), parallel.indexOf(searched[i]));
+				assertEquals(sequential.lastIndexOf(searched[i]), parallel.lastIndexOf(searched[i]));
+				assertEquals(sequentialSub.indexOf(searched[i]), parallelSub.indexOf(searched[i]));
+				assertEquals(sequentialSub.lastIndexOf(searched[i]), parallelSub.lastIndexOf(searched[i]));
+				assertEquals(sequentialSub.contains(searched[i]), parallelSub.contains(searched[i]));
+			}
+			HList some = new ListAdapter(sequential.subList(4000, 4200));
+			some.add(null);
+			assertTrue(parallel.containsAll(some, ListAdapter.LOOKUP_SCAN));
+			assertTrue(parallelSub.containsAll(some, ListAdapter.LOOKUP_SCAN));
+			some.add(100, "Hulk");
+			assertFalse(parallel.containsAll(some, ListAdapter.LOOKUP_SCAN));
+			assertFalse(parallelSub.containsAll(some, ListAdapter.LOOKUP_SCAN));
+			parallelSub.setForkJoinPool(pool);
+			parallel.setForkJoinPool(pool);
+			assertSame(pool, parallel.getForkJoinPool());
+		}
+		pool.shutdown();
+		assertEquals(10000, parallel.size());
+
+		System.out.println("Setting a threshold of 0...");
+		try{
+			parallel.setParallelThreshold(0);
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IllegalArgumentException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+	}
+
+	/**
+     * Test of {@link myAdapter.ListAdapter#getElements(int, int, Object[], int)} and of the runtime type of toArray(Object[])
+     * <p>
+     *
+     * <br><br>Summary: 			Verify that a range of the list is copied into a buffer at an offset, and that toArray(Object[])
+     * 								allocates an array of the type of the target when the target is too small
+     * <br><br>Design test:			copying ranges of a list and of a sublist into a reused buffer, reading the list into a String[]
+     * 								that is too small and into one that is too big, then passing illegal ranges, offsets and arrays
+     * <br><br>Preconditions: 		add(), subList() and toArray() are implemented correctly
+     * <br><br>Postconditions: 		the list is not changed
+     * <br><br>Expected results: 	the elements copied are the ones of the range, IndexOutOfBoundsException for the illegal ranges
+     * 								and offsets, ArrayStoreException for an array that can't hold the elements
+     */
+	@Test
+	public void testGetElements()
+	{
+		System.out.println("----- getElements Test -----");
+
+		ListAdapter list = (ListAdapter) l2;
+		list.add("Blackwidow");
+		Object[] buffer = new Object[5];
+		list.getElements(1, 3, buffer, 2);
+		assertArrayEquals(new Object[]{null, null, "Thor", "Hulk", null}, buffer);
+		((ListAdapter) list.subList(2, 4)).getElements(0, 2, buffer, 0);
+		assertArrayEquals(new Object[]{"Hulk", "Blackwidow", "Thor", "Hulk", null}, buffer);
+		list.getElements(4, 4, buffer, 5);
+
+		String[] names = (String[]) list.toArray(new String[1]);
+		assertArrayEquals(new String[]{"Ironman", "Thor", "Hulk", "Blackwidow"}, names);
+		String[] big = new String[]{"a", "b", "c", "d", "e", "f"};
+		assertSame(big, list.subList(1, 3).toArray(big));
+		assertArrayEquals(new String[]{"Thor", "Hulk", null, null, null, null}, big);
+
+		System.out.println("Copying a range out of the list...");
+		try{
+			list.getElements(2, 5, buffer, 0);
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IndexOutOfBoundsException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		System.out.println("Copying a range that doesn't fit in the buffer from the offset...");
+		try{
+			list.getElements(0, 3, buffer, 3);
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IndexOutOfBoundsException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		System.out.println("Copying strings into an array of Integer...");
+		try{
+			list.getElements(0, 1, new Integer[1], 0);
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(ArrayStoreException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		System.out.println("Copying into a null array...");
+		try{
+			list.getElements(0, 1, null, 0);
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(NullPointerException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+	}
+
 	/**Test of {@link myAdapter.ListAdapter#contains(Object)}
      * <p>	
      * <br><br>Summary: 				Verifies that the method returns true if and only if the container contains the specified element
@@ -1236,6 +1535,93 @@ public class TestList
 
 	}
 
+	/**
+	 * @return the hash code of list computed as defined by {@link myAdapter.HList#hashCode()}
+	 */
+	static int definedHashCode(HList list)
+	{
+		int hashCode = 1;
+		HIterator it = list.iterator();
+		while(it.hasNext()){
+			Object obj = it.next();
+			hashCode = 31 * hashCode + (obj == null ? 0 : obj.hashCode());
+		}
+		return hashCode;
+	}
+
+	/**
+     * Test of {@link myAdapter.ListAdapter#equals(Object)} with other lists and of the cached {@link myAdapter.ListAdapter#hashCode()}
+     * <p>
+     * <br><br>Summary: 					equals() accepts any HList, hashCode() stays right when the list is changed after it has been cached
+     * <br><br>Design test: 				comparing l2 with a CopyOnWriteListAdapter, a StripedListAdapter and sublists in both directions, then
+	 * 										changing l2 and its sublists with every kind of method, also through iterators and through the father of
+	 * 										a sublist, checking after each change that hashCode() is the one computed by definition
+     * <br><br>Preconditions: 				l2 must contain {"Ironman", "Thor", "Hulk"}
+     * <br><br>Postconditions: 				the hash codes of the lists always follow their elements
+     * <br><br>Expected results: 			equal lists of any class are equal in both directions and have the same hash code
+     */
+	@Test
+	public void testEqualsOtherListsAndHashCache()
+	{
+		System.out.println("----- Equals with other lists and cached hashCode Test -----");
+
+		HList copyOnWrite = new CopyOnWriteListAdapter(l2), striped = new StripedListAdapter(l2);
+		assertTrue(l2.equals(copyOnWrite));
+		assertTrue(copyOnWrite.equals(l2));
+		assertTrue(l2.equals(striped));
+		assertTrue(striped.equals(l2));
+		assertEquals(copyOnWrite.hashCode(), l2.hashCode());
+		copyOnWrite.add("Loki");
+		assertFalse(l2.equals(copyOnWrite));
+		copyOnWrite.remove(3);
+		copyOnWrite.set(2, null);
+		assertFalse(l2.equals(copyOnWrite));
+		assertTrue(l2.equals(l2.subList(0, 3)));
+		assertTrue(l2.subList(1, 3).equals(new ListAdapter(l2.subList(1, 3))));
+
+		HList sub = l2.subList(1, 3);
+		int hashCode = sub.hashCode();
+		assertEquals(definedHashCode(l2), l2.hashCode());
+		l2.add("Loki");
+		assertEquals(definedHashCode(l2), l2.hashCode());
+		assertEquals(hashCode, sub.hashCode());
+		sub.add(null);
+		assertEquals(definedHashCode(sub), sub.hashCode());
+		assertEquals(definedHashCode(l2), l2.hashCode());
+		HList more = new ListAdapter();
+		more.add("Vision");
+		more.add("Wanda");
+		l2.addAll(more);
+		assertEquals(definedHashCode(l2), l2.hashCode());
+		sub.set(0, "Odin");
+		assertEquals(definedHashCode(l2), l2.hashCode());
+		l2.set(1, "Thor");
+		assertEquals(definedHashCode(sub), sub.hashCode());
+		HListIterator it = l2.listIterator();
+		it.next();
+		it.set("Hawkeye");
+		assertEquals(definedHashCode(l2), l2.hashCode());
+		it = sub.listIterator();
+		it.next();
+		it.remove();
+		assertEquals(definedHashCode(l2), l2.hashCode());
+		assertEquals(definedHashCode(sub), sub.hashCode());
+		l2.removeAll(more);
+		assertEquals(definedHashCode(l2), l2.hashCode());
+		assertTrue(l2.equals(new StripedListAdapter(l2)));
+		sub.clear();
+		assertEquals(1, sub.hashCode());
+		assertEquals(definedHashCode(l2), l2.hashCode());
+
+		IntListAdapter ints = new IntListAdapter(new int[]{1, 2, 3});
+		hashCode = ints.hashCode();
+		ints.setInt(0, 5);
+		assertNotEquals(hashCode, ints.hashCode());
+		assertEquals(definedHashCode(ints), ints.hashCode());
+		assertTrue(ints.equals(new ListAdapter(ints)));
+		assertTrue(new ListAdapter(ints).equals(ints));
+	}
+
 	/**
      * Test of {@link myAdapter.ListAdapter#get(int)}
      * <p>
@@ -1684,6 +2070,164 @@ public class TestList
 		iterate(l2.iterator());
 	}
 
+	/**
+     * Test of {@link myAdapter.ListAdapter#removeAll(HCollection)} and {@link myAdapter.ListAdapter#retainAll(HCollection)} on a sublist
+	 * of a sublist
+     * <p>
+     * <br><br>Summary: 					Verifies that the elements removed from a deep sublist leave the survivors in order and are backed by all the fathers
+     * <br><br>Design test: 				filling a list with repeated elements, removing and then retaining elements scattered in a sublist of a sublist,
+	 * 										also passing the sublist itself as a parameter
+     * <br><br>Preconditions: 				subList(), size() and toArray() must be correctly implemented
+     * <br><br>Postconditions: 				only the elements inside the deepest sublist are affected, the fathers lose the same elements
+     * <br><br>Expected results: 			the survivors keep their relative order in all the lists and the sizes decrease by the number of removed elements
+     */
+	@Test
+	public void testRemoveAllDeepSublist(){
+		System.out.println("----- RemoveAll and RetainAll on a sublist of a sublist -----");
+
+		for(int i=0; i<argv.length; i++) l1.add(argv[i]);
+		for(int i=0; i<argv.length; i++) l1.add(argv[i]);
+		HList l3 = l1.subList(1, l1.size()-1);
+		HList l4 = l3.subList(1, l3.size()-1);
+		System.out.println("l4 contains: ");
+		iterate(l4.iterator());
+
+		l2.clear();
+		l2.add("qui");
+		l2.add("ciccio");
+		System.out.println("Removing {\"qui\", \"ciccio\"} from l4...");
+		assertTrue("remove all didn't work", l4.removeAll(l2));
+		assertArrayEquals(new Object[]{"pluto", "paperino", "pippo", "pluto", "paperino"}, l4.toArray());
+		assertEquals("remove all not backed by the father", l4.size()+2, l3.size());
+		assertArrayEquals(new Object[]{"pippo", "qui", "pluto", "paperino", "pippo", "pluto", "paperino", "qui", "ciccio"}, l1.toArray());
+
+		l2.clear();
+		l2.add("pluto");
+		System.out.println("Retaining {\"pluto\"} in l4...");
+		assertTrue("retain all didn't work", l4.retainAll(l2));
+		assertArrayEquals(new Object[]{"pluto", "pluto"}, l4.toArray());
+		assertArrayEquals(new Object[]{"pippo", "qui", "pluto", "pluto", "qui", "ciccio"}, l1.toArray());
+
+		System.out.println("Retaining l4 in itself and removing l4 from itself...");
+		assertFalse("retain all of itself changed the list", l4.retainAll(l4));
+		assertTrue("remove all of itself didn't work", l4.removeAll(l4));
+		assertTrue(l4.isEmpty());
+		assertEquals("remove all not backed by the father", 2, l3.size());
+		assertEquals("remove all not backed by the father's father", 4, l1.size());
+		iterate(l1.iterator());
+	}
+
+	/**
+     * Test of {@link myAdapter.ListAdapter#removeAll(HCollection, int)}, {@link myAdapter.ListAdapter#retainAll(HCollection, int)}
+	 * and {@link myAdapter.ListAdapter#containsAll(HCollection, int)}
+     * <p>
+     * <br><br>Summary: 					Verifies that the hash lookup gives the same results as the scan of the collection
+     * <br><br>Design test: 				the same operations are invoked with both strategies on copies of the same lists, with the parameter collection
+	 * 										both smaller and bigger than the list, with repeated and null elements. Also tested the default strategy
+	 * 										with a big collection whose contains() is not based on equals(), with a sorted list and the other lists of
+	 * 										myAdapter as parameters, an unknown strategy and a negative threshold
+     * <br><br>Preconditions: 				the constructor ListAdapter(HCollection), add(Object) and toArray() must be correctly implemented
+     * <br><br>Postconditions: 				the lists modified with the two strategies must contain the same elements in the same order
+     * <br><br>Expected results: 			same results and same content for both strategies, the default strategy follows the contains() of a
+	 * 										collection that is not a list of myAdapter and hashes the lists of myAdapter even when the list is
+	 * 										sorted, IllegalArgumentException for the illegal parameters
+     */
+	@Test
+	public void testBulkLookupStrategies(){
+		System.out.println("----- Bulk operations with hash and scan lookups -----");
+
+		for(int i=0; i<argv.length; i++) l1.add(argv[i]);
+		l1.add(null);
+		for(int i=0; i<argv.length; i++) l1.add(argv[i]);
+
+		HList small = new ListAdapter();
+		small.add("qui");
+		small.add(null);
+		small.add("Hulk");
+		HList big = new ListAdapter(l1);
+		big.removeAll(small);
+		for(int i=0; i<40; i++) big.add("Loki" + i);
+
+		HList[] params = {small, big, l2};
+		for(int p=0; p<params.length; p++){
+			System.out.println("Parameter of size " + params[p].size() + "...");
+			ListAdapter hashed = new ListAdapter(l1), scanned = new ListAdapter(l1);
+			assertEquals("containsAll differs", scanned.containsAll(params[p], ListAdapter.LOOKUP_SCAN), hashed.containsAll(params[p], ListAdapter.LOOKUP_HASH));
+			assertEquals("removeAll differs", scanned.removeAll(params[p], ListAdapter.LOOKUP_SCAN), hashed.removeAll(params[p], ListAdapter.LOOKUP_HASH));
+			assertArrayEquals("removeAll differs", scanned.toArray(), hashed.toArray());
+
+			hashed = new ListAdapter(l1);
+			scanned = new ListAdapter(l1);
+			assertEquals("retainAll differs", scanned.retainAll(params[p], ListAdapter.LOOKUP_SCAN), hashed.retainAll(params[p], ListAdapter.LOOKUP_HASH));
+			assertArrayEquals("retainAll differs", scanned.toArray(), hashed.toArray());
+			iterate(hashed.iterator());
+		}
+
+		System.out.println("Checking containsAll with the list bigger than the parameter...");
+		small.remove("Hulk");
+		assertTrue(((ListAdapter) l1).containsAll(small, ListAdapter.LOOKUP_HASH));
+		small.add("Thanos");
+		assertFalse(((ListAdapter) l1).containsAll(small, ListAdapter.LOOKUP_HASH));
+
+		System.out.println("Removing the elements of a big collection whose contains() compares the references...");
+		HList identity = new ListAdapter(){
+			@Override
+			public boolean contains(Object obj){
+				for(int i=0; i<size(); i++) if(get(i) == obj) return true;
+				return false;
+			}
+		};
+		ListAdapter lokis = new ListAdapter();
+		for(int i=0; i<40; i++){
+			lokis.add("Loki" + i);
+			identity.add(new String("Loki" + i));
+		}
+		assertFalse(lokis.removeAll(identity));
+		assertTrue(lokis.containsAll(identity));
+		assertTrue(lokis.retainAll(identity));
+		assertTrue(lokis.isEmpty());
+		for(int i=0; i<40; i++) lokis.add(identity.get(i));
+		assertTrue(lokis.removeAll(identity));
+		assertTrue(lokis.isEmpty());
+
+		System.out.println("Removing and retaining big lists of myAdapter from a sorted list...");
+		SortedListAdapter sorted = new SortedListAdapter();
+		ListMetrics metrics = new ListMetrics();
+		lokis.setMetrics(metrics);
+		for(int i=0; i<40; i++){
+			sorted.add("Loki" + i);
+			lokis.add("Loki" + (i + 20));
+		}
+		assertTrue(sorted.removeAll(lokis));
+		assertEquals(0, metrics.getLinearScans());
+		assertEquals(20, sorted.size());
+		HList[] others = {new CopyOnWriteListAdapter(lokis), new StripedListAdapter(lokis)};
+		for(int o=0; o<others.length; o++){
+			assertFalse(sorted.removeAll(others[o]));
+			assertTrue(sorted.containsAll(sorted));
+			ListAdapter copy = new ListAdapter(lokis);
+			copy.add(0, "Thanos");
+			assertTrue(copy.retainAll(others[o]));
+			assertEquals(40, copy.size());
+		}
+
+		System.out.println("Passing an unknown strategy and a negative threshold...");
+		try{
+			((ListAdapter) l1).removeAll(small, 42);
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IllegalArgumentException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		try{
+			((ListAdapter) l1).setHashThreshold(-1);
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IllegalArgumentException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+	}
+
 	/**
      * Test of {@link myAdapter.ListAdapter#set(int, Object)}
      * <p>
@@ -0,0 +1,239 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of {@link myAdapter.ListEvents}
+ * <p>
+ * <p>
+ * Summary: this class tests that the lists and the vectors emit a JFR event for every operation whose cost reaches
+ * the threshold, and only for those
+ * <br><br>
+ * Design test: a flight recording with the events of myAdapter is started in the test JVM, some cheap and some
+ * expensive operations are run, then the recording is dumped and its events are read back and checked
+ * <br><br>
+ * Preconditions: the threshold of the events is set to 100 elements before each test and restored after it
+ * <br><br>
+ * Postconditions: the recording is closed
+ * <br><br>
+ * Execution variables:
+ * <br>Recording recording - flight recording with the three events of myAdapter and no duration threshold
+ *
+ * @see myAdapter.ListEvents
+ */
+public class TestListEvents
+{
+	Recording recording = null;
+	int threshold;
+
+	@Before
+	public void setup()
+	{
+		System.out.println("Start a flight recording of the events of myAdapter...");
+		threshold = ListEvents.getThreshold();
+		ListEvents.setThreshold(100);
+		recording = new Recording();
+		recording.enable("myAdapter.VectorShift").withoutThreshold();
+		recording.enable("myAdapter.VectorGrowth").withoutThreshold();
+		recording.enable("myAdapter.ListScan").withoutThreshold();
+		recording.start();
+	}
+
+	@After
+	public void cleanup()
+	{
+		recording.close();
+		ListEvents.setThreshold(threshold);
+		System.out.println();
+	}
+
+	private List stop() throws Exception
+	{
+		recording.stop();
+		Path file = Files.createTempFile("list-events", ".jfr");
+		try{
+			recording.dump(file);
+			return RecordingFile.readAllEvents(file);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	private static int count(List events, String name)
+	{
+		int n = 0;
+		for(int i=0; i<events.size(); i++){
+			if(((RecordedEvent) events.get(i)).getEventType().getName().equals(name)) n++;
+		}
+		return n;
+	}
+
+	private static RecordedEvent first(List events, String name)
+	{
+		for(int i=0; i<events.size(); i++){
+			RecordedEvent event = (RecordedEvent) events.get(i);
+			if(event.getEventType().getName().equals(name)) return event;
+		}
+		return null;
+	}
+
+	/**
+     * Test of the events of the vectors
+     * <p>
+     * <br><br>Summary: 				the shifts and the growths of at least 100 components emit an event, the smaller ones don't
+     * <br><br>Design test: 			filling a list of 1000 elements, inserting and removing at its end and at its start, then
+	 * 									reading the recorded events
+     * <br><br>Preconditions: 			the recording must be running
+     * <br><br>Postconditions: 		the list contains the 1000 elements
+     * <br><br>Expected results: 		one shift event for each operation at the start, with the range of the moved components,
+	 * 									and one growth event for every reallocation that copied at least 100 components
+     */
+	@Test
+	public void testVectorEvents() throws Exception
+	{
+		System.out.println("----- Test of the events of the vectors -----");
+
+		ListAdapter list = new ListAdapter();
+		for(int i=0; i<1000; i++) list.add(Integer.valueOf(i));
+		list.add(995, "Thor");
+		list.remove(995);
+		list.add(0, "Hulk");
+		list.remove(0);
+		assertEquals(1000, list.size());
+
+		List events = stop();
+		assertEquals(2, count(events, "myAdapter.VectorShift"));
+		RecordedEvent shift = first(events, "myAdapter.VectorShift");
+		assertEquals(0, shift.getInt("rangeStart"));
+		assertEquals(1000, shift.getInt("rangeEnd"));
+		assertEquals(1000, shift.getInt("size"));
+		assertTrue(shift.getStackTrace() != null);
+		// the capacity goes from 10 to 20, 40... 1280: only the growths from 160 on copy at least 100 components
+		assertEquals(3, count(events, "myAdapter.VectorGrowth"));
+		RecordedEvent growth = first(events, "myAdapter.VectorGrowth");
+		assertEquals(160, growth.getInt("copied"));
+		assertEquals(320, growth.getInt("newCapacity"));
+		assertEquals(shift.getLong("vectorId"), growth.getLong("vectorId"));
+		assertEquals(0, count(events, "myAdapter.ListScan"));
+	}
+
+	/**
+     * Test of the events of a ChunkedVector
+     * <p>
+     * <br><br>Summary: 				the shifts inside a chunk emit an event with the range of the vector they moved, the splits of
+	 * 									the chunks don't emit any
+     * <br><br>Design test: 			filling a list of 1000 elements backed by a ChunkedVector with chunks of 256 components, which
+	 * 									splits a chunk every 128 elements, then inserting and removing at the second element of its second chunk
+     * <br><br>Preconditions: 			the recording must be running
+     * <br><br>Postconditions: 		the list contains the 1000 elements
+     * <br><br>Expected results: 		two shift events of 127 components, the first one from index 129 to 256 of the vector, no
+	 * 									shift counted by the metrics while the list is filled
+     */
+	@Test
+	public void testChunkedEvents() throws Exception
+	{
+		System.out.println("----- Test of the events of a ChunkedVector -----");
+
+		ListAdapter list = ListAdapter.backedBy(new ChunkedVector(256));
+		ListMetrics metrics = new ListMetrics();
+		list.setMetrics(metrics);
+		for(int i=0; i<1000; i++) list.add(Integer.valueOf(i));
+		assertEquals(0, metrics.getShiftedElements());
+		list.add(129, "Thor");
+		list.remove(129);
+		assertEquals(254, metrics.getShiftedElements());
+		assertEquals(Integer.valueOf(129), list.get(129));
+
+		List events = stop();
+		assertEquals(2, count(events, "myAdapter.VectorShift"));
+		RecordedEvent shift = first(events, "myAdapter.VectorShift");
+		assertEquals(129, shift.getInt("rangeStart"));
+		assertEquals(256, shift.getInt("rangeEnd"));
+		for(int i=0; i<events.size(); i++){
+			RecordedEvent event = (RecordedEvent) events.get(i);
+			if(event.getEventType().getName().equals("myAdapter.VectorShift") && event != shift)
+				assertEquals(130, event.getInt("rangeStart"));
+		}
+	}
+
+	/**
+     * Test of the events of the searches
+     * <p>
+     * <br><br>Summary: 				the searches and the bulk operations over at least 100 elements emit an event with the range
+	 * 									they examined, the ones over fewer elements and the ones answered by a hash index don't
+     * <br><br>Design test: 			searching a list of 1000 elements, a sublist of 50 elements and a list backed by an IndexedVector,
+	 * 									then finding elements after a few and after 200 elements
+     * <br><br>Preconditions: 			the recording must be running
+     * <br><br>Postconditions: 		the lists are not changed by the searches
+     * <br><br>Expected results: 		one event for each search and bulk operation on the big list, with its name, the id of the
+	 * 									backing vector shared with the sublists and the range of the backing vector, IllegalArgumentException
+	 * 									for a threshold less than 1
+     */
+	@Test
+	public void testScanEvents() throws Exception
+	{
+		System.out.println("----- Test of the events of the searches -----");
+
+		ListAdapter list = new ListAdapter(), indexed = ListAdapter.backedBy(new IndexedVector());
+		for(int i=0; i<1000; i++){
+			list.add(Integer.valueOf(i));
+			indexed.add(Integer.valueOf(i));
+		}
+		HList sub = list.subList(100, 250);
+		HList small = sub.subList(0, 50);
+		assertEquals(-1, sub.indexOf("Thor"));
+		assertFalse(small.contains("Thor"));
+		assertEquals(999, indexed.lastIndexOf(Integer.valueOf(999)));
+		HList some = new ListAdapter();
+		some.add(Integer.valueOf(500));
+		assertTrue(list.containsAll(some));
+		assertFalse(list.removeAll(new ListAdapter()));
+		assertEquals(1, sub.indexOf(Integer.valueOf(101)));
+		assertEquals(800, list.lastIndexOf(Integer.valueOf(800)));
+
+		List events = stop();
+		assertEquals(4, count(events, "myAdapter.ListScan"));
+		RecordedEvent scan = first(events, "myAdapter.ListScan");
+		assertEquals("indexOf", scan.getString("operation"));
+		assertEquals(150, scan.getInt("size"));
+		assertEquals(100, scan.getInt("rangeStart"));
+		assertEquals(250, scan.getInt("rangeEnd"));
+		int found = 0;
+		for(int i=0; i<events.size(); i++){
+			RecordedEvent event = (RecordedEvent) events.get(i);
+			if(!event.getEventType().getName().equals("myAdapter.ListScan")) continue;
+			assertEquals(scan.getLong("vectorId"), event.getLong("vectorId"));
+			String operation = event.getString("operation");
+			if(operation.equals("containsAll") || operation.equals("removeAll")) found++;
+			if(operation.equals("lastIndexOf")){
+				assertEquals(1000, event.getInt("size"));
+				assertEquals(800, event.getInt("rangeStart"));
+				assertEquals(1000, event.getInt("rangeEnd"));
+				found++;
+			}
+		}
+		assertEquals(3, found);
+
+		System.out.println("Setting a threshold of 0...");
+		try{
+			ListEvents.setThreshold(0);
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IllegalArgumentException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+	}
+}
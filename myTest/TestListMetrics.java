@@ -0,0 +1,271 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of {@link myAdapter.ListMetrics}
+ * <p>
+ * <p>
+ * Summary: this class tests that the metrics attached to a list count exactly the operations made through the list,
+ * its sublists and its iterators, and that the named metrics are exported through JMX
+ * <br><br>
+ * Design test: known sequences of operations are run on lists backed by the vectors whose cost is easy to compute,
+ * then every counter is compared with the expected value
+ * <br><br>
+ * Description: the operations of the lists are already tested by {@link myTest.TestList} and {@link myTest.TestBacking},
+ * here only the counters are checked
+ * <br><br>
+ * Preconditions: a new ListAdapter backed by a Vector with capacity 10 and containing the Integers from 0 to 9 is
+ * instantiated before each test, with new metrics that are not registered
+ * <br><br>
+ * Postconditions: the metrics never change the elements of the lists
+ * <br><br>
+ * Execution variables:
+ * <br>ListAdapter list - list whose operations are counted
+ * <br>ListMetrics metrics - metrics attached to list
+ *
+ * @see myAdapter.ListMetrics
+ */
+public class TestListMetrics
+{
+	ListAdapter list = null;
+	ListMetrics metrics = null;
+
+	@Before
+	public void setup()
+	{
+		System.out.println("Instantiate a ListAdapter with the Integers from 0 to 9 and its metrics...");
+		list = new ListAdapter();
+		for(int i=0; i<10; i++) list.add(Integer.valueOf(i));
+		metrics = new ListMetrics();
+		list.setMetrics(metrics);
+	}
+
+	@After
+	public void cleanup()
+	{
+		System.out.println();
+	}
+
+	/**
+     * Test of the counters
+     * <p>
+     * <br><br>Summary: 				every counter follows the operations made through the list, its sublists and its iterators
+     * <br><br>Design test: 			reading, inserting, removing and searching elements and checking after each step the counters
+	 * 									against the cost of the operation on a Vector, then detaching and resetting the metrics
+     * <br><br>Preconditions: 			the list must contain the Integers from 0 to 9 and fill the capacity of its vector
+     * <br><br>Postconditions: 		the counters are 0 after reset() and don't change when the metrics are detached
+     * <br><br>Expected results: 		the exact number of operations, shifted elements, growths and scanned elements
+     */
+	@Test
+	public void testCounters()
+	{
+		System.out.println("----- Test of the counters -----");
+
+		assertSame(metrics, list.getMetrics());
+		assertNull(metrics.getName());
+		list.get(3);
+		list.get(9);
+		assertEquals(2, metrics.getGets());
+		assertEquals(0, metrics.getGrowths());
+
+		list.add(Integer.valueOf(10));
+		assertEquals(1, metrics.getGrowths());
+		assertEquals(96, metrics.getAllocatedBytes());
+		assertEquals(0, metrics.getPositionalInserts());
+		list.add(0, Integer.valueOf(-1));
+		assertEquals(1, metrics.getPositionalInserts());
+		assertEquals(11, metrics.getShiftedElements());
+		list.add(list.size(), Integer.valueOf(11));
+		assertEquals(1, metrics.getPositionalInserts());
+		assertEquals(11, metrics.getShiftedElements());
+		list.remove(0);
+		assertEquals(1, metrics.getPositionalRemoves());
+		assertEquals(23, metrics.getShiftedElements());
+
+		assertEquals(4, list.indexOf(Integer.valueOf(4)));
+		assertEquals(1, metrics.getLinearScans());
+		assertEquals(5, metrics.getScannedElements());
+		assertFalse(list.contains("Thor"));
+		assertEquals(2, metrics.getLinearScans());
+		assertEquals(17, metrics.getScannedElements());
+		assertEquals(10, list.lastIndexOf(Integer.valueOf(10)));
+		assertEquals(19, metrics.getScannedElements());
+		assertTrue(list.remove(Integer.valueOf(0)));
+		assertEquals(3, metrics.getPositionalRemoves() + metrics.getPositionalInserts());
+		assertEquals(20, metrics.getScannedElements());
+
+		ListAdapter sub = (ListAdapter) list.subList(2, 5);
+		assertSame(metrics, sub.getMetrics());
+		sub.get(0);
+		sub.add(1, "Hulk");
+		sub.add("Loki");
+		assertEquals(3, metrics.getGets());
+		assertEquals(2, metrics.getPositionalInserts());
+		HListIterator it = sub.listIterator();
+		it.next();
+		it.add("Thor");
+		it.next();
+		it.remove();
+		assertEquals(3, metrics.getPositionalInserts());
+		assertEquals(3, metrics.getPositionalRemoves());
+		assertArrayEquals(new Object[]{3, "Thor", 4, 5, "Loki"}, sub.toArray());
+
+		list.setMetrics(null);
+		assertNull(sub.getMetrics());
+		long gets = metrics.getGets();
+		list.get(0);
+		list.add(0, "Vision");
+		assertEquals(gets, metrics.getGets());
+		assertEquals(3, metrics.getPositionalInserts());
+		metrics.reset();
+		assertEquals(0, metrics.getShiftedElements());
+		assertEquals(0, metrics.getScannedElements());
+		assertEquals(0, metrics.getAllocatedBytes());
+	}
+
+	/**
+     * Test of the named metrics
+     * <p>
+     * <br><br>Summary: 				named() returns the same metrics for the same name and exports them through the platform MBeanServer
+     * <br><br>Design test: 			attaching the metrics of the same name to two lists, reading and resetting them through JMX,
+	 * 									then unregistering them
+     * <br><br>Preconditions: 			no metrics are registered with the name used by the test
+     * <br><br>Postconditions: 		the metrics are no longer registered
+     * <br><br>Expected results: 		the attributes read through JMX are the sums of the two lists, NullPointerException for a null name
+     */
+	@Test
+	public void testNamedMetrics() throws Exception
+	{
+		System.out.println("----- Test of the named metrics -----");
+
+		String name = "TestListMetrics, \"named\"";
+		ListMetrics named = ListMetrics.named(name);
+		assertSame(named, ListMetrics.named(name));
+		assertEquals(name, named.getName());
+		ListAdapter other = new ListAdapter(list);
+		list.setMetrics(named);
+		other.setMetrics(named);
+		list.remove(0);
+		other.remove(9);
+		other.get(0);
+
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName objectName = ListMetrics.objectName(name);
+		assertTrue(server.isRegistered(objectName));
+		assertEquals(Long.valueOf(2), server.getAttribute(objectName, "PositionalRemoves"));
+		assertEquals(Long.valueOf(9), server.getAttribute(objectName, "ShiftedElements"));
+		assertEquals(Long.valueOf(1), server.getAttribute(objectName, "Gets"));
+		server.invoke(objectName, "reset", null, null);
+		assertEquals(0, named.getPositionalRemoves());
+		assertEquals(0, metrics.getPositionalRemoves());
+
+		assertTrue(ListMetrics.unregister(name));
+		assertFalse(server.isRegistered(objectName));
+		assertFalse(ListMetrics.unregister(name));
+		assertNotSame(named, ListMetrics.named(name));
+		assertTrue(ListMetrics.unregister(name));
+
+		System.out.println("Asking the metrics of a null name...");
+		try{
+			ListMetrics.named(null);
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(NullPointerException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+	}
+
+	/**
+     * Test of the metrics of the other vectors
+     * <p>
+     * <br><br>Summary: 				the vectors that store the elements differently record what they really move and allocate
+     * <br><br>Design test: 			inserting 100 elements at the same index of lists of 1000 elements backed by a Vector, a
+	 * 									GapVector, a ChunkedVector and an IntVector, and searching a list backed by an IndexedVector
+     * <br><br>Preconditions: 			none
+     * <br><br>Postconditions: 		the lists contain the same elements
+     * <br><br>Expected results: 		the GapVector and the ChunkedVector shift far fewer elements than the Vector, the searches
+	 * 									of the IndexedVector are not linear scans
+     */
+	@Test
+	public void testBackings()
+	{
+		System.out.println("----- Test of the metrics of the other vectors -----");
+
+		Vector[] backings = {new Vector(), new GapVector(), new ChunkedVector(), new IntVector()};
+		long[] shifted = new long[backings.length];
+		for(int b=0; b<backings.length; b++){
+			ListAdapter backed = ListAdapter.backedBy(backings[b]);
+			for(int i=0; i<1000; i++) backed.add(Integer.valueOf(i));
+			ListMetrics counted = new ListMetrics();
+			backed.setMetrics(counted);
+			for(int i=0; i<100; i++) backed.add(10, Integer.valueOf(-i));
+			assertEquals(100, counted.getPositionalInserts());
+			shifted[b] = counted.getShiftedElements();
+			assertEquals(1100, backed.size());
+		}
+		assertEquals(100 * 990 + 99 * 100 / 2, shifted[0]);
+		assertEquals(shifted[0], shifted[3]);
+		assertEquals(990 + 99, shifted[1]);
+		assertTrue(shifted[2] < shifted[0] / 10);
+
+		ListAdapter indexed = ListAdapter.backedBy(new IndexedVector());
+		ListMetrics counted = new ListMetrics();
+		indexed.setMetrics(counted);
+		for(int i=0; i<100; i++) indexed.add(Integer.valueOf(i));
+		assertEquals(50, indexed.indexOf(Integer.valueOf(50)));
+		assertEquals(-1, indexed.lastIndexOf(Integer.valueOf(500)));
+		assertEquals(0, counted.getLinearScans());
+		assertTrue(counted.getGrowths() > 0);
+	}
+
+	/**
+     * Test of the searches of a sublist
+     * <p>
+     * <br><br>Summary: 				the searches of a sublist examine only the elements of the sublist, whatever the vector
+     * <br><br>Design test: 			searching elements that are in the list but not in a sublist of 50 elements, and elements
+	 * 									that are in both, through lists of 1000 elements backed by vectors of every kind
+     * <br><br>Preconditions: 			the lists must contain the Integers from 0 to 99 ten times
+     * <br><br>Postconditions: 		the lists are not changed
+     * <br><br>Expected results: 		the elements out of the sublist are not found and every search that misses examines 50
+	 * 									elements, none with an IndexedVector
+     */
+	@Test
+	public void testSublistScans()
+	{
+		System.out.println("----- Test of the searches of a sublist -----");
+
+		Vector[] backings = {new Vector(), new GapVector(), new ChunkedVector(4), new IntVector(),
+				new OffHeapVector(ElementCodec.INT), new IndexedVector()};
+		for(int b=0; b<backings.length; b++){
+			ListAdapter backed = ListAdapter.backedBy(backings[b]);
+			for(int i=0; i<1000; i++) backed.add(Integer.valueOf(i % 100));
+			backed.add(325, Integer.valueOf(-1));
+			backed.remove(325);
+			ListMetrics counted = new ListMetrics();
+			backed.setMetrics(counted);
+			HList sub = backed.subList(300, 350);
+			assertEquals(-1, sub.indexOf(Integer.valueOf(60)));
+			assertEquals(-1, sub.lastIndexOf(Integer.valueOf(60)));
+			assertFalse(sub.contains(Integer.valueOf(70)));
+			assertFalse(sub.remove(Integer.valueOf(80)));
+			assertEquals(backings[b] instanceof IndexedVector ? 0 : 200, counted.getScannedElements());
+			assertEquals(10, sub.indexOf(Integer.valueOf(10)));
+			assertEquals(49, sub.lastIndexOf(Integer.valueOf(49)));
+			assertTrue(sub.contains(Integer.valueOf(0)));
+			assertEquals(1000, backed.size());
+			assertEquals(Integer.valueOf(60), backed.get(360));
+			assertEquals(60, backed.indexOf(Integer.valueOf(60)));
+			assertEquals(960, backed.lastIndexOf(Integer.valueOf(60)));
+		}
+	}
+}
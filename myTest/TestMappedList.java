@@ -0,0 +1,181 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of {@link myAdapter.MappedListAdapter}
+ * <p>
+ * <p>
+ * Summary: this class tests that a list stored in a memory-mapped file is found again when the file is reopened
+ * <br><br>
+ * Design test: the lists are changed, closed and opened again from the same file, also after the file has been
+ * extended, and files that don't contain a list of the right width are opened
+ * <br><br>
+ * Description: the behaviour of the methods of HList on a mapped vector is already tested by {@link myTest.TestBacking},
+ * this class verifies what is specific of the storage in a file
+ * <br><br>
+ * Preconditions: a new empty MappedListAdapter of Integer is created in a temporary file before each test
+ * <br><br>
+ * Postconditions: the list read from the file contains exactly the elements it had when it was closed
+ * <br><br>
+ * Execution variables:
+ * <br>MappedListAdapter list - list of Integer stored in the file
+ * <br>Path file - the file of the list, deleted after each test
+ *
+ * @see myAdapter.MappedListAdapter
+ * @see myAdapter.MappedVector
+ */
+public class TestMappedList
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	MappedListAdapter list = null;
+	Path file = null;
+
+	@Before
+	public void setup() throws IOException
+	{
+		System.out.println("Create an empty MappedListAdapter in a temporary file...");
+		file = folder.getRoot().toPath().resolve("list.bin");
+		list = new MappedListAdapter(file, ElementCodec.INT, 4);
+	}
+
+	@After
+	public void cleanup()
+	{
+		System.out.println("Closing the file...");
+		list.close();
+		System.out.println();
+	}
+
+	/**
+     * Test of the reopening of a list
+     * <p>
+     * <br><br>Summary: 				a list closed and opened again contains the same elements and can still be changed
+     * <br><br>Design test: 			filling the list beyond its initial capacity, changing it through a sublist, closing it and opening the file
+     * 									again twice
+     * <br><br>Preconditions: 			the constructor MappedListAdapter(Path, ElementCodec, int) must be correctly implemented
+     * <br><br>Postconditions: 		the file contains the list as it was when it was closed
+     * <br><br>Expected results: 		the elements read from the reopened list are those written before closing it
+     */
+	@Test
+	public void testReopen() throws IOException
+	{
+		System.out.println("----- Test of the reopening of a list -----");
+
+		for(int i=0; i<1000; i++) list.add(Integer.valueOf(i));
+		HList sub = list.subList(10, 20);
+		sub.clear();
+		sub.add(Integer.valueOf(-1));
+		list.flush();
+		Object[] content = list.toArray();
+		list.close();
+		assertTrue(list.isEmpty());
+
+		System.out.println("Opening the file again...");
+		list = new MappedListAdapter(file, ElementCodec.INT);
+		assertEquals(991, list.size());
+		assertArrayEquals(content, list.toArray());
+		assertEquals(10, list.indexOf(Integer.valueOf(-1)));
+		list.remove(0);
+		list.add(Integer.valueOf(5000));
+		list.close();
+
+		list = new MappedListAdapter(file, ElementCodec.INT);
+		assertEquals(991, list.size());
+		assertEquals(Integer.valueOf(1), list.get(0));
+		assertEquals(Integer.valueOf(5000), list.get(990));
+	}
+
+	/**
+     * Test of the opening of files that don't contain a list of the right width
+     * <p>
+     * <br><br>Summary: 				a file is opened only if it contains a list stored with a codec of the same width
+     * <br><br>Design test: 			opening the file of a list of Integer with the codec of Long, opening a file of text, opening a truncated file
+     * <br><br>Preconditions: 			none
+     * <br><br>Postconditions: 		the files are left unchanged
+     * <br><br>Expected results: 		IOException is thrown every time
+     */
+	@Test
+	public void testWrongFiles() throws IOException
+	{
+		System.out.println("----- Test of the opening of wrong files -----");
+
+		list.add(Integer.valueOf(42));
+		list.close();
+
+		System.out.println("Opening a list of Integer with the codec of Long...");
+		try{
+			new MappedListAdapter(file, ElementCodec.LONG);
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IOException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+
+		System.out.println("Opening a file of text...");
+		Path text = folder.newFile("text.txt").toPath();
+		Files.write(text, "Hulk is the strongest one there is".getBytes("UTF-8"));
+		try{
+			new MappedListAdapter(text, ElementCodec.INT);
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IOException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+
+		System.out.println("Opening a truncated file...");
+		RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw");
+		raf.setLength(MappedVector.HEADER_SIZE + 2);
+		raf.close();
+		try{
+			new MappedListAdapter(file, ElementCodec.INT);
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IOException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		list = new MappedListAdapter(folder.getRoot().toPath().resolve("other.bin"), ElementCodec.INT);
+		assertTrue(list.isEmpty());
+	}
+
+	/**
+     * Test of the capacity of the file
+     * <p>
+     * <br><br>Summary: 				the file grows with the list and shrinks with trimToSize()
+     * <br><br>Design test: 			adding elements beyond the capacity, removing them and closing the list
+     * <br><br>Preconditions: 			the initial capacity of the list is 4
+     * <br><br>Postconditions: 		the file holds the header and the capacity of the list
+     * <br><br>Expected results: 		the length of the file is the size of the header plus the capacity times the width of the elements
+     */
+	@Test
+	public void testFileLength() throws IOException
+	{
+		System.out.println("----- Test of the length of the file -----");
+
+		assertEquals(MappedVector.HEADER_SIZE + 4 * 4, Files.size(file));
+		for(int i=0; i<5; i++) list.add(Integer.valueOf(i));
+		assertEquals(MappedVector.HEADER_SIZE + 8 * 4, Files.size(file));
+		list.close();
+
+		MappedVector vector = MappedVector.open(file, ElementCodec.INT, 0);
+		assertEquals(5, vector.size());
+		vector.trimToSize();
+		assertEquals(5, vector.capacity());
+		vector.close();
+		assertEquals(MappedVector.HEADER_SIZE + 5 * 4, Files.size(file));
+	}
+}
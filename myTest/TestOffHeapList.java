@@ -0,0 +1,249 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of {@link myAdapter.OffHeapListAdapter}
+ * <p>
+ * <p>
+ * Summary: this class tests the encoding of the elements, the codecs and the release of the memory
+ * <br><br>
+ * Design test: the lists are filled with known values through the predefined codecs and through a codec of records
+ * defined here, then their elements are read back, searched and changed, also after the list has been closed
+ * <br><br>
+ * Description: the behaviour of the methods of HList on any backing vector is already tested by {@link myTest.TestBacking},
+ * this class verifies what is specific of the off-heap storage
+ * <br><br>
+ * Preconditions: a new OffHeapListAdapter of Long containing {10, 20, 30} is instantiated before each test
+ * <br><br>
+ * Postconditions: the elements read are equal to the ones inserted, the list is closed at the end of each test
+ * <br><br>
+ * Execution variables:
+ * <br>OffHeapListAdapter longs - list of Long on which the methods are tested
+ *
+ * @see myAdapter.OffHeapListAdapter
+ * @see myAdapter.ElementCodec
+ */
+public class TestOffHeapList
+{
+	OffHeapListAdapter longs = null;
+
+	/**
+	 * A record of two coordinates, stored in 8 bytes by {@link #CODEC}
+	 */
+	static class Point
+	{
+		final int x, y;
+
+		Point(int x, int y)
+		{
+			this.x = x;
+			this.y = y;
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			return (obj instanceof Point) && ((Point) obj).x == x && ((Point) obj).y == y;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return 31 * x + y;
+		}
+
+		static final ElementCodec CODEC = new ElementCodec() {
+			@Override
+			public int width() { return 8; }
+
+			@Override
+			public void encode(Object obj, ByteBuffer buffer, int offset)
+			{
+				Point p = (Point) obj;
+				buffer.putInt(offset, p.x);
+				buffer.putInt(offset + 4, p.y);
+			}
+
+			@Override
+			public Object decode(ByteBuffer buffer, int offset)
+			{
+				return new Point(buffer.getInt(offset), buffer.getInt(offset + 4));
+			}
+		};
+	}
+
+	@Before
+	public void setup()
+	{
+		System.out.println("Instantiate an OffHeapListAdapter of Long with {10, 20, 30}...");
+		longs = new OffHeapListAdapter(ElementCodec.LONG, 2);
+		longs.add(Long.valueOf(10));
+		longs.add(Long.valueOf(20));
+		longs.add(Long.valueOf(30));
+	}
+
+	@After
+	public void cleanup()
+	{
+		System.out.println("Releasing the memory...");
+		longs.close();
+		System.out.println();
+	}
+
+	/**
+     * Test of the predefined codecs
+     * <p>
+     * <br><br>Summary: 				the elements are read back equal to the ones inserted, searched by value and refused when they can't be encoded
+     * <br><br>Design test: 			inserting values out of the range of int, special double values, null and objects of the wrong class
+     * <br><br>Preconditions: 			the constructor OffHeapListAdapter(ElementCodec, int) must be correctly implemented
+     * <br><br>Postconditions: 		illegal elements are refused without changing the list
+     * <br><br>Expected results: 		the values are kept exactly, null throws NullPointerException and a String throws ClassCastException
+     */
+	@Test
+	public void testCodecs()
+	{
+		System.out.println("----- Test of the predefined codecs -----");
+
+		longs.add(1, Long.valueOf(Long.MIN_VALUE));
+		longs.set(0, Long.valueOf(1L << 40));
+		assertArrayEquals(new Object[]{1L << 40, Long.MIN_VALUE, 20L, 30L}, longs.toArray());
+		assertEquals(1, longs.indexOf(Long.valueOf(Long.MIN_VALUE)));
+		assertEquals(-1, longs.indexOf(Integer.valueOf(20)));
+		assertEquals(-1, longs.indexOf(null));
+		assertFalse(longs.contains("Hulk"));
+
+		System.out.println("Adding null...");
+		try{
+			longs.add(null);
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(NullPointerException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		System.out.println("Replacing an element with a String...");
+		try{
+			longs.set(2, "Hulk");
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(ClassCastException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		assertArrayEquals(new Object[]{1L << 40, Long.MIN_VALUE, 20L, 30L}, longs.toArray());
+
+		OffHeapListAdapter doubles = new OffHeapListAdapter(ElementCodec.DOUBLE);
+		doubles.add(Double.valueOf(0.0));
+		doubles.add(Double.valueOf(Double.NaN));
+		assertEquals(1, doubles.indexOf(Double.valueOf(Double.longBitsToDouble(0x7ff8000000000001L))));
+		assertEquals(-1, doubles.indexOf(Double.valueOf(-0.0)));
+		doubles.close();
+
+		HList source = new ListAdapter();
+		for(int i=0; i<5; i++) source.add(Integer.valueOf(i * 1000));
+		OffHeapListAdapter ints = new OffHeapListAdapter(ElementCodec.INT, source);
+		assertArrayEquals(source.toArray(), ints.toArray());
+		ints.close();
+	}
+
+	/**
+     * Test of a codec of records defined by the user
+     * <p>
+     * <br><br>Summary: 				records of two coordinates are stored in 8 bytes and work with sublists and iterators
+     * <br><br>Design test: 			filling a list of points, searching and removing points through a sublist and its list iterator
+     * <br><br>Preconditions: 			the codec must encode equal points in the same bytes
+     * <br><br>Postconditions: 		the changes made through the sublist are backed by the list
+     * <br><br>Expected results: 		the points read are equal to the ones inserted but they are new objects
+     */
+	@Test
+	public void testRecordCodec()
+	{
+		System.out.println("----- Test of a codec of records -----");
+
+		OffHeapListAdapter points = new OffHeapListAdapter(Point.CODEC);
+		assertSame(Point.CODEC, points.getCodec());
+		Point origin = new Point(0, 0);
+		points.add(origin);
+		for(int i=1; i<=100; i++) points.add(new Point(i, -i));
+		assertEquals(origin, points.get(0));
+		assertNotSame(origin, points.get(0));
+		assertEquals(42, points.indexOf(new Point(42, -42)));
+		assertEquals(-1, points.indexOf(new Point(42, 42)));
+
+		HList sub = points.subList(10, 20);
+		assertTrue(sub.remove(new Point(15, -15)));
+		assertFalse(sub.remove(new Point(25, -25)));
+		HListIterator it = sub.listIterator();
+		while(it.hasNext()){
+			Point p = (Point) it.next();
+			if(p.x % 2 == 0) it.set(new Point(p.y, p.x));
+			else it.remove();
+		}
+		assertArrayEquals(new Object[]{new Point(-10, 10), new Point(-12, 12), new Point(-14, 14), new Point(-16, 16), new Point(-18, 18)}, sub.toArray());
+		assertEquals(96, points.size());
+		assertEquals(new Point(20, -20), points.get(15));
+		points.close();
+	}
+
+	/**
+     * Test of {@link myAdapter.OffHeapListAdapter#close()}
+     * <p>
+     * <br><br>Summary: 				close() empties the list and releases the memory, the list can't be used to store elements anymore
+     * <br><br>Design test: 			closing the list with a sublist still referenced, then adding elements to both, closing the list again,
+	 * 									then closing a vector built on a slice of a direct buffer
+     * <br><br>Preconditions: 			the list must contain {10, 20, 30}
+     * <br><br>Postconditions: 		the list and its sublist are empty
+     * <br><br>Expected results: 		the memory is released at once on this JDK, adding elements throws IllegalStateException, a second
+	 * 									close() does nothing, closing the vector on a slice throws IllegalArgumentException and closes it
+     */
+	@Test
+	public void testClose()
+	{
+		System.out.println("----- Test of close() -----");
+
+		HList sub = longs.subList(1, 3);
+		assertFalse(longs.isClosed());
+		longs.close();
+		assertTrue(longs.isClosed());
+		assertEquals(0, longs.size());
+		assertEquals(0, sub.size());
+
+		System.out.println("Adding an element to a closed list...");
+		try{
+			longs.add(Long.valueOf(40));
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IllegalStateException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		System.out.println("Adding an element to the sublist of a closed list...");
+		try{
+			sub.add(Long.valueOf(40));
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IllegalStateException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		assertEquals(0, longs.size());
+		longs.close();
+
+		System.out.println("Closing a vector stored in a slice of a buffer...");
+		assertTrue(OffHeapVector.releasesOnClose());
+		ByteBuffer slice = ByteBuffer.allocateDirect(64).slice(8, 32);
+		OffHeapVector sliced = new OffHeapVector(ElementCodec.LONG, slice, 0, 0){};
+		try{
+			sliced.close();
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IllegalArgumentException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		assertTrue(sliced.isClosed());
+	}
+}
@@ -0,0 +1,292 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of {@link myAdapter.IntListAdapter}, {@link myAdapter.LongListAdapter} and {@link myAdapter.DoubleListAdapter}
+ * <p>
+ * <p>
+ * Summary: this class tests the methods that work on primitive values and the methods of HList that box them
+ * <br><br>
+ * Design test: the lists are filled with known values, then both the methods ending with Int, Long or Double and the
+ * methods of HList are invoked on the lists, on their sublists and through their iterators
+ * <br><br>
+ * Description: the behaviour of the methods of HList is already tested by {@link myTest.TestList}, this class verifies that
+ * boxed and primitive views of the same elements are consistent and that only legal elements are accepted
+ * <br><br>
+ * Preconditions: a new IntListAdapter containing {1, 2, 3, 1000, 2} is instantiated before each test
+ * <br><br>
+ * Postconditions: the primitive values read after every change are exactly those expected
+ * <br><br>
+ * Execution variables:
+ * <br>IntListAdapter ints - list of int on which the methods are tested
+ *
+ * @see myAdapter.IntListAdapter
+ * @see myAdapter.LongListAdapter
+ * @see myAdapter.DoubleListAdapter
+ */
+public class TestPrimitiveList
+{
+	IntListAdapter ints = null;
+
+	@Before
+	public void setup()
+	{
+		System.out.println("Instantiate an IntListAdapter with {1, 2, 3, 1000, 2}...");
+		ints = new IntListAdapter(new int[]{1, 2, 3, 1000, 2});
+	}
+
+	@After
+	public void cleanup()
+	{
+		System.out.println("Purge all remaining elements...");
+		ints.clear();
+		System.out.println();
+	}
+
+	/**
+     * Test of the methods ending with Int of {@link myAdapter.IntListAdapter}
+     * <p>
+     * <br><br>Summary: 				the primitive methods read, write, insert, remove and search the values
+     * <br><br>Design test: 			every primitive method is invoked on the pre-filled list and its result is compared with the expected value,
+	 * 									also with illegal indexes
+     * <br><br>Preconditions: 			the constructor IntListAdapter(int[]) must be correctly implemented
+     * <br><br>Postconditions: 		the list must contain exactly the expected values after every change
+     * <br><br>Expected results: 		the values returned are the expected ones, illegal indexes throw IndexOutOfBoundsException
+     */
+	@Test
+	public void testIntMethods()
+	{
+		System.out.println("----- Test Int methods -----");
+
+		assertEquals(1000, ints.getInt(3));
+		assertEquals(3, ints.setInt(2, 7));
+		ints.addInt(0, -5);
+		ints.addInt(9);
+		assertArrayEquals(new int[]{-5, 1, 2, 7, 1000, 2, 9}, ints.toIntArray());
+		assertEquals(2, ints.indexOfInt(2));
+		assertEquals(5, ints.lastIndexOfInt(2));
+		assertEquals(-1, ints.indexOfInt(3));
+		assertTrue(ints.containsInt(1000));
+		assertEquals(-5, ints.removeIntAt(0));
+		assertEquals(6, ints.size());
+
+		System.out.println("Passing an illegal index...");
+		try{
+			ints.getInt(ints.size());
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IndexOutOfBoundsException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+	}
+
+	/**
+     * Test of the methods of {@link myAdapter.HList} on an {@link myAdapter.IntListAdapter}
+     * <p>
+     * <br><br>Summary: 				the elements are seen as Integer objects, only Integer objects can be inserted
+     * <br><br>Design test: 			searching for Integer objects that are not cached by Integer.valueOf() and for other objects, inserting
+	 * 									null and a String
+     * <br><br>Preconditions: 			the constructor IntListAdapter(int[]) must be correctly implemented
+     * <br><br>Postconditions: 		illegal elements are refused without changing the list
+     * <br><br>Expected results: 		Integer objects are found by equality, null throws NullPointerException and a String throws ClassCastException
+     */
+	@Test
+	public void testBoxedMethods()
+	{
+		System.out.println("----- Test HList methods on ints -----");
+
+		assertEquals(Integer.valueOf(1000), ints.get(3));
+		assertEquals(3, ints.indexOf(Integer.valueOf(1000)));
+		assertEquals(4, ints.lastIndexOf(Integer.valueOf(2)));
+		assertEquals(-1, ints.indexOf("2"));
+		assertTrue(ints.remove(Integer.valueOf(2)));
+		assertArrayEquals(new Object[]{1, 3, 1000, 2}, ints.toArray());
+
+		HList copy = new ListAdapter(ints);
+		IntListAdapter other = new IntListAdapter(copy);
+		assertArrayEquals(ints.toIntArray(), other.toIntArray());
+
+		System.out.println("Adding null...");
+		try{
+			ints.add(null);
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(NullPointerException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		System.out.println("Adding a String...");
+		try{
+			ints.add(1, "Hulk");
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(ClassCastException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		assertEquals(4, ints.size());
+	}
+
+	/**
+     * Test of {@link myAdapter.IntListAdapter#subList(int, int)} and of the list iterator of an IntListAdapter
+     * <p>
+     * <br><br>Summary: 				the sublists are IntListAdapter backed by the father list
+     * <br><br>Design test: 			creating a sublist of a sublist, changing it with primitive methods and through its list iterator
+     * <br><br>Preconditions: 			the methods ending with Int must be correctly implemented
+     * <br><br>Postconditions: 		the changes on the deepest sublist must be backed by all the fathers
+     * <br><br>Expected results: 		the sizes and the values of all the lists are the expected ones
+     */
+	@Test
+	public void testSublistAndIterator()
+	{
+		System.out.println("----- Test sublists of ints -----");
+
+		IntListAdapter sub = (IntListAdapter) ints.subList(1, 4);
+		IntListAdapter subsub = (IntListAdapter) sub.subList(1, 3);
+		assertArrayEquals(new int[]{3, 1000}, subsub.toIntArray());
+
+		subsub.addInt(42);
+		subsub.addInt(0, 41);
+		assertEquals(1, sub.indexOfInt(41));
+		assertEquals(-1, subsub.indexOfInt(1));
+		assertEquals(5, sub.size());
+		assertArrayEquals(new int[]{1, 2, 41, 3, 1000, 42, 2}, ints.toIntArray());
+
+		System.out.println("Doubling the values of the deepest sublist through its list iterator...");
+		HListIterator it = subsub.listIterator();
+		while(it.hasNext()) it.set(Integer.valueOf(((Integer) it.next()).intValue() * 2));
+		assertArrayEquals(new int[]{82, 6, 2000, 84}, subsub.toIntArray());
+
+		subsub.clear();
+		assertEquals(1, sub.size());
+		assertArrayEquals(new int[]{1, 2, 2}, ints.toIntArray());
+	}
+
+	/**
+     * Test of {@link myAdapter.LongListAdapter} and {@link myAdapter.DoubleListAdapter}
+     * <p>
+     * <br><br>Summary: 				the long and double lists work as the int list
+     * <br><br>Design test: 			filling the lists with values out of the range of int and with special double values
+     * <br><br>Preconditions: 			none
+     * <br><br>Postconditions: 		the values are kept exactly
+     * <br><br>Expected results: 		long values are not truncated, NaN is found and 0.0 is different from -0.0 as for Double.equals()
+     */
+	@Test
+	public void testLongAndDouble()
+	{
+		System.out.println("----- Test LongListAdapter and DoubleListAdapter -----");
+
+		LongListAdapter longs = new LongListAdapter(new long[]{Long.MAX_VALUE, 1L << 40});
+		longs.addLong(1, -1L);
+		assertEquals(1L << 40, longs.getLong(2));
+		assertEquals(2, longs.indexOf(Long.valueOf(1L << 40)));
+		assertEquals(-1, longs.indexOf(Integer.valueOf(1)));
+		LongListAdapter longSub = (LongListAdapter) longs.subList(1, 3);
+		assertEquals(-1L, longSub.removeLongAt(0));
+		assertArrayEquals(new long[]{Long.MAX_VALUE, 1L << 40}, longs.toLongArray());
+
+		DoubleListAdapter doubles = new DoubleListAdapter(new double[]{0.0, Double.NaN, 2.5});
+		assertEquals(1, doubles.indexOfDouble(Double.NaN));
+		assertEquals(-1, doubles.indexOfDouble(-0.0));
+		assertTrue(doubles.contains(Double.valueOf(2.5)));
+		doubles.setDouble(0, -0.0);
+		assertEquals(0, doubles.indexOfDouble(-0.0));
+		assertEquals(3, doubles.size());
+
+		Object[] boxed = new Object[4];
+		longs.getElements(0, 2, boxed, 1);
+		doubles.getElements(2, 3, boxed, 3);
+		assertArrayEquals(new Object[]{null, Long.valueOf(Long.MAX_VALUE), Long.valueOf(1L << 40), Double.valueOf(2.5)}, boxed);
+		assertArrayEquals(new Integer[]{2, 3, 1000}, ints.subList(1, 4).toArray(new Integer[0]));
+	}
+
+	/**
+     * Test of the search kernels of {@link myAdapter.IntListAdapter} and {@link myAdapter.LongListAdapter}
+     * <p>
+     * <br><br>Summary: 				indexOf, lastIndexOf, count, min, max and equals give the results of a plain loop over the values
+     * <br><br>Design test: 			for every length from 0 to 70 and for sublists starting at 0 to 3, a list of int and a list of long are
+	 * 									filled with values having few repetitions, then every method is compared with a loop over an array of
+	 * 									the same values, so that the match is found in the vectorized part and in the tail of the loops
+     * <br><br>Preconditions: 			the constructors with an array must be correctly implemented
+     * <br><br>Postconditions: 		the lists are not changed
+     * <br><br>Expected results: 		the same results as the loops, NoSuchElementException for min and max of an empty list
+     */
+	@Test
+	public void testSearchKernels()
+	{
+		System.out.println("----- Test search kernels -----");
+
+		for(int length=0; length<=70; length++){
+			int[] intValues = new int[length + 3];
+			long[] longValues = new long[length + 3];
+			for(int i=0; i<intValues.length; i++){
+				intValues[i] = (i * 7919) % 23 - 11;
+				longValues[i] = ((long) intValues[i] << 33) + i % 2;
+			}
+			IntListAdapter allInts = new IntListAdapter(intValues);
+			LongListAdapter allLongs = new LongListAdapter(longValues);
+			for(int start=0; start<=3; start++){
+				int end = start + length;
+				if(end > intValues.length) continue;
+				IntListAdapter subInts = (IntListAdapter) allInts.subList(start, end);
+				LongListAdapter subLongs = (LongListAdapter) allLongs.subList(start, end);
+				for(int k=0; k<intValues.length; k++){
+					int value = intValues[k];
+					long longValue = longValues[k];
+					int first = -1, last = -1, count = 0, longFirst = -1, longLast = -1, longCount = 0;
+					for(int i=start; i<end; i++){
+						if(intValues[i] == value){
+							if(first == -1) first = i - start;
+							last = i - start;
+							count++;
+						}
+						if(longValues[i] == longValue){
+							if(longFirst == -1) longFirst = i - start;
+							longLast = i - start;
+							longCount++;
+						}
+					}
+					assertEquals(first, subInts.indexOfInt(value));
+					assertEquals(last, subInts.lastIndexOfInt(value));
+					assertEquals(count, subInts.countInt(value));
+					assertEquals(longFirst, subLongs.indexOfLong(longValue));
+					assertEquals(longLast, subLongs.lastIndexOfLong(longValue));
+					assertEquals(longCount, subLongs.countLong(longValue));
+				}
+				if(length == 0) continue;
+				int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+				long longMin = Long.MAX_VALUE, longMax = Long.MIN_VALUE;
+				for(int i=start; i<end; i++){
+					min = Math.min(min, intValues[i]);
+					max = Math.max(max, intValues[i]);
+					longMin = Math.min(longMin, longValues[i]);
+					longMax = Math.max(longMax, longValues[i]);
+				}
+				assertEquals(min, subInts.minInt());
+				assertEquals(max, subInts.maxInt());
+				assertEquals(longMin, subLongs.minLong());
+				assertEquals(longMax, subLongs.maxLong());
+
+				IntListAdapter copy = new IntListAdapter(subInts.toIntArray());
+				assertTrue(subInts.equals(copy));
+				assertTrue(copy.equals(new ListAdapter(subInts)));
+				copy.setInt(length - 1, 1000);
+				assertFalse(subInts.equals(copy));
+				assertTrue(subLongs.equals(new LongListAdapter(subLongs.toLongArray())));
+			}
+		}
+
+		System.out.println("Reading the minimum of an empty list...");
+		try{
+			new LongListAdapter(new long[0]).minLong();
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(java.util.NoSuchElementException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+	}
+}
@@ -33,6 +33,50 @@ public class TestRunner {
 		res = JUnitCore.runClasses(TestList.class);
 		esitoTest(res);
 
+		System.out.println("\nTest of IntListAdapter, LongListAdapter and DoubleListAdapter..");
+		res = JUnitCore.runClasses(TestPrimitiveList.class);
+		esitoTest(res);
+
+		System.out.println("\nTest of the vectors backing ListAdapter..");
+		res = JUnitCore.runClasses(TestBacking.class);
+		esitoTest(res);
+
+		System.out.println("\nTest of OffHeapListAdapter..");
+		res = JUnitCore.runClasses(TestOffHeapList.class);
+		esitoTest(res);
+
+		System.out.println("\nTest of MappedListAdapter..");
+		res = JUnitCore.runClasses(TestMappedList.class);
+		esitoTest(res);
+
+		System.out.println("\nTest of ListSnapshot..");
+		res = JUnitCore.runClasses(TestSnapshot.class);
+		esitoTest(res);
+
+		System.out.println("\nTest of CopyOnWriteListAdapter..");
+		res = JUnitCore.runClasses(TestCopyOnWriteList.class);
+		esitoTest(res);
+
+		System.out.println("\nTest of StripedListAdapter..");
+		res = JUnitCore.runClasses(TestStripedList.class);
+		esitoTest(res);
+
+		System.out.println("\nTest of SortedListAdapter..");
+		res = JUnitCore.runClasses(TestSortedList.class);
+		esitoTest(res);
+
+		System.out.println("\nTest of ListMetrics..");
+		res = JUnitCore.runClasses(TestListMetrics.class);
+		esitoTest(res);
+
+		System.out.println("\nTest of ListEvents..");
+		res = JUnitCore.runClasses(TestListEvents.class);
+		esitoTest(res);
+
+		System.out.println("\nTest of GrowthPolicy..");
+		res = JUnitCore.runClasses(TestGrowthPolicy.class);
+		esitoTest(res);
+
 		System.out.println("\n*** All the " + totalTests + " tests have been completed ***");
 	}
 
@@ -0,0 +1,418 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of {@link myAdapter.ListSnapshot}
+ * <p>
+ * <p>
+ * Summary: this class tests that a list written to a snapshot is read back with the same elements
+ * <br><br>
+ * Design test: lists of every predefined type, of a type written by a codec and of mixed types are written to
+ * memory and to a file and read again, then invalid and incomplete snapshots are read
+ * <br><br>
+ * Description: the elements read are compared with the ones written, the byte arrays by their content
+ * <br><br>
+ * Preconditions: a new ListSnapshot without codecs and a ListAdapter containing {null, 0, -1, Integer.MIN_VALUE,
+ * Long.MAX_VALUE, "", "Hulk è 🦸", byte[]{1, 2, 3}} are instantiated before each test
+ * <br><br>
+ * Postconditions: the list read is a new ListAdapter equal to the list written
+ * <br><br>
+ * Execution variables:
+ * <br>ListSnapshot snapshot - the object that writes and reads the snapshots
+ * <br>HList list - list of elements of the predefined types
+ *
+ * @see myAdapter.ListSnapshot
+ * @see myAdapter.SnapshotCodec
+ */
+public class TestSnapshot
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	ListSnapshot snapshot = null;
+	HList list = null;
+
+	/**
+	 * Codec of {@link TestOffHeapList.Point}, in 8 bytes
+	 */
+	static final SnapshotCodec POINT = new SnapshotCodec() {
+		@Override
+		public String name() { return "point"; }
+
+		@Override
+		public Class type() { return TestOffHeapList.Point.class; }
+
+		@Override
+		public byte[] encode(Object obj)
+		{
+			TestOffHeapList.Point p = (TestOffHeapList.Point) obj;
+			return java.nio.ByteBuffer.allocate(8).putInt(p.x).putInt(p.y).array();
+		}
+
+		@Override
+		public Object decode(byte[] bytes)
+		{
+			if(bytes.length != 8) throw new IllegalArgumentException("8 bytes expected");
+			java.nio.ByteBuffer buffer = java.nio.ByteBuffer.wrap(bytes);
+			return new TestOffHeapList.Point(buffer.getInt(), buffer.getInt());
+		}
+	};
+
+	@Before
+	public void setup()
+	{
+		System.out.println("Instantiate a ListSnapshot and a list of mixed elements...");
+		snapshot = new ListSnapshot();
+		list = new ListAdapter();
+		list.add(null);
+		list.add(Integer.valueOf(0));
+		list.add(Integer.valueOf(-1));
+		list.add(Integer.valueOf(Integer.MIN_VALUE));
+		list.add(Long.valueOf(Long.MAX_VALUE));
+		list.add("");
+		list.add("Hulk è 🦸");
+		list.add(new byte[]{1, 2, 3});
+	}
+
+	@After
+	public void cleanup()
+	{
+		System.out.println();
+	}
+
+	private byte[] write(HList l) throws IOException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		snapshot.write(l, out);
+		return out.toByteArray();
+	}
+
+	private ListAdapter read(byte[] bytes) throws IOException
+	{
+		return snapshot.read(new ByteArrayInputStream(bytes));
+	}
+
+	/**
+	 * Compares two lists, the byte arrays by their content
+	 */
+	private static void assertSameElements(HList expected, HList actual)
+	{
+		assertEquals(expected.size(), actual.size());
+		for(int i=0; i<expected.size(); i++){
+			Object e = expected.get(i), a = actual.get(i);
+			if(e instanceof byte[]) assertArrayEquals((byte[]) e, (byte[]) a);
+			else assertEquals(e, a);
+		}
+	}
+
+	/**
+     * Test of the snapshots of the predefined types
+     * <p>
+     * <br><br>Summary: 				the elements of the predefined types are read back equal to the ones written, also from a sublist
+     * 									and from a list that is not a ListAdapter
+     * <br><br>Design test: 			writing the list, one of its sublists, an empty list and a long list of small integers
+     * <br><br>Preconditions: 			the list must contain the elements listed in the description of the class
+     * <br><br>Postconditions: 		the list written is not changed
+     * <br><br>Expected results: 		the lists read are equal to the ones written, the small integers take 2 bytes each
+     */
+	@Test
+	public void testRoundTrip() throws IOException
+	{
+		System.out.println("----- Test of the snapshots of the predefined types -----");
+
+		ListAdapter copy = read(write(list));
+		assertSameElements(list, copy);
+		assertEquals(8, list.size());
+
+		HList sub = list.subList(2, 7).subList(1, 4);
+		assertSameElements(sub, read(write(sub)));
+		assertTrue(read(write(new ListAdapter())).isEmpty());
+
+		HList ints = new IntListAdapter(new int[]{5, -5, 63, -64});
+		assertSameElements(ints, read(write(ints)));
+
+		HList small = new ListAdapter();
+		for(int i=-64; i<64; i++) small.add(Integer.valueOf(i));
+		byte[] bytes = write(small);
+		assertTrue(bytes.length < small.size() * 2 + 16);
+		assertSameElements(small, read(bytes));
+
+		copy.add(Long.valueOf(-1));
+		assertEquals(9, copy.size());
+	}
+
+	/**
+     * Test of {@link myAdapter.ListSnapshot#register(SnapshotCodec)}
+     * <p>
+     * <br><br>Summary: 				the elements of other classes are written by the registered codecs, the others are refused
+     * <br><br>Design test: 			writing a list of points without and with their codec, reading it with a ListSnapshot
+     * 									that registered the codecs in another order, or none
+     * <br><br>Preconditions: 			the codec must encode a point in 8 bytes
+     * <br><br>Postconditions: 		a codec can't be registered twice
+     * <br><br>Expected results: 		an element without codec throws IllegalArgumentException, a snapshot whose codec is not registered
+     * 									where it is read throws StreamCorruptedException
+     */
+	@Test
+	public void testCodecs() throws IOException
+	{
+		System.out.println("----- Test of the codecs -----");
+
+		list.add(new TestOffHeapList.Point(3, -4));
+		System.out.println("Writing a point without its codec...");
+		try{
+			write(list);
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IllegalArgumentException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+
+		snapshot.register(POINT);
+		System.out.println("Registering the codec twice...");
+		try{
+			snapshot.register(POINT);
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IllegalArgumentException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		byte[] bytes = write(list);
+		assertSameElements(list, read(bytes));
+
+		ListSnapshot other = new ListSnapshot();
+		other.register(new SnapshotCodec() {
+			public String name() { return "other"; }
+			public Class type() { return Character.class; }
+			public byte[] encode(Object obj) { return new byte[]{(byte) ((Character) obj).charValue()}; }
+			public Object decode(byte[] b) { return Character.valueOf((char) b[0]); }
+		});
+		other.register(POINT);
+		assertSameElements(list, other.read(new ByteArrayInputStream(bytes)));
+
+		System.out.println("Reading a point without its codec...");
+		try{
+			new ListSnapshot().read(new ByteArrayInputStream(bytes));
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(StreamCorruptedException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		list.remove(8);
+		assertSameElements(list, new ListSnapshot().read(new ByteArrayInputStream(write(list))));
+	}
+
+	/**
+     * Test of the snapshots written to a file
+     * <p>
+     * <br><br>Summary: 				a snapshot larger than the buffers is written to a FileChannel and read back from it
+     * <br><br>Design test: 			writing 100000 elements, among them strings longer than the buffers, then reading them
+     * <br><br>Preconditions: 			the methods write(HList, WritableByteChannel) and read(ReadableByteChannel) must be correctly implemented
+     * <br><br>Postconditions: 		the channels are still open after the snapshot has been written and read
+     * <br><br>Expected results: 		the list read is equal to the one written
+     */
+	@Test
+	public void testFileChannel() throws IOException
+	{
+		System.out.println("----- Test of the snapshots written to a file -----");
+
+		HList big = new ListAdapter();
+		char[] chars = new char[20000];
+		Arrays.fill(chars, 'x');
+		for(int i=0; i<100000; i++){
+			if(i % 10000 == 0) big.add(new String(chars, 0, i / 5));
+			else if(i % 2 == 0) big.add(Long.valueOf((long) i * i * i));
+			else big.add(Integer.valueOf(-i));
+		}
+		Path file = folder.getRoot().toPath().resolve("list.snapshot");
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+		snapshot.write(big, channel);
+		assertTrue(channel.isOpen());
+		channel.close();
+
+		channel = FileChannel.open(file, StandardOpenOption.READ);
+		ListAdapter copy = snapshot.read(channel);
+		assertTrue(channel.isOpen());
+		channel.close();
+		assertSameElements(big, copy);
+	}
+
+	/**
+     * Test of the snapshots read from a slow channel
+     * <p>
+     * <br><br>Summary: 				a channel that returns fewer bytes than asked, or none, is read until the end of the snapshot
+     * <br><br>Design test: 			reading a snapshot from a channel that returns at most 3 bytes and no bytes every other read,
+	 * 									then the same channel over a truncated snapshot
+     * <br><br>Preconditions: 			the method read(ReadableByteChannel) must be correctly implemented
+     * <br><br>Postconditions: 		the channel is read up to the end of the snapshot
+     * <br><br>Expected results: 		the list read is equal to the one written, EOFException for the truncated snapshot
+     */
+	@Test
+	public void testSlowChannel() throws IOException
+	{
+		System.out.println("----- Test of the snapshots read from a slow channel -----");
+
+		byte[] bytes = write(list);
+		assertSameElements(list, snapshot.read(slowChannel(bytes)));
+
+		System.out.println("Reading a truncated snapshot from a slow channel...");
+		try{
+			snapshot.read(slowChannel(Arrays.copyOf(bytes, bytes.length - 1)));
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(EOFException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+	}
+
+	/**
+	 * Returns a channel over bytes that returns at most 3 bytes per read, and no bytes every other read
+	 */
+	private static ReadableByteChannel slowChannel(final byte[] bytes)
+	{
+		return new ReadableByteChannel() {
+			int position = 0;
+			boolean empty = true;
+
+			@Override
+			public int read(ByteBuffer dst) {
+				empty = !empty;
+				if(position == bytes.length) return -1;
+				if(empty) return 0;
+				int n = Math.min(3, Math.min(dst.remaining(), bytes.length - position));
+				dst.put(bytes, position, n);
+				position += n;
+				return n;
+			}
+
+			@Override
+			public boolean isOpen() { return true; }
+
+			@Override
+			public void close() { }
+		};
+	}
+
+	/**
+     * Test of the reading of invalid snapshots
+     * <p>
+     * <br><br>Summary: 				the data that are not a complete snapshot are refused
+     * <br><br>Design test: 			reading data with a wrong first byte, with an unknown version, with an unknown tag and every
+     * 									truncation of a valid snapshot
+     * <br><br>Preconditions: 			the list must contain the elements listed in the description of the class
+     * <br><br>Postconditions: 		no list is returned
+     * <br><br>Expected results: 		the invalid data throw StreamCorruptedException, the truncated ones EOFException
+     */
+	@Test
+	public void testInvalidSnapshots() throws IOException
+	{
+		System.out.println("----- Test of the reading of invalid snapshots -----");
+
+		byte[] bytes = write(list);
+		for(int i=0; i<3; i++){
+			byte[] wrong = bytes.clone();
+			if(i == 0) wrong[0] = 'X';
+			else if(i == 1) wrong[4] = 99;
+			else wrong[7] = 15;
+			System.out.println("Reading an invalid snapshot...");
+			try{
+				read(wrong);
+				throw new Exception();
+			} catch(Exception e){
+				assertEquals(StreamCorruptedException.class, e.getClass());
+				System.out.println("Correctly, failed.");
+			}
+		}
+
+		System.out.println("Reading every truncated snapshot...");
+		for(int length=0; length<bytes.length; length++){
+			try{
+				read(Arrays.copyOf(bytes, length));
+				throw new Exception();
+			} catch(Exception e){
+				assertEquals(EOFException.class, e.getClass());
+			}
+		}
+		System.out.println("Correctly, failed.");
+	}
+
+	/**
+	 * Returns the bytes of a snapshot header followed by the given variable-length integers
+	 */
+	private static byte[] header(long[] values)
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.write('H');
+		out.write('L');
+		out.write('S');
+		out.write('N');
+		out.write(ListSnapshot.VERSION);
+		for(int i=0; i<values.length; i++){
+			long value = values[i];
+			while((value & ~0x7FL) != 0){
+				out.write((int) ((value & 0x7F) | 0x80));
+				value >>>= 7;
+			}
+			out.write((int) value);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+     * Test of the reading of corrupted headers
+     * <p>
+     * <br><br>Summary: 				the huge lengths of a corrupted snapshot are not allocated before the data are read
+     * <br><br>Design test: 			reading snapshots that declare almost 2^31 codecs, elements, bytes and characters but end
+     * 									right after the length, and a snapshot that declares 2^31 elements
+     * <br><br>Preconditions: 			none
+     * <br><br>Postconditions: 		no list is returned
+     * <br><br>Expected results: 		EOFException for the truncated snapshots instead of OutOfMemoryError, StreamCorruptedException
+     * 									for a length that doesn't fit in an int
+     */
+	@Test
+	public void testCorruptedHeaders() throws IOException
+	{
+		System.out.println("----- Test of the reading of corrupted headers -----");
+
+		long huge = (1L << 31) - 10;
+		long[][] corrupted = {{huge}, {0, huge}, {0, 1, 4, huge}, {0, 1, 3, huge}, {1, huge}};
+		for(int i=0; i<corrupted.length; i++){
+			System.out.println("Reading a snapshot with a length of " + huge + "...");
+			try{
+				read(header(corrupted[i]));
+				throw new Exception();
+			} catch(Exception e){
+				assertEquals(EOFException.class, e.getClass());
+				System.out.println("Correctly, failed.");
+			}
+		}
+
+		System.out.println("Reading a snapshot with 2^31 elements...");
+		try{
+			read(header(new long[]{0, 1L << 31}));
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(StreamCorruptedException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+	}
+}
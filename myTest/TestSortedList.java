@@ -0,0 +1,298 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of {@link myAdapter.SortedListAdapter}
+ * <p>
+ * <p>
+ * Summary: this class tests that a sorted list stays sorted whatever method changes it, and that its searches give the
+ * same results as the linear searches of a ListAdapter
+ * <br><br>
+ * Design test: random elements are added to a sorted list and to a ListAdapter kept sorted by hand, then the searches,
+ * the range views and the positional methods are compared or checked against the order of the list
+ * <br><br>
+ * Description: the behaviour of ListAdapter is already tested by {@link myTest.TestList}, so it is used as reference
+ * <br><br>
+ * Preconditions: a new SortedListAdapter with the natural ordering containing {1, 3, 3, 5, 7} is instantiated before each test
+ * <br><br>
+ * Postconditions: the elements of the list are always sorted
+ * <br><br>
+ * Execution variables:
+ * <br>SortedListAdapter list - sorted list on which the methods are tested
+ *
+ * @see myAdapter.SortedListAdapter
+ */
+public class TestSortedList
+{
+	SortedListAdapter list = null;
+
+	@Before
+	public void setup()
+	{
+		System.out.println("Instantiate a SortedListAdapter with {1, 3, 3, 5, 7}...");
+		list = new SortedListAdapter();
+		int[] values = {7, 3, 1, 5, 3};
+		for(int i=0; i<values.length; i++) list.add(Integer.valueOf(values[i]));
+	}
+
+	@After
+	public void cleanup()
+	{
+		System.out.println();
+	}
+
+	static void assertSorted(HList sorted, Comparator comparator)
+	{
+		for(int i=1; i<sorted.size(); i++){
+			int c = (comparator == null) ? ((Comparable) sorted.get(i-1)).compareTo(sorted.get(i)) : comparator.compare(sorted.get(i-1), sorted.get(i));
+			assertTrue("not sorted at " + i, c <= 0);
+		}
+	}
+
+	/**
+     * Test of the insertions and of the searches
+     * <p>
+     * <br><br>Summary: 				add() and addAll() keep the list sorted, the binary searches give the results of the linear ones
+     * <br><br>Design test: 			adding about a thousand random elements one at a time and in collections, removing some of them, and comparing
+	 * 									indexOf(), lastIndexOf(), contains() and remove(Object) with the ones of a sorted ListAdapter
+     * <br><br>Preconditions: 			the list must contain {1, 3, 3, 5, 7}
+     * <br><br>Postconditions: 		the list is sorted and contains the same elements as the reference
+     * <br><br>Expected results: 		the same results as the reference, NullPointerException when adding null without a comparator
+     */
+	@Test
+	public void testAddAndSearch()
+	{
+		System.out.println("----- Test of the insertions and of the searches -----");
+
+		assertArrayEquals(new Object[]{1, 3, 3, 5, 7}, list.toArray());
+		assertEquals(1, list.indexOf(Integer.valueOf(3)));
+		assertEquals(2, list.lastIndexOf(Integer.valueOf(3)));
+		assertFalse(list.contains(Integer.valueOf(4)));
+		assertEquals(-1, list.indexOf(null));
+
+		Random random = new Random(3);
+		for(int step=0; step<40; step++){
+			if(step % 4 == 0){
+				HList coll = new ListAdapter();
+				for(int i=random.nextInt(100); i>0; i--) coll.add(Integer.valueOf(random.nextInt(500)));
+				list.addAll(coll);
+			} else {
+				for(int i=0; i<20; i++) list.add(Integer.valueOf(random.nextInt(500)));
+			}
+			for(int i=0; i<5; i++) list.remove(Integer.valueOf(random.nextInt(500)));
+		}
+		assertSorted(list, null);
+		Object[] elements = list.toArray();
+		java.util.Arrays.sort(elements);
+		HList expected = new ListAdapter();
+		for(int i=0; i<elements.length; i++) expected.add(elements[i]);
+		assertArrayEquals(expected.toArray(), list.toArray());
+		for(int value=-1; value<=501; value++){
+			Integer obj = Integer.valueOf(value);
+			assertEquals(expected.indexOf(obj), list.indexOf(obj));
+			assertEquals(expected.lastIndexOf(obj), list.lastIndexOf(obj));
+			assertEquals(expected.contains(obj), list.contains(obj));
+		}
+		assertTrue(list.containsAll(expected));
+		assertTrue(list.equals(expected));
+		assertEquals(expected.hashCode(), list.hashCode());
+
+		System.out.println("Adding null to a list without comparator...");
+		try{
+			list.add(null);
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(NullPointerException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		System.out.println("Searching a String in a list of Integer...");
+		try{
+			list.indexOf("Hulk");
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(ClassCastException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+	}
+
+	/**
+     * Test of the range views
+     * <p>
+     * <br><br>Summary: 				range() returns the sublist of the elements between two keys, which accepts only elements in its range
+     * <br><br>Design test: 			taking ranges whose keys are and are not in the list, adding, searching and removing elements
+	 * 									through a range, nesting a range in another
+     * <br><br>Preconditions: 			the list must contain {1, 3, 3, 5, 7}
+     * <br><br>Postconditions: 		the changes made through the ranges are seen by the list, which stays sorted
+     * <br><br>Expected results: 		IllegalArgumentException for the elements out of the range and for reversed keys
+     */
+	@Test
+	public void testRange()
+	{
+		System.out.println("----- Test of the range views -----");
+
+		SortedListAdapter range = list.range(Integer.valueOf(2), Integer.valueOf(7));
+		assertArrayEquals(new Object[]{3, 3, 5}, range.toArray());
+		assertArrayEquals(new Object[]{3, 3, 5, 7}, list.range(Integer.valueOf(3), Integer.valueOf(7), true).toArray());
+		assertEquals(0, list.range(Integer.valueOf(4), Integer.valueOf(5)).size());
+		assertEquals(0, range.indexOf(Integer.valueOf(3)));
+		assertEquals(-1, range.indexOf(Integer.valueOf(1)));
+
+		range.add(Integer.valueOf(4));
+		range.add(Integer.valueOf(6));
+		assertArrayEquals(new Object[]{3, 3, 4, 5, 6}, range.toArray());
+		assertArrayEquals(new Object[]{1, 3, 3, 4, 5, 6, 7}, list.toArray());
+		HList some = new ListAdapter();
+		some.add(Integer.valueOf(5));
+		some.add(Integer.valueOf(3));
+		assertTrue(range.addAll(some));
+		assertArrayEquals(new Object[]{1, 3, 3, 3, 4, 5, 5, 6, 7}, list.toArray());
+		SortedListAdapter inner = range.range(Integer.valueOf(4), Integer.valueOf(6));
+		assertTrue(inner.remove(Integer.valueOf(5)));
+		assertArrayEquals(new Object[]{4, 5}, inner.toArray());
+		assertEquals(6, range.size());
+
+		System.out.println("Adding to a range an element out of it...");
+		try{
+			inner.add(Integer.valueOf(7));
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IllegalArgumentException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		some.add(Integer.valueOf(0));
+		System.out.println("Adding to a range a collection with an element out of it...");
+		try{
+			range.addAll(some);
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IllegalArgumentException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		System.out.println("Taking a range with reversed keys...");
+		try{
+			list.range(Integer.valueOf(5), Integer.valueOf(2));
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IllegalArgumentException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		assertArrayEquals(new Object[]{1, 3, 3, 3, 4, 5, 6, 7}, list.toArray());
+	}
+
+	/**
+     * Test of the positional methods
+     * <p>
+     * <br><br>Summary: 				add(int, Object), addAll(int, HCollection), set() and the list iterator change the list only if it stays sorted
+     * <br><br>Design test: 			inserting and replacing elements in and out of order, directly and through a list iterator
+     * <br><br>Preconditions: 			the list must contain {1, 3, 3, 5, 7}
+     * <br><br>Postconditions: 		the list is sorted and unchanged by the rejected operations
+     * <br><br>Expected results: 		IllegalArgumentException for every change that would break the order
+     */
+	@Test
+	public void testPositionalMethods()
+	{
+		System.out.println("----- Test of the positional methods -----");
+
+		list.add(1, Integer.valueOf(2));
+		assertEquals(Integer.valueOf(3), list.set(2, Integer.valueOf(2)));
+		HList some = new ListAdapter();
+		some.add(Integer.valueOf(5));
+		some.add(Integer.valueOf(6));
+		assertTrue(list.addAll(5, some));
+		assertArrayEquals(new Object[]{1, 2, 2, 3, 5, 5, 6, 7}, list.toArray());
+
+		HListIterator it = list.listIterator();
+		while(it.hasNext()){
+			Integer obj = (Integer) it.next();
+			if(obj.intValue() == 5){
+				it.set(Integer.valueOf(4));
+				it.add(Integer.valueOf(5));
+				break;
+			}
+		}
+		assertArrayEquals(new Object[]{1, 2, 2, 3, 4, 5, 5, 6, 7}, list.toArray());
+
+		Object[] before = list.toArray();
+		System.out.println("Inserting an element out of order...");
+		try{
+			list.add(0, Integer.valueOf(2));
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IllegalArgumentException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		System.out.println("Replacing an element with one out of order...");
+		try{
+			list.set(3, Integer.valueOf(100));
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IllegalArgumentException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		System.out.println("Inserting an unsorted collection...");
+		try{
+			list.addAll(list.size(), some.subList(0, 1));
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IllegalArgumentException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		System.out.println("Adding an element out of order through a list iterator...");
+		try{
+			HListIterator iter = list.listIterator(1);
+			iter.add(Integer.valueOf(0));
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IllegalArgumentException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		assertArrayEquals(before, list.toArray());
+	}
+
+	/**
+     * Test of a list with a comparator
+     * <p>
+     * <br><br>Summary: 				the comparator decides the order, the searches return the elements equal to the one searched
+     * <br><br>Design test: 			sorting strings by their length with a comparator that puts null first, so that many different
+	 * 									strings compare equal
+     * <br><br>Preconditions: 			none
+     * <br><br>Postconditions: 		the strings are sorted by length and, among the same length, in the order they were added
+     * <br><br>Expected results: 		indexOf() and lastIndexOf() find the string among the ones of the same length, null is allowed
+     */
+	@Test
+	public void testComparator()
+	{
+		System.out.println("----- Test of a list with a comparator -----");
+
+		Comparator byLength = Comparator.nullsFirst(Comparator.comparingInt(String::length));
+		HList names = new ListAdapter();
+		names.add("Thor");
+		names.add("Hulk");
+		names.add("Ironman");
+		names.add("Loki");
+		SortedListAdapter sorted = new SortedListAdapter(names, byLength);
+		assertSame(byLength, sorted.comparator());
+		sorted.add("Vision");
+		sorted.add(null);
+		sorted.add("Thor");
+		assertArrayEquals(new Object[]{null, "Thor", "Hulk", "Loki", "Thor", "Vision", "Ironman"}, sorted.toArray());
+		assertSorted(sorted, byLength);
+		assertEquals(0, sorted.indexOf(null));
+		assertEquals(1, sorted.indexOf("Thor"));
+		assertEquals(4, sorted.lastIndexOf("Thor"));
+		assertEquals(3, sorted.indexOf("Loki"));
+		assertEquals(-1, sorted.indexOf("Odin"));
+		assertTrue(sorted.remove("Hulk"));
+		assertFalse(sorted.contains("Hulk"));
+		assertArrayEquals(new Object[]{"Thor", "Loki", "Thor"}, sorted.range("Odin", "Vision").toArray());
+	}
+}
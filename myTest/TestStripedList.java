@@ -0,0 +1,281 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ConcurrentModificationException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of {@link myAdapter.StripedListAdapter}
+ * <p>
+ * <p>
+ * Summary: this class tests the methods of HList on a striped list, its sublists and iterators, and the changes
+ * made by many threads at the same time
+ * <br><br>
+ * Design test: the results of the methods are compared with the ones of a ListAdapter on which the same
+ * operations are made, then several threads replace, insert and remove elements of the same list
+ * <br><br>
+ * Description: the behaviour of ListAdapter is already tested by {@link myTest.TestList}, so it is used as reference
+ * <br><br>
+ * Preconditions: a new StripedListAdapter with 3 stripes, rounded to 4, and a new ListAdapter containing {1, 2, 3, 4, 5} are instantiated before each test
+ * <br><br>
+ * Postconditions: the two lists contain the same elements after every change made by a single thread
+ * <br><br>
+ * Execution variables:
+ * <br>StripedListAdapter list - list on which the methods are tested
+ * <br>HList expected - ListAdapter on which the same operations are made
+ *
+ * @see myAdapter.StripedListAdapter
+ */
+public class TestStripedList
+{
+	StripedListAdapter list = null;
+	HList expected = null;
+
+	@Before
+	public void setup()
+	{
+		System.out.println("Instantiate a StripedListAdapter and a ListAdapter with {1, 2, 3, 4, 5}...");
+		expected = new ListAdapter();
+		list = new StripedListAdapter(3);
+		for(int i=1; i<=5; i++){
+			expected.add(Integer.valueOf(i));
+			list.add(Integer.valueOf(i));
+		}
+	}
+
+	@After
+	public void cleanup()
+	{
+		System.out.println();
+	}
+
+	/**
+     * Test of the methods of HList
+     * <p>
+     * <br><br>Summary: 				the methods give the same results as on a ListAdapter
+     * <br><br>Design test: 			inserting, replacing, searching and removing elements, also null, in both lists, growing the list
+     * 									beyond its initial capacity
+     * <br><br>Preconditions: 			the lists must contain {1, 2, 3, 4, 5}, 3 stripes are rounded to 4
+     * <br><br>Postconditions: 		the lists contain the same elements
+     * <br><br>Expected results: 		the same return values, IndexOutOfBoundsException for the illegal indexes
+     */
+	@Test
+	public void testMethods()
+	{
+		System.out.println("----- Test of the methods of HList -----");
+
+		assertEquals(4, list.getStripes());
+		for(int i=0; i<20; i++){
+			list.add(i % 3, Integer.valueOf(i));
+			expected.add(i % 3, Integer.valueOf(i));
+		}
+		list.add(null);
+		expected.add(null);
+		assertEquals(expected.set(7, "Hulk"), list.set(7, "Hulk"));
+		assertArrayEquals(expected.toArray(), list.toArray());
+		assertEquals(expected.indexOf(Integer.valueOf(2)), list.indexOf(Integer.valueOf(2)));
+		assertEquals(expected.lastIndexOf(Integer.valueOf(2)), list.lastIndexOf(Integer.valueOf(2)));
+		assertEquals(25, list.indexOf(null));
+		assertTrue(list.containsAll(expected));
+		assertEquals(expected.hashCode(), list.hashCode());
+		assertTrue(list.equals(new StripedListAdapter(expected)));
+
+		assertEquals(expected.remove(3), list.remove(3));
+		assertTrue(list.remove("Hulk"));
+		expected.remove("Hulk");
+		HList some = new ListAdapter();
+		some.add(null);
+		for(int i=0; i<10; i++) some.add(Integer.valueOf(i));
+		assertTrue(list.removeAll(some));
+		expected.removeAll(some);
+		assertArrayEquals(expected.toArray(), list.toArray());
+		assertTrue(list.addAll(2, some));
+		expected.addAll(2, some);
+		assertTrue(list.retainAll(list.subList(0, 4)));
+		expected.retainAll(new ListAdapter(expected.subList(0, 4)));
+		assertArrayEquals(expected.toArray(), list.toArray());
+		Object[] target = new Object[list.size() + 1];
+		java.util.Arrays.fill(target, "a");
+		assertSame(target, list.toArray(target));
+		assertNull(target[list.size()]);
+
+		System.out.println("Reading an element at an illegal index...");
+		try{
+			list.get(list.size());
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IndexOutOfBoundsException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		System.out.println("Creating a list with 0 stripes...");
+		try{
+			new StripedListAdapter(0);
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(IllegalArgumentException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		list.clear();
+		assertTrue(list.isEmpty());
+	}
+
+	/**
+     * Test of the sublists and of the list iterators
+     * <p>
+     * <br><br>Summary: 				the sublists are views of the list at any depth, the list iterators change the list as in ListAdapter
+     * <br><br>Design test: 			changing the list through nested sublists and through the list iterator of a sublist,
+     * 									then through a sibling of a sublist
+     * <br><br>Preconditions: 			the lists must contain {1, 2, 3, 4, 5}
+     * <br><br>Postconditions: 		the changes made through the sublists are seen by the list and by the enclosing sublists
+     * <br><br>Expected results: 		a sublist used after a change of the size made in another way throws ConcurrentModificationException
+     */
+	@Test
+	public void testSubListAndIterator()
+	{
+		System.out.println("----- Test of the sublists and of the list iterators -----");
+
+		HList sub = list.subList(1, 4);
+		HList expectedSub = expected.subList(1, 4);
+		HList subsub = sub.subList(1, 2);
+		subsub.add("Hulk");
+		expectedSub.subList(1, 2).add("Hulk");
+		HListIterator it = sub.listIterator();
+		HListIterator expectedIt = expectedSub.listIterator();
+		while(it.hasNext()){
+			Object obj = it.next();
+			assertEquals(expectedIt.next(), obj);
+			if(obj instanceof String){
+				it.set("Thor");
+				expectedIt.set("Thor");
+				it.add("Loki");
+				expectedIt.add("Loki");
+			} else if(((Integer) obj).intValue() == 3){
+				it.remove();
+				expectedIt.remove();
+			}
+		}
+		assertTrue(it.hasPrevious());
+		assertEquals(expectedIt.previous(), it.previous());
+		assertArrayEquals(expected.toArray(), list.toArray());
+		assertArrayEquals(expectedSub.toArray(), sub.toArray());
+		assertEquals(list.size() - 2, sub.size());
+
+		HList sibling = list.subList(0, 1);
+		sibling.set(0, "Loki");
+		assertEquals("Loki", list.get(0));
+		assertEquals(Integer.valueOf(2), sub.get(0));
+		sibling.clear();
+		System.out.println("Reading a sublist after a change of the size made through another sublist...");
+		try{
+			sub.size();
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(ConcurrentModificationException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		System.out.println("Replacing an element of a sublist after a change of the size of the list...");
+		try{
+			subsub.set(0, "Hulk");
+			throw new Exception();
+		} catch(Exception e){
+			assertEquals(ConcurrentModificationException.class, e.getClass());
+			System.out.println("Correctly, failed.");
+		}
+		assertEquals(Integer.valueOf(2), list.get(0));
+	}
+
+	/**
+     * Test of the replacements made by many threads
+     * <p>
+     * <br><br>Summary: 				the threads that replace different elements don't lose any change
+     * <br><br>Design test: 			eight threads increment 100 times each the elements of a list of 1000 counters, every thread
+     * 									the elements whose index has its own remainder modulo 8, while reading all the others
+     * <br><br>Preconditions: 			the list must contain 1000 zeros
+     * <br><br>Postconditions: 		the list contains the number of increments of every element
+     * <br><br>Expected results: 		every element is 100, no thread throws an exception
+     */
+	@Test
+	public void testConcurrentSet() throws InterruptedException
+	{
+		System.out.println("----- Test of the replacements made by many threads -----");
+
+		final StripedListAdapter counters = new StripedListAdapter();
+		for(int i=0; i<1000; i++) counters.add(Integer.valueOf(0));
+		final Throwable[] failure = {null};
+		Thread[] threads = new Thread[8];
+		for(int t=0; t<threads.length; t++){
+			final int remainder = t;
+			threads[t] = new Thread(new Runnable() {
+				public void run()
+				{
+					try{
+						for(int round=0; round<100; round++){
+							for(int i=0; i<counters.size(); i++){
+								int value = ((Integer) counters.get(i)).intValue();
+								if(i % 8 == remainder) counters.set(i, Integer.valueOf(value + 1));
+								else assertTrue(value >= 0 && value <= 100);
+							}
+						}
+					} catch(Throwable e){
+						failure[0] = e;
+					}
+				}
+			});
+			threads[t].start();
+		}
+		for(int t=0; t<threads.length; t++) threads[t].join();
+		assertNull(failure[0]);
+		for(int i=0; i<1000; i++) assertEquals(Integer.valueOf(100), counters.get(i));
+	}
+
+	/**
+     * Test of the changes of the size made by many threads
+     * <p>
+     * <br><br>Summary: 				insertions and removals made at the same time are all applied and never seen half done
+     * <br><br>Design test: 			4000 elements "Hulk" are appended, then four threads insert 2000 elements each at the front of
+     * 									the list while four threads remove 1000 elements "Hulk" each and read the list as an array
+     * <br><br>Preconditions: 			the list must contain {1, 2, 3, 4, 5}
+     * <br><br>Postconditions: 		the list contains all the elements inserted and not removed
+     * <br><br>Expected results: 		the final size is 5 + 8000, every array read contains no null element
+     */
+	@Test
+	public void testConcurrentResize() throws InterruptedException
+	{
+		System.out.println("----- Test of the changes of the size made by many threads -----");
+
+		for(int i=0; i<4000; i++) list.add("Hulk");
+		final Throwable[] failure = {null};
+		Thread[] threads = new Thread[8];
+		for(int t=0; t<threads.length; t++){
+			final boolean writer = (t % 2 == 0);
+			threads[t] = new Thread(new Runnable() {
+				public void run()
+				{
+					try{
+						for(int i=0; i<2000; i++){
+							if(writer){
+								list.add(0, Integer.valueOf(-i));
+							} else {
+								Object[] elements = list.toArray();
+								for(int j=0; j<elements.length; j++) assertNotNull(elements[j]);
+								if(i % 2 == 0) assertTrue(list.remove("Hulk"));
+							}
+						}
+					} catch(Throwable e){
+						failure[0] = e;
+					}
+				}
+			});
+			threads[t].start();
+		}
+		for(int t=0; t<threads.length; t++) threads[t].join();
+		assertNull(failure[0]);
+		assertEquals(5 + 8000, list.size());
+		assertFalse(list.contains("Hulk"));
+	}
+}